@@ -17,6 +17,8 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.cdt.core.model.CModelException;
 import org.eclipse.cdt.core.model.CoreModel;
@@ -82,7 +84,8 @@ public class OpenGCAction implements IEditorLauncher {
             } else {
                 safeBinaryPath = binaryPath;
             }
-            displayCoverage(file, safeBinaryPath, pair.gcda, isCompleteCoverageResultWanted);
+            displayCoverage(file, safeBinaryPath, pair.gcda, isCompleteCoverageResultWanted,
+                    Collections.emptyList(), Collections.emptyList());
         }
     }
 
@@ -129,26 +132,30 @@ public class OpenGCAction implements IEditorLauncher {
         }
         // start a thread so we can return control from UI thread until needed
         Thread t = new Thread(() -> {
-        	displayCoverage(file, d.getBinaryFile(), pair.gcda, d.isCompleteCoverageResultWanted());
+        	displayCoverage(file, d.getBinaryFile(), pair.gcda, d.isCompleteCoverageResultWanted(),
+        	        d.getRunDirectories(), d.getBaseRunDirectories());
         });
         t.start();
     }
 
-    private void displayCoverage(IPath file, String binaryPath, File gcda, boolean isCompleteCoverageResultWanted)
+    private void displayCoverage(IPath file, String binaryPath, File gcda, boolean isCompleteCoverageResultWanted,
+            List<File> runDirectories, List<File> baseRunDirectories)
     {
     	//FIXME EK-LINUXTOOLS: IProject project = ResourcesPlugin.getWorkspace().getRoot().getFileForLocation(file).getProject();
     	IProject project = STSymbolManager.sharedInstance.getProjectFromFile(file);
     	//FIXME EK-LINUXTOOLS: Need check for null and correct action
 
         GcovAnnotationModelTracker.getInstance().addProject(project, new Path(binaryPath));
+        GcovAnnotationModelTracker.getInstance().setRunDirectories(project, runDirectories, baseRunDirectories);
         PlatformUI.getWorkbench().getDisplay().syncExec(() -> {
         	GcovAnnotationModelTracker.getInstance().annotateAllCEditors();
         });
 
         if (isCompleteCoverageResultWanted) {
-            CovView.displayCovResults(binaryPath, gcda.getAbsolutePath());
+            CovView.displayCovResults(binaryPath, gcda.getAbsolutePath(), runDirectories, baseRunDirectories);
         } else {
-            CovView.displayCovDetailedResult(binaryPath, gcda.getAbsolutePath());
+            CovView.displayCovDetailedResult(binaryPath, gcda.getAbsolutePath(), runDirectories,
+                    baseRunDirectories);
         }
     }
 
@@ -31,6 +31,12 @@ public class Messages extends NLS {
     public static String OpenGCDialog_open_results;
     public static String OpenGCDialog_summ_button_text;
     public static String OpenGCDialog_open_file_button_text;
+    public static String OpenGCDialog_runs_header;
+    public static String OpenGCDialog_runs_tooltip;
+    public static String OpenGCDialog_runs_label;
+    public static String OpenGCDialog_base_runs_label;
+    public static String OpenGCDialog_runs_browser_button_text;
+    public static String OpenGCDialog_runs_browser_handler_text;
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, Messages.class);
@@ -13,6 +13,8 @@
 package org.eclipse.linuxtools.internal.gcov.dialog;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
 import org.eclipse.core.resources.IContainer;
@@ -42,6 +44,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.DirectoryDialog;
 import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
@@ -67,6 +70,11 @@ public class OpenGCDialog extends Dialog {
 
     private boolean openCoverageSummary = true;
 
+    private Text runsText;
+    private Text baseRunsText;
+    private List<File> runDirectories = new ArrayList<>();
+    private List<File> baseRunDirectories = new ArrayList<>();
+
     /* error label */
     private Label errorLabel;
 
@@ -104,6 +112,22 @@ public class OpenGCDialog extends Dialog {
         return openCoverageSummary;
     }
 
+    /**
+     * Gets the directories holding the GCDA files of the runs to merge.
+     * @return the directories, empty to use the GCDA files next to the GCNO files
+     */
+    public List<File> getRunDirectories() {
+        return runDirectories;
+    }
+
+    /**
+     * Gets the directories holding the GCDA files of the base runs to compare with.
+     * @return the directories, empty if no comparison is wanted
+     */
+    public List<File> getBaseRunDirectories() {
+        return baseRunDirectories;
+    }
+
     @Override
     protected Control createContents(Composite parent) {
         Control composite = super.createContents(parent);
@@ -173,6 +197,14 @@ public class OpenGCDialog extends Dialog {
         openCoverageSummaryButton.addSelectionListener(sa);
         openThisFileOnlyButton.addSelectionListener(sa);
 
+        Group runs = new Group(composite, SWT.NONE);
+        runs.setText(Messages.OpenGCDialog_runs_header);
+        runs.setToolTipText(Messages.OpenGCDialog_runs_tooltip);
+        runs.setLayoutData(new GridData(GridData.FILL_BOTH));
+        runs.setLayout(new GridLayout(2, false));
+        runsText = createDirectoriesField(runs, Messages.OpenGCDialog_runs_label);
+        baseRunsText = createDirectoriesField(runs, Messages.OpenGCDialog_base_runs_label);
+
         /* 2sd line */
         errorLabel = new Label(composite, SWT.NONE);
         data = new GridData(GridData.FILL_HORIZONTAL);
@@ -185,6 +217,35 @@ public class OpenGCDialog extends Dialog {
         return composite;
     }
 
+    private Text createDirectoriesField(Composite parent, String label) {
+        Label l = new Label(parent, SWT.NONE);
+        l.setText(label);
+        GridData data = new GridData();
+        data.horizontalSpan = 2;
+        l.setLayoutData(data);
+
+        Text text = new Text(parent, SWT.BORDER);
+        data = new GridData(GridData.FILL_HORIZONTAL);
+        data.widthHint = IDialogConstants.ENTRY_FIELD_WIDTH;
+        text.setLayoutData(data);
+
+        Button browseButton = new Button(parent, SWT.PUSH);
+        browseButton.setText(Messages.OpenGCDialog_runs_browser_button_text);
+        browseButton.addSelectionListener(SelectionListener.widgetSelectedAdapter(e ->
+                handleBrowseDirectory(Messages.OpenGCDialog_runs_browser_handler_text, text)));
+        return text;
+    }
+
+    private static List<File> toDirectories(String value) {
+        List<File> directories = new ArrayList<>();
+        for (String s : value.split(File.pathSeparator)) {
+            if (!s.trim().isEmpty()) {
+                directories.add(new File(s.trim()));
+            }
+        }
+        return directories;
+    }
+
     private void validateBinary() {
         binValue = binText.getText();
         IStringVariableManager mgr = VariablesPlugin.getDefault().getStringVariableManager();
@@ -273,8 +334,21 @@ public class OpenGCDialog extends Dialog {
             text.setText(s);
     }
 
+    protected void handleBrowseDirectory(String msg, Text text) {
+        DirectoryDialog dialog = new DirectoryDialog(this.getShell());
+        dialog.setText(msg);
+        dialog.setFilterPath(this.gcFile.removeLastSegments(1).toOSString());
+        String s = dialog.open();
+        if (s != null) {
+            String t = text.getText().trim();
+            text.setText(t.isEmpty() ? s : t + File.pathSeparator + s);
+        }
+    }
+
     @Override
     protected void okPressed() {
+        runDirectories = toDirectories(runsText.getText());
+        baseRunDirectories = toDirectories(baseRunsText.getText());
 		IDialogSettings ds = PlatformUI.getDialogSettingsProvider(FrameworkUtil.getBundle(OpenGCDialog.class))
 				.getDialogSettings();
         IDialogSettings defaultMapping = ds.getSection(OpenGCDialog.class.getName());
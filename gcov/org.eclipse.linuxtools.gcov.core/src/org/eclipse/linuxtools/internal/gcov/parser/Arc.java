@@ -13,8 +13,11 @@
 package org.eclipse.linuxtools.internal.gcov.parser;
 
 import java.io.Serializable;
-import java.util.List;
 
+/**
+ * An arc between two blocks of a function. It is a view on the
+ * {@link FunctionGraph} of the function, which holds its data.
+ */
 public class Arc implements Serializable{
 
     /**
@@ -22,125 +25,101 @@ public class Arc implements Serializable{
      */
     private static final long serialVersionUID = 4104429137191407662L;
 
-    private static final int VCOV_ARC_ON_TREE = (1 << 0);
-    private static final int VCOV_ARC_FAKE = (1 << 1);
-    private static final int VCOV_ARC_FALLTHROUGH = (1 << 2);
-
-    private final Block srcBlock;
-    private final Block dstnatnBlock;
-	private final int dstnatnBlockIndice;
-    private final long flag;
-    private final boolean fake;
-    private final boolean onTree;
-    private final boolean fallthrough;
-
-    private long count = 0;
-    private boolean countValid = false;
-    private boolean isCallNonReturn = false; // Arc is for a function that abnormally returns
-    private boolean isNonLoclaReturn = false; // Arc is for catch/setjump
-    private boolean isUnconditionnal = false; // Is an unconditional branch.
-	private boolean isThrow = false; // is a throw
+    private final FunctionGraph graph;
+    private final int index;
 
-    /**
-     * Constructor
-     */
-    public Arc(int srcBlockIndice, int dstnatnBlockIndice, long flag, List<Block> otherArcParams) {
-        this.flag = flag;
-		this.dstnatnBlockIndice = dstnatnBlockIndice;
-        this.dstnatnBlock = otherArcParams.get(dstnatnBlockIndice);
-        this.srcBlock = otherArcParams.get(srcBlockIndice);
-        this.count = 0;
-        this.countValid = false;
-        if ((flag & VCOV_ARC_ON_TREE) != 0) {
-            onTree = true;
-        } else {
-			onTree = false;
-		}
-		if ((flag & VCOV_ARC_FAKE) != 0) {
-			fake = true;
-		} else {
-			fake = false;
-		}
-		if ((flag & VCOV_ARC_FALLTHROUGH) != 0) {
-			fallthrough = true;
-		} else {
-            fallthrough = false;
-        }
+    Arc(FunctionGraph graph, int index) {
+        this.graph = graph;
+        this.index = index;
     }
 
     public Block getDstnatnBlock() {
-        return dstnatnBlock;
+        return new Block(graph, graph.getArcDst(index));
     }
 
 	public int getDstnatnBlockIndice() {
-		return dstnatnBlockIndice;
+		return graph.getArcDst(index);
 	}
 
     public long getFlag() {
-        return flag;
+        return graph.getArcGcnoFlag(index);
     }
 
     public boolean isFake() {
-        return fake;
+        return graph.isArcSet(index, FunctionGraph.ARC_FAKE);
     }
 
     public boolean isOnTree() {
-        return onTree;
+        return graph.isArcSet(index, FunctionGraph.ARC_ON_TREE);
     }
 
     public boolean isFallthrough() {
-        return fallthrough;
+        return graph.isArcSet(index, FunctionGraph.ARC_FALLTHROUGH);
     }
 
     public boolean isUnconditionnal() {
-        return isUnconditionnal;
+        return graph.isArcSet(index, FunctionGraph.ARC_UNCONDITIONAL);
     }
 
     public boolean isNonLoclaReturn() {
-        return isNonLoclaReturn;
+        return graph.isArcSet(index, FunctionGraph.ARC_NON_LOCAL_RETURN);
     }
 
     public boolean isCallNonReturn() {
-        return isCallNonReturn;
+        return graph.isArcSet(index, FunctionGraph.ARC_CALL_NON_RETURN);
     }
 
 	public boolean isThrow() {
-		return isThrow;
+		return graph.isArcSet(index, FunctionGraph.ARC_THROW);
 	}
 
     public void setCallNonReturn(boolean isCallNonReturn) {
-        this.isCallNonReturn = isCallNonReturn;
+        graph.setArcFlag(index, FunctionGraph.ARC_CALL_NON_RETURN, isCallNonReturn);
     }
 
 	public void setIsThrow(boolean isThrow) {
-		this.isThrow = isThrow;
+		graph.setArcFlag(index, FunctionGraph.ARC_THROW, isThrow);
 	}
 
     public void setNonLoclaReturn(boolean isNonLoclaReturn) {
-        this.isNonLoclaReturn = isNonLoclaReturn;
+        graph.setArcFlag(index, FunctionGraph.ARC_NON_LOCAL_RETURN, isNonLoclaReturn);
     }
 
     public void setUnconditionnal(boolean isUnconditionnal) {
-        this.isUnconditionnal = isUnconditionnal;
+        graph.setArcFlag(index, FunctionGraph.ARC_UNCONDITIONAL, isUnconditionnal);
     }
 
     public Block getSrcBlock() {
-        return srcBlock;
+        return new Block(graph, graph.getArcSrc(index));
     }
 
     public void setCount(long count) {
-        this.count = count;
+        graph.setArcCount(index, count);
     }
 
     public void setCountValid(boolean countValid) {
-        this.countValid = countValid;
+        graph.setArcFlag(index, FunctionGraph.ARC_COUNT_VALID, countValid);
     }
 
     public long getCount() {
-        return count;
+        return graph.getArcCount(index);
     }
 
     public boolean isCountValid() {
-        return countValid;
+        return graph.isArcSet(index, FunctionGraph.ARC_COUNT_VALID);
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(graph) * 31 + index;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Arc)) {
+            return false;
+        }
+        Arc other = (Arc) obj;
+        return graph == other.graph && index == other.index;
     }
 }
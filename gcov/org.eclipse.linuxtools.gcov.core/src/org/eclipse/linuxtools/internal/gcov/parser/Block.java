@@ -15,162 +15,138 @@ package org.eclipse.linuxtools.internal.gcov.parser;
 import java.io.Serializable;
 import java.util.ArrayList;
 
+/**
+ * A block of a function. It is a view on the {@link FunctionGraph} of the
+ * function, which holds its data.
+ */
 public class Block implements Serializable{
 
     private static final long serialVersionUID = -7665287885679756014L;
-    private final ArrayList<Arc> entryArcs = new ArrayList<>();
-    private final ArrayList<Arc> exitArcs = new ArrayList<>();
-    private final long flag;
-    private long numSuccs = 0;
-    private long  numPreds = 0;
-    private long  count = 0;
-    private boolean isCallSite = false;// Does the call
-    private boolean isCallReturn = false; // Is the return
-    private boolean isNonLocalReturn = false;
-    private boolean validChain = false;
-    private boolean invalidChain = false;
-    private boolean countValid = false;
-    private final BlkLine blkline = new BlkLine();
+    private final FunctionGraph graph;
+    private final int index;
+
+    Block(FunctionGraph graph, int index) {
+        this.graph = graph;
+        this.index = index;
+    }
+
+    FunctionGraph getGraph() {
+        return graph;
+    }
 
     /**
-     * Constructor
+     * @return the index of this block in its function
      */
-    public Block(long flag) {
-        this.flag = flag;
+    public int getIndex() {
+        return index;
     }
 
-
     /* getters & setters */
     public long getFlag() {
-        return flag;
+        return graph.getBlockFlag(index);
     }
 
     public ArrayList<Arc> getEntryArcs() {
-        return entryArcs;
+        int n = graph.getNumEntryArcs(index);
+        ArrayList<Arc> arcs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            arcs.add(new Arc(graph, graph.getEntryArc(index, i)));
+        }
+        return arcs;
     }
 
     public ArrayList<Arc> getExitArcs() {
-        return exitArcs;
+        int n = graph.getNumExitArcs(index);
+        ArrayList<Arc> arcs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            arcs.add(new Arc(graph, graph.getExitArc(index, i)));
+        }
+        return arcs;
     }
 
     public boolean isCallSite() {
-        return isCallSite;
+        return graph.isBlockSet(index, FunctionGraph.BLOCK_CALL_SITE);
     }
 
     public boolean isCallReturn() {
-        return isCallReturn;
+        return graph.isBlockSet(index, FunctionGraph.BLOCK_CALL_RETURN);
     }
 
     public boolean isNonLocalReturn() {
-        return isNonLocalReturn;
-    }
-
-    public void addEntryArcs(Arc arcEntry) {
-        this.entryArcs.add(arcEntry);
-    }
-
-    public void addExitArcs(Arc arcExit) {
-        this.exitArcs.add(arcExit);
+        return graph.isBlockSet(index, FunctionGraph.BLOCK_NON_LOCAL_RETURN);
     }
 
     public void setCallSite(boolean isCallSite) {
-        this.isCallSite = isCallSite;
+        graph.setBlockState(index, FunctionGraph.BLOCK_CALL_SITE, isCallSite);
     }
 
     public void setCallReturn(boolean isCallReturn) {
-        this.isCallReturn = isCallReturn;
+        graph.setBlockState(index, FunctionGraph.BLOCK_CALL_RETURN, isCallReturn);
     }
 
     public void setNonLocalReturn(boolean isNonLocalReturn) {
-        this.isNonLocalReturn = isNonLocalReturn;
-    }
-
-    public void decNumSuccs() {
-        this.numSuccs--;
-    }
-
-    public void decNumPreds() {
-        this.numPreds--;
-    }
-
-    public void incNumPreds() {
-        this.numPreds++;
-    }
-
-    public void incNumSuccs() {
-        this.numSuccs++;
+        graph.setBlockState(index, FunctionGraph.BLOCK_NON_LOCAL_RETURN, isNonLocalReturn);
     }
 
     public boolean isValidChain() {
-        return validChain;
+        return graph.isBlockSet(index, FunctionGraph.BLOCK_VALID_CHAIN);
     }
 
     public void setValidChain(boolean validChain) {
-        this.validChain = validChain;
+        graph.setBlockState(index, FunctionGraph.BLOCK_VALID_CHAIN, validChain);
     }
 
     public boolean isInvalidChain() {
-        return invalidChain;
+        return graph.isBlockSet(index, FunctionGraph.BLOCK_INVALID_CHAIN);
     }
 
     public void setInvalidChain(boolean invalidChain) {
-        this.invalidChain = invalidChain;
+        graph.setBlockState(index, FunctionGraph.BLOCK_INVALID_CHAIN, invalidChain);
     }
 
     public long getCount() {
-        return count;
+        return graph.getBlockCount(index);
     }
 
     public void setCount(long count) {
-        this.count = count;
+        graph.setBlockCount(index, count);
     }
 
     public void setCountValid(boolean countValid) {
-        this.countValid = countValid;
+        graph.setBlockState(index, FunctionGraph.BLOCK_COUNT_VALID, countValid);
     }
 
     public boolean isCountValid() {
-        return countValid;
+        return graph.isBlockSet(index, FunctionGraph.BLOCK_COUNT_VALID);
     }
 
     public long getNumSuccs() {
-        return numSuccs;
+        return graph.getNumSuccs(index);
     }
 
     public long getNumPreds() {
-        return numPreds;
-    }
-
-    public void setNumSuccs(long numSuccs) {
-        this.numSuccs = numSuccs;
-    }
-
-    public void setNumPreds(long numPreds) {
-        this.numPreds = numPreds;
+        return graph.getNumPreds(index);
     }
 
     public long[] getEncoding() {
-        return blkline.encoding;
-    }
-
-    public void setEncoding(long[] lineNos) {
-        this.blkline.encoding = lineNos;
+        return graph.getLines(index);
     }
 
     public int getLineNum() {
-        return blkline.num;
+        return graph.getLineNum(index);
     }
 
-    public void setNumLine(int numline) {
-        this.blkline.num = numline;
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(graph) * 31 + index;
     }
 
-    static class BlkLine implements Serializable{
-        /**
-         *
-         */
-        private static final long serialVersionUID = 2757557929188979686L;
-        public long[] encoding;
-        public int num;
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Block)) {
+            return false;
+        }
+        Block other = (Block) obj;
+        return graph == other.graph && index == other.index;
     }
 }
@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.gcov.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * On-disk cache of the solved compilation units of a binary, stored in the
+ * state location of the plug-in unless another folder is given. A unit is
+ * reused as long as the stamp of its GCNO file and the modification time and
+ * size of its GCDA file are unchanged.
+ */
+class CovCache {
+
+    private static final int CACHE_MAGIC = 0x67636368; // gcch
+    private static final int CACHE_VERSION = 2;
+    private static final String CACHE_FOLDER = "coverage"; //$NON-NLS-1$
+
+    private final File file;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Entry> usedEntries = new LinkedHashMap<>();
+
+    private static final class Entry {
+        private final int gcnoStamp;
+        private final long gcdaModified;
+        private final long gcdaSize;
+        private final byte[] data;
+
+        Entry(int gcnoStamp, long gcdaModified, long gcdaSize, byte[] data) {
+            this.gcnoStamp = gcnoStamp;
+            this.gcdaModified = gcdaModified;
+            this.gcdaSize = gcdaSize;
+            this.data = data;
+        }
+    }
+
+    private CovCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the cache of a binary.
+     * @param binaryPath path of the binary
+     * @param folder folder of the cache files, or <code>null</code> for the state location of the plug-in
+     * @return the cache, or <code>null</code> if the plug-in has no state location
+     */
+    static CovCache load(String binaryPath, File folder) {
+        if (folder == null) {
+            Bundle bundle = FrameworkUtil.getBundle(CovCache.class);
+            if (bundle == null) {
+                return null;
+            }
+            try {
+                folder = Platform.getStateLocation(bundle).append(CACHE_FOLDER).toFile();
+            } catch (IllegalStateException e) {
+                return null;
+            }
+        }
+        String name = UUID.nameUUIDFromBytes(binaryPath.getBytes(StandardCharsets.UTF_8)).toString();
+        CovCache cache = new CovCache(new File(folder, name));
+        if (cache.file.isFile()) {
+            try {
+                cache.read();
+            } catch (IOException e) {
+                // unreadable cache: start again from an empty one
+                cache.entries.clear();
+            }
+        }
+        return cache;
+    }
+
+    private void read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != CACHE_MAGIC || in.readInt() != CACHE_VERSION) {
+                return;
+            }
+            int nbrEntries = in.readInt();
+            for (int i = 0; i < nbrEntries; i++) {
+                String gcdaPath = in.readUTF();
+                int gcnoStamp = in.readInt();
+                long gcdaModified = in.readLong();
+                long gcdaSize = in.readLong();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                entries.put(gcdaPath, new Entry(gcnoStamp, gcdaModified, gcdaSize, data));
+            }
+        }
+    }
+
+    /**
+     * Write the units restored or stored since the cache was loaded.
+     */
+    void save() {
+        File folder = file.getParentFile();
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            return;
+        }
+        File tmp = new File(folder, file.getName() + ".tmp"); //$NON-NLS-1$
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+                out.writeInt(CACHE_MAGIC);
+                out.writeInt(CACHE_VERSION);
+                out.writeInt(usedEntries.size());
+                for (Map.Entry<String, Entry> e : usedEntries.entrySet()) {
+                    Entry entry = e.getValue();
+                    out.writeUTF(e.getKey());
+                    out.writeInt(entry.gcnoStamp);
+                    out.writeLong(entry.gcdaModified);
+                    out.writeLong(entry.gcdaSize);
+                    out.writeInt(entry.data.length);
+                    out.write(entry.data);
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Fill a unit from the cache, if its files did not change.
+     * @param unit a unit that was not processed
+     * @return <code>true</code> if the unit was restored
+     */
+    boolean restore(CovUnit unit) {
+        if (unit.gcdaFiles.size() != 1) {
+            return false;
+        }
+        File gcdaFile = unit.gcdaFiles.get(0);
+        String key = gcdaFile.getAbsolutePath();
+        Entry entry = entries.get(key);
+        if (entry == null || entry.gcdaModified != gcdaFile.lastModified() || entry.gcdaSize != gcdaFile.length()) {
+            return false;
+        }
+        try {
+            if (entry.gcnoStamp != readStamp(unit.gcnoFile)) {
+                return false;
+            }
+            readUnit(new DataInputStream(new ByteArrayInputStream(entry.data)), unit);
+        } catch (IOException e) {
+            unit.srcs.clear();
+            unit.fnctns = new ArrayList<>();
+            return false;
+        }
+        usedEntries.put(key, entry);
+        return true;
+    }
+
+    /**
+     * Add a unit to the cache. It must be stored just after it is processed,
+     * before it is merged. Units which sum several runs are not cached.
+     * @param unit a processed unit
+     */
+    void store(CovUnit unit) {
+        if (unit.gcdaFiles.size() != 1) {
+            return;
+        }
+        File gcdaFile = unit.gcdaFiles.get(0);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeUnit(out, unit);
+            out.flush();
+            Entry entry = new Entry(readStamp(unit.gcnoFile), gcdaFile.lastModified(), gcdaFile.length(),
+                    bytes.toByteArray());
+            usedEntries.put(gcdaFile.getAbsolutePath(), entry);
+        } catch (IOException e) {
+            // not cached
+        }
+    }
+
+    private static int readStamp(File gcnoFile) throws IOException {
+        // magic, version, stamp
+        try (RandomAccessFile raf = new RandomAccessFile(gcnoFile, "r")) { //$NON-NLS-1$
+            raf.seek(8);
+            return raf.readInt();
+        }
+    }
+
+    private static void writeUnit(DataOutputStream out, CovUnit unit) throws IOException {
+        out.writeLong(unit.nbrPgmRuns);
+        out.writeInt(unit.srcs.size());
+        for (SourceFile src : unit.srcs) {
+            out.writeUTF(src.getName());
+            out.writeInt(src.getNumLines());
+        }
+        out.writeInt(unit.fnctns.size());
+        for (GcnoFunction fnctn : unit.fnctns) {
+            out.writeLong(fnctn.getIdent());
+            out.writeLong(fnctn.getCheksum());
+            out.writeUTF(fnctn.getName());
+            out.writeUTF(fnctn.getSrcFile());
+            out.writeLong(fnctn.getFirstLineNmbr());
+            out.writeInt(fnctn.getNumBlocks());
+            out.writeInt(fnctn.getNumCounts());
+            out.writeBoolean(fnctn.hasCatch());
+
+            FunctionGraph graph = fnctn.getGraph();
+            out.writeInt(graph.getNumBlocks());
+            for (int b = 0; b < graph.getNumBlocks(); b++) {
+                out.writeLong(graph.getBlockFlag(b));
+                out.writeLong(graph.getBlockCount(b));
+                out.writeByte(graph.getBlockState(b));
+                long[] enc = graph.getLines(b);
+                out.writeInt(enc == null ? -1 : enc.length);
+                if (enc != null) {
+                    out.writeInt(graph.getLineNum(b));
+                    for (int i = 0; i < graph.getLineNum(b); i++) {
+                        out.writeLong(enc[i]);
+                    }
+                }
+            }
+            out.writeInt(graph.getNumArcs());
+            for (int a = 0; a < graph.getNumArcs(); a++) {
+                out.writeInt(graph.getArcSrc(a));
+                out.writeInt(graph.getArcDst(a));
+                out.writeInt(graph.getArcFlags(a));
+                out.writeLong(graph.getArcCount(a));
+            }
+        }
+    }
+
+    private static void readUnit(DataInputStream in, CovUnit unit) throws IOException {
+        unit.nbrPgmRuns = in.readLong();
+        Map<String, SourceFile> srcs = new HashMap<>();
+        int nbrSrcs = in.readInt();
+        for (int i = 0; i < nbrSrcs; i++) {
+            SourceFile src = new SourceFile(in.readUTF(), i + 1);
+            src.setNumLines(in.readInt());
+            unit.srcs.add(src);
+            srcs.put(src.getName(), src);
+        }
+        int nbrFnctns = in.readInt();
+        ArrayList<GcnoFunction> fnctns = new ArrayList<>(nbrFnctns);
+        for (int i = 0; i < nbrFnctns; i++) {
+            GcnoFunction fnctn = new GcnoFunction(in.readLong(), in.readLong(), in.readUTF(), in.readUTF(),
+                    in.readLong());
+            fnctn.setNumBlocks(in.readInt());
+            fnctn.setNumCounts(in.readInt());
+            fnctn.setHasCatch(in.readBoolean());
+
+            FunctionGraph graph = fnctn.getGraph();
+            int nbrBlocks = in.readInt();
+            graph.setBlocks(nbrBlocks);
+            for (int b = 0; b < nbrBlocks; b++) {
+                graph.setBlockFlag(b, in.readLong());
+                graph.setBlockCount(b, in.readLong());
+                graph.setBlockState(b, in.readByte(), true);
+                int encLength = in.readInt();
+                if (encLength >= 0) {
+                    long[] enc = new long[encLength];
+                    int lineNum = in.readInt();
+                    for (int k = 0; k < lineNum; k++) {
+                        enc[k] = in.readLong();
+                    }
+                    graph.setLines(b, enc, lineNum);
+                }
+            }
+            int nbrArcs = in.readInt();
+            for (int a = 0; a < nbrArcs; a++) {
+                int src = in.readInt();
+                int dst = in.readInt();
+                if (src < 0 || src >= nbrBlocks || dst < 0 || dst >= nbrBlocks) {
+                    throw new IOException();
+                }
+                int arc = graph.addArc(src, dst, in.readInt());
+                graph.setArcCount(arc, in.readLong());
+            }
+            graph.trim();
+            fnctns.add(fnctn);
+
+            SourceFile src = srcs.get(fnctn.getSrcFile());
+            if (src == null) {
+                throw new IOException();
+            }
+            src.addFnctn(fnctn);
+        }
+        unit.fnctns = fnctns;
+    }
+}
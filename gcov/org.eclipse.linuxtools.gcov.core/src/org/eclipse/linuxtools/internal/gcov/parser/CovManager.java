@@ -13,23 +13,24 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gcov.parser;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.DataInput;
-import java.io.DataInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.LineNumberReader;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
 import org.eclipse.core.resources.IProject;
@@ -75,6 +76,13 @@ public class CovManager implements Serializable {
     private final ArrayList<GcnoFunction> allFnctns = new ArrayList<>();
     private final HashMap<String, SourceFile> sourceMap = new HashMap<>();
     private long nbrPgmRuns = 0;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean useCache = true;
+    private File cacheFolder;
+    private List<File> runDirectories = Collections.emptyList();
+    private List<File> baseRunDirectories = Collections.emptyList();
+    private long nbrBasePgmRuns = -1;
+    private int nbrRestoredUnits;
     // for view
     private CovRootTreeElement rootNode;
 	//FIXME EK-LINUXTOOLS: private final IProject project;
@@ -110,9 +118,19 @@ public class CovManager implements Serializable {
      */
 
     public void processCovFiles(List<String> covFilesPaths, String initialGcda) throws CoreException, IOException {
-        GcdaRecordsParser daRcrd = null;
-        DataInput traceFile;
+        CovCache cache = useCache ? CovCache.load(binaryPath, cacheFolder) : null;
+        processCovFiles(covFilesPaths, initialGcda, cache);
+        if (cache != null) {
+            cache.save();
+        }
+    }
 
+    /**
+     * @param cache cache of the binary, saved by the caller once the base run is processed too, so that it keeps the
+     *            units of both runs; <code>null</code> to parse all units
+     */
+    private void processCovFiles(List<String> covFilesPaths, String initialGcda, CovCache cache)
+            throws CoreException, IOException {
         Map<File, File> sourcePath = new HashMap<>();
 
         if (initialGcda != null) {
@@ -132,57 +150,65 @@ public class CovManager implements Serializable {
             }
         }
 
+        // locate GCNO and GCDA files first: this may ask the user, so it is done sequentially
+        List<CovUnit> units = new ArrayList<>(covFilesPaths.size());
         for (String gcdaPath : covFilesPaths) {
             String gcnoPath = gcdaPath.replace(".gcda", ".gcno"); //$NON-NLS-1$ //$NON-NLS-2$
-            // parse GCNO file
-            traceFile = openTraceFileStream(gcnoPath, ".gcno", sourcePath); //$NON-NLS-1$
-            if (traceFile == null) {
+            File gcnoFile = findTraceFile(gcnoPath, ".gcno", sourcePath); //$NON-NLS-1$
+            if (gcnoFile == null) {
                 return;
             }
-            GcnoRecordsParser noRcrd = new GcnoRecordsParser(sourceMap, allSrcs);
-            noRcrd.parseData(traceFile);
-
-            // add new functions parsed to AllSrcs array
-            for (GcnoFunction f : noRcrd.getFnctns()) {
-                allFnctns.add(f);
-            }
-
-            // close the input stream
-            if (traceFile.getClass() == DataInputStream.class) {
-                ((DataInputStream) traceFile).close();
+            List<File> gcdaFiles;
+            if (runDirectories.isEmpty()) {
+                File gcdaFile = findTraceFile(gcdaPath, ".gcda", sourcePath); //$NON-NLS-1$
+                if (gcdaFile == null) {
+                    return;
+                }
+                gcdaFiles = Collections.singletonList(gcdaFile);
+            } else {
+                gcdaFiles = findRunFiles(gcdaPath);
             }
+            units.add(new CovUnit(gcnoPath, gcnoFile, gcdaFiles));
+        }
 
-            // parse GCDA file
-            traceFile = openTraceFileStream(gcdaPath, ".gcda", sourcePath); //$NON-NLS-1$
-            if (traceFile == null) {
-                return;
+        // parse each compilation unit and solve the graph of its functions, unless it is cached
+        List<CovUnit> changedUnits = new ArrayList<>(units.size());
+        for (CovUnit unit : units) {
+            if (cache == null || !cache.restore(unit)) {
+                changedUnits.add(unit);
             }
-            if (noRcrd.getFnctns().isEmpty()) {
-                String message = NLS.bind(Messages.CovManager_No_Funcs_Error, gcnoPath);
-				Status status = new Status(IStatus.ERROR, Constants.PLUGIN_ID, message);
-                throw new CoreException(status);
-            }
-            daRcrd = new GcdaRecordsParser(noRcrd.getFnctns());
-            daRcrd.parseGcdaRecord(traceFile);
-
-            // close the input stream
-            if (traceFile.getClass() == DataInputStream.class) {
-                ((DataInputStream) traceFile).close();
+        }
+        nbrRestoredUnits = units.size() - changedUnits.size();
+        processUnits(changedUnits);
+        if (cache != null) {
+            for (CovUnit unit : changedUnits) {
+                cache.store(unit);
             }
         }
 
-        // to fill the view title
-        if (daRcrd != null) {
-            nbrPgmRuns = daRcrd.getPgmSmryNbrPgmRuns();
+        // merge the compilation units, in the order of the given paths
+        for (CovUnit unit : units) {
+            int[] srcIndexes = new int[unit.srcs.size() + 1];
+            for (SourceFile unitSrc : unit.srcs) {
+                SourceFile src = findOrAddSource(unitSrc.getName());
+                if (unitSrc.getNumLines() > src.getNumLines()) {
+                    src.setNumLines(unitSrc.getNumLines());
+                }
+                for (GcnoFunction f : unitSrc.getFnctns()) {
+                    src.addFnctn(f);
+                }
+                srcIndexes[unitSrc.getIndex()] = src.getIndex();
+            }
+            for (GcnoFunction f : unit.fnctns) {
+                f.remapSourceIndexes(srcIndexes);
+                allFnctns.add(f);
+            }
+            // to fill the view title; in merged runs, a unit may miss from some of the runs
+            nbrPgmRuns = Math.max(nbrPgmRuns, unit.nbrPgmRuns);
         }
 
         /* process counts from data parsed */
 
-        // solve graph for each function
-        for (GcnoFunction gf : allFnctns) {
-            gf.solveGraphFnctn();
-        }
-
         // allocate lines
         for (SourceFile sourceFile : allSrcs) {
 			sourceFile.createLines(allSrcs);
@@ -201,20 +227,17 @@ public class CovManager implements Serializable {
         /* compute counts by folder */
 
         // make the folders list
+        Map<String, Folder> folders = new HashMap<>();
         for (SourceFile sf : allSrcs) {
             File srcFile = new File(sf.getName());
             String folderName = srcFile.getParent();
             if (folderName == null) {
                 folderName = "?"; //$NON-NLS-1$
             }
-            Folder folder = null;
-            for (Folder f : allFolders) {
-                if (f.getPath().equals(folderName)) {
-                    folder = f;
-                }
-            }
+            Folder folder = folders.get(folderName);
             if (folder == null) {
                 folder = new Folder(folderName);
+                folders.put(folderName, folder);
                 allFolders.add(folder);
             }
             folder.addSrcFiles(sf);
@@ -224,6 +247,147 @@ public class CovManager implements Serializable {
         for (Folder f : allFolders) {
             f.accumulateSourcesCounts();
         }
+
+        if (!baseRunDirectories.isEmpty()) {
+            CovManager base = new CovManager(binaryPath, project);
+            base.setParallelism(parallelism);
+            base.setRunDirectories(baseRunDirectories);
+            base.processCovFiles(covFilesPaths, initialGcda, cache);
+            subtractBaseline(base);
+        }
+    }
+
+    /**
+     * Find the GCDA files of a compilation unit in the run directories. A run directory mirrors the paths of the GCDA
+     * files, possibly without their first segments (see GCOV_PREFIX and GCOV_PREFIX_STRIP).
+     * @param gcdaPath path of the GCDA file, as stored in the binary
+     * @return the GCDA file of each run which executed the unit
+     */
+    private List<File> findRunFiles(String gcdaPath) {
+        IPath path = new Path(gcdaPath);
+        List<File> files = new ArrayList<>(runDirectories.size());
+        for (File dir : runDirectories) {
+            // the longest path first
+            for (int i = 0; i < path.segmentCount(); i++) {
+                File f = new File(dir, path.removeFirstSegments(i).toOSString());
+                if (f.isFile()) {
+                    files.add(f);
+                    break;
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Compare the coverage with a base run of the same binary. Line counts become the difference with the counts of
+     * the base run, and a line is counted as executed if it is executed in this run but not in the base run.
+     * @param base the processed coverage of the base run
+     */
+    public void subtractBaseline(CovManager base) {
+        for (SourceFile sf : allSrcs) {
+            sf.subtractBaseline(base.getSourceFile(sf.getName()));
+        }
+        Map<SourceFile, BitSet> claimedLines = new HashMap<>();
+        for (GcnoFunction gf : allFnctns) {
+            gf.countLinesGained(allSrcs, claimedLines);
+        }
+        for (Folder f : allFolders) {
+            f.accumulateSourcesCounts();
+        }
+        nbrBasePgmRuns = base.getNbrPgmRuns();
+    }
+
+    private void processUnits(List<CovUnit> units) throws CoreException, IOException {
+        if (parallelism <= 1 || units.size() <= 1) {
+            for (CovUnit unit : units) {
+                unit.process();
+            }
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, units.size()));
+        try {
+            List<ForkJoinTask<CovUnit>> tasks = new ArrayList<>(units.size());
+            for (CovUnit unit : units) {
+                tasks.add(pool.submit(() -> {
+                    unit.process();
+                    return unit;
+                }));
+            }
+            for (ForkJoinTask<CovUnit> task : tasks) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof CoreException) {
+                        throw (CoreException) cause;
+                    } else if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IOException(cause);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private SourceFile findOrAddSource(String fileName) {
+        SourceFile src = sourceMap.get(fileName);
+        if (src == null) {
+            src = new SourceFile(fileName, allSrcs.size() + 1);
+            allSrcs.add(src);
+            sourceMap.put(fileName, src);
+        }
+        return src;
+    }
+
+    /**
+     * Set whether the solved compilation units are kept in the cache of the binary, so that only the units which
+     * changed are parsed again.
+     * @param useCache <code>false</code> to parse all units
+     */
+    public void setUseCache(boolean useCache) {
+        this.useCache = useCache;
+    }
+
+    /**
+     * Set the folder of the cache files, instead of the state location of the plug-in.
+     * @param cacheFolder the folder, <code>null</code> for the state location
+     */
+    public void setCacheFolder(File cacheFolder) {
+        this.cacheFolder = cacheFolder;
+    }
+
+    /**
+     * Set the directories holding the GCDA files of several runs of the binary, for example the results of test
+     * shards. The counters of all runs are summed, instead of reading the GCDA files next to the GCNO files.
+     * @param runDirectories the run directories, empty to read the GCDA files of the build
+     */
+    public void setRunDirectories(List<File> runDirectories) {
+        this.runDirectories = runDirectories;
+    }
+
+    /**
+     * Set the directories holding the GCDA files of a base run. When set, {@link #processCovFiles(List, String)}
+     * compares the coverage with the base run (see {@link #subtractBaseline(CovManager)}).
+     * @param baseRunDirectories the run directories of the base run, empty to not compare
+     */
+    public void setBaseRunDirectories(List<File> baseRunDirectories) {
+        this.baseRunDirectories = baseRunDirectories;
+    }
+
+    /**
+     * Set the number of compilation units parsed concurrently by {@link #processCovFiles(List, String)}.
+     * @param parallelism number of worker threads, 1 to parse sequentially
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
     }
 
     /**
@@ -245,6 +409,21 @@ public class CovManager implements Serializable {
                 summaryInstrumented);
         IBinaryObject binaryObject = STSymbolManager.sharedInstance.getBinaryObject(new Path(binaryPath));
 
+        // demangle all the function names in one batch
+        List<String> names = new ArrayList<>();
+        for (Folder fldr : allFolders) {
+            for (SourceFile src : fldr.getSrcFiles()) {
+                for (GcnoFunction fnctn : src.getFnctns()) {
+                    names.add(fnctn.getName());
+                }
+            }
+        }
+        String[] demangledNames = names.toArray(new String[0]);
+        if (binaryObject != null) {
+            demangledNames = STSymbolManager.sharedInstance.demangle(binaryObject, demangledNames, project);
+        }
+        int nameIndex = 0;
+
         for (Folder fldr : allFolders) {
             String folderLocation = fldr.getPath();
             CovFolderTreeElement fldrTreeElem = new CovFolderTreeElement(rootNode, folderLocation, fldr.getNumLines(),
@@ -257,8 +436,7 @@ public class CovManager implements Serializable {
                 fldrTreeElem.addChild(srcTreeElem);
 
                 for (GcnoFunction fnctn : src.getFnctns()) {
-                    String name = fnctn.getName();
-                    name = STSymbolManager.sharedInstance.demangle(binaryObject, name, project);
+                    String name = demangledNames[nameIndex++];
                     srcTreeElem.addChild(new CovFunctionTreeElement(srcTreeElem, name, fnctn.getSrcFile(), fnctn
                             .getFirstLineNmbr(), fnctn.getCvrge().getLinesExecuted(), fnctn.getCvrge()
                             .getLinesInstrumented()));
@@ -315,17 +493,14 @@ public class CovManager implements Serializable {
 		}
 	}
 
-    private DataInput openTraceFileStream(String filePath, String extension, Map<File, File> sourcePath)
-            throws FileNotFoundException {
+    private File findTraceFile(String filePath, String extension, Map<File, File> sourcePath) {
         Path p = new Path(filePath);
         // get the file path transformed to work on local OS (e.g. Windows)
         filePath = getTransformedPathString(p);
         File f = new File(filePath).getAbsoluteFile();
         String filename = f.getName();
         if (f.isFile() && f.canRead()) {
-            FileInputStream fis = new FileInputStream(f);
-            InputStream inputStream = new BufferedInputStream(fis);
-            return new DataInputStream(inputStream);
+            return f;
         } else {
             String postfix = ""; //$NON-NLS-1$
             File dir = null;
@@ -346,7 +521,7 @@ public class CovManager implements Serializable {
             if (dir != null) {
                 f = new File(dir, postfix);
                 if (f.isFile() && f.canRead()) {
-                    return openTraceFileStream(f.getAbsolutePath(), extension, sourcePath);
+                    return findTraceFile(f.getAbsolutePath(), extension, sourcePath);
                 }
             }
 
@@ -362,7 +537,7 @@ public class CovManager implements Serializable {
 				String s = fg.open();
 				holder.setString(s);
 			});
-			// transform String path to stream
+			// transform String path to file
 			String s = holder.getString();
             if (s == null) {
 				return null;
@@ -370,9 +545,7 @@ public class CovManager implements Serializable {
 				f = new File(s).getAbsoluteFile();
 				addSourceLookup(sourcePath, f, new File(filePath).getAbsoluteFile());
 				if (f.isFile() && f.canRead()) {
-					FileInputStream fis = new FileInputStream(f);
-					InputStream inputStream = new BufferedInputStream(fis);
-					return new DataInputStream(inputStream);
+					return f;
 				}
             }
         }
@@ -403,6 +576,20 @@ public class CovManager implements Serializable {
         return nbrPgmRuns;
     }
 
+    /**
+     * @return the number of compilation units restored from the cache instead of being parsed, base run excluded
+     */
+    public int getNbrRestoredUnits() {
+        return nbrRestoredUnits;
+    }
+
+    /**
+     * @return the number of runs of the base run the coverage was compared with, or -1 if it was not compared
+     */
+    public long getNbrBasePgmRuns() {
+        return nbrBasePgmRuns;
+    }
+
     /**
      * Retrieve a list containing gcda paths from a binary file
      * @return
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.gcov.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.linuxtools.internal.gcov.Constants;
+import org.eclipse.linuxtools.internal.gcov.utils.GcovDataReader;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * A GCNO file and the GCDA files of its runs. Its sources and functions are parsed independently of the other units,
+ * then merged into the results of a {@link CovManager}.
+ */
+class CovUnit {
+    final String gcnoPath;
+    final File gcnoFile;
+    final List<File> gcdaFiles;
+    final ArrayList<SourceFile> srcs = new ArrayList<>();
+    ArrayList<GcnoFunction> fnctns = new ArrayList<>();
+    long nbrPgmRuns;
+
+    CovUnit(String gcnoPath, File gcnoFile, List<File> gcdaFiles) {
+        this.gcnoPath = gcnoPath;
+        this.gcnoFile = gcnoFile;
+        this.gcdaFiles = gcdaFiles;
+    }
+
+    /**
+     * Parse the GCNO and GCDA files, then solve the graph of each function. The counters of the GCDA files are
+     * summed.
+     * @throws CoreException
+     * @throws IOException
+     */
+    void process() throws CoreException, IOException {
+        // parse GCNO file
+        GcnoRecordsParser noRcrd = new GcnoRecordsParser(new HashMap<>(), srcs);
+        noRcrd.parseData(GcovDataReader.open(gcnoFile));
+        fnctns = noRcrd.getFnctns();
+        if (fnctns.isEmpty()) {
+            String message = NLS.bind(Messages.CovManager_No_Funcs_Error, gcnoPath);
+            Status status = new Status(IStatus.ERROR, Constants.PLUGIN_ID, message);
+            throw new CoreException(status);
+        }
+
+        // parse GCDA files
+        for (File gcdaFile : gcdaFiles) {
+            GcdaRecordsParser daRcrd = new GcdaRecordsParser(fnctns);
+            daRcrd.parseGcdaRecord(GcovDataReader.open(gcdaFile));
+            nbrPgmRuns += daRcrd.getPgmSmryNbrPgmRuns();
+        }
+
+        // solve graph for each function
+        for (GcnoFunction gf : fnctns) {
+            gf.solveGraphFnctn();
+        }
+    }
+}
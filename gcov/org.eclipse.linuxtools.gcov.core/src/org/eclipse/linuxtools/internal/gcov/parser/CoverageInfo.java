@@ -50,5 +50,9 @@ public class CoverageInfo implements Serializable{
         this.linesExecuted++;
     }
 
+    public void resetLinesExecuted(){
+        this.linesExecuted = 0;
+    }
+
 
 }
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.gcov.parser;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The blocks and arcs of a function, stored in parallel arrays indexed by block
+ * and arc number. {@link Block} and {@link Arc} are views on this graph.
+ */
+final class FunctionGraph implements Serializable {
+
+    private static final long serialVersionUID = 2369385214587312541L;
+
+    static final int ARC_ON_TREE = 1 << 0;
+    static final int ARC_FAKE = 1 << 1;
+    static final int ARC_FALLTHROUGH = 1 << 2;
+    static final int ARC_COUNT_VALID = 1 << 3;
+    static final int ARC_CALL_NON_RETURN = 1 << 4;
+    static final int ARC_NON_LOCAL_RETURN = 1 << 5;
+    static final int ARC_UNCONDITIONAL = 1 << 6;
+    static final int ARC_THROW = 1 << 7;
+
+    static final int BLOCK_CALL_SITE = 1 << 0;
+    static final int BLOCK_CALL_RETURN = 1 << 1;
+    static final int BLOCK_NON_LOCAL_RETURN = 1 << 2;
+    static final int BLOCK_COUNT_VALID = 1 << 3;
+    static final int BLOCK_VALID_CHAIN = 1 << 4;
+    static final int BLOCK_INVALID_CHAIN = 1 << 5;
+
+    private static final long[][] NO_LINES = new long[0][];
+    private static final int[] NO_INTS = new int[0];
+    private static final long[] NO_LONGS = new long[0];
+    private static final byte[] NO_BYTES = new byte[0];
+
+    /* blocks */
+    private int numBlocks;
+    private int[] blockFlags = NO_INTS;
+    private byte[] blockState = NO_BYTES;
+    private long[] blockCounts = NO_LONGS;
+    private int[] numSuccs = NO_INTS;
+    private int[] numPreds = NO_INTS;
+    private long[][] blockLines = NO_LINES;
+    private int[] blockLineNums = NO_INTS;
+
+    /* arcs */
+    private int numArcs;
+    private int[] arcSrcs = NO_INTS;
+    private int[] arcDsts = NO_INTS;
+    private int[] arcFlags = NO_INTS;
+    private long[] arcCounts = NO_LONGS;
+
+    /* arcs by block, in the order they were added: built when needed */
+    private int indexedArcs = -1;
+    private int[] exitStarts;
+    private int[] exitArcs;
+    private int[] entryStarts;
+    private int[] entryArcs;
+
+    /**
+     * Allocate the blocks of the function.
+     * @param n number of blocks
+     */
+    void setBlocks(int n) {
+        numBlocks = n;
+        blockFlags = new int[n];
+        blockState = new byte[n];
+        blockCounts = new long[n];
+        numSuccs = new int[n];
+        numPreds = new int[n];
+        blockLines = new long[n][];
+        blockLineNums = new int[n];
+        numArcs = 0;
+        indexedArcs = -1;
+    }
+
+    /**
+     * Add an arc. The flags of the source and destination blocks are updated by
+     * the caller.
+     * @return the index of the arc
+     */
+    int addArc(int src, int dst, int flags) {
+        if (numArcs == arcSrcs.length) {
+            int capacity = Math.max(8, numArcs * 2);
+            arcSrcs = Arrays.copyOf(arcSrcs, capacity);
+            arcDsts = Arrays.copyOf(arcDsts, capacity);
+            arcFlags = Arrays.copyOf(arcFlags, capacity);
+            arcCounts = Arrays.copyOf(arcCounts, capacity);
+        }
+        arcSrcs[numArcs] = src;
+        arcDsts[numArcs] = dst;
+        arcFlags[numArcs] = flags;
+        arcCounts[numArcs] = 0;
+        return numArcs++;
+    }
+
+    /**
+     * Release the unused capacity of the arc arrays.
+     */
+    void trim() {
+        if (arcSrcs.length != numArcs) {
+            arcSrcs = Arrays.copyOf(arcSrcs, numArcs);
+            arcDsts = Arrays.copyOf(arcDsts, numArcs);
+            arcFlags = Arrays.copyOf(arcFlags, numArcs);
+            arcCounts = Arrays.copyOf(arcCounts, numArcs);
+        }
+    }
+
+    private void index() {
+        if (indexedArcs == numArcs) {
+            return;
+        }
+        exitStarts = new int[numBlocks + 1];
+        entryStarts = new int[numBlocks + 1];
+        for (int a = 0; a < numArcs; a++) {
+            exitStarts[arcSrcs[a] + 1]++;
+            entryStarts[arcDsts[a] + 1]++;
+        }
+        for (int b = 0; b < numBlocks; b++) {
+            exitStarts[b + 1] += exitStarts[b];
+            entryStarts[b + 1] += entryStarts[b];
+        }
+        exitArcs = new int[numArcs];
+        entryArcs = new int[numArcs];
+        int[] exitNext = Arrays.copyOf(exitStarts, numBlocks);
+        int[] entryNext = Arrays.copyOf(entryStarts, numBlocks);
+        for (int a = 0; a < numArcs; a++) {
+            exitArcs[exitNext[arcSrcs[a]]++] = a;
+            entryArcs[entryNext[arcDsts[a]]++] = a;
+        }
+        indexedArcs = numArcs;
+    }
+
+    /* blocks */
+
+    int getNumBlocks() {
+        return numBlocks;
+    }
+
+    long getBlockFlag(int b) {
+        return blockFlags[b] & 0xFFFFFFFFL;
+    }
+
+    void setBlockFlag(int b, long flag) {
+        blockFlags[b] = (int) flag;
+    }
+
+    boolean isBlockSet(int b, int state) {
+        return (blockState[b] & state) != 0;
+    }
+
+    void setBlockState(int b, int state, boolean value) {
+        if (value) {
+            blockState[b] |= state;
+        } else {
+            blockState[b] &= ~state;
+        }
+    }
+
+    long getBlockCount(int b) {
+        return blockCounts[b];
+    }
+
+    void setBlockCount(int b, long count) {
+        blockCounts[b] = count;
+    }
+
+    int getNumSuccs(int b) {
+        return numSuccs[b];
+    }
+
+    void setNumSuccs(int b, int n) {
+        numSuccs[b] = n;
+    }
+
+    int getNumPreds(int b) {
+        return numPreds[b];
+    }
+
+    void setNumPreds(int b, int n) {
+        numPreds[b] = n;
+    }
+
+    long[] getLines(int b) {
+        return blockLines[b];
+    }
+
+    int getLineNum(int b) {
+        return blockLineNums[b];
+    }
+
+    void setLines(int b, long[] lines, int num) {
+        blockLines[b] = lines;
+        blockLineNums[b] = num;
+    }
+
+    int getNumExitArcs(int b) {
+        index();
+        return exitStarts[b + 1] - exitStarts[b];
+    }
+
+    /**
+     * @return the index of the i-th arc leaving a block
+     */
+    int getExitArc(int b, int i) {
+        index();
+        return exitArcs[exitStarts[b] + i];
+    }
+
+    int getNumEntryArcs(int b) {
+        index();
+        return entryStarts[b + 1] - entryStarts[b];
+    }
+
+    /**
+     * @return the index of the i-th arc entering a block
+     */
+    int getEntryArc(int b, int i) {
+        index();
+        return entryArcs[entryStarts[b] + i];
+    }
+
+    /* arcs */
+
+    int getNumArcs() {
+        return numArcs;
+    }
+
+    int getArcFlags(int a) {
+        return arcFlags[a];
+    }
+
+    int getBlockState(int b) {
+        return blockState[b];
+    }
+
+    int getArcSrc(int a) {
+        return arcSrcs[a];
+    }
+
+    int getArcDst(int a) {
+        return arcDsts[a];
+    }
+
+    boolean isArcSet(int a, int flag) {
+        return (arcFlags[a] & flag) != 0;
+    }
+
+    void setArcFlag(int a, int flag, boolean value) {
+        if (value) {
+            arcFlags[a] |= flag;
+        } else {
+            arcFlags[a] &= ~flag;
+        }
+    }
+
+    /**
+     * @return the flags of the arc, as found in the GCNO file
+     */
+    long getArcGcnoFlag(int a) {
+        return arcFlags[a] & (ARC_ON_TREE | ARC_FAKE | ARC_FALLTHROUGH);
+    }
+
+    long getArcCount(int a) {
+        return arcCounts[a];
+    }
+
+    void setArcCount(int a, long count) {
+        arcCounts[a] = count;
+    }
+}
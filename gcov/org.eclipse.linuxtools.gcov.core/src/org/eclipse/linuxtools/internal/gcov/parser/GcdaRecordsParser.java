@@ -12,18 +12,17 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gcov.parser;
 
-import java.io.DataInput;
-import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.HashMap;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.linuxtools.internal.gcov.Constants;
-import org.eclipse.linuxtools.internal.gcov.utils.BEDataInputStream;
-import org.eclipse.linuxtools.internal.gcov.utils.LEDataInputStream;
+import org.eclipse.linuxtools.internal.gcov.utils.GcovDataReader;
 import org.eclipse.linuxtools.internal.gcov.utils.MasksGenerator;
 import org.eclipse.osgi.util.NLS;
 
@@ -39,6 +38,8 @@ public class GcdaRecordsParser {
 
 
     private final ArrayList<GcnoFunction> fnctns;
+    private final HashMap<Long, GcnoFunction> fnctnsById = new HashMap<>();
+    private long[] counters = new long[0];
     private long objSmryNbrPgmRuns = 0;
     private long pgmSmryChksm = 0;
     private long pgmSmryNbrPgmRuns = 0;
@@ -50,9 +51,12 @@ public class GcdaRecordsParser {
 
     public GcdaRecordsParser(ArrayList<GcnoFunction> fnctns) {
         this.fnctns = fnctns;
+        for (GcnoFunction f : fnctns) {
+            fnctnsById.putIfAbsent(f.getIdent(), f);
+        }
     }
 
-    public void parseGcdaRecord(DataInput stream) throws IOException, CoreException {
+    public void parseGcdaRecord(GcovDataReader stream) throws IOException, CoreException {
         // header data
         int magic = 0;
 
@@ -62,13 +66,10 @@ public class GcdaRecordsParser {
         // read magic
         magic = stream.readInt();
 
-        if (magic == GCOV_DATA_MAGIC) {
-            stream = new BEDataInputStream((DataInputStream) stream);
-        } else {
-            magic = (magic >> 16) | (magic << 16);
-            magic = ((magic & 0xff00ff) << 8) | ((magic >> 8) & 0xff00ff);
+        if (magic != GCOV_DATA_MAGIC) {
+            magic = Integer.reverseBytes(magic);
             if (magic == GCOV_DATA_MAGIC) {
-                stream = new LEDataInputStream((DataInputStream) stream);
+                stream.setByteOrder(ByteOrder.LITTLE_ENDIAN);
             } else {
                 String message = NLS.bind(Messages.GcdaRecordsParser_magic_num_error, magic);
 				Status status = new Status(IStatus.ERROR, Constants.PLUGIN_ID, message);
@@ -96,46 +97,37 @@ public class GcdaRecordsParser {
                 }
 
                 long length = (stream.readInt() & MasksGenerator.UNSIGNED_INT_MASK);
+                long recordEnd = stream.getPosition() + (length << 2);
                 // parse gcda data
                 switch (tag) {
                 case GCOV_TAG_FUNCTION: {
                     long fnctnId = stream.readInt() & MasksGenerator.UNSIGNED_INT_MASK;
                     if (!fnctns.isEmpty()) {
-                        boolean fnctnFound = false;
-                        for (GcnoFunction f : fnctns) {
-                            if (f.getIdent() == fnctnId) {
-                                fnctnFound = true;
-                                currentFnctn = f;
-                                long fnctnChksm = stream.readInt() & MasksGenerator.UNSIGNED_INT_MASK;
-                                if (f.getCheksum() != fnctnChksm) {
-                                    String message = NLS.bind(Messages.GcdaRecordsParser_checksum_error, new Object[] {
-                                            currentFnctn.getName(), fnctnId });
-									Status status = new Status(IStatus.ERROR, Constants.PLUGIN_ID, message);
-                                    throw new CoreException(status);
-                                }
-
-                                /*
-                                 * danielhb, 2012-08-06: Gcov versions 4.7.0 or later (long value = 875575082) has
-                                 * different format for the data file: prior format: announce_function: header
-                                 * int32:ident int32:checksum new format: announce_function: header int32:ident
-                                 * int32:lineno_checksum int32:cfg_checksum TL;DR Need to consume the extra long value.
-                                 */
-                                if (version >= 875575082) {
-                                    // long cfgChksm = (stream.readInt()&MasksGenerator.UNSIGNED_INT_MASK);
-                                    stream.readInt();
-                                }
-
-                                break;
-                            }
+                        currentFnctn = fnctnsById.get(fnctnId);
+                        if (currentFnctn == null) {
+                            String message = NLS.bind(Messages.GcdaRecordsParser_func_not_found, fnctnId);
+							Status status = new Status(IStatus.ERROR, Constants.PLUGIN_ID, message);
+                            throw new CoreException(status);
                         }
 
-                        if (!fnctnFound) {
-                            currentFnctn = null;
-                            String message = NLS.bind(Messages.GcdaRecordsParser_func_not_found, fnctnId);
+                        long fnctnChksm = stream.readInt() & MasksGenerator.UNSIGNED_INT_MASK;
+                        if (currentFnctn.getCheksum() != fnctnChksm) {
+                            String message = NLS.bind(Messages.GcdaRecordsParser_checksum_error, new Object[] {
+                                    currentFnctn.getName(), fnctnId });
 							Status status = new Status(IStatus.ERROR, Constants.PLUGIN_ID, message);
                             throw new CoreException(status);
                         }
 
+                        /*
+                         * danielhb, 2012-08-06: Gcov versions 4.7.0 or later (long value = 875575082) has
+                         * different format for the data file: prior format: announce_function: header
+                         * int32:ident int32:checksum new format: announce_function: header int32:ident
+                         * int32:lineno_checksum int32:cfg_checksum TL;DR Need to consume the extra long value.
+                         */
+                        if (version >= 875575082) {
+                            // long cfgChksm = (stream.readInt()&MasksGenerator.UNSIGNED_INT_MASK);
+                            stream.readInt();
+                        }
                     }
                     break;
                 }
@@ -147,44 +139,64 @@ public class GcdaRecordsParser {
                         throw new CoreException(status);
                     }
 
-                    ArrayList<Block> fnctnBlcks = currentFnctn.getFunctionBlocks();
-                    if (fnctnBlcks.isEmpty()) {
+                    FunctionGraph graph = currentFnctn.getGraph();
+                    if (graph.getNumBlocks() == 0) {
                         String message = Messages.GcdaRecordsParser_func_block_empty;
 						Status status = new Status(IStatus.ERROR, Constants.PLUGIN_ID, message);
                         throw new CoreException(status);
                     }
 
-                    for (Block b : fnctnBlcks) {
+                    int nbrCounters = (int) (length / 2);
+                    if (counters.length < nbrCounters) {
+                        counters = new long[nbrCounters];
+                    }
+                    stream.readLongs(counters, nbrCounters);
+                    int counter = 0;
+
+                    for (int b = 0; b < graph.getNumBlocks(); b++) {
                         int nonFakeExit = 0;
 						int prevBlockIndice = 0;
 						@SuppressWarnings("unused")
 						boolean outOfOrder = false;
 
-                        ArrayList<Arc> arcsExit = b.getExitArcs();
-                        for (Arc extArc : arcsExit) {
-                            if (!extArc.isFake()) {
+                        int nbrExits = graph.getNumExitArcs(b);
+                        for (int i = 0; i < nbrExits; i++) {
+                            int extArc = graph.getExitArc(b, i);
+                            if (!graph.isArcSet(extArc, FunctionGraph.ARC_FAKE)) {
                                 nonFakeExit++;
                             }
-                            if (!extArc.isOnTree()) {
-                                long arcsCnts = stream.readLong();
-                                extArc.setCount(arcsCnts);
-                                extArc.setCountValid(true);
-                                b.decNumSuccs();
-                                extArc.getDstnatnBlock().decNumPreds();
-								if (prevBlockIndice > extArc.getDstnatnBlockIndice()) {
+                            if (!graph.isArcSet(extArc, FunctionGraph.ARC_ON_TREE)) {
+                                if (counter == nbrCounters) {
+                                    String message = Messages.GcdaRecordsParser_content_inconsistent;
+									Status status = new Status(IStatus.ERROR, Constants.PLUGIN_ID, message);
+                                    throw new CoreException(status);
+                                }
+                                long arcsCnts = counters[counter++];
+                                int dst = graph.getArcDst(extArc);
+                                if (graph.isArcSet(extArc, FunctionGraph.ARC_COUNT_VALID)) {
+                                    // counters of another run of the program: sum them
+                                    graph.setArcCount(extArc, graph.getArcCount(extArc) + arcsCnts);
+                                    continue;
+                                }
+                                graph.setArcCount(extArc, arcsCnts);
+                                graph.setArcFlag(extArc, FunctionGraph.ARC_COUNT_VALID, true);
+                                graph.setNumSuccs(b, graph.getNumSuccs(b) - 1);
+                                graph.setNumPreds(dst, graph.getNumPreds(dst) - 1);
+								if (prevBlockIndice > dst) {
 //									System.err.println("out of order"); //$NON-NLS-1$
 									outOfOrder = true;
 								}
-								prevBlockIndice = extArc.getDstnatnBlockIndice();
+								prevBlockIndice = dst;
                             }
                         }
 
                         // If there is only one non-fake exit, it is an
                         // unconditional branch.
                         if (nonFakeExit == 1) {
-                            for (Arc extArc : arcsExit) {
-                                if (!extArc.isFake()) {
-                                    extArc.setUnconditionnal(true);
+                            for (int i = 0; i < nbrExits; i++) {
+                                int extArc = graph.getExitArc(b, i);
+                                if (!graph.isArcSet(extArc, FunctionGraph.ARC_FAKE)) {
+                                    graph.setArcFlag(extArc, FunctionGraph.ARC_UNCONDITIONAL, true);
 
                                     // If this block is instrumenting a call, it might be
                                     // an artificial block. It is not artificial if it has
@@ -192,10 +204,12 @@ public class GcdaRecordsParser {
                                     // arc has more than one entry. Mark the destination
                                     // block as a return site, if none of those conditions hold.
 
-									if (b.isCallSite() && extArc.isFallthrough()
-											&& extArc.getDstnatnBlock().getEntryArcs().get(0).equals(extArc)
-											&& extArc.getDstnatnBlock().getEntryArcs().size() == 1) {
-										extArc.getDstnatnBlock().setCallReturn(true);
+                                    int dst = graph.getArcDst(extArc);
+									if (graph.isBlockSet(b, FunctionGraph.BLOCK_CALL_SITE)
+											&& graph.isArcSet(extArc, FunctionGraph.ARC_FALLTHROUGH)
+											&& graph.getEntryArc(dst, 0) == extArc
+											&& graph.getNumEntryArcs(dst) == 1) {
+										graph.setBlockState(dst, FunctionGraph.BLOCK_CALL_RETURN, true);
 									}
                                 }
                             }
@@ -242,6 +256,8 @@ public class GcdaRecordsParser {
                     break;
                 }
                 }
+                // skip what was not read from the record
+                stream.setPosition(recordEnd);
             } catch (EOFException e) {
                 break;
             }
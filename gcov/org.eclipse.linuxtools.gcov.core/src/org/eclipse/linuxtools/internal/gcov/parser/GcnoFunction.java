@@ -14,8 +14,10 @@ package org.eclipse.linuxtools.internal.gcov.parser;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
 
 public class GcnoFunction implements Serializable, Comparable<GcnoFunction> {
 
@@ -26,7 +28,7 @@ public class GcnoFunction implements Serializable, Comparable<GcnoFunction> {
     private final long firstLineNmbr;
     private final String name;
     private final String srcFile;
-    private ArrayList<Block> functionBlocks = new ArrayList<>();
+    private final FunctionGraph graph = new FunctionGraph();
     private int numCounts = 0, numBlocks = 0;
     private final CoverageInfo cvrge = new CoverageInfo();
 	private boolean hasCatch = false;
@@ -50,173 +52,249 @@ public class GcnoFunction implements Serializable, Comparable<GcnoFunction> {
     }
 
     public void addLineCounts(ArrayList<SourceFile> srcs) {
-		Set<Line> linesToCalculate = new HashSet<>();
+        FunctionGraph g = graph;
+        // lines with several blocks, by source file
+        Map<SourceFile, BitSet> linesToCalculate = new HashMap<>();
         for (int i = 0; i != numBlocks; i++) {
-            Block blk = functionBlocks.get(i);
+            long blkCount = g.getBlockCount(i);
             SourceFile fileSrc = null;
 
-            long[] enc = blk.getEncoding();
-            for (int j = 0, k = 0; j != blk.getLineNum(); j++, k++) {
+            long[] enc = g.getLines(i);
+            for (int j = 0, k = 0; j != g.getLineNum(i); j++, k++) {
                 if (enc[k] == 0) {
-                    int srcn = (int) enc[++k];
-                    for (SourceFile sf : srcs) {
-                        if (sf.getIndex() == srcn) {
-                            fileSrc = sf;
-                            break;
-                        }
-                    }
+                    fileSrc = findSource(srcs, (int) enc[++k], fileSrc);
                     j++;
-                } else if ((fileSrc != null) && enc[k] < fileSrc.getLines().size()) {
-                    Line line = fileSrc.getLines().get((int) enc[k]);
-                    if (!line.exists()) {
+                } else if ((fileSrc != null) && enc[k] < fileSrc.getLinesSize()) {
+                    int line = (int) enc[k];
+                    if (!fileSrc.lineExists(line)) {
                         cvrge.incLinesInstrumented();
                     }
-                    if ((line.getCount() == 0) && (blk.getCount() != 0)) {
+                    if ((fileSrc.getLineCount(line) == 0) && (blkCount != 0)) {
                         cvrge.incLinesExecuted();
                     }
-                    line.setExists(true);
-					if (line.getBlocks().size() > 1) {
+                    fileSrc.setLineExists(line, true);
+					if (fileSrc.getNumLineBlocks(line) > 1) {
 						// we can't count on the blk count to be accurate (multiple blocks have same
 						// line
-						linesToCalculate.add(line);
-						line.setCount(1); // to avoid counting it twice in execution total
+						linesToCalculate.computeIfAbsent(fileSrc, sf -> new BitSet()).set(line);
+						fileSrc.setLineCount(line, 1); // to avoid counting it twice in execution total
 					} else {
-						line.setCount(line.getCount() + blk.getCount());
+						fileSrc.setLineCount(line, fileSrc.getLineCount(line) + blkCount);
 					}
                 }
             }
         }
-		for (Line line : linesToCalculate) {
-			long count = 0;
-			for (Block b : line.getBlocks()) {
-				for (Arc arc : b.getEntryArcs()) {
-					if (!line.hasBlock(arc.getSrcBlock())) {
-						count += arc.getCount();
+		for (Map.Entry<SourceFile, BitSet> e : linesToCalculate.entrySet()) {
+			SourceFile sf = e.getKey();
+			BitSet lines = e.getValue();
+			for (int line = lines.nextSetBit(0); line >= 0; line = lines.nextSetBit(line + 1)) {
+				long count = 0;
+				for (int ref = sf.getFirstLineBlock(line); ref >= 0; ref = sf.getNextLineBlock(ref)) {
+					FunctionGraph bg = sf.getLineBlockGraph(ref);
+					int b = sf.getLineBlockIndex(ref);
+					for (int i = 0, n = bg.getNumEntryArcs(b); i < n; i++) {
+						int arc = bg.getEntryArc(b, i);
+						if (!sf.lineHasBlock(line, bg, bg.getArcSrc(arc))) {
+							count += bg.getArcCount(arc);
+						}
 					}
 				}
+				sf.setLineCount(line, count);
 			}
-			line.setCount(count);
 		}
     }
 
+    private static SourceFile findSource(ArrayList<SourceFile> srcs, int srcn, SourceFile current) {
+        // sources are usually stored at their index
+        if (srcn > 0 && srcn <= srcs.size() && srcs.get(srcn - 1).getIndex() == srcn) {
+            return srcs.get(srcn - 1);
+        }
+        for (SourceFile sf : srcs) {
+            if (sf.getIndex() == srcn) {
+                return sf;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Count the executed lines of the function again, once the line counts are compared with a base run. A line is
+     * counted in the first function it belongs to.
+     * @param srcs all source files
+     * @param claimedLines the lines already counted by a function, by source file
+     */
+    void countLinesGained(ArrayList<SourceFile> srcs, Map<SourceFile, BitSet> claimedLines) {
+        cvrge.resetLinesExecuted();
+        for (int i = 0; i != numBlocks; i++) {
+            SourceFile fileSrc = null;
+            long[] enc = graph.getLines(i);
+            for (int j = 0, k = 0; j != graph.getLineNum(i); j++, k++) {
+                if (enc[k] == 0) {
+                    fileSrc = findSource(srcs, (int) enc[++k], fileSrc);
+                    j++;
+                } else if ((fileSrc != null) && enc[k] < fileSrc.getLinesSize()) {
+                    int line = (int) enc[k];
+                    BitSet claimed = claimedLines.computeIfAbsent(fileSrc, sf -> new BitSet());
+                    if (!claimed.get(line)) {
+                        claimed.set(line);
+                        if (fileSrc.isLineGained(line)) {
+                            cvrge.incLinesExecuted();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace the source file indexes of the line encodings of the blocks.
+     * @param srcIndexes new index of each source file, by old index
+     */
+    public void remapSourceIndexes(int[] srcIndexes) {
+        for (int b = 0; b < graph.getNumBlocks(); b++) {
+            long[] enc = graph.getLines(b);
+            if (enc == null) {
+                continue;
+            }
+            // a 0 line number is followed by the index of the source file of the next lines
+            for (int i = 0; i < graph.getLineNum(b) - 1; i++) {
+                if (enc[i] == 0) {
+                    enc[i + 1] = srcIndexes[(int) enc[i + 1]];
+                    i++;
+                }
+            }
+        }
+    }
+
     public void solveGraphFnctn() {
-        ArrayList<Block> fnctnBlcks = this.functionBlocks;
-        ArrayList<Block> validBlocks = new ArrayList<>();
-        ArrayList<Block> invalidBlocks = new ArrayList<>();
+        FunctionGraph g = graph;
+        int n = g.getNumBlocks();
+        int[] validBlocks = new int[Math.max(n, 1)];
+        int nbrValid = 0;
+        int[] invalidBlocks = new int[Math.max(n, 1)];
+        int nbrInvalid = 0;
 
         // Function should contain at least one block
-        if (fnctnBlcks.size() >= 2) {
-            if (fnctnBlcks.get(0).getNumPreds() == 0) {
-                fnctnBlcks.get(0).setNumPreds(50000);
+        if (n >= 2) {
+            if (g.getNumPreds(0) == 0) {
+                g.setNumPreds(0, 50000);
             }
-            if (fnctnBlcks.get(fnctnBlcks.size() - 1).getNumSuccs() == 0) {
-                fnctnBlcks.get(fnctnBlcks.size() - 1).setNumSuccs(50000);
+            if (g.getNumSuccs(n - 1) == 0) {
+                g.setNumSuccs(n - 1, 50000);
             }
         }
 
-        for (Block b: fnctnBlcks) {
-            b.setInvalidChain(true);
-            invalidBlocks.add(b);
+        for (int b = 0; b < n; b++) {
+            g.setBlockState(b, FunctionGraph.BLOCK_INVALID_CHAIN, true);
+            invalidBlocks[nbrInvalid++] = b;
         }
 
-        while (!validBlocks.isEmpty() || !invalidBlocks.isEmpty()) {
+        while (nbrValid != 0 || nbrInvalid != 0) {
 
-            if (!invalidBlocks.isEmpty()) {
-                for (int i = invalidBlocks.size() - 1; i >= 0; i--) {
-                    Block invb = invalidBlocks.get(i);
-                    long total = 0;
-                    invalidBlocks.remove(i);
-                    invb.setInvalidChain(false);
+            while (nbrInvalid != 0) {
+                int invb = invalidBlocks[--nbrInvalid];
+                long total = 0;
+                g.setBlockState(invb, FunctionGraph.BLOCK_INVALID_CHAIN, false);
 
-                    if (invb.getNumPreds() != 0 && invb.getNumSuccs() != 0)
-                    	continue;
+                if (g.getNumPreds(invb) != 0 && g.getNumSuccs(invb) != 0)
+                    continue;
 
-                    if (invb.getNumSuccs() == 0) {
-                        ArrayList<Arc> extArcs = invb.getExitArcs();
-                        for (Arc arc : extArcs) {
-                            total += arc.getCount();
-                        }
+                if (g.getNumSuccs(invb) == 0) {
+                    for (int i = 0, m = g.getNumExitArcs(invb); i < m; i++) {
+                        total += g.getArcCount(g.getExitArc(invb, i));
                     }
-                    // On Windows, we can end up with both numpreds and numsuccs 0 for
-                    // a closing brace of a function so we need to check the entry arcs
-                    // as well if we don't have a total > 0.
-                    if (invb.getNumPreds() == 0 && total == 0) {
-                        ArrayList<Arc> entrArcs = invb.getEntryArcs();
-                        for (Arc arc : entrArcs) {
-                            total += arc.getCount();
-                        }
+                }
+                // On Windows, we can end up with both numpreds and numsuccs 0 for
+                // a closing brace of a function so we need to check the entry arcs
+                // as well if we don't have a total > 0.
+                if (g.getNumPreds(invb) == 0 && total == 0) {
+                    for (int i = 0, m = g.getNumEntryArcs(invb); i < m; i++) {
+                        total += g.getArcCount(g.getEntryArc(invb, i));
                     }
+                }
 
-                    invb.setCount(total);
-                    invb.setCountValid(true);
-                    invb.setValidChain(true);
-                    validBlocks.add(invb);
+                g.setBlockCount(invb, total);
+                g.setBlockState(invb, FunctionGraph.BLOCK_COUNT_VALID, true);
+                g.setBlockState(invb, FunctionGraph.BLOCK_VALID_CHAIN, true);
+                if (nbrValid == validBlocks.length) {
+                    validBlocks = Arrays.copyOf(validBlocks, nbrValid * 2);
                 }
+                validBlocks[nbrValid++] = invb;
             }
-            while (!validBlocks.isEmpty()) {
-                int last = validBlocks.size() - 1;
-                Block vb = validBlocks.get(last);
-                Arc invarc = null;
+            while (nbrValid != 0) {
+                int vb = validBlocks[--nbrValid];
+                int invarc = -1;
                 int total = 0;
-                validBlocks.remove(last);
 
-                vb.setValidChain(false);
+                g.setBlockState(vb, FunctionGraph.BLOCK_VALID_CHAIN, false);
 
-                if (vb.getNumSuccs() == 1) {
-                    Block blcksdst;
-                    total = (int) vb.getCount();
+                if (g.getNumSuccs(vb) == 1) {
+                    total = (int) g.getBlockCount(vb);
 
-                    for (Arc extAr : vb.getExitArcs()) {
-                        total -= extAr.getCount();
-                        if (extAr.isCountValid() == false) {
+                    for (int i = 0, m = g.getNumExitArcs(vb); i < m; i++) {
+                        int extAr = g.getExitArc(vb, i);
+                        total -= g.getArcCount(extAr);
+                        if (!g.isArcSet(extAr, FunctionGraph.ARC_COUNT_VALID)) {
                             invarc = extAr;
                         }
                     }
-                    blcksdst = invarc.getDstnatnBlock();
-                    invarc.setCountValid(true);
-                    invarc.setCount(total);
-                    vb.decNumSuccs();
-                    blcksdst.decNumPreds();
-
-                    if (blcksdst.isCountValid()) {
-                        if (blcksdst.getNumPreds() == 1 && !blcksdst.isValidChain()) {
-                            blcksdst.setValidChain(true);
-                            validBlocks.add(blcksdst);
+                    int blcksdst = g.getArcDst(invarc);
+                    g.setArcFlag(invarc, FunctionGraph.ARC_COUNT_VALID, true);
+                    g.setArcCount(invarc, total);
+                    g.setNumSuccs(vb, g.getNumSuccs(vb) - 1);
+                    g.setNumPreds(blcksdst, g.getNumPreds(blcksdst) - 1);
+
+                    if (g.isBlockSet(blcksdst, FunctionGraph.BLOCK_COUNT_VALID)) {
+                        if (g.getNumPreds(blcksdst) == 1 && !g.isBlockSet(blcksdst, FunctionGraph.BLOCK_VALID_CHAIN)) {
+                            g.setBlockState(blcksdst, FunctionGraph.BLOCK_VALID_CHAIN, true);
+                            if (nbrValid == validBlocks.length) {
+                                validBlocks = Arrays.copyOf(validBlocks, nbrValid * 2);
+                            }
+                            validBlocks[nbrValid++] = blcksdst;
                         }
                     } else {
-                        if (blcksdst.getNumPreds() == 0 && !blcksdst.isInvalidChain()) {
-                            blcksdst.setInvalidChain(true);
-                            invalidBlocks.add(blcksdst);
+                        if (g.getNumPreds(blcksdst) == 0 && !g.isBlockSet(blcksdst, FunctionGraph.BLOCK_INVALID_CHAIN)) {
+                            g.setBlockState(blcksdst, FunctionGraph.BLOCK_INVALID_CHAIN, true);
+                            if (nbrInvalid == invalidBlocks.length) {
+                                invalidBlocks = Arrays.copyOf(invalidBlocks, nbrInvalid * 2);
+                            }
+                            invalidBlocks[nbrInvalid++] = blcksdst;
                         }
                     }
                 }
 
-                if (vb.getNumPreds() == 1) {
-                    Block blcksrc;
-                    total = (int) vb.getCount();
-                    invarc = null;
+                if (g.getNumPreds(vb) == 1) {
+                    total = (int) g.getBlockCount(vb);
+                    invarc = -1;
 
-                    for (Arc entrAr : vb.getEntryArcs()) {
-						total -= entrAr.getCount(); /* total can end up negative here ?? */
-                        if (!entrAr.isCountValid()) {
+                    for (int i = 0, m = g.getNumEntryArcs(vb); i < m; i++) {
+                        int entrAr = g.getEntryArc(vb, i);
+						total -= g.getArcCount(entrAr); /* total can end up negative here ?? */
+                        if (!g.isArcSet(entrAr, FunctionGraph.ARC_COUNT_VALID)) {
                             invarc = entrAr;
                         }
                     }
 
-                    blcksrc = invarc.getSrcBlock();
-                    invarc.setCountValid(true);
-					invarc.setCount(total); /* temporary kludge */
-                    vb.decNumPreds();
-                    blcksrc.decNumSuccs();
-
-                    if (blcksrc.isCountValid()) {
-                        if (blcksrc.getNumSuccs() == 1 && !blcksrc.isInvalidChain()) {
-                            blcksrc.setValidChain(true);
-                            validBlocks.add(blcksrc);
+                    int blcksrc = g.getArcSrc(invarc);
+                    g.setArcFlag(invarc, FunctionGraph.ARC_COUNT_VALID, true);
+					g.setArcCount(invarc, total); /* temporary kludge */
+                    g.setNumPreds(vb, g.getNumPreds(vb) - 1);
+                    g.setNumSuccs(blcksrc, g.getNumSuccs(blcksrc) - 1);
+
+                    if (g.isBlockSet(blcksrc, FunctionGraph.BLOCK_COUNT_VALID)) {
+                        if (g.getNumSuccs(blcksrc) == 1 && !g.isBlockSet(blcksrc, FunctionGraph.BLOCK_INVALID_CHAIN)) {
+                            g.setBlockState(blcksrc, FunctionGraph.BLOCK_VALID_CHAIN, true);
+                            if (nbrValid == validBlocks.length) {
+                                validBlocks = Arrays.copyOf(validBlocks, nbrValid * 2);
+                            }
+                            validBlocks[nbrValid++] = blcksrc;
+                        }
+                    } else if (g.getNumSuccs(blcksrc) == 0 && !g.isBlockSet(blcksrc, FunctionGraph.BLOCK_INVALID_CHAIN)) {
+                        g.setBlockState(blcksrc, FunctionGraph.BLOCK_INVALID_CHAIN, true);
+                        if (nbrInvalid == invalidBlocks.length) {
+                            invalidBlocks = Arrays.copyOf(invalidBlocks, nbrInvalid * 2);
                         }
-                    } else if (blcksrc.getNumSuccs() == 0 && !blcksrc.isInvalidChain()) {
-                        blcksrc.setInvalidChain(true);
-                        invalidBlocks.add(blcksrc);
+                        invalidBlocks[nbrInvalid++] = blcksrc;
                     }
                 }
             }
@@ -246,15 +324,25 @@ public class GcnoFunction implements Serializable, Comparable<GcnoFunction> {
     }
 
     public ArrayList<Block> getFunctionBlocks() {
-        return functionBlocks;
+        ArrayList<Block> blocks = new ArrayList<>(graph.getNumBlocks());
+        for (int i = 0; i < graph.getNumBlocks(); i++) {
+            blocks.add(new Block(graph, i));
+        }
+        return blocks;
     }
 
     public Block getFunctionBlock(int i) {
-        return functionBlocks.get(i);
+        if (i < 0 || i >= graph.getNumBlocks()) {
+            throw new IndexOutOfBoundsException(Integer.toString(i));
+        }
+        return new Block(graph, i);
     }
 
-    public void setFunctionBlocks(ArrayList<Block> functionBlocks) {
-        this.functionBlocks = functionBlocks;
+    /**
+     * @return the blocks and arcs of the function
+     */
+    FunctionGraph getGraph() {
+        return graph;
     }
 
 	public boolean hasCatch() {
@@ -269,6 +357,10 @@ public class GcnoFunction implements Serializable, Comparable<GcnoFunction> {
         return numCounts;
     }
 
+    public void setNumCounts(int numCounts) {
+        this.numCounts = numCounts;
+    }
+
     public int getNumBlocks() {
         return numBlocks;
     }
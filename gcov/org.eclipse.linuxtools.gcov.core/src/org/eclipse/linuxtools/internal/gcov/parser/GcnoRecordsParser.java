@@ -12,10 +12,9 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gcov.parser;
 
-import java.io.DataInput;
-import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -23,9 +22,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.linuxtools.internal.gcov.Constants;
-import org.eclipse.linuxtools.internal.gcov.utils.BEDataInputStream;
-import org.eclipse.linuxtools.internal.gcov.utils.GcovStringReader;
-import org.eclipse.linuxtools.internal.gcov.utils.LEDataInputStream;
+import org.eclipse.linuxtools.internal.gcov.utils.GcovDataReader;
 import org.eclipse.linuxtools.internal.gcov.utils.MasksGenerator;
 import org.eclipse.osgi.util.NLS;
 
@@ -45,6 +42,7 @@ public class GcnoRecordsParser {
     private final ArrayList<GcnoFunction> fnctns = new ArrayList<>();
     private final ArrayList<SourceFile> currentAllSrcs;
     private final HashMap<String, SourceFile> sourceMap;
+    private int[] arcData = new int[0];
 
     public GcnoRecordsParser(HashMap<String, SourceFile> sourceMap, ArrayList<SourceFile> allSrcs) {
         this.sourceMap = sourceMap;
@@ -61,24 +59,19 @@ public class GcnoRecordsParser {
         return newsrc; // return the new added element
     }
 
-    public void parseData(DataInput stream) throws IOException, CoreException {
+    public void parseData(GcovDataReader stream) throws IOException, CoreException {
         // header data
         int magic = 0;
-        // blocks data
-        ArrayList<Block> blocks = null;
         // source file data
         SourceFile source = null;
         // flag
         boolean parseFirstFnctn = false;
 
         magic = stream.readInt();
-        if (magic == GCOV_NOTE_MAGIC) {
-            stream = new BEDataInputStream((DataInputStream) stream);
-        } else {
-            magic = (magic >> 16) | (magic << 16);
-            magic = ((magic & 0xff00ff) << 8) | ((magic >> 8) & 0xff00ff);
+        if (magic != GCOV_NOTE_MAGIC) {
+            magic = Integer.reverseBytes(magic);
             if (magic == GCOV_NOTE_MAGIC) {
-                stream = new LEDataInputStream((DataInputStream) stream);
+                stream.setByteOrder(ByteOrder.LITTLE_ENDIAN);
             } else {
                 String message = NLS.bind(Messages.GcnoRecordsParser_magic_num_error, magic);
 				Status status = new Status(IStatus.ERROR, Constants.PLUGIN_ID, message);
@@ -91,7 +84,7 @@ public class GcnoRecordsParser {
         stream.readInt();
 
 		if (version >= GCC_VER_910) {
-			GcovStringReader.readString(stream); // cwd
+			stream.readString(); // cwd
 		}
 
 		if (version >= GCC_VER_810) {
@@ -114,6 +107,7 @@ public class GcnoRecordsParser {
                 if (tag == GCOV_TAG_FUNCTION) {
                     // before parse new function, add current function to functions list
                     if (parseFirstFnctn) {
+                        fnctn.getGraph().trim();
                         fnctns.add(fnctn);
                     }
 
@@ -129,12 +123,12 @@ public class GcnoRecordsParser {
                         // long cfgChksm = (stream.readInt()&MasksGenerator.UNSIGNED_INT_MASK);
                         stream.readInt();
                     }
-                    String fnctnName = GcovStringReader.readString(stream);
+                    String fnctnName = stream.readString();
                     if (version >= GCC_VER_810) {
                         // long artificial = (stream.readInt() & MasksGenerator.UNSIGNED_INT_MASK);
                         stream.readInt();
                     }
-                    String fnctnSrcFle = GcovStringReader.readString(stream);
+                    String fnctnSrcFle = stream.readString();
                     long fnctnFrstLnNmbr = (stream.readInt() & MasksGenerator.UNSIGNED_INT_MASK);
                     if (version >= GCC_VER_810) {
 						// long fnctnFrstColumnNmbr = (stream.readInt() &
@@ -164,78 +158,72 @@ public class GcnoRecordsParser {
                     if (version >= GCC_VER_810) {
 						blkLength = stream.readInt();
                     }
-                    blocks = new ArrayList<>();
-                    Block blck;
-					for (int i = 0; i < blkLength; i++) {
-                        if (version >= GCC_VER_810) {
-                            blck = new Block(0); // value not used anywhere
-                        } else {
+                    FunctionGraph graph = fnctn.getGraph();
+                    graph.setBlocks(blkLength);
+                    // since GCC 8.1, block flags are not stored: value not used anywhere
+                    if (version < GCC_VER_810) {
+                        for (int i = 0; i < blkLength; i++) {
                             long BlckFlag = stream.readInt() & MasksGenerator.UNSIGNED_INT_MASK;
-                            blck = new Block(BlckFlag);
+                            graph.setBlockFlag(i, BlckFlag);
                         }
-                        blocks.add(blck);
                     }
 					fnctn.setNumBlocks(blkLength);
                     continue;
 				} else if (fnctn != null && tag == GCOV_TAG_ARCS) {
+                    FunctionGraph graph = fnctn.getGraph();
                     int srcBlockIndice = stream.readInt();
                     int nmbrArcs = (length - 1) / 2;
-                    ArrayList<Arc> arcs = new ArrayList<>(nmbrArcs);
-
-                    for (int i = 0; i < nmbrArcs; i++) {
-                        int dstnatnBlockIndice = stream.readInt();
-                        long flag = (stream.readInt() & MasksGenerator.UNSIGNED_INT_MASK);
-                        Arc arc = new Arc(srcBlockIndice, dstnatnBlockIndice, flag, blocks);
-                        arcs.add(arc);
+                    if (srcBlockIndice < 0 || srcBlockIndice >= graph.getNumBlocks()) {
+                        throw new IndexOutOfBoundsException(Integer.toString(srcBlockIndice));
                     }
 
-                    // each arc, register it as exit of the src block
-                    Block srcBlk = blocks.get(srcBlockIndice);
-                    for (Arc a : arcs) {
-                        srcBlk.addExitArcs(a);
-                        srcBlk.incNumSuccs();
+                    // destination block and flag of each arc
+                    if (arcData.length < 2 * nmbrArcs) {
+                        arcData = new int[2 * nmbrArcs];
                     }
+                    stream.readInts(arcData, 2 * nmbrArcs);
+                    int firstArc = graph.getNumArcs();
+                    for (int i = 0; i < nmbrArcs; i++) {
+                        int dstnatnBlockIndice = arcData[2 * i];
+                        if (dstnatnBlockIndice < 0 || dstnatnBlockIndice >= graph.getNumBlocks()) {
+                            throw new IndexOutOfBoundsException(Integer.toString(dstnatnBlockIndice));
+                        }
+                        int flag = arcData[2 * i + 1]
+                                & (FunctionGraph.ARC_ON_TREE | FunctionGraph.ARC_FAKE | FunctionGraph.ARC_FALLTHROUGH);
+                        graph.addArc(srcBlockIndice, dstnatnBlockIndice, flag);
 
-                    // each arc, register it as entry of its dstntn block
-                    for (Arc a : arcs) {
-                        Block dstntnBlk = a.getDstnatnBlock();
-                        dstntnBlk.addEntryArcs(a);
-                        dstntnBlk.incNumPreds();
+                        // register the arc as exit of the src block and as entry of its dstntn block
+                        graph.setNumSuccs(srcBlockIndice, graph.getNumSuccs(srcBlockIndice) + 1);
+                        graph.setNumPreds(dstnatnBlockIndice, graph.getNumPreds(dstnatnBlockIndice) + 1);
                     }
+                    int lastArc = graph.getNumArcs();
 
 					boolean mark_catches = false;
-                    for (Arc a : arcs) {
-                        if (a.isFake()) {
-                            if (a.getSrcBlock() != null) {
-                                // Exceptional exit from this function, the
-                                // source block must be a call.
-                                srcBlk = blocks.get(srcBlockIndice);
-                                srcBlk.setCallSite(true);
-                                a.setCallNonReturn(true);
-								mark_catches = true;
-                            } else {
-                                a.setNonLoclaReturn(true);
-                                Block dstntnBlk = a.getDstnatnBlock();
-                                dstntnBlk.setNonLocalReturn(true);
-                            }
+                    for (int a = firstArc; a < lastArc; a++) {
+                        if (graph.isArcSet(a, FunctionGraph.ARC_FAKE)) {
+                            // Exceptional exit from this function, the
+                            // source block must be a call.
+                            graph.setBlockState(srcBlockIndice, FunctionGraph.BLOCK_CALL_SITE, true);
+                            graph.setArcFlag(a, FunctionGraph.ARC_CALL_NON_RETURN, true);
+							mark_catches = true;
                         }
 
-                        if (!a.isOnTree()) {
+                        if (!graph.isArcSet(a, FunctionGraph.ARC_ON_TREE)) {
                             fnctn.incNumCounts();
                         }
                         // nbrCounts++;
                     }
 
 					if (mark_catches) {
-						for (Arc a : arcs) {
-							if (!a.isFake() && !a.isFallthrough()) {
-								a.setIsThrow(true);
+						for (int a = firstArc; a < lastArc; a++) {
+							if (!graph.isArcSet(a, FunctionGraph.ARC_FAKE)
+									&& !graph.isArcSet(a, FunctionGraph.ARC_FALLTHROUGH)) {
+								graph.setArcFlag(a, FunctionGraph.ARC_THROW, true);
 								fnctn.setHasCatch(true);
 							}
 						}
 					}
 
-                    fnctn.setFunctionBlocks(blocks);
                     continue;
 				} else if (fnctn != null && tag == GCOV_TAG_LINES) {
                     int numBlock = stream.readInt();
@@ -253,7 +241,7 @@ public class GcnoRecordsParser {
                                 source.setNumLines((int) lineNumber + 1);
                             }
                         } else {
-                            String fileName = GcovStringReader.readString(stream);
+                            String fileName = stream.readString();
                             if (fileName.equals(Messages.GcnoRecordsParser_null_string)){
                                 break;
                             }
@@ -264,8 +252,7 @@ public class GcnoRecordsParser {
                         }
                     } while (true);
 
-                    fnctn.getFunctionBlocks().get((numBlock)).setEncoding(lineNos);
-                    fnctn.getFunctionBlocks().get((numBlock)).setNumLine(ix);
+                    fnctn.getGraph().setLines(numBlock, lineNos, ix);
                     continue;
 				} else {
 					if (currentTag != 0 && !isSubTag(currentTag, tag)) {
@@ -273,11 +260,13 @@ public class GcnoRecordsParser {
 						currentTag = 0;
 					}
 					// must skip data according to tag length (4 byte chunks) to get to next tag
-					stream.skipBytes(length << 2);
+					stream.skipWords(length);
 				}
             } catch (EOFException e) {
-                fnctn.setFunctionBlocks(blocks);
-                fnctns.add(fnctn);
+                if (fnctn != null) {
+                    fnctn.getGraph().trim();
+                    fnctns.add(fnctn);
+                }
                 break;
             }
         }// while
@@ -16,47 +16,84 @@ import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
-
+/**
+ * A line of a source file. It is a view on the line data of its
+ * {@link SourceFile}.
+ */
 public class Line implements Serializable{
 
     private static final long serialVersionUID = 8804878976767948267L;
-    private boolean exists = false;
-    private long count = 0;
-	private Set<Block> blocks = new HashSet<>();
+    private final SourceFile source;
+    private final int lineNo;
+
+    Line(SourceFile source, int lineNo) {
+        this.source = source;
+        this.lineNo = lineNo;
+    }
 
     /*Getters & setters*/
 
     public boolean exists() {
-        return exists;
+        return source.lineExists(lineNo);
     }
 
     public void setExists(boolean exists) {
-        this.exists = exists;
+        source.setLineExists(lineNo, exists);
     }
 
     public void setCount(long count) {
-        this.count = count;
+        source.setLineCount(lineNo, count);
     }
 
     public long getCount() {
-        return count;
+        return source.getLineCount(lineNo);
     }
 
+	/**
+	 * @return whether the line is executed, but was not in the base run it is compared with
+	 */
+	public boolean isNewlyExecuted() {
+		return source.isLineGained(lineNo);
+	}
+
+	/**
+	 * @return whether the line was executed in the base run it is compared with, but is not anymore
+	 */
+	public boolean isNoLongerExecuted() {
+		return source.isLineLost(lineNo);
+	}
+
 	public void addBlock(Block b) {
-		blocks.add(b);
+		source.addLineBlock(lineNo, b.getGraph(), b.getIndex());
 	}
 
 	public boolean hasBlock(Block b) {
-		return blocks.contains(b);
+		return source.lineHasBlock(lineNo, b.getGraph(), b.getIndex());
 	}
 
+	/**
+	 * @return the blocks of the line, until the line counts are accumulated
+	 */
 	public Set<Block> getBlocks() {
+		Set<Block> blocks = new HashSet<>();
+		for (int ref = source.getFirstLineBlock(lineNo); ref >= 0; ref = source.getNextLineBlock(ref)) {
+			blocks.add(new Block(source.getLineBlockGraph(ref), source.getLineBlockIndex(ref)));
+		}
 		return blocks;
 	}
 
 	@Override
 	public int hashCode() {
-		return blocks.hashCode();
+		return source.hashCode() * 31 + lineNo;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof Line)) {
+			return false;
+		}
+		Line other = (Line) obj;
+		return source == other.source && lineNo == other.lineNo;
 	}
 
 }
@@ -13,7 +13,13 @@
 package org.eclipse.linuxtools.internal.gcov.parser;
 
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -25,7 +31,23 @@ public class SourceFile implements Serializable {
     private static final long serialVersionUID = -9182882194956475711L;
     private final String name;
     private final int index;
-    private final ArrayList<Line> lines = new ArrayList<>();
+    // counts of the lines, and the lines which exist
+    private long[] lineCounts = new long[0];
+    private final BitSet linesExist = new BitSet();
+    private final List<Line> lines = new LineList();
+    // blocks of each line, as linked lists of references to a block of a function graph, sorted by decreasing key
+    private int[] lineBlockHeads;
+    private int[] refNexts;
+    private FunctionGraph[] refGraphs;
+    private int[] refBlocks;
+    private int[] refKeys;
+    private int nbrRefs;
+    // key of the first block of each function graph: the blocks of the graphs follow each other
+    private Map<FunctionGraph, Integer> graphKeys;
+    private int nbrKeys;
+    // when compared with a base run: lines executed only in this run, or only in the base run
+    private BitSet linesGained;
+    private BitSet linesLost;
     private final TreeSet<GcnoFunction> fnctns = new TreeSet<>();
     private int numLines = 1;
     private final CoverageInfo cvrge = new CoverageInfo();
@@ -41,21 +63,68 @@ public class SourceFile implements Serializable {
 
 
     public void accumulateLineCounts() {
-        for (Line line : lines) {
-            if (line.exists()) {
-                cvrge.incLinesInstrumented();
-                if (line.getCount() != 0) {
-                    cvrge.incLinesExecuted();
-                }
+        for (int i = linesExist.nextSetBit(0); i >= 0; i = linesExist.nextSetBit(i + 1)) {
+            cvrge.incLinesInstrumented();
+            if (lineCounts[i] != 0) {
+                cvrge.incLinesExecuted();
+            }
+        }
+        // line counts are final: the blocks of the lines are not needed anymore
+        lineBlockHeads = null;
+        refNexts = null;
+        refGraphs = null;
+        refBlocks = null;
+        refKeys = null;
+        nbrRefs = 0;
+        graphKeys = null;
+        nbrKeys = 0;
+    }
+
+    /**
+     * Replace the line counts by their difference with the counts of a base run. The executed lines are the lines
+     * which are executed in this run but not in the base run.
+     * @param base the same source file in the base run, or <code>null</code> if it is not in the base run
+     */
+    public void subtractBaseline(SourceFile base) {
+        linesGained = new BitSet();
+        linesLost = new BitSet();
+        cvrge.resetLinesExecuted();
+        for (int i = linesExist.nextSetBit(0); i >= 0; i = linesExist.nextSetBit(i + 1)) {
+            long baseCount = 0;
+            if (base != null && i < base.getLinesSize() && base.lineExists(i)) {
+                baseCount = base.getLineCount(i);
+            }
+            if (lineCounts[i] != 0 && baseCount == 0) {
+                linesGained.set(i);
+                cvrge.incLinesExecuted();
+            } else if (lineCounts[i] == 0 && baseCount != 0) {
+                linesLost.set(i);
             }
+            lineCounts[i] -= baseCount;
         }
+        maxCount = -1;
+    }
+
+    /**
+     * @return whether the line counts are differences with a base run
+     */
+    public boolean isComparedWithBaseline() {
+        return linesGained != null;
+    }
+
+    boolean isLineGained(int line) {
+        return linesGained != null && linesGained.get(line);
+    }
+
+    boolean isLineLost(int line) {
+        return linesLost != null && linesLost.get(line);
     }
 
     public long getmaxLineCount() {
         if (maxCount < 0) {
-            for (Line line : lines) {
-                if (line.getCount() > maxCount) {
-                    maxCount = line.getCount();
+            for (long count : lineCounts) {
+                if (count > maxCount) {
+                    maxCount = count;
                 }
             }
         }
@@ -78,10 +147,131 @@ public class SourceFile implements Serializable {
         return name;
     }
 
-    public ArrayList<Line> getLines() {
+    public List<Line> getLines() {
         return lines;
     }
 
+    /* line data, for the parser and the Line views */
+
+    int getLinesSize() {
+        return lineCounts.length;
+    }
+
+    boolean lineExists(int line) {
+        checkLine(line);
+        return linesExist.get(line);
+    }
+
+    void setLineExists(int line, boolean exists) {
+        checkLine(line);
+        linesExist.set(line, exists);
+    }
+
+    long getLineCount(int line) {
+        return lineCounts[line];
+    }
+
+    void setLineCount(int line, long count) {
+        lineCounts[line] = count;
+    }
+
+    private void checkLine(int line) {
+        if (line < 0 || line >= lineCounts.length) {
+            throw new IndexOutOfBoundsException(Integer.toString(line));
+        }
+    }
+
+    /**
+     * Add a block to a line, unless it was already added. The blocks are mostly added in increasing key order, so
+     * that they are inserted, or found, at the head of the list of the line.
+     */
+    void addLineBlock(int line, FunctionGraph graph, int block) {
+        checkLine(line);
+        if (lineBlockHeads == null) {
+            lineBlockHeads = new int[lineCounts.length];
+            Arrays.fill(lineBlockHeads, -1);
+            refNexts = new int[16];
+            refGraphs = new FunctionGraph[16];
+            refBlocks = new int[16];
+            refKeys = new int[16];
+            graphKeys = new IdentityHashMap<>();
+        }
+        Integer first = graphKeys.get(graph);
+        if (first == null) {
+            first = nbrKeys;
+            graphKeys.put(graph, first);
+            nbrKeys += graph.getNumBlocks();
+        }
+        int key = first + block;
+        int prev = -1;
+        int ref = lineBlockHeads[line];
+        while (ref >= 0 && refKeys[ref] > key) {
+            prev = ref;
+            ref = refNexts[ref];
+        }
+        if (ref >= 0 && refKeys[ref] == key) {
+            return;
+        }
+        if (nbrRefs == refNexts.length) {
+            refNexts = Arrays.copyOf(refNexts, nbrRefs * 2);
+            refGraphs = Arrays.copyOf(refGraphs, nbrRefs * 2);
+            refBlocks = Arrays.copyOf(refBlocks, nbrRefs * 2);
+            refKeys = Arrays.copyOf(refKeys, nbrRefs * 2);
+        }
+        refGraphs[nbrRefs] = graph;
+        refBlocks[nbrRefs] = block;
+        refKeys[nbrRefs] = key;
+        refNexts[nbrRefs] = ref;
+        if (prev < 0) {
+            lineBlockHeads[line] = nbrRefs++;
+        } else {
+            refNexts[prev] = nbrRefs++;
+        }
+    }
+
+    boolean lineHasBlock(int line, FunctionGraph graph, int block) {
+        Integer first = graphKeys == null ? null : graphKeys.get(graph);
+        if (first == null) {
+            return false;
+        }
+        int key = first + block;
+        int ref = getFirstLineBlock(line);
+        while (ref >= 0 && refKeys[ref] > key) {
+            ref = refNexts[ref];
+        }
+        return ref >= 0 && refKeys[ref] == key;
+    }
+
+    int getNumLineBlocks(int line) {
+        int n = 0;
+        for (int ref = getFirstLineBlock(line); ref >= 0; ref = refNexts[ref]) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * @return the first reference to a block of the line, or -1
+     */
+    int getFirstLineBlock(int line) {
+        return lineBlockHeads == null ? -1 : lineBlockHeads[line];
+    }
+
+    /**
+     * @return the next reference to a block of the same line, or -1
+     */
+    int getNextLineBlock(int ref) {
+        return refNexts[ref];
+    }
+
+    FunctionGraph getLineBlockGraph(int ref) {
+        return refGraphs[ref];
+    }
+
+    int getLineBlockIndex(int ref) {
+        return refBlocks[ref];
+    }
+
     public SortedSet<GcnoFunction> getFnctns() {
         return fnctns;
     }
@@ -103,12 +293,8 @@ public class SourceFile implements Serializable {
     }
 
 	public void initializeLines() {
-		if (lines.isEmpty()) {
-			int n = getNumLines();
-			lines.ensureCapacity(n);
-			for (int j = 0; j < n; j++) {
-				lines.add(new Line());
-			}
+		if (lineCounts.length == 0) {
+			lineCounts = new long[getNumLines()];
 		}
 	}
 
@@ -116,8 +302,9 @@ public class SourceFile implements Serializable {
 		initializeLines();
 		SourceFile source = this;
 		for (GcnoFunction fn : getFnctns()) {
-			for (Block b : fn.getFunctionBlocks()) {
-				long[] blockLines = b.getEncoding();
+			FunctionGraph graph = fn.getGraph();
+			for (int b = 0; b < graph.getNumBlocks(); b++) {
+				long[] blockLines = graph.getLines(b);
 				if (blockLines == null) {
 					continue;
 				}
@@ -136,12 +323,22 @@ public class SourceFile implements Serializable {
 					}
 					if (lineno == 0)
 						break;
-					Line line = source.getLines().get((int) lineno);
-					line.addBlock(b);
+					source.addLineBlock((int) lineno, graph, b);
 				}
 			}
 		}
     }
 
+    private class LineList extends AbstractList<Line> {
+        @Override
+        public Line get(int index) {
+            checkLine(index);
+            return new Line(SourceFile.this, index);
+        }
 
+        @Override
+        public int size() {
+            return lineCounts.length;
+        }
+    }
 }
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.gcov.utils;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader of the 32-bit words of a gcno or gcda file. The file is read in a
+ * single buffer, or mapped when it is large. The byte order is big-endian until
+ * it is set from the magic number of the file.
+ */
+public class GcovDataReader {
+
+    /** Files larger than this are mapped rather than read. */
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor
+     * @param buffer the data to read, from its position to its limit
+     */
+    public GcovDataReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Create a reader over the content of a file.
+     * @param file a gcno or gcda file
+     * @return the reader
+     * @throws IOException
+     */
+    public static GcovDataReader open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD) {
+                return new GcovDataReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read the whole file
+            }
+            buffer.flip();
+            return new GcovDataReader(buffer);
+        }
+    }
+
+    public ByteOrder getByteOrder() {
+        return buffer.order();
+    }
+
+    public void setByteOrder(ByteOrder order) {
+        buffer.order(order);
+    }
+
+    /**
+     * @return the position of the next word, in bytes
+     */
+    public int getPosition() {
+        return buffer.position();
+    }
+
+    /**
+     * Move to a position, or to the end of the data if it is beyond.
+     * @param position a position in bytes
+     */
+    public void setPosition(long position) {
+        buffer.position((int) Math.min(position, buffer.limit()));
+    }
+
+    public int readInt() throws EOFException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    public long readUnsignedInt() throws EOFException {
+        return readInt() & MasksGenerator.UNSIGNED_INT_MASK;
+    }
+
+    /**
+     * Read a 64-bit counter: its low word comes first, whatever the byte order.
+     * @return the counter
+     * @throws EOFException
+     */
+    public long readLong() throws EOFException {
+        require(8);
+        long low = buffer.getInt() & MasksGenerator.UNSIGNED_INT_MASK;
+        return low | ((long) buffer.getInt() << 32);
+    }
+
+    /**
+     * Read words into an array.
+     * @param dst the destination array
+     * @param length number of words to read
+     * @throws EOFException
+     */
+    public void readInts(int[] dst, int length) throws EOFException {
+        require(4L * length);
+        buffer.asIntBuffer().get(dst, 0, length);
+        buffer.position(buffer.position() + 4 * length);
+    }
+
+    /**
+     * Read 64-bit counters into an array.
+     * @param dst the destination array
+     * @param length number of counters to read
+     * @throws EOFException
+     */
+    public void readLongs(long[] dst, int length) throws EOFException {
+        require(8L * length);
+        for (int i = 0; i < length; i++) {
+            long low = buffer.getInt() & MasksGenerator.UNSIGNED_INT_MASK;
+            dst[i] = low | ((long) buffer.getInt() << 32);
+        }
+    }
+
+    /**
+     * Read a string: its length in words, followed by its characters padded with zeros.
+     * @return the string
+     * @throws EOFException
+     */
+    public String readString() throws EOFException {
+        long length = readUnsignedInt();
+        if (length == 0) {
+            return Messages.GcovDataReader_null_string;
+        }
+        require(length << 2);
+        int ln = ((int) length) << 2;
+        char[] name = new char[ln];
+        int n = 0;
+        for (int j = 0; j < ln; j++) {
+            byte b = buffer.get();
+            if (b != 0) {
+                name[n++] = (char) b;
+            }
+        }
+        return new String(name, 0, n);
+    }
+
+    /**
+     * Skip words, or move to the end of the data if there are not enough.
+     * @param length number of words to skip
+     */
+    public void skipWords(long length) {
+        setPosition(buffer.position() + (length << 2));
+    }
+
+    private void require(long bytes) throws EOFException {
+        if (buffer.remaining() < bytes) {
+            buffer.position(buffer.limit());
+            throw new EOFException();
+        }
+    }
+}
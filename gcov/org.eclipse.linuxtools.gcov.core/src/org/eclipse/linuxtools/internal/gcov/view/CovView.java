@@ -16,6 +16,7 @@ package org.eclipse.linuxtools.internal.gcov.view;
 import java.io.File;
 import java.io.IOException;
 import java.text.DateFormat;
+import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -137,13 +138,34 @@ public class CovView extends AbstractSTDataView {
 		});
     }
 
-    private static void setCovViewTitle(CovView view, String title, String binaryPath, String timestamp) {
-        String viewText = NLS.bind(Messages.CovView_view_title, new Object[] { title, binaryPath, timestamp });
+    private static void setCovViewTitle(CovView view, CovManager cvrgeMnger, String timestamp) {
+        String runs = Long.toString(cvrgeMnger.getNbrPgmRuns());
+        String viewText;
+        if (cvrgeMnger.getNbrBasePgmRuns() >= 0) {
+            viewText = NLS.bind(Messages.CovView_diff_view_title, new Object[] { runs,
+                    Long.toString(cvrgeMnger.getNbrBasePgmRuns()), cvrgeMnger.getBinaryPath(), timestamp });
+        } else {
+            viewText = NLS.bind(Messages.CovView_view_title, new Object[] { runs, cvrgeMnger.getBinaryPath(),
+                    timestamp });
+        }
         view.label.setText(viewText);
         view.label.getParent().layout(true);
     }
 
     public static void displayCovDetailedResult(String binaryPath, String gcda) {
+        displayCovDetailedResult(binaryPath, gcda, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Open the annotated sources of a GCDA file, merging the runs found in some directories and comparing them
+     * with the base runs found in others.
+     * @param binaryPath path of the binary
+     * @param gcda path of the GCDA file
+     * @param runDirectories directories of the runs, empty to use the files next to the GCNO files
+     * @param baseRunDirectories directories of the base runs, empty if no comparison is wanted
+     */
+    public static void displayCovDetailedResult(String binaryPath, String gcda, List<File> runDirectories,
+            List<File> baseRunDirectories) {
         try {
         	//FIXME EK-LINUXTOOLS: IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
             //FIXME EK-LINUXTOOLS: IFile binary = root.getFileForLocation(new Path(binaryPath));
@@ -155,6 +177,8 @@ public class CovView extends AbstractSTDataView {
 
             // parse and process coverage data
             CovManager cvrgeMnger = new CovManager(binaryPath, project);
+            cvrgeMnger.setRunDirectories(runDirectories);
+            cvrgeMnger.setBaseRunDirectories(baseRunDirectories);
             List<String> gcdaPaths = new LinkedList<>();
             gcdaPaths.add(gcda);
             cvrgeMnger.processCovFiles(gcdaPaths, gcda);
@@ -170,6 +194,19 @@ public class CovView extends AbstractSTDataView {
     }
 
     public static void displayCovResults(String binaryPath, String gcda) {
+        displayCovResults(binaryPath, gcda, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Display the coverage of a binary, merging the runs found in some directories and comparing them with the
+     * base runs found in others.
+     * @param binaryPath path of the binary
+     * @param gcda path of a GCDA file of the binary
+     * @param runDirectories directories of the runs, empty to use the files next to the GCNO files
+     * @param baseRunDirectories directories of the base runs, empty if no comparison is wanted
+     */
+    public static void displayCovResults(String binaryPath, String gcda, List<File> runDirectories,
+            List<File> baseRunDirectories) {
         try {
         	//FIXME EK-LINUXTOOLS: IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
             //FIXME EK-LINUXTOOLS: IFile binary = root.getFileForLocation(new Path(binaryPath));
@@ -181,6 +218,8 @@ public class CovView extends AbstractSTDataView {
 
             // parse and process coverage data
             CovManager cvrgeMnger = new CovManager(binaryPath, project);
+            cvrgeMnger.setRunDirectories(runDirectories);
+            cvrgeMnger.setBaseRunDirectories(baseRunDirectories);
             List<String> gcdaPaths = cvrgeMnger.getGCDALocations();
             cvrgeMnger.processCovFiles(gcdaPaths, gcda);
             // generate model for view
@@ -231,8 +270,7 @@ public class CovView extends AbstractSTDataView {
         CovView cvrgeView = (CovView) page.showView("org.eclipse.linuxtools.gcov.view"); //$NON-NLS-1$
 
         // view title
-        CovView.setCovViewTitle(cvrgeView, Integer.toString((int) cvrgeMnger.getNbrPgmRuns()),
-                cvrgeMnger.getBinaryPath(), timestamp);
+        CovView.setCovViewTitle(cvrgeView, cvrgeMnger, timestamp);
 
         // load the controller
         cvrgeView.setInput(cvrgeMnger);
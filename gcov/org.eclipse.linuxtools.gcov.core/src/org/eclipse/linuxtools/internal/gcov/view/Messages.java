@@ -23,6 +23,7 @@ public class Messages extends NLS {
     public static String CovView_sort_coverage_per_function;
     public static String CovView_type_filter_text;
     public static String CovView_view_title;
+    public static String CovView_diff_view_title;
     public static String CovView_error_message;
     public static String FieldCoveragePercentage_column_header;
     public static String FieldCoveragePercentage_column_tooltip;
@@ -30,13 +30,24 @@ public class GcovAnnotation extends Annotation {
         this.count = count;
     }
 
+    /**
+     * Create an annotation with a given text, such as the difference with a base run.
+     */
+    public GcovAnnotation(int offset, int length, String type, String text) {
+        super(type, false, text);
+        this.position = new Position(offset, length);
+        this.count = 0;
+    }
+
     public Position getPosition() {
         return position;
     }
 
     @Override
     public String getText() {
-        if (count == 0) {
+        if (super.getText() != null) {
+            return super.getText();
+        } else if (count == 0) {
             return Messages.CoverageAnnotationColumn_line_never_exec;
         } else if (count == 1) {
             return Messages.CoverageAnnotationColumn_line_exec_once;
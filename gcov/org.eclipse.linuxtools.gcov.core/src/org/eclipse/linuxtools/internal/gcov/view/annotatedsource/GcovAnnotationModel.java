@@ -48,6 +48,7 @@ import org.eclipse.linuxtools.binutils.link2source.STLink2SourceSupport;
 import org.eclipse.linuxtools.internal.gcov.parser.CovManager;
 import org.eclipse.linuxtools.internal.gcov.parser.Line;
 import org.eclipse.linuxtools.internal.gcov.parser.SourceFile;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.texteditor.IDocumentProvider;
 import org.eclipse.ui.texteditor.ITextEditor;
@@ -245,7 +246,10 @@ public final class GcovAnnotationModel implements IAnnotationModel {
             IBinary[] binaries = cProject.getBinaryContainer().getBinaries();
             for (IBinary b : binaries) {
                 if (b.getResource().getLocation().equals(target)) {
+                    GcovAnnotationModelTracker tracker = GcovAnnotationModelTracker.getInstance();
                     CovManager covManager = new CovManager(b.getResource().getLocation().toOSString());
+                    covManager.setRunDirectories(tracker.getRunDirectories(cProject.getProject()));
+                    covManager.setBaseRunDirectories(tracker.getBaseRunDirectories(cProject.getProject()));
                     covManager.processCovFiles(covManager.getGCDALocations(), null);
                     sources.addAll(covManager.getAllSrcs());
                 }
@@ -293,6 +297,12 @@ public final class GcovAnnotationModel implements IAnnotationModel {
     private void createAnnotations(SourceFile sourceFile) {
         AnnotationModelEvent event = new AnnotationModelEvent(this);
         clear(event);
+        if (sourceFile.isComparedWithBaseline()) {
+            createDiffAnnotations(sourceFile, event);
+            fireModelChanged(event);
+            annotated = true;
+            return;
+        }
         List<Line> lines = sourceFile.getLines();
 
         List<Long> tmp = new ArrayList<>();
@@ -335,6 +345,42 @@ public final class GcovAnnotationModel implements IAnnotationModel {
         annotated = true;
     }
 
+    /**
+     * Annotate the lines whose counts differ from the base run.
+     */
+    private void createDiffAnnotations(SourceFile sourceFile, AnnotationModelEvent event) {
+        List<Line> lines = sourceFile.getLines();
+        for (int i = 0; i < lines.size(); i++) {
+            try {
+                Line line = lines.get((i+1) % lines.size());
+                long delta = line.getCount();
+                if (!line.exists() || (delta == 0 && !line.isNewlyExecuted() && !line.isNoLongerExecuted())) {
+                    continue;
+                }
+                String type;
+                String text;
+                if (line.isNewlyExecuted()) {
+                    type = COVERAGE;
+                    text = Messages.CoverageAnnotationColumn_line_newly_exec;
+                } else if (line.isNoLongerExecuted()) {
+                    type = NO_COVERAGE;
+                    text = Messages.CoverageAnnotationColumn_line_no_longer_exec;
+                } else if (delta > 0) {
+                    type = COVERAGE;
+                    text = NLS.bind(Messages.CoverageAnnotationColumn_line_more_exec, Long.toString(delta));
+                } else {
+                    type = NO_COVERAGE;
+                    text = NLS.bind(Messages.CoverageAnnotationColumn_line_fewer_exec, Long.toString(-delta));
+                }
+                GcovAnnotation ca = new GcovAnnotation(document.getLineOffset(i),
+                        document.getLineLength(i), type, text);
+                annotations.add(ca);
+                event.annotationAdded(ca);
+            } catch (BadLocationException e) {
+            }
+        }
+    }
+
     private void clear() {
         AnnotationModelEvent event = new AnnotationModelEvent(this);
         clear(event);
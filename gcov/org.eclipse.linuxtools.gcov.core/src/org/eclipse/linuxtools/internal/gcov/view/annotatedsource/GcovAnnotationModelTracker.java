@@ -12,7 +12,10 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gcov.view.annotatedsource;
 
+import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.cdt.core.model.ICElement;
@@ -46,6 +49,8 @@ public final class GcovAnnotationModelTracker {
     private static GcovAnnotationModelTracker single;
     private final IWorkbench workbench;
     private final Map<IProject, IPath> trackedProjects = new HashMap<>();
+    private final Map<IProject, List<File>> runDirectories = new HashMap<>();
+    private final Map<IProject, List<File>> baseRunDirectories = new HashMap<>();
 
     /**
      * Add/Remove a part listener to every window open/closed.
@@ -133,6 +138,26 @@ public final class GcovAnnotationModelTracker {
         trackedProjects.put(project, binary);
     }
 
+    /**
+     * Set the directories of the runs to merge, and of the base runs to compare
+     * with, when annotating the sources of a project.
+     * @param project a tracked project
+     * @param runs directories of the runs, empty to use the files next to the binary
+     * @param baseRuns directories of the base runs, empty if no comparison is wanted
+     */
+    public void setRunDirectories (IProject project, List<File> runs, List<File> baseRuns) {
+        runDirectories.put(project, runs);
+        baseRunDirectories.put(project, baseRuns);
+    }
+
+    public List<File> getRunDirectories (IProject project) {
+        return runDirectories.getOrDefault(project, Collections.emptyList());
+    }
+
+    public List<File> getBaseRunDirectories (IProject project) {
+        return baseRunDirectories.getOrDefault(project, Collections.emptyList());
+    }
+
     public IProject[] getTrackedProjects() {
         return trackedProjects.keySet().toArray(new IProject[0]);
     }
@@ -199,6 +224,8 @@ public final class GcovAnnotationModelTracker {
                         GcovAnnotationModel.clear(editor);
                         ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
                         trackedProjects.remove(project);
+                        runDirectories.remove(project);
+                        baseRunDirectories.remove(project);
                     }
                 }
             }
@@ -21,6 +21,10 @@ public class Messages extends NLS {
     public static String CoverageAnnotationColumn_line_never_exec;
     public static String CoverageAnnotationColumn_non_exec_line;
     public static String OpenSourceFileAction_open_error;
+    public static String CoverageAnnotationColumn_line_newly_exec;
+    public static String CoverageAnnotationColumn_line_no_longer_exec;
+    public static String CoverageAnnotationColumn_line_more_exec;
+    public static String CoverageAnnotationColumn_line_fewer_exec;
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, Messages.class);
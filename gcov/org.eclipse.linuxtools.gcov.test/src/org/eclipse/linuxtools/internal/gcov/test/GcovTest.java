@@ -14,6 +14,8 @@
 package org.eclipse.linuxtools.internal.gcov.test;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -38,6 +40,10 @@ import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.linuxtools.dataviewers.actions.STExportToCSVAction;
 import org.eclipse.linuxtools.internal.gcov.action.OpenGCAction;
+import org.eclipse.linuxtools.internal.gcov.parser.CovManager;
+import org.eclipse.linuxtools.internal.gcov.parser.GcnoFunction;
+import org.eclipse.linuxtools.internal.gcov.parser.Line;
+import org.eclipse.linuxtools.internal.gcov.parser.SourceFile;
 import org.eclipse.linuxtools.profiling.tests.AbstractTest;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Menu;
@@ -69,6 +75,8 @@ public abstract class GcovTest extends AbstractTest {
     private static Display display;
 
     private static TreeSet<String> gcovFiles;
+    // cache of the coverage managers of a test, instead of the one of the plug-in
+    private File cacheFolder;
 
     abstract protected String getTestProjectName();
     abstract protected String getBinName();
@@ -111,10 +119,18 @@ public abstract class GcovTest extends AbstractTest {
     			}
     		} while (gcovFiles.size() < 1);
     	}
+        cacheFolder = Files.createTempDirectory("gcovcache").toFile();
     }
 
     @After
     public void cleanUp() {
+        File[] cacheFiles = cacheFolder.listFiles();
+        if (cacheFiles != null) {
+            for (File file : cacheFiles) {
+                file.delete();
+            }
+        }
+        cacheFolder.delete();
         display.syncExec(() -> {
 		    Shell[] shells = Display.getCurrent().getShells();
 		    for (final Shell shell : shells) {
@@ -283,6 +299,169 @@ public abstract class GcovTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testProcessCovFilesInParallel() throws CoreException, IOException {
+        List<String> gcdaPaths = new ArrayList<>();
+        for (String string : gcovFiles) {
+            if (string.endsWith(".gcda")) {
+                gcdaPaths.add(project.getFile(string).getLocation().toOSString());
+            }
+        }
+        String binPath = project.getFile(getBinName()).getLocation().toOSString();
+
+        CovManager sequential = new CovManager(binPath, project);
+        sequential.setParallelism(1);
+        sequential.setUseCache(false);
+        sequential.processCovFiles(gcdaPaths, null);
+        CovManager parallel = new CovManager(binPath, project);
+        parallel.setParallelism(4);
+        parallel.setUseCache(false);
+        parallel.processCovFiles(gcdaPaths, null);
+
+        Assert.assertFalse(sequential.getAllSrcs().isEmpty());
+        Assert.assertEquals(dumpCoverage(sequential), dumpCoverage(parallel));
+    }
+
+    @Test
+    public void testCovCache() throws CoreException, IOException {
+        List<String> gcdaPaths = new ArrayList<>();
+        for (String string : gcovFiles) {
+            if (string.endsWith(".gcda")) {
+                gcdaPaths.add(project.getFile(string).getLocation().toOSString());
+            }
+        }
+        String binPath = project.getFile(getBinName()).getLocation().toOSString();
+
+        CovManager uncached = new CovManager(binPath, project);
+        uncached.setUseCache(false);
+        uncached.processCovFiles(gcdaPaths, null);
+
+        // the first cached run fills the cache, the second one restores the units from it
+        for (int i = 0; i < 2; i++) {
+            CovManager cached = new CovManager(binPath, project);
+            cached.setCacheFolder(cacheFolder);
+            cached.processCovFiles(gcdaPaths, null);
+            Assert.assertEquals(i == 0 ? 0 : gcdaPaths.size(), cached.getNbrRestoredUnits());
+            Assert.assertEquals(dumpCoverage(uncached), dumpCoverage(cached));
+        }
+    }
+
+    @Test
+    public void testMergeAndCompareRuns() throws CoreException, IOException {
+        List<String> gcdaPaths = new ArrayList<>();
+        for (String string : gcovFiles) {
+            if (string.endsWith(".gcda")) {
+                gcdaPaths.add(project.getFile(string).getLocation().toOSString());
+            }
+        }
+        String binPath = project.getFile(getBinName()).getLocation().toOSString();
+        File projectDir = project.getLocation().toFile();
+
+        CovManager single = new CovManager(binPath, project);
+        single.setUseCache(false);
+        single.processCovFiles(gcdaPaths, null);
+
+        // the same run found in two directories counts twice
+        CovManager merged = new CovManager(binPath, project);
+        merged.setCacheFolder(cacheFolder);
+        merged.setRunDirectories(Arrays.asList(projectDir, projectDir));
+        merged.processCovFiles(gcdaPaths, null);
+        Assert.assertEquals(2 * single.getNbrPgmRuns(), merged.getNbrPgmRuns());
+        Assert.assertEquals(-1, merged.getNbrBasePgmRuns());
+
+        // a unit found in a single directory does not lower the number of runs
+        File partialRunDir = copyGcdaFiles(gcdaPaths.subList(0, 1));
+        CovManager partial = new CovManager(binPath, project);
+        partial.setCacheFolder(cacheFolder);
+        partial.setRunDirectories(Arrays.asList(projectDir, partialRunDir));
+        partial.processCovFiles(gcdaPaths, null);
+        Assert.assertEquals(2 * single.getNbrPgmRuns(), partial.getNbrPgmRuns());
+
+        // compared with one of them, the difference is the single run and no line is newly executed
+        CovManager diff = new CovManager(binPath, project);
+        diff.setCacheFolder(cacheFolder);
+        diff.setRunDirectories(Arrays.asList(projectDir, projectDir));
+        diff.setBaseRunDirectories(Arrays.asList(projectDir));
+        diff.processCovFiles(gcdaPaths, null);
+        Assert.assertEquals(single.getNbrPgmRuns(), diff.getNbrBasePgmRuns());
+
+        for (int s = 0; s < single.getAllSrcs().size(); s++) {
+            List<Line> singleLines = single.getAllSrcs().get(s).getLines();
+            List<Line> mergedLines = merged.getAllSrcs().get(s).getLines();
+            SourceFile diffSrc = diff.getAllSrcs().get(s);
+            Assert.assertTrue(diffSrc.isComparedWithBaseline());
+            Assert.assertEquals(0, diffSrc.getLinesExecuted());
+            for (int i = 0; i < singleLines.size(); i++) {
+                Assert.assertEquals(2 * singleLines.get(i).getCount(), mergedLines.get(i).getCount());
+                Assert.assertEquals(singleLines.get(i).getCount(), diffSrc.getLines().get(i).getCount());
+                Assert.assertFalse(diffSrc.getLines().get(i).isNewlyExecuted());
+                Assert.assertFalse(diffSrc.getLines().get(i).isNoLongerExecuted());
+            }
+        }
+    }
+
+    @Test
+    public void testCompareRunsKeepsCache() throws CoreException, IOException {
+        List<String> gcdaPaths = new ArrayList<>();
+        for (String string : gcovFiles) {
+            if (string.endsWith(".gcda")) {
+                gcdaPaths.add(project.getFile(string).getLocation().toOSString());
+            }
+        }
+        String binPath = project.getFile(getBinName()).getLocation().toOSString();
+
+        // fill the cache with the units of the run
+        CovManager run = new CovManager(binPath, project);
+        run.setCacheFolder(cacheFolder);
+        run.processCovFiles(gcdaPaths, null);
+
+        // a base run in another directory is cached along with them
+        CovManager diff = new CovManager(binPath, project);
+        diff.setCacheFolder(cacheFolder);
+        diff.setBaseRunDirectories(Arrays.asList(copyGcdaFiles(gcdaPaths)));
+        diff.processCovFiles(gcdaPaths, null);
+        Assert.assertEquals(gcdaPaths.size(), diff.getNbrRestoredUnits());
+
+        CovManager cached = new CovManager(binPath, project);
+        cached.setCacheFolder(cacheFolder);
+        cached.processCovFiles(gcdaPaths, null);
+        Assert.assertEquals(gcdaPaths.size(), cached.getNbrRestoredUnits());
+    }
+
+    /**
+     * Copy GCDA files to a new run directory.
+     */
+    private static File copyGcdaFiles(List<String> gcdaPaths) throws IOException {
+        File dir = Files.createTempDirectory("gcovrun").toFile();
+        dir.deleteOnExit();
+        for (String gcdaPath : gcdaPaths) {
+            File copy = new File(dir, new File(gcdaPath).getName());
+            Files.copy(new File(gcdaPath).toPath(), copy.toPath());
+            copy.deleteOnExit();
+        }
+        return dir;
+    }
+
+    private String dumpCoverage(CovManager cvrgeMnger) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(cvrgeMnger.getNbrPgmRuns()).append('\n');
+        for (SourceFile src : cvrgeMnger.getAllSrcs()) {
+            sb.append(src.getIndex()).append(' ').append(src.getName()).append(' ').append(src.getNumLines())
+                    .append(' ').append(src.getLinesInstrumented()).append(' ').append(src.getLinesExecuted()).append('\n');
+            List<Line> lines = src.getLines();
+            for (int i = 0; i < lines.size(); i++) {
+                if (lines.get(i).exists()) {
+                    sb.append(i).append(':').append(lines.get(i).getCount()).append('\n');
+                }
+            }
+            for (GcnoFunction fnctn : src.getFnctns()) {
+                sb.append(fnctn.getName()).append(' ').append(fnctn.getCvrge().getLinesInstrumented()).append(' ')
+                        .append(fnctn.getCvrge().getLinesExecuted()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
     @Override
     protected ILaunchConfigurationType getLaunchConfigType() {
         return null;
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.gprof.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+
+import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
+import org.eclipse.cdt.core.IBinaryParser.ISymbol;
+import org.eclipse.cdt.utils.Addr64;
+import org.junit.Test;
+
+public class SymbolIndexTest {
+
+    private int lookups;
+
+    private static ISymbol symbol(String name, long start, long size) {
+        IAddress address = new Addr64(start);
+        return (ISymbol) Proxy.newProxyInstance(ISymbol.class.getClassLoader(), new Class<?>[] { ISymbol.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getName": //$NON-NLS-1$
+                    case "toString": //$NON-NLS-1$
+                        return name;
+                    case "getAddress": //$NON-NLS-1$
+                        return address;
+                    case "getSize": //$NON-NLS-1$
+                        return size;
+                    case "hashCode": //$NON-NLS-1$
+                        return System.identityHashCode(proxy);
+                    case "equals": //$NON-NLS-1$
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * @return a program returning the given symbol at the start address of its aliases
+     */
+    private IBinaryObject program(ISymbol[] symbols, ISymbol chosen) {
+        return (IBinaryObject) Proxy.newProxyInstance(IBinaryObject.class.getClassLoader(),
+                new Class<?>[] { IBinaryObject.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getSymbols": //$NON-NLS-1$
+                        return symbols;
+                    case "getSymbol": //$NON-NLS-1$
+                        lookups++;
+                        assertEquals(chosen.getAddress(), args[0]);
+                        return chosen;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    @Test
+    public void testAliasedSymbols() {
+        ISymbol foo = symbol("foo", 0x1000, 0x10); //$NON-NLS-1$
+        ISymbol fooAlias = symbol("foo_alias", 0x1000, 0x10); //$NON-NLS-1$
+        ISymbol weakFoo = symbol("weak_foo", 0x1000, 0x10); //$NON-NLS-1$
+        ISymbol bar = symbol("bar", 0x1010, 0x8); //$NON-NLS-1$
+        SymbolIndex index = new SymbolIndex(program(new ISymbol[] { foo, fooAlias, weakFoo, bar }, fooAlias));
+
+        // the program is asked once, for the start address shared by the aliases
+        assertEquals(1, lookups);
+        assertEquals(4, index.size());
+        assertEquals(0x1000, index.getStart(2));
+
+        // the start address goes to the symbol chosen by the program, in and out of the cache
+        assertSame(fooAlias, index.find(0x1000));
+        assertSame(fooAlias, index.find(0x1000));
+        // the other addresses to the last symbol starting before them, as in the program
+        assertSame(weakFoo, index.find(0x1004));
+        assertSame(weakFoo, index.find(0x100f));
+        assertSame(bar, index.find(0x1010));
+        assertEquals(1, lookups);
+    }
+
+    @Test
+    public void testAddressesOutsideSymbols() {
+        ISymbol foo = symbol("foo", 0x1000, 0x10); //$NON-NLS-1$
+        ISymbol bar = symbol("bar", 0x1020, 0x8); //$NON-NLS-1$
+        SymbolIndex index = new SymbolIndex(program(new ISymbol[] { foo, bar }, null));
+        assertEquals(0, lookups);
+
+        assertNull(index.find(0xfff));
+        assertSame(foo, index.find(0x1000));
+        assertNull(index.find(0x1010));
+        assertSame(bar, index.find(0x1027));
+        assertNull(index.find(0x1028));
+        // an address in the same cache slot as another one is not mistaken for it
+        assertNull(index.find(0x1000 + 0x10000));
+        assertSame(foo, index.find(0x1000));
+    }
+}
@@ -12,12 +12,13 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gprof.test;
 
+import org.eclipse.linuxtools.internal.gprof.parser.SymbolIndexTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ GprofAggregatorTest.class, GprofBinaryTest.class,
         GprofParserTest.class, GprofLaunchTest.class, GprofShortcutTest.class,
-        GprofTest.class })
+        GprofTest.class, SymbolIndexTest.class })
 public class AllGprofTests {
 }
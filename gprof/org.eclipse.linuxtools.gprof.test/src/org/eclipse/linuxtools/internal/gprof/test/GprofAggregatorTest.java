@@ -21,8 +21,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.TreeSet;
 
+import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
+import org.eclipse.linuxtools.binutils.utils.STSymbolManager;
+import org.eclipse.linuxtools.internal.gprof.parser.GmonDecoder;
 import org.eclipse.linuxtools.internal.gprof.utils.Aggregator;
+import org.eclipse.linuxtools.internal.gprof.view.histogram.TreeElement;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -81,4 +87,36 @@ public class GprofAggregatorTest {
         p.waitFor();
         p2.waitFor();
     }
+
+    @Test
+    public void testInProcessAggregation() throws IOException {
+        File directory = new File(STJunitUtils.getAbsolutePath(
+                "org.eclipse.linuxtools.gprof.test", dir));
+        String gmon = new File(directory, OUTPUT_FILE).getAbsolutePath();
+        IBinaryObject binary = STSymbolManager.sharedInstance
+                .getBinaryObject(new File(directory, BINARY_FILE).getAbsolutePath());
+
+        LinkedList<String> s = new LinkedList<>();
+        s.add(gmon);
+        s.add(gmon);
+        GmonDecoder summed = new GmonDecoder(binary, null);
+        summed.read(s);
+
+        GmonDecoder ref = new GmonDecoder(binary, null);
+        ref.read(new File(directory, "gmon.sum.ref").getAbsolutePath());
+
+        Assert.assertEquals(dump(ref.getRootNode()), dump(summed.getRootNode()));
+    }
+
+    private static TreeSet<String> dump(TreeElement root) {
+        TreeSet<String> lines = new TreeSet<>();
+        for (TreeElement file : root.getChildren()) {
+            lines.add(file.getName() + " " + file.getSamples() + " " + file.getCalls());
+            for (TreeElement function : file.getChildren()) {
+                lines.add(file.getName() + "/" + function.getName() + " " + function.getSamples() + " "
+                        + function.getCalls());
+            }
+        }
+        return lines;
+    }
 }
@@ -12,15 +12,15 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gprof.parser;
 
-import java.io.DataInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.eclipse.cdt.core.IAddress;
-import org.eclipse.cdt.core.IAddressFactory;
 import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
 import org.eclipse.cdt.core.IBinaryParser.ISymbol;
+import org.eclipse.linuxtools.binutils.utils.STSymbolManager;
 import org.eclipse.linuxtools.internal.gprof.symbolManager.CallGraphArc;
 import org.eclipse.linuxtools.internal.gprof.symbolManager.CallGraphNode;
 import org.eclipse.linuxtools.internal.gprof.view.histogram.HistRoot;
@@ -38,6 +38,14 @@ public class CallGraphDecoder {
 
     private final Map<ISymbol, CallGraphNode> nodes = new HashMap<>();
 
+    /* arcs as read from the file, summed by caller and callee address: symbols are resolved in populate() */
+    private int numArcs;
+    private long[] fromPcs = new long[16];
+    private long[] selfPcs = new long[16];
+    private int[] counts = new int[16];
+    /* open addressing table of arc index + 1, 0 for an empty slot */
+    private int[] slots = new int[32];
+
     /**
      * Constructor
      * @param decoder the Gmon decoder
@@ -48,32 +56,96 @@ public class CallGraphDecoder {
 
     /**
      * Decode call-graph record from gmon file.
-     * @param stream
-     * @throws IOException
+     * @param buffer the gmon file, positioned on a call-graph record
      */
-    public void decodeCallGraphRecord(DataInput stream, boolean bsdFormat) throws IOException {
-        long from_pc = readAddress(stream);
-        long self_pc = readAddress(stream);
-        int count    = bsdFormat?(int)readAddress(stream):stream.readInt();
-        IBinaryObject program = decoder.getProgram();
-        IAddressFactory addressFactory = program.getAddressFactory();
-        IAddress parentAddress = addressFactory.createAddress(Long.toString(from_pc));
-        ISymbol  parentSymbol  = program.getSymbol(parentAddress);
-        IAddress childAddress  = addressFactory.createAddress(Long.toString(self_pc));
-        ISymbol  childSymbol   = program.getSymbol(childAddress);
-        if (childSymbol == null || parentSymbol == null) {
-            return;
+    public void decodeCallGraphRecord(ByteBuffer buffer) {
+        long from_pc = readAddress(buffer);
+        long self_pc = readAddress(buffer);
+        int count    = buffer.getInt();
+        addRawArc(from_pc, self_pc, count);
+    }
+
+    /**
+     * Decode the call-graph records which end an old BSD gmon file. A truncated last record is ignored.
+     * @param buffer the gmon file, positioned just after the histogram
+     */
+    public void decodeBsdCallGraphRecords(ByteBuffer buffer) {
+        int recordSize = 3 * getAddressSize();
+        while (buffer.remaining() >= recordSize) {
+            long from_pc = readAddress(buffer);
+            long self_pc = readAddress(buffer);
+            int count    = (int) readAddress(buffer);
+            addRawArc(from_pc, self_pc, count);
+        }
+    }
+
+    /**
+     * Sum the arcs read by another decoder of the same program into this one.
+     * @param other a decoder which was not populated
+     */
+    void add(CallGraphDecoder other) {
+        for (int i = 0; i < other.numArcs; i++) {
+            addRawArc(other.fromPcs[i], other.selfPcs[i], other.counts[i]);
+        }
+    }
+
+    private void addRawArc(long fromPc, long selfPc, int count) {
+        int mask = slots.length - 1;
+        int slot = hash(fromPc, selfPc) & mask;
+        int arc;
+        while ((arc = slots[slot]) != 0) {
+            if (fromPcs[arc - 1] == fromPc && selfPcs[arc - 1] == selfPc) {
+                counts[arc - 1] += count;
+                return;
+            }
+            slot = (slot + 1) & mask;
         }
-        addCallArc(parentSymbol, parentAddress, childSymbol, count);
+        if (numArcs == fromPcs.length) {
+            fromPcs = Arrays.copyOf(fromPcs, numArcs * 2);
+            selfPcs = Arrays.copyOf(selfPcs, numArcs * 2);
+            counts = Arrays.copyOf(counts, numArcs * 2);
+        }
+        fromPcs[numArcs] = fromPc;
+        selfPcs[numArcs] = selfPc;
+        counts[numArcs] = count;
+        slots[slot] = ++numArcs;
+        if (numArcs * 2 > slots.length) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int i = 0; i < numArcs; i++) {
+            int slot = hash(fromPcs[i], selfPcs[i]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    private static int hash(long fromPc, long selfPc) {
+        long h = fromPc * 0x9E3779B97F4A7C15L + selfPc;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
     }
 
 
-    protected long readAddress(DataInput stream) throws IOException {
-        return stream.readInt() & 0xFFFFFFFFL;
+    protected long readAddress(ByteBuffer buffer) {
+        return buffer.getInt() & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @return the size of the addresses in the gmon file, in bytes
+     */
+    protected int getAddressSize() {
+        return 4;
     }
 
 
-    private void addCallArc(ISymbol parent, IAddress parentAddress, ISymbol child, int count) {
+    private void addCallArc(ISymbol parent, String parentPath, int parentLine, ISymbol child, int count) {
         CallGraphNode parentNode = nodes.get(parent);
         CallGraphNode childNode  = nodes.get(child);
         if (parentNode == null) {
@@ -86,7 +158,7 @@ public class CallGraphDecoder {
         }
         CallGraphArc arc = parentNode.getOutputArc(childNode);
         if (arc == null) {
-            arc = new CallGraphArc(parentNode, parentAddress, childNode, count, decoder.getProgram(), decoder.getProject());
+            arc = new CallGraphArc(parentNode, parentPath, parentLine, childNode, count, decoder.getProject());
             parentNode.getChildren().add(arc);
             childNode.getParents().add(arc);
         } else {
@@ -95,6 +167,33 @@ public class CallGraphDecoder {
     }
 
     void populate(HistRoot rootNode) {
+        IBinaryObject program = decoder.getProgram();
+        SymbolIndex symbolIndex = decoder.getSymbolIndex();
+        ISymbol[] parentSymbols = new ISymbol[numArcs];
+        ISymbol[] childSymbols = new ISymbol[numArcs];
+        long[] parentPcs = new long[numArcs];
+        int[] arcCounts = new int[numArcs];
+        int nbArcs = 0;
+        for (int i = 0; i < numArcs; i++) {
+            ISymbol  parentSymbol  = symbolIndex.find(fromPcs[i]);
+            ISymbol  childSymbol   = symbolIndex.find(selfPcs[i]);
+            if (childSymbol != null && parentSymbol != null) {
+                parentSymbols[nbArcs] = parentSymbol;
+                childSymbols[nbArcs] = childSymbol;
+                parentPcs[nbArcs] = fromPcs[i];
+                arcCounts[nbArcs] = counts[i];
+                nbArcs++;
+            }
+        }
+        // locate all the calls in one batch
+        parentPcs = Arrays.copyOf(parentPcs, nbArcs);
+        String[] parentPaths = STSymbolManager.sharedInstance.getFileNames(program, parentPcs, decoder.getProject());
+        int[] parentLines = STSymbolManager.sharedInstance.getLineNumbers(program, parentPcs, decoder.getProject());
+        for (int i = 0; i < nbArcs; i++) {
+            addCallArc(parentSymbols[i], parentPaths[i], parentLines[i], childSymbols[i], arcCounts[i]);
+        }
+        numArcs = 0;
+        Arrays.fill(slots, 0);
         for (CallGraphNode callGraphNode : nodes.values()) {
             rootNode.addCallGraphNode(callGraphNode);
         }
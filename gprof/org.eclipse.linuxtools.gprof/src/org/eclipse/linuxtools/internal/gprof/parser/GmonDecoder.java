@@ -12,17 +12,25 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gprof.parser;
 
-import java.io.BufferedInputStream;
-import java.io.DataInput;
-import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.PrintStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.DateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.cdt.core.IAddressFactory;
 import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
@@ -30,7 +38,6 @@ import org.eclipse.cdt.core.IBinaryParser.ISymbol;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.linuxtools.binutils.utils.STSymbolManager;
 import org.eclipse.linuxtools.internal.gprof.Messages;
-import org.eclipse.linuxtools.internal.gprof.utils.LEDataInputStream;
 import org.eclipse.linuxtools.internal.gprof.view.histogram.HistRoot;
 
 /**
@@ -61,6 +68,7 @@ public class GmonDecoder {
     private int tag = -1;
 
     private final HashMap<ISymbol, String> filenames = new HashMap<>();
+    private SymbolIndex symbolIndex;
     private final IProject project;
 
     // for dump
@@ -104,6 +112,25 @@ public class GmonDecoder {
         }
     }
 
+    /**
+     * Constructor of a decoder reading one of the files summed by another decoder.
+     *
+     * @param aggregate the decoder summing the files
+     */
+    private GmonDecoder(GmonDecoder aggregate) {
+        this.program = aggregate.program;
+        this.ps = null;
+        this.project = aggregate.project;
+        this._32_bit_platform = aggregate._32_bit_platform;
+        if (_32_bit_platform) {
+            histo = new HistogramDecoder(this);
+            callGraph = new CallGraphDecoder(this);
+        } else {
+            histo = new HistogramDecoder64(this);
+            callGraph = new CallGraphDecoder64(this);
+        }
+    }
+
     /**
      * Reads the given file
      *
@@ -111,96 +138,125 @@ public class GmonDecoder {
      * @throws IOException
      */
     public void read(String file) throws IOException {
-        this.file = file;
-        DataInputStream beStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
-        if (program.isLittleEndian()) {
-            try (LEDataInputStream leStream = new LEDataInputStream(beStream)) {
-                leStream.mark(1000);
-                boolean gmonType = readHeader(leStream);
-                if (gmonType)
-                    readGmonContent(leStream);
-                else {
-                    leStream.reset();
-                    histo.decodeOldHeader(leStream);
-                    histo.decodeHistRecord(leStream);
-                    try {
-                        do {
-                            this.callGraph.decodeCallGraphRecord(leStream, true);
-                        } while (true);
-                    } catch (EOFException e) {
-                        // normal. End of file reached.
-                    }
-                    this.callGraph.populate(rootNode);
-                    this.histo.assignSamplesSymbol();
-                }
+        decode(file);
+        this.callGraph.populate(rootNode);
+        this.histo.assignSamplesSymbol();
+    }
+
+    /**
+     * Reads the given files and sums their histograms and call graphs, as <code>gprof -s</code> does. The files are
+     * decoded concurrently, then summed before the symbols are resolved.
+     *
+     * @param files
+     *            gmon files produced by runs of the program
+     * @throws IOException
+     */
+    public void read(List<String> files) throws IOException {
+        if (files.size() == 1) {
+            read(files.get(0));
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(files.size(),
+                Runtime.getRuntime().availableProcessors())));
+        try {
+            List<ForkJoinTask<GmonDecoder>> tasks = new ArrayList<>(files.size());
+            for (String f : files) {
+                tasks.add(pool.submit(() -> {
+                    GmonDecoder fileDecoder = new GmonDecoder(this);
+                    fileDecoder.decode(f);
+                    return fileDecoder;
+                }));
             }
-        } else {
-            try {
-                beStream.mark(1000);
-                boolean gmonType = readHeader(beStream);
-                if (gmonType) {
-                    readGmonContent(beStream);
-                } else {
-                    beStream.reset();
-                    histo.decodeOldHeader(beStream);
-                    histo.decodeHistRecord(beStream);
-                    try {
-                        do {
-                            this.callGraph.decodeCallGraphRecord(beStream, true);
-                        } while (true);
-                    } catch (EOFException e) {
-                        // normal. End of file reached.
+            for (ForkJoinTask<GmonDecoder> task : tasks) {
+                GmonDecoder fileDecoder;
+                try {
+                    fileDecoder = task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
                     }
-                    this.callGraph.populate(rootNode);
-                    this.histo.assignSamplesSymbol();
+                    throw new IOException(cause);
                 }
-            } finally {
-                beStream.close();
+                this.file = fileDecoder.file;
+                this.cookie = fileDecoder.cookie;
+                this.gmonVersion = fileDecoder.gmonVersion;
+                this.histo.add(fileDecoder.histo);
+                this.callGraph.add(fileDecoder.callGraph);
             }
+        } finally {
+            pool.shutdownNow();
         }
+        this.callGraph.populate(rootNode);
+        this.histo.assignSamplesSymbol();
     }
 
     /**
-     * Read gmon header
+     * Decodes the records of the given file, without resolving their symbols. The file is mapped in memory, and
+     * read in the byte order of the program.
      *
-     * @param stream
-     *            the gmon as a stream
+     * @param file
      * @throws IOException
-     *             if an IO error occurs or if the stream is not a gmon file.
      */
-    private boolean readHeader(DataInput stream) throws IOException {
+    private void decode(String file) throws IOException {
+        this.file = file;
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(program.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        try {
+            boolean gmonType = readHeader(buffer);
+            if (gmonType) {
+                readGmonContent(buffer);
+            } else {
+                buffer.position(0);
+                histo.decodeOldHeader(buffer);
+                histo.decodeHistRecord(buffer);
+                callGraph.decodeBsdCallGraphRecords(buffer);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new EOFException(file);
+        }
+    }
+
+    /**
+     * Read gmon header
+     *
+     * @param buffer
+     *            the gmon file
+     * @return whether the file is a gmon file, rather than an old BSD one
+     */
+    private boolean readHeader(ByteBuffer buffer) {
         byte[] _cookie = new byte[4];
-        stream.readFully(_cookie);
+        buffer.get(_cookie);
         cookie = new String(_cookie);
-        gmonVersion = stream.readInt();
-        byte[] spare = new byte[12];
-        stream.readFully(spare);
+        gmonVersion = buffer.getInt();
+        buffer.position(buffer.position() + Math.min(12, buffer.remaining())); // spare
         return "gmon".equals(cookie); //$NON-NLS-1$
     }
 
     /**
      * Read the whole content of the GMON file The header should be read before calling this function.
      *
-     * @param stream
+     * @param buffer
      * @throws IOException
      */
-    private void readGmonContent(DataInput stream) throws IOException {
-        do {
-            // int tag = -1;
-            tag = -1;
-
-            try {
-                tag = stream.readByte();
-            } catch (EOFException e) {
-                break;
-            }
+    private void readGmonContent(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            tag = buffer.get();
             switch (tag) {
             case VPF_GMON_RECORD_TYPE_HISTOGRAM:
-                histo.decodeHeader(stream);
-                histo.decodeHistRecord(stream);
+                histo.decodeHeader(buffer);
+                histo.decodeHistRecord(buffer);
                 break;
             case VPF_GMON_RECORD_TYPE_CALLGRAPH:
-                callGraph.decodeCallGraphRecord(stream, false);
+                callGraph.decodeCallGraphRecord(buffer);
                 break;
             default:
                 throw new IOException(Messages.GmonDecoder_BAD_TAG_ERROR);
@@ -209,12 +265,8 @@ public class GmonDecoder {
             if (shouldDump) {
                 dumpGmonResult(ps == null ? System.out : ps);
             }
-
-        } while (true);
-
-        this.callGraph.populate(rootNode);
-        this.histo.assignSamplesSymbol();
-
+        }
+        tag = -1;
     }
 
     public void dumpGmonResult(PrintStream ps) {
@@ -249,6 +301,16 @@ public class GmonDecoder {
         return program;
     }
 
+    /**
+     * @return the symbols of the program, by address
+     */
+    SymbolIndex getSymbolIndex() {
+        if (symbolIndex == null) {
+            symbolIndex = new SymbolIndex(program);
+        }
+        return symbolIndex;
+    }
+
     /**
      * @return the rootNode
      */
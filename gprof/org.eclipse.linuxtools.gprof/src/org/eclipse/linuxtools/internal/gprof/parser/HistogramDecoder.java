@@ -12,13 +12,14 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gprof.parser;
 
-import java.io.DataInput;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
 
 import org.eclipse.cdt.core.IBinaryParser.ISymbol;
 import org.eclipse.linuxtools.internal.gprof.Messages;
-import org.eclipse.linuxtools.internal.gprof.symbolManager.Bucket;
 import org.eclipse.linuxtools.internal.gprof.view.histogram.HistRoot;
 
 
@@ -68,8 +69,8 @@ public class HistogramDecoder {
         this.decoder = decoder;
     }
 
-    protected long readAddress(DataInput stream) throws IOException {
-        return stream.readInt() & 0xFFFFFFFFL;
+    protected long readAddress(ByteBuffer buffer) {
+        return buffer.getInt() & 0xFFFFFFFFL;
     }
 
     public boolean hasValues() {
@@ -77,18 +78,20 @@ public class HistogramDecoder {
     }
 
     /**
-     * Decode the given stream
-     * @param stream a DataInputStream, pointing on a histogram header in a gmon file.
-     * @throws IOException if an IO error occurs
+     * Decode the given buffer
+     * @param buffer the gmon file, positioned on a histogram header.
+     * @throws IOException if the header is truncated
      */
-    public void decodeHeader(DataInput stream) throws IOException {
-        long lowpc        = readAddress(stream);
-        long highpc       = readAddress(stream);
-        int hist_num_bins = stream.readInt();
-        int prof_rate     = stream.readInt();
-        byte[] bytes      = new byte[15];
-        stream.readFully(bytes);
-        byte b            = stream.readByte();
+    public void decodeHeader(ByteBuffer buffer) throws IOException {
+        long lowpc        = readAddress(buffer);
+        long highpc       = readAddress(buffer);
+        int hist_num_bins = buffer.getInt();
+        int prof_rate     = buffer.getInt();
+        if (buffer.remaining() < 16) {
+            throw new EOFException();
+        }
+        buffer.position(buffer.position() + 15); // dimension name
+        byte b            = buffer.get();
 
         if (!isCompatible(lowpc, highpc, prof_rate, hist_num_bins))    {
             // TODO exception to normalize
@@ -104,21 +107,24 @@ public class HistogramDecoder {
     }
 
     /**
-     * Decode the given stream
-     * @param stream a DataInputStream, pointing on a histogram header in a gmon file.
-     * @throws IOException if an IO error occurs
+     * Decode the given buffer
+     * @param buffer the gmon file, positioned on a histogram header.
+     * @throws IOException if the header is truncated
      */
-    public void decodeOldHeader(DataInput stream) throws IOException {
-        long lowPC = readAddress(stream);
-        long highPC = readAddress(stream);
-        int ncnt = stream.readInt();
-        int version = stream.readInt();
+    public void decodeOldHeader(ByteBuffer buffer) throws IOException {
+        long lowPC = readAddress(buffer);
+        long highPC = readAddress(buffer);
+        int ncnt = buffer.getInt();
+        int version = buffer.getInt();
         int headerSize;
         int profrate = 0;
         if (version == GmonDecoder.GMONVERSION)
         {
-            profrate = stream.readInt();
-            stream.skipBytes(GMON_HDRSIZE_BSD44);
+            profrate = buffer.getInt();
+            if (buffer.remaining() < GMON_HDRSIZE_BSD44) {
+                throw new EOFException();
+            }
+            buffer.position(buffer.position() + GMON_HDRSIZE_BSD44);
             if (decoder._32_bit_platform) {
               headerSize = GMON_HDRSIZE_BSD44_32;
             } else {
@@ -175,20 +181,50 @@ public class HistogramDecoder {
 
     /**
      * Reads hitogram record
-     * @param stream a DataInputStream, pointing just after histogram header in a gmon file.
-     * @throws IOException if an IO error occurs
+     * @param buffer the gmon file, positioned just after histogram header.
+     * @throws IOException if the record is truncated
      */
-    public void decodeHistRecord(DataInput stream) throws IOException {
-        for (int i = 0; i<hist_sample.length; i++) {
-            short rv = stream.readShort();
-            if (rv != 0) {
-                int hist_size = (rv & 0xFFFF);
-                hist_sample[i] += hist_size;
-            }
+    public void decodeHistRecord(ByteBuffer buffer) throws IOException {
+        int length = hist_sample.length;
+        if (buffer.remaining() < 2L * length) {
+            throw new EOFException();
+        }
+        // the samples are read through a view of the buffer, in its byte order
+        ShortBuffer samples = buffer.asShortBuffer();
+        for (int i = 0; i < length; i++) {
+            hist_sample[i] += samples.get(i) & 0xFFFF;
         }
+        buffer.position(buffer.position() + 2 * length);
     }
 
 
+    /**
+     * Sum the histogram read by another decoder of the same program into this one.
+     * @param other a decoder whose samples were not assigned to symbols
+     */
+    void add(HistogramDecoder other) {
+        if (!other.hasValues()) {
+            return;
+        }
+        if (!hasValues()) {
+            this.lowpc       = other.lowpc;
+            this.highpc      = other.highpc;
+            this.profRate    = other.profRate;
+            this.dimenAbbrev = other.dimenAbbrev;
+            this.bucketSize  = other.bucketSize;
+            this.hist_sample = other.hist_sample.clone();
+            this.initialized = true;
+            return;
+        }
+        if (!isCompatible(other.lowpc, other.highpc, other.profRate, other.hist_sample.length)) {
+            // TODO exception to normalize
+            throw new RuntimeException(Messages.HistogramDecoder_INCOMPATIBLE_HIST_HEADER_ERROR_MSG);
+        }
+        for (int i = 0; i < hist_sample.length; i++) {
+            hist_sample[i] += other.hist_sample[i];
+        }
+    }
+
     /**
      * Print the histogram header, for debug usage.
      * @param ps a printstream (typically System.out)
@@ -236,7 +272,8 @@ public class HistogramDecoder {
      */
     public void assignSamplesSymbol() {
         if (hist_sample == null || hist_sample.length == 0) return;
-        ISymbol[] symblist = this.decoder.getProgram().getSymbols();
+        SymbolIndex symblist = this.decoder.getSymbolIndex();
+        HistRoot root = this.decoder.getRootNode();
         /* read samples and assign to namelist symbols */
         int j = 1;
         for (int i = 0; i < hist_sample.length; i++)
@@ -248,11 +285,11 @@ public class HistogramDecoder {
                 long pch = pcl+bucketSize;
                 total_time += ccnt;
                 long svalue0;
-                long svalue1 = symblist[j-1].getAddress().getValue().longValue();
-                for (j = j-1; j < symblist.length - 1; j++)
+                long svalue1 = symblist.getStart(j-1);
+                for (j = j-1; j < symblist.size() - 1; j++)
                 {
                     svalue0 = svalue1;
-                    svalue1 = symblist[j+1].getAddress().getValue().longValue();
+                    svalue1 = symblist.getStart(j+1);
                     /* if high end of tick is below entry address,
                      * go for next tick. */
                     if(pch < svalue0) {
@@ -265,10 +302,9 @@ public class HistogramDecoder {
                         long end_addr   = pch<svalue1?pch:svalue1;
                         long overlap = end_addr - start_addr;
                         if(overlap > 0)    {
-                            ISymbol symbol = symblist[j];
+                            ISymbol symbol = symblist.getSymbol(j);
                             int time = (int) ((overlap * ccnt) / bucketSize);
-                            Bucket   bck = new Bucket(start_addr, end_addr, time);
-                            addBucket(bck,symbol);
+                            root.addBucket(symbol, start_addr, end_addr, time);
                         }
                     }
                 }
@@ -276,11 +312,6 @@ public class HistogramDecoder {
         }
     }
 
-    private void addBucket(Bucket b, ISymbol s) {
-        HistRoot root = this.decoder.getRootNode();
-        root.addBucket(b, s, decoder.getProgram());
-    }
-
     /**
      * @return the profRate
      */
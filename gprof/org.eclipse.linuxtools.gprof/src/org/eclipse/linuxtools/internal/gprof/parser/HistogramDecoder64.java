@@ -12,8 +12,7 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gprof.parser;
 
-import java.io.DataInput;
-import java.io.IOException;
+import java.nio.ByteBuffer;
 
 public class HistogramDecoder64 extends HistogramDecoder {
 
@@ -22,8 +21,8 @@ public class HistogramDecoder64 extends HistogramDecoder {
     }
 
     @Override
-    protected long readAddress(DataInput stream) throws IOException {
-        return stream.readLong();
+    protected long readAddress(ByteBuffer buffer) {
+        return buffer.getLong();
     }
 
 
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.gprof.parser;
+
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
+import org.eclipse.cdt.core.IBinaryParser.ISymbol;
+
+/**
+ * The symbols of a program, by start address. Finds the symbol of an address as
+ * {@link IBinaryObject#getSymbol(org.eclipse.cdt.core.IAddress)} does, without creating an address object, and
+ * remembers the symbols of the last addresses looked up.
+ */
+class SymbolIndex {
+
+    private static final int CACHE_SIZE = 256;
+
+    /* symbols of the program, sorted by start address */
+    private final ISymbol[] symbols;
+    private final long[] starts;
+    private final long[] ends;
+    /* index of the symbol found at the start address of each symbol: itself, unless another one starts there */
+    private final int[] atStart;
+
+    /* direct-mapped cache of the last lookups: index of the symbol, -1 if none */
+    private final long[] cachedPcs = new long[CACHE_SIZE];
+    private final int[] cachedSymbols = new int[CACHE_SIZE];
+
+    /**
+     * Constructor
+     * @param program
+     */
+    SymbolIndex(IBinaryObject program) {
+        this.symbols = program.getSymbols();
+        this.starts = new long[symbols.length];
+        this.ends = new long[symbols.length];
+        this.atStart = new int[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            starts[i] = symbols[i].getAddress().getValue().longValue();
+            ends[i] = starts[i] + symbols[i].getSize();
+            atStart[i] = i;
+        }
+        // several symbols can start at the same address: find the one the program chooses, once for all
+        for (int first = 0; first < symbols.length;) {
+            int end = first + 1;
+            while (end < symbols.length && starts[end] == starts[first]) {
+                end++;
+            }
+            if (end - first > 1) {
+                ISymbol chosen = program.getSymbol(symbols[first].getAddress());
+                for (int i = first; i < end; i++) {
+                    if (symbols[i] == chosen) {
+                        Arrays.fill(atStart, first, end, i);
+                        break;
+                    }
+                }
+            }
+            first = end;
+        }
+        // nothing cached: each slot holds a pc which is not mapped to it
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            cachedPcs[i] = i + 1;
+        }
+    }
+
+    /**
+     * @return the number of symbols
+     */
+    int size() {
+        return symbols.length;
+    }
+
+    /**
+     * @param i index of a symbol, in address order
+     * @return the symbol
+     */
+    ISymbol getSymbol(int i) {
+        return symbols[i];
+    }
+
+    /**
+     * @param i index of a symbol, in address order
+     * @return the start address of the symbol
+     */
+    long getStart(int i) {
+        return starts[i];
+    }
+
+    /**
+     * @param pc an address in the program
+     * @return the symbol containing the address, or null
+     */
+    ISymbol find(long pc) {
+        int slot = (int) (pc ^ (pc >>> 8)) & (CACHE_SIZE - 1);
+        int found;
+        if (cachedPcs[slot] == pc) {
+            found = cachedSymbols[slot];
+        } else {
+            found = indexOf(pc);
+            cachedPcs[slot] = pc;
+            cachedSymbols[slot] = found;
+        }
+        return found < 0 ? null : symbols[found];
+    }
+
+    /**
+     * @return the index of the symbol containing the address, -1 if none
+     */
+    private int indexOf(long pc) {
+        // last symbol starting before or at the address
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(starts[mid], pc) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int i = low - 1;
+        if (i < 0) {
+            return -1;
+        }
+        if (starts[i] == pc) {
+            return atStart[i];
+        }
+        return Long.compareUnsigned(pc, ends[i]) < 0 ? i : -1;
+    }
+}
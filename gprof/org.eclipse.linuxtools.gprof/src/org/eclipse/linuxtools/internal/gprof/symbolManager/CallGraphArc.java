@@ -61,6 +61,30 @@ public class CallGraphArc {
         this.project = project;
     }
 
+    /**
+     * Constructor
+     *
+     * @param parent
+     *            the caller node
+     * @param parentPath
+     *            the source path of the function call
+     * @param parentLine
+     *            the line number of the function call
+     * @param child
+     *            the callee node
+     * @param count
+     *            how many function calls have been performed
+     */
+    public CallGraphArc(CallGraphNode parent, String parentPath, int parentLine, CallGraphNode child, int count,
+            IProject project) {
+        this.parent = parent;
+        this.child = child;
+        this.count = count;
+        this.parentPath = parentPath;
+        this.parentLine = parentLine;
+        this.project = project;
+    }
+
     /**
      * @return the count
      */
@@ -23,7 +23,9 @@ import org.eclipse.linuxtools.internal.gprof.Messages;
 import org.eclipse.ui.PlatformUI;
 
 /**
- * Gives support to aggregate gmon files
+ * Gives support to aggregate gmon files into a gmon.sum file, by running <code>gprof -s</code>. To display the sum of
+ * several gmon files, {@link org.eclipse.linuxtools.internal.gprof.parser.GmonDecoder#read(java.util.List)} decodes
+ * them in process, without writing any file.
  *
  * @author Xavier Raynaud <xavier.raynaud@st.com>
  */
@@ -59,7 +59,7 @@ public class FileHistogramContentProvider implements ITreeContentProvider {
     public boolean hasChildren(Object element) {
         if (element instanceof AbstractTreeElement) {
             AbstractTreeElement elem = (AbstractTreeElement) element;
-            return elem.hasChildren() && !elem.getChildren().isEmpty();
+            return elem.hasChildren();
         }
         return false;
     }
@@ -14,6 +14,8 @@
 package org.eclipse.linuxtools.internal.gprof.view;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
 import org.eclipse.core.resources.IProject;
@@ -238,6 +240,19 @@ public class GmonView extends AbstractSTDataView {
      * @param instanceName
      */
     public static GmonView displayGprofView(String binaryPath, String gmonPath, IProject project) {
+        return displayGprofView(binaryPath, Collections.singletonList(gmonPath), project);
+    }
+
+    /**
+     * Display the sum of several gmon files in the GProf View. NOTE: this method has to be called from within the UI
+     * thread.
+     *
+     * @param binaryPath
+     * @param gmonPaths
+     *            gmon files produced by runs of the binary
+     * @param project
+     */
+    public static GmonView displayGprofView(String binaryPath, List<String> gmonPaths, IProject project) {
         IBinaryObject binary = STSymbolManager.sharedInstance.getBinaryObject(new Path(binaryPath));
         if (binary == null) {
             MessageDialog.openError(PlatformUI.getWorkbench().getDisplay().getActiveShell(), "Invalid binary file", //$NON-NLS-1$
@@ -249,12 +264,12 @@ public class GmonView extends AbstractSTDataView {
 
         GmonDecoder decoder = new GmonDecoder(binary, project);
         try {
-            decoder.read(gmonPath);
+            decoder.read(gmonPaths);
         } catch (IOException e) {
             Status status = new Status(IStatus.ERROR, Activator.PLUGIN_ID, IStatus.ERROR, e.getMessage(), e);
             Activator.getDefault().getLog().log(status);
         }
-        return displayGprofView(decoder, gmonPath);
+        return displayGprofView(decoder, gmonPaths.get(0));
     }
 
     /**
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gprof.view.histogram;
 
+import java.util.LinkedList;
 
 /**
  * Element of the hstogram
@@ -48,7 +49,8 @@ public abstract class AbstractTreeElement implements TreeElement {
      */
     @Override
     public boolean hasChildren() {
-        return true;
+        LinkedList<? extends TreeElement> children = getChildren();
+        return children != null && !children.isEmpty();
     }
 
     @Override
@@ -14,10 +14,8 @@ package org.eclipse.linuxtools.internal.gprof.view.histogram;
 
 import java.util.LinkedList;
 
-import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
 import org.eclipse.cdt.core.IBinaryParser.ISymbol;
 import org.eclipse.core.runtime.Path;
-import org.eclipse.linuxtools.internal.gprof.symbolManager.Bucket;
 import org.eclipse.linuxtools.internal.gprof.symbolManager.CallGraphNode;
 
 
@@ -48,7 +46,7 @@ public class HistFile extends AbstractTreeElement {
      * @param s
      * @return a {@link HistFunction}
      */
-    private HistFunction getChild(ISymbol s) {
+    HistFunction getChild(ISymbol s) {
         for (HistFunction f : this.children) {
             if (f.symbol == s) {
                 return f;
@@ -59,11 +57,6 @@ public class HistFile extends AbstractTreeElement {
         return f;
     }
 
-    void addBucket(Bucket b, ISymbol s, IBinaryObject program) {
-        HistFunction hf = getChild(s);
-        hf.addBucket(b, program);
-    }
-
     void addCallGraphNode(CallGraphNode node) {
         ISymbol s = node.getSymbol();
         HistFunction hf = getChild(s);
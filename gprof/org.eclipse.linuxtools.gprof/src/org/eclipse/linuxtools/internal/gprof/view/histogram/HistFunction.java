@@ -12,15 +12,14 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gprof.view.histogram;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 
-import org.eclipse.cdt.core.IAddress;
-import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
 import org.eclipse.cdt.core.IBinaryParser.ISymbol;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.linuxtools.binutils.utils.STSymbolManager;
-import org.eclipse.linuxtools.internal.gprof.symbolManager.Bucket;
 import org.eclipse.linuxtools.internal.gprof.symbolManager.CallGraphArc;
 import org.eclipse.linuxtools.internal.gprof.symbolManager.CallGraphNode;
 
@@ -33,7 +32,13 @@ public class HistFunction extends AbstractTreeElement {
 
     /** The sympbol to display */
     public final ISymbol symbol;
-    private final LinkedList<HistLine> children = new LinkedList<>();
+    /** The lines of the function, built from the buckets when first needed */
+    private LinkedList<HistLine> children;
+    /* buckets of the function, in address order */
+    private long[] bucketStarts = new long[4];
+    private long[] bucketEnds = new long[4];
+    private int[] bucketTimes = new int[4];
+    private int nbBuckets;
     private CGCategory parentsFunctions;
     private CGCategory childrenFunctions;
 
@@ -50,31 +55,50 @@ public class HistFunction extends AbstractTreeElement {
         histSym.put(s, 0);
     }
 
-    /**
-     * Gets the tree item corresponding to the given line.
-     * Lazily create it if needed.
-     * @param line
-     * @return a {@link HistFunction}
-     */
-    private HistLine getChild(int line) {
-        for (HistLine l : this.children) {
-            if (l.line == line) {
-                return l;
-            }
+    void addBucket(long startAddr, long endAddr, int time) {
+        if (nbBuckets == bucketStarts.length) {
+            bucketStarts = Arrays.copyOf(bucketStarts, nbBuckets * 2);
+            bucketEnds = Arrays.copyOf(bucketEnds, nbBuckets * 2);
+            bucketTimes = Arrays.copyOf(bucketTimes, nbBuckets * 2);
         }
-        HistLine l = new HistLine(this, line);
-        this.children.add(l);
-        return l;
+        bucketStarts[nbBuckets] = startAddr;
+        bucketEnds[nbBuckets] = endAddr;
+        bucketTimes[nbBuckets] = time;
+        nbBuckets++;
+        histSym.put(symbol, time + histSym.get(symbol));
     }
 
+    long getBucketStart(int bucket) {
+        return bucketStarts[bucket];
+    }
+
+    long getBucketEnd(int bucket) {
+        return bucketEnds[bucket];
+    }
 
-    void addBucket(Bucket b, IBinaryObject program) {
-        int lineNumber = -1;
-        IAddress address = program.getAddressFactory().createAddress(String.valueOf(b.startAddr));
-        lineNumber = STSymbolManager.sharedInstance.getLineNumber(program, address, getProject());
-        HistLine hf = getChild(lineNumber);
-        hf.addBucket(b);
-        histSym.put(symbol, b.time + histSym.get(symbol));
+    int getBucketTime(int bucket) {
+        return bucketTimes[bucket];
+    }
+
+    /**
+     * Group the buckets by line. The lines of all the buckets are resolved in one batch.
+     */
+    private LinkedList<HistLine> buildChildren() {
+        LinkedList<HistLine> lines = new LinkedList<>();
+        long[] addresses = Arrays.copyOf(bucketStarts, nbBuckets);
+        int[] lineNumbers = STSymbolManager.sharedInstance.getLineNumbers(((HistRoot) getRoot()).decoder.getProgram(),
+                addresses, getProject());
+        Map<Integer, HistLine> byLineNumber = new HashMap<>();
+        for (int i = 0; i < nbBuckets; i++) {
+            HistLine l = byLineNumber.get(lineNumbers[i]);
+            if (l == null) {
+                l = new HistLine(this, lineNumbers[i]);
+                byLineNumber.put(lineNumbers[i], l);
+                lines.add(l);
+            }
+            l.addBucket(i);
+        }
+        return lines;
     }
 
     void addCallGraphNode(CallGraphNode node) {
@@ -91,9 +115,29 @@ public class HistFunction extends AbstractTreeElement {
 
     @Override
     public LinkedList<? extends TreeElement> getChildren() {
+        if (this.children == null) {
+            this.children = buildChildren();
+        }
         return this.children;
     }
 
+    @Override
+    public boolean hasChildren() {
+        // the lines are not built just to know whether there are any
+        return nbBuckets > 0;
+    }
+
+    @Override
+    public int getSamples() {
+        if (samples == -1) {
+            samples = 0;
+            for (int i = 0; i < nbBuckets; i++) {
+                samples += bucketTimes[i];
+            }
+        }
+        return samples;
+    }
+
     @Override
     public int getCalls() {
         return this.calls;
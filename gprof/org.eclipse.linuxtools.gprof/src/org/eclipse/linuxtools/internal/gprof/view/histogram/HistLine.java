@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.gprof.view.histogram;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 import org.eclipse.linuxtools.internal.gprof.symbolManager.Bucket;
@@ -25,7 +26,11 @@ import org.eclipse.linuxtools.internal.gprof.symbolManager.Bucket;
 public class HistLine extends AbstractTreeElement {
 
     public final int line;
-    private final LinkedList<HistBucket> children = new LinkedList<>();
+    /** The buckets of the line, built when first needed */
+    private LinkedList<HistBucket> children;
+    /* indexes of the buckets of the line in its function */
+    private int[] buckets = new int[2];
+    private int nbBuckets;
 
     /**
      * Constructor
@@ -37,15 +42,32 @@ public class HistLine extends AbstractTreeElement {
         this.line = lineNumber;
     }
 
-    void addBucket(Bucket b) {
-        this.children.add(new HistBucket(this,b));
+    void addBucket(int bucket) {
+        if (nbBuckets == buckets.length) {
+            buckets = Arrays.copyOf(buckets, nbBuckets * 2);
+        }
+        buckets[nbBuckets++] = bucket;
     }
 
     @Override
     public LinkedList<? extends TreeElement> getChildren() {
+        if (this.children == null) {
+            HistFunction function = (HistFunction) getParent();
+            this.children = new LinkedList<>();
+            for (int i = 0; i < nbBuckets; i++) {
+                Bucket b = new Bucket(function.getBucketStart(buckets[i]), function.getBucketEnd(buckets[i]),
+                        function.getBucketTime(buckets[i]));
+                this.children.add(new HistBucket(this, b));
+            }
+        }
         return this.children;
     }
 
+    @Override
+    public boolean hasChildren() {
+        return nbBuckets > 0;
+    }
+
     @Override
     public int getCalls() {
         return -1;
@@ -59,9 +81,10 @@ public class HistLine extends AbstractTreeElement {
 
     @Override
     public int getSamples() {
+        HistFunction function = (HistFunction) getParent();
         int ret = 0;
-        for (HistBucket b : children) {
-            ret += b.getSamples();
+        for (int i = 0; i < nbBuckets; i++) {
+            ret += function.getBucketTime(buckets[i]);
         }
         return ret;
     }
@@ -14,12 +14,10 @@ package org.eclipse.linuxtools.internal.gprof.view.histogram;
 
 import java.util.LinkedList;
 
-import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
 import org.eclipse.cdt.core.IBinaryParser.ISymbol;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.linuxtools.internal.gprof.Messages;
 import org.eclipse.linuxtools.internal.gprof.parser.GmonDecoder;
-import org.eclipse.linuxtools.internal.gprof.symbolManager.Bucket;
 import org.eclipse.linuxtools.internal.gprof.symbolManager.CallGraphNode;
 
 /**
@@ -30,6 +28,8 @@ import org.eclipse.linuxtools.internal.gprof.symbolManager.CallGraphNode;
 public class HistRoot extends AbstractTreeElement {
 
     private final LinkedList<HistFile> children = new LinkedList<>();
+    /* function of the last bucket added: buckets are added in address order, so function by function */
+    private HistFunction lastFunction;
 
     /** The decoded gmon to display */
     public final GmonDecoder decoder;
@@ -59,15 +59,20 @@ public class HistRoot extends AbstractTreeElement {
     }
 
     /**
-     * Add a bucket to the tree representation of the gmon file
-     * @param b a bucket
+     * Add a bucket to the tree representation of the gmon file. Buckets are kept in arrays by function, and their
+     * lines are only resolved when the tree node of the function is expanded.
      * @param s a symbol (the bucket belong to this symbol)
-     * @param program the program
+     * @param startAddr start address of the bucket
+     * @param endAddr end address of the bucket
+     * @param time time spent in the bucket
      */
-    public void addBucket(Bucket b, ISymbol s, IBinaryObject program) {
-        String path = decoder.getFileName(s);
-        HistFile hf = getChild(path);
-        hf.addBucket(b, s, program);
+    public void addBucket(ISymbol s, long startAddr, long endAddr, int time) {
+        if (lastFunction == null || lastFunction.symbol != s) {
+            String path = decoder.getFileName(s);
+            HistFile hf = getChild(path);
+            lastFunction = hf.getChild(s);
+        }
+        lastFunction.addBucket(startAddr, endAddr, time);
     }
 
     /**
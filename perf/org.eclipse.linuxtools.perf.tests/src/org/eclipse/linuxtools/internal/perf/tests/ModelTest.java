@@ -20,6 +20,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
@@ -39,6 +40,7 @@ import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.linuxtools.internal.perf.PerfCore;
+import org.eclipse.linuxtools.internal.perf.PerfDataReader;
 import org.eclipse.linuxtools.internal.perf.PerfPlugin;
 import org.eclipse.linuxtools.internal.perf.launch.PerfEventsTab;
 import org.eclipse.linuxtools.internal.perf.launch.PerfOptionsTab;
@@ -314,6 +316,87 @@ public class ModelTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testPerfDataReaderMultiEvent() throws IOException {
+        TreeParent invisibleRoot = new TreeParent("");
+        PerfDataReader.read(new File("resources/multievent-data/perf.data"), invisibleRoot, null);
+
+        checkChildrenStructure(invisibleRoot, stack);
+        String[] events = { "cpu-clock", "task-clock", "page-faults", "minor-faults", "major-faults" };
+        assertEquals(events.length, invisibleRoot.getChildren().length);
+
+        for (int i = 0; i < events.length; i++) {
+            TreeParent event = invisibleRoot.getChildren()[i];
+            assertEquals(events[i], event.getName());
+            if ("major-faults".equals(events[i])) {
+                assertFalse(event.hasChildren());
+                continue;
+            }
+            assertEquals(1, event.getChildren().length);
+            TreeParent cmd = event.getChildren()[0];
+            assertEquals("hellotest", cmd.getName());
+            if ("page-faults".equals(events[i]) || "minor-faults".equals(events[i])) {
+                String[] cmdLabels = { "ld-2.14.90.so", "[kernel.kallsyms]",
+                        "libc-2.14.90.so" };
+                checkCommadLabels(cmdLabels, cmd);
+            } else {
+                checkCommadLabels(new String[] { "hellotest" }, cmd);
+            }
+        }
+    }
+
+    @Test
+    public void testPerfDataReaderKernelSymbols() throws IOException {
+        TreeParent invisibleRoot = new TreeParent("");
+        PerfDataReader.read(new File("resources/multievent-data/perf.data"), invisibleRoot, null,
+                true, new File("resources/multievent-data/kallsyms"));
+
+        // The user space objects are not found, so only kernel symbols are left
+        TreeParent event = invisibleRoot.getChildren()[2];
+        assertEquals("page-faults", event.getName());
+        assertFalse(invisibleRoot.getChildren()[0].hasChildren());
+        TreeParent cmd = event.getChildren()[0];
+        checkCommadLabels(new String[] { "[kernel.kallsyms]" }, cmd);
+
+        // Same symbols and percentages as in perf.data.txt
+        TreeParent[] symbols = ((PMDso) cmd.getChildren()[0])
+                .getFile(PerfPlugin.STRINGS_UnfiledSymbols).getChildren();
+        assertEquals(2, symbols.length);
+        assertEquals("[k] __clear_user", symbols[0].getName());
+        assertEquals(0.79, symbols[0].getPercent(), 0.001);
+        assertEquals("[k] copy_user_generic_string", symbols[1].getName());
+        assertEquals(0.4, symbols[1].getPercent(), 0.001);
+    }
+
+    @Test
+    public void testChildLookupAndAggregation() {
+        PMCommand cmd = new PMCommand("testCommand");
+        PMDso dso = new PMDso("testDso", false);
+        cmd.addChild(dso);
+        PMFile file = dso.getFile(PerfPlugin.STRINGS_UnfiledSymbols);
+
+        PMSymbol first = new PMSymbol("dup", 10, 20);
+        PMSymbol second = new PMSymbol("dup", 30, 40);
+        file.addChild(first);
+        file.addChild(second);
+        file.addChild(new PMSymbol("other", 5, 10));
+
+        assertEquals(first, file.getChild("dup"));
+        assertEquals(45, file.getPercent(), 0.0);
+        assertEquals(45, dso.getPercent(), 0.0);
+        assertEquals("70", dso.getFormattedSamples());
+
+        // Removing the indexed child exposes the next one with the same name
+        file.removeChild(first);
+        assertEquals(second, file.getChild("dup"));
+        assertEquals(35, dso.getPercent(), 0.0);
+        assertEquals("50", cmd.getFormattedSamples());
+
+        dso.getFile("other.c").addChild(first);
+        assertEquals(45, dso.getPercent(), 0.0);
+        assertEquals("70", cmd.getFormattedSamples());
+    }
+
     @Test
     public void testAnnotateString() throws CoreException {
         ILaunchConfigurationWorkingCopy tempConfig = config.copy("test-config");
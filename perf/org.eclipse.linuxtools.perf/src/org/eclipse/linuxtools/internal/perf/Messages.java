@@ -19,6 +19,9 @@ public class Messages extends NLS {
     private static final String BUNDLE_NAME = "org.eclipse.linuxtools.internal.perf.messages"; //$NON-NLS-1$
     public static String MsgProxyError;
     public static String MsgNoProjectError;
+    public static String PerfDataReader_bad_magic;
+    public static String PerfDataReader_bad_attrs;
+    public static String PerfDataReader_truncated;
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, Messages.class);
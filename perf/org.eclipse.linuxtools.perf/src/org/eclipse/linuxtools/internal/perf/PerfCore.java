@@ -13,15 +13,24 @@
 package org.eclipse.linuxtools.internal.perf;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.io.StringReader;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,6 +60,11 @@ import org.eclipse.ui.PlatformUI;
 
 public class PerfCore {
 
+    // Maximum number of 'perf annotate' processes run at the same time
+    private static final int ANNOTATE_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    // Number of annotations parsed at a time on the UI thread
+    private static final int ANNOTATION_BATCH_SIZE = 64;
+
     private static String spitStream(BufferedReader br, String blockTitle, PrintStream print) {
 
         StringBuilder strBuf = new StringBuilder();
@@ -368,7 +382,9 @@ public class PerfCore {
     public static void report(ILaunchConfiguration config, IPath workingDir, IProgressMonitor monitor, String perfDataLoc, PrintStream print) {
         IProject project = getProject(config);
 
-        TreeParent invisibleRoot = PerfPlugin.getDefault().clearModelRoot();
+        // The model shown by the view is replaced, not cleared, so that it is
+        // never modified off the UI thread
+        TreeParent invisibleRoot = new TreeParent(""); //$NON-NLS-1$
 
         PerfVersion perfVersion = getPerfVersion(config);
         boolean oldPerfVersion = false;
@@ -376,6 +392,7 @@ public class PerfCore {
         if (perfVersion == null) {
         	if (print != null) {
         		print.println("ERROR: Unable to find Perf version, please verify it is installed and on the run path"); //$NON-NLS-1$
+        		setModelRoot(invisibleRoot);
         		return;
         	}
         } else if (!perfVersion.isNewer(new PerfVersion(0, 0, 2))) {
@@ -392,11 +409,32 @@ public class PerfCore {
             return;
         }
 
+        if (readPerfDataDirectly(config, project)) {
+            String dataLoc = (workingDir == null) ? perfDataLoc : workingDir.toOSString() + PerfPlugin.PERF_DEFAULT_DATA;
+            try {
+                boolean hideUnresolved = config.getAttribute(PerfPlugin.ATTR_HideUnresolvedSymbols,
+                        PerfPlugin.ATTR_HideUnresolvedSymbols_default);
+                PerfDataReader.read(new File(dataLoc), invisibleRoot, monitor, hideUnresolved,
+                        new File("/proc/kallsyms")); //$NON-NLS-1$
+                PerfPlugin.getDefault().setPerfProfileData(new Path(dataLoc));
+                PerfPlugin.getDefault().setWorkingDir(workingDir != null ? workingDir
+                        : project != null ? project.getLocation() : null);
+                resolveSourceLines(config, workingDir, monitor, perfDataLoc, print,
+                        invisibleRoot, oldPerfVersion, project, null);
+                setModelRoot(invisibleRoot);
+                return;
+            } catch (IOException e) {
+                // fall back to parsing the output of perf report
+                logException(e);
+                invisibleRoot = new TreeParent(""); //$NON-NLS-1$
+            }
+        }
+
         try {
             if (workingDir==null) {
                 p = RuntimeProcessFactory.getFactory().exec(getReportString(config, perfDataLoc), project);
                 PerfPlugin.getDefault().setPerfProfileData(new Path(perfDataLoc));
-                PerfPlugin.getDefault().setWorkingDir(project.getLocation());
+                PerfPlugin.getDefault().setWorkingDir(project == null ? null : project.getLocation());
             } else {
                 String defaultPerfDataLoc = workingDir.toOSString() + PerfPlugin.PERF_DEFAULT_DATA;
                 p = RuntimeProcessFactory.getFactory().exec(getReportString(config, defaultPerfDataLoc), project);
@@ -411,8 +449,55 @@ public class PerfCore {
             logException(e);
         }
 
+        // Show the report while it is parsed, unless running on the UI thread
+        boolean streaming = PlatformUI.isWorkbenchRunning() && Display.getCurrent() == null;
+        if (streaming) {
+            // from now on the model is only modified on the UI thread
+            setModelRoot(invisibleRoot);
+        }
         PerfCore.parseRemoteReport(config, workingDir, monitor, perfDataLoc, print,
-                invisibleRoot, oldPerfVersion, input, error, project);
+                invisibleRoot, oldPerfVersion, input, error, project, streaming);
+        if (!streaming) {
+            setModelRoot(invisibleRoot);
+        }
+    }
+
+    /**
+     * Replace the model shown by the view, on the UI thread if the workbench
+     * is running.
+     * @param invisibleRoot root of the new model
+     */
+    private static void setModelRoot(TreeParent invisibleRoot) {
+        if (PlatformUI.isWorkbenchRunning() && Display.getCurrent() == null) {
+            Display.getDefault().syncExec(() -> PerfPlugin.getDefault().setModelRoot(invisibleRoot));
+        } else {
+            PerfPlugin.getDefault().setModelRoot(invisibleRoot);
+        }
+    }
+
+    /**
+     * @param config launch configuration
+     * @param project profiled project
+     * @return <code>true</code> if the perf.data file should be read by
+     * {@link PerfDataReader} instead of parsing the output of perf report.
+     */
+    private static boolean readPerfDataDirectly(ILaunchConfiguration config, IProject project) {
+        try {
+            if (config == null || !config.getAttribute(PerfPlugin.ATTR_ReadPerfData, PerfPlugin.ATTR_ReadPerfData_default)) {
+                return false;
+            }
+            // Kernel and module symbols are only resolved by perf report
+            if (!config.getAttribute(PerfPlugin.ATTR_Kernel_Location, PerfPlugin.ATTR_Kernel_Location_default)
+                    .equals(PerfPlugin.ATTR_Kernel_Location_default)
+                    || config.getAttribute(PerfPlugin.ATTR_ModuleSymbols, PerfPlugin.ATTR_ModuleSymbols_default)) {
+                return false;
+            }
+        } catch (CoreException e) {
+            return false;
+        }
+        // The file must be readable from this host
+        URI location = (project == null) ? null : project.getLocationURI();
+        return project == null || (location != null && "file".equals(location.getScheme())); //$NON-NLS-1$
     }
 
     /**
@@ -432,30 +517,23 @@ public class PerfCore {
             PrintStream print, TreeParent invisibleRoot,
             boolean oldPerfVersion, BufferedReader input, BufferedReader error) {
         PerfCore.parseRemoteReport(config, workingDir, monitor, perfDataLoc, print,
-                invisibleRoot, oldPerfVersion, input, error, null);
+                invisibleRoot, oldPerfVersion, input, error, null, false);
     }
 
     private static void parseRemoteReport(ILaunchConfiguration config,
             IPath workingDir, IProgressMonitor monitor, String perfDataLoc,
             PrintStream print, TreeParent invisibleRoot,
-            boolean oldPerfVersion, BufferedReader input, BufferedReader error, IProject project) {
+            boolean oldPerfVersion, BufferedReader input, BufferedReader error,
+            IProject project, boolean streaming) {
 
         if (monitor != null && monitor.isCanceled()) {
             return;
         }
         String line = null;
         String items[];
-        float percent;
 
-        Process p = null;
-        double samples;
-        String comm,dso,symbol;
-        boolean kernelFlag;
-        PMEvent currentEvent = null;
-        PMCommand currentCommand = null;
-        PMDso currentDso = null;
-        PMFile currentFile = null;
-        PMSymbol currentSym = null;
+        ReportModelBuilder builder = new ReportModelBuilder(invisibleRoot);
+        ReportPublisher publisher = streaming ? new ReportPublisher(Display.getDefault(), builder) : null;
         try {
             while (( line = input.readLine()) != null){
                 if (monitor != null && monitor.isCanceled()) {
@@ -474,13 +552,11 @@ public class PerfCore {
                         if (line.contains("Samples:")){ //$NON-NLS-1$
                             event = event.substring(1, event.length() -1);
                         }
-                        currentEvent = new PMEvent(event);
-                        invisibleRoot.addChild(currentEvent);
-                        currentCommand = null;
-                        currentDso = null;
+                        final String eventName = event;
+                        addEntry(builder, publisher, b -> b.addEvent(eventName));
                     } else if (line.contains("Samples:")) { //"samples" was used instead of events in an older version, some incompatibilities may arise. //$NON-NLS-1$
                         if (print != null) { print.println("WARNING: You are running an older version of Perf, please update if you can. The plugin may produce unpredictable results."); } //$NON-NLS-1$
-                        invisibleRoot.addChild(new PMEvent("WARNING: You are running an older version of Perf, the plugin may produce unpredictable results.")); //$NON-NLS-1$
+                        addEntry(builder, publisher, ReportModelBuilder::addOldVersionWarning);
                     }
                     // contains profiled information
                 } else {
@@ -488,48 +564,55 @@ public class PerfCore {
                     if (items.length != 5) {
                         continue;
                     }
-                    percent = Float.parseFloat(items[0].replace("%", "")); //$NON-NLS-1$ //$NON-NLS-2$
-                    samples = Double.parseDouble(items[1].trim()); //samples column
-                    comm = items[2].trim(); //command column
-                    dso = items[3].trim(); //dso column
-                    symbol = items[4].trim(); //symbol column
-                    kernelFlag = (""+symbol.charAt(1)).equals("k"); //$NON-NLS-1$ //$NON-NLS-2$
-
-                    // initialize current command if it doesn't exist
-                    if ((currentCommand == null) || (!currentCommand.getName().equals(comm))) {
-                        currentCommand = (PMCommand) currentEvent.getChild(comm);
-                        if(currentCommand == null) {
-                            currentCommand = new PMCommand(comm);
-                            currentEvent.addChild(currentCommand);
-                        }
-                    }
-
-                    // initialize current dso if it doesn't exist
-                    if ((currentDso == null) || (!currentDso.getName().equals(dso))) {
-                        currentDso = (PMDso) currentCommand.getChild(dso);
-                        if (currentDso == null) {
-                            currentDso = new PMDso(dso,kernelFlag);
-                            currentCommand.addChild(currentDso);
-                        }
-                    }
-
-                    /*
-                     *  Initialize the current file, and symbol
-                     *
-                     *  We won't know the name of the file containing the symbol
-                     *  until we run 'perf annotate' to resolve it, so for now we
-                     *  attach all symbols as children of 'Unfiled Symbols'.
-                     */
-                    currentFile = currentDso.getFile(PerfPlugin.STRINGS_UnfiledSymbols);
-                    currentSym = new PMSymbol(symbol, percent, samples);
-                    currentFile.addChild(currentSym);
+                    final float percent = Float.parseFloat(items[0].replace("%", "")); //$NON-NLS-1$ //$NON-NLS-2$
+                    final double samples = Double.parseDouble(items[1].trim()); //samples column
+                    final String comm = items[2].trim(); //command column
+                    final String dso = items[3].trim(); //dso column
+                    final String symbol = items[4].trim(); //symbol column
+                    addEntry(builder, publisher, b -> b.addSymbol(percent, samples, comm, dso, symbol));
                 }
             }
         } catch (IOException e) {
             logException(e);
+        } finally {
+            if (publisher != null) {
+                publisher.finish();
+            }
         }
         spitStream(error,"Perf Report", print); //$NON-NLS-1$
 
+        resolveSourceLines(config, workingDir, monitor, perfDataLoc, print,
+                invisibleRoot, oldPerfVersion, project, streaming ? Display.getDefault() : null);
+    }
+
+    /**
+     * Add a parsed report entry to the model, directly or through the
+     * publisher when streaming to the view.
+     */
+    private static void addEntry(ReportModelBuilder builder, ReportPublisher publisher,
+            Consumer<ReportModelBuilder> entry) {
+        if (publisher != null) {
+            publisher.add(entry);
+        } else {
+            entry.accept(builder);
+        }
+    }
+
+    /**
+     * Move the symbols of the model to their source files and attach their
+     * line references, if the configuration asks for it.
+     *
+     * When the model is already shown by the view, it is only read and
+     * modified on the UI thread; 'perf annotate' is still run on the calling
+     * thread.
+     *
+     * @param display display of the view showing the model, or
+     * <code>null</code> if the model is not shown yet.
+     */
+    private static void resolveSourceLines(ILaunchConfiguration config,
+            IPath workingDir, IProgressMonitor monitor, String perfDataLoc,
+            PrintStream print, TreeParent invisibleRoot,
+            boolean oldPerfVersion, IProject project, Display display) {
         boolean SourceLineNumbers = PerfPlugin.ATTR_SourceLineNumbers_default;
         boolean Kernel_SourceLineNumbers = PerfPlugin.ATTR_Kernel_SourceLineNumbers_default;
         try {
@@ -544,75 +627,40 @@ public class PerfCore {
             return;
         }
 
-        boolean hasProfileData = invisibleRoot.getChildren().length != 0;
+        boolean[] hasProfileData = new boolean[1];
+        List<PMDso> dsos = new ArrayList<>();
+        List<PMSymbol> symbols = new ArrayList<>();
+        final boolean kernelSourceLineNumbers = Kernel_SourceLineNumbers;
+        final boolean sourceLineNumbers = SourceLineNumbers;
+        runOnModelThread(display, () -> {
+            hasProfileData[0] = invisibleRoot.getChildren().length != 0;
+            if (sourceLineNumbers) {
+                collectUnfiledSymbols(invisibleRoot, kernelSourceLineNumbers, dsos, symbols);
+            }
+        });
 
         if (SourceLineNumbers) {
-            for (TreeParent ev : invisibleRoot.getChildren()) {
-                if (!(ev instanceof PMEvent)) continue;
-                for (TreeParent cmd : ev.getChildren()) {
-                    if (!(cmd instanceof PMCommand)) continue;
-                    for (TreeParent d : cmd.getChildren()) {
-                        if (!(d instanceof PMDso)) continue;
-                        currentDso = (PMDso)d;
-                        if ((!Kernel_SourceLineNumbers) && currentDso.isKernelDso()) continue;
-                        for (TreeParent s : currentDso.getFile(PerfPlugin.STRINGS_UnfiledSymbols).getChildren()) {
-                            if (!(s instanceof PMSymbol)) continue;
-
-                            if (monitor != null && monitor.isCanceled()) {
-                                return;
-                            }
-                            currentSym = (PMSymbol)s;
-                            String[] annotateCmd;
-                            if (workingDir == null) {
-                                annotateCmd = getAnnotateString(config, currentDso.getName(), currentSym.getName().substring(4), perfDataLoc, oldPerfVersion);
-                            } else {
-                                String perfDefaultDataLoc = workingDir + "/" + PerfPlugin.PERF_DEFAULT_DATA; //$NON-NLS-1$
-                                annotateCmd = getAnnotateString(config, currentDso.getName(), currentSym.getName().substring(4), perfDefaultDataLoc, oldPerfVersion);
-                            }
-
-                            try {
-                                if(project==null) {
-                                    p = Runtime.getRuntime().exec(annotateCmd);
-                                } else {
-                                    StringBuilder sb = new StringBuilder();
-                                    ArrayList<String> al = new ArrayList<>();
-                                    /*
-                                     *  Wrap the whole Perf annotate line as a single argument of sh command
-                                     *   so that any IO redirection will take effect. Change to working directory before run perf annotate.
-                                     *  It results on a command string as 'sh', '-c', 'cd <workindir> && perf annotate <args> < /dev/null'
-                                     */
-                                    al.add("sh"); //$NON-NLS-1$
-                                    al.add("-c"); //$NON-NLS-1$
-                                    if(workingDir != null) {
-                                        sb.append("cd " + workingDir.toOSString() + " && "); //$NON-NLS-1$ //$NON-NLS-2$
-                                    }
-                                    for(int i=0; i<annotateCmd.length; i++) {
-                                        sb.append(annotateCmd[i]);
-                                        sb.append(" "); //$NON-NLS-1$
-                                    }
-                                    al.add(sb.toString());
-                                    p = RuntimeProcessFactory.getFactory().exec(al.toArray(new String[]{}), project);
-                                }
-                                input = new BufferedReader(new InputStreamReader(p.getInputStream()));
-                                error = new BufferedReader(new InputStreamReader(p.getErrorStream()));
-                            } catch (IOException e) {
-                                logException(e);
-                            }
-
-                            PerfCore.parseAnnotation(monitor, input, workingDir, currentDso, currentSym);
-                        }
-
-                        if (currentDso.getFile(PerfPlugin.STRINGS_UnfiledSymbols).getChildren().length == 0) {
-                            currentDso.removeChild(currentDso.getFile(PerfPlugin.STRINGS_UnfiledSymbols));
+            String[] annotations = annotateSymbols(config, workingDir, monitor, perfDataLoc, print,
+                    oldPerfVersion, project, dsos, symbols);
+
+            // parse in batches, not to block the UI thread for the whole merge
+            for (int start = 0; start < annotations.length; start += ANNOTATION_BATCH_SIZE) {
+                final int first = start;
+                final int end = Math.min(annotations.length, start + ANNOTATION_BATCH_SIZE);
+                runOnModelThread(display, () -> {
+                    for (int i = first; i < end; i++) {
+                        if (annotations[i] != null) {
+                            BufferedReader input = new BufferedReader(new StringReader(annotations[i]));
+                            PerfCore.parseAnnotation(monitor, input, workingDir, dsos.get(i), symbols.get(i));
                         }
-                        spitStream(error,"Perf Annotate", print); //$NON-NLS-1$
                     }
-                }
+                });
             }
+            runOnModelThread(display, () -> removeEmptyUnfiledSymbols(invisibleRoot));
         }
 
         if (print != null) {
-            if (hasProfileData) {
+            if (hasProfileData[0]) {
                 print.println("Profile data loaded into Perf Profile View."); //$NON-NLS-1$
             } else {
                 print.println("No profile data generated to be displayed."); //$NON-NLS-1$
@@ -620,6 +668,241 @@ public class PerfCore {
         }
     }
 
+    /**
+     * Run a task reading or modifying the model on the UI thread if the model
+     * is shown by the view, or else on the calling thread.
+     */
+    private static void runOnModelThread(Display display, Runnable task) {
+        if (display == null) {
+            task.run();
+        } else {
+            display.syncExec(task);
+        }
+    }
+
+    /**
+     * Collect the symbols in the 'Unfiled Symbols' file of every dso.
+     * @param dsos receives the dso of each symbol, parallel to symbols
+     * @param symbols receives the symbols
+     */
+    private static void collectUnfiledSymbols(TreeParent invisibleRoot,
+            boolean Kernel_SourceLineNumbers, List<PMDso> dsos, List<PMSymbol> symbols) {
+        for (TreeParent ev : invisibleRoot.getChildren()) {
+            if (!(ev instanceof PMEvent)) continue;
+            for (TreeParent cmd : ev.getChildren()) {
+                if (!(cmd instanceof PMCommand)) continue;
+                for (TreeParent d : cmd.getChildren()) {
+                    if (!(d instanceof PMDso)) continue;
+                    PMDso currentDso = (PMDso)d;
+                    if ((!Kernel_SourceLineNumbers) && currentDso.isKernelDso()) continue;
+                    for (TreeParent s : currentDso.getFile(PerfPlugin.STRINGS_UnfiledSymbols).getChildren()) {
+                        if (!(s instanceof PMSymbol)) continue;
+                        dsos.add(currentDso);
+                        symbols.add((PMSymbol)s);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove the 'Unfiled Symbols' file of every dso left without symbols.
+     */
+    private static void removeEmptyUnfiledSymbols(TreeParent invisibleRoot) {
+        for (TreeParent ev : invisibleRoot.getChildren()) {
+            if (!(ev instanceof PMEvent)) continue;
+            for (TreeParent cmd : ev.getChildren()) {
+                if (!(cmd instanceof PMCommand)) continue;
+                for (TreeParent d : cmd.getChildren()) {
+                    if (!(d instanceof PMDso)) continue;
+                    PMFile unfiled = (PMFile) d.getChild(PerfPlugin.STRINGS_UnfiledSymbols);
+                    if (unfiled != null && unfiled.getChildren().length == 0) {
+                        d.removeChild(unfiled);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Run 'perf annotate' for every given symbol.
+     *
+     * The annotate processes are run concurrently on a bounded pool of
+     * {@link #ANNOTATE_WORKERS} threads, each worker buffering the output of
+     * its process. The outputs are returned in submission order, to be parsed
+     * into the model by a single thread, so that its layout does not depend on
+     * which process finishes first. When the monitor is cancelled, the
+     * annotate processes still running are destroyed.
+     *
+     * @param dsos dso of each symbol, parallel to symbols
+     * @param symbols symbols to annotate
+     * @return the output of 'perf annotate' for each symbol, <code>null</code>
+     * for the symbols not annotated because the monitor was cancelled.
+     */
+    private static String[] annotateSymbols(final ILaunchConfiguration config,
+            final IPath workingDir, IProgressMonitor monitor,
+            final String perfDataLoc, PrintStream print,
+            final boolean oldPerfVersion, final IProject project,
+            List<PMDso> dsos, List<PMSymbol> symbols) {
+        String[] annotations = new String[symbols.size()];
+        if (symbols.isEmpty()) {
+            return annotations;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(ANNOTATE_WORKERS, symbols.size()));
+        final AnnotateProcesses processes = new AnnotateProcesses();
+        List<Future<String[]>> results = new ArrayList<>(symbols.size());
+        try {
+            for (int i = 0; i < symbols.size(); i++) {
+                final String dsoName = dsos.get(i).getName();
+                final String symName = symbols.get(i).getName().substring(4);
+                results.add(pool.submit(() -> runAnnotate(config, workingDir,
+                        perfDataLoc, oldPerfVersion, project, dsoName, symName, processes)));
+            }
+
+            for (int i = 0; i < symbols.size(); i++) {
+                String[] out = waitForAnnotation(results.get(i), monitor);
+                if (out == null) {
+                    // cancelled
+                    break;
+                }
+                annotations[i] = out[0];
+                if (!out[1].trim().isEmpty() && print != null) {
+                    print.println("Perf Annotate: \n" + out[1] + "\n END OF Perf Annotate"); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            // Workers blocked reading the output of their process are not
+            // interrupted, so stop the processes themselves.
+            processes.destroyAll();
+        }
+        return annotations;
+    }
+
+    /**
+     * The 'perf annotate' processes being run by the workers.
+     */
+    private static final class AnnotateProcesses {
+        private final List<Process> running = new ArrayList<>();
+        private boolean destroyed;
+
+        /**
+         * @return <code>false</code> if the process was destroyed as the
+         * annotation was already stopped.
+         */
+        synchronized boolean add(Process p) {
+            if (destroyed) {
+                p.destroy();
+                return false;
+            }
+            running.add(p);
+            return true;
+        }
+
+        synchronized void remove(Process p) {
+            running.remove(p);
+        }
+
+        synchronized void destroyAll() {
+            destroyed = true;
+            for (Process p : running) {
+                p.destroy();
+            }
+            running.clear();
+        }
+    }
+
+    /**
+     * Wait for an annotate worker to finish, polling the monitor for
+     * cancellation.
+     * @return the worker's output and error text, or <code>null</code> if
+     * the monitor was cancelled.
+     */
+    private static String[] waitForAnnotation(Future<String[]> result, IProgressMonitor monitor) {
+        while (true) {
+            if (monitor != null && monitor.isCanceled()) {
+                return null;
+            }
+            try {
+                return result.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // check the monitor again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                logException(e);
+                return new String[] {"", ""}; //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+    }
+
+    /**
+     * Run 'perf annotate' for a single symbol and read all of its output.
+     * @return an array holding the standard output and the standard error
+     * of the process.
+     */
+    private static String[] runAnnotate(ILaunchConfiguration config,
+            IPath workingDir, String perfDataLoc, boolean oldPerfVersion,
+            IProject project, String dso, String symbol,
+            AnnotateProcesses processes) throws IOException {
+        String[] annotateCmd;
+        if (workingDir == null) {
+            annotateCmd = getAnnotateString(config, dso, symbol, perfDataLoc, oldPerfVersion);
+        } else {
+            String perfDefaultDataLoc = workingDir + "/" + PerfPlugin.PERF_DEFAULT_DATA; //$NON-NLS-1$
+            annotateCmd = getAnnotateString(config, dso, symbol, perfDefaultDataLoc, oldPerfVersion);
+        }
+
+        Process p;
+        if(project==null) {
+            p = Runtime.getRuntime().exec(annotateCmd);
+        } else {
+            StringBuilder sb = new StringBuilder();
+            ArrayList<String> al = new ArrayList<>();
+            /*
+             *  Wrap the whole Perf annotate line as a single argument of sh command
+             *   so that any IO redirection will take effect. Change to working directory before run perf annotate.
+             *  It results on a command string as 'sh', '-c', 'cd <workindir> && perf annotate <args> < /dev/null'
+             */
+            al.add("sh"); //$NON-NLS-1$
+            al.add("-c"); //$NON-NLS-1$
+            if(workingDir != null) {
+                sb.append("cd " + workingDir.toOSString() + " && "); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            for(int i=0; i<annotateCmd.length; i++) {
+                sb.append(annotateCmd[i]);
+                sb.append(" "); //$NON-NLS-1$
+            }
+            al.add(sb.toString());
+            p = RuntimeProcessFactory.getFactory().exec(al.toArray(new String[]{}), project);
+        }
+        if (p == null || !processes.add(p)) {
+            return new String[] {"", ""}; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        try (BufferedReader input = new BufferedReader(new InputStreamReader(p.getInputStream()));
+                BufferedReader error = new BufferedReader(new InputStreamReader(p.getErrorStream()))) {
+            // Drain the error stream while the output is read, so that the
+            // process never blocks writing to a full pipe.
+            final StringBuilder err = new StringBuilder();
+            Thread errorThread = new Thread(() -> err.append(spitStream(error, "Perf Annotate", null))); //$NON-NLS-1$
+            errorThread.start();
+            String out = spitStream(input, "Perf Annotate", null); //$NON-NLS-1$
+            try {
+                errorThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new String[] {out, ""}; //$NON-NLS-1$
+            }
+            return new String[] {out, err.toString()};
+        } finally {
+            processes.remove(p);
+            p.destroy();
+        }
+    }
+
     /**
      * Parse annotation file for a dso given a symbol
      * @param monitor monitor
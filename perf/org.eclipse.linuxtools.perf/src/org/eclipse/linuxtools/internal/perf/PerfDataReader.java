@@ -0,0 +1,682 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.linuxtools.internal.perf.model.PMCommand;
+import org.eclipse.linuxtools.internal.perf.model.PMDso;
+import org.eclipse.linuxtools.internal.perf.model.PMEvent;
+import org.eclipse.linuxtools.internal.perf.model.PMFile;
+import org.eclipse.linuxtools.internal.perf.model.PMSymbol;
+import org.eclipse.linuxtools.internal.perf.model.TreeParent;
+
+/**
+ * Reader of the perf.data file format, building the same model as the one
+ * parsed from the output of 'perf report --sort comm,dso,sym'.
+ *
+ * The file is memory mapped in windows so that multi-GB captures can be read.
+ * Only the records needed to attribute samples are decoded: the event
+ * attributes and descriptions from the header, and the COMM, FORK, MMAP,
+ * MMAP2 and SAMPLE records from the data section. Samples are attributed to
+ * the last command name of their thread, like older versions of perf report.
+ * Kernel samples are named from kallsyms, as perf report does without
+ * --vmlinux.
+ */
+public class PerfDataReader {
+
+    private static final long MAGIC_V1 = 0x454c494646524550L; // "PERFFILE"
+    private static final long MAGIC_V2 = 0x32454c4946524550L; // "PERFILE2"
+
+    // Record types
+    private static final int RECORD_MMAP = 1;
+    private static final int RECORD_COMM = 3;
+    private static final int RECORD_FORK = 7;
+    private static final int RECORD_SAMPLE = 9;
+    private static final int RECORD_MMAP2 = 10;
+    private static final int RECORD_FINISHED_ROUND = 12;
+
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MISC_CPUMODE_MASK = 7;
+    private static final int MISC_KERNEL = 1;
+
+    // Sample types
+    private static final long SAMPLE_IP = 1L << 0;
+    private static final long SAMPLE_TID = 1L << 1;
+    private static final long SAMPLE_TIME = 1L << 2;
+    private static final long SAMPLE_ADDR = 1L << 3;
+    private static final long SAMPLE_ID = 1L << 6;
+    private static final long SAMPLE_CPU = 1L << 7;
+    private static final long SAMPLE_PERIOD = 1L << 8;
+    private static final long SAMPLE_STREAM_ID = 1L << 9;
+    private static final long SAMPLE_IDENTIFIER = 1L << 16;
+
+    private static final int FEATURE_EVENT_DESC = 12;
+    private static final long ATTR_FLAG_FREQ = 1L << 10;
+
+    private static final int ATTR_TYPE_HARDWARE = 0;
+    private static final int ATTR_TYPE_SOFTWARE = 1;
+    private static final int ATTR_TYPE_RAW = 4;
+    private static final String[] HARDWARE_EVENTS = { "cycles", "instructions", //$NON-NLS-1$ //$NON-NLS-2$
+            "cache-references", "cache-misses", "branches", "branch-misses", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            "bus-cycles", "stalled-cycles-frontend", "stalled-cycles-backend", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            "ref-cycles" }; //$NON-NLS-1$
+    private static final String[] SOFTWARE_EVENTS = { "cpu-clock", "task-clock", //$NON-NLS-1$ //$NON-NLS-2$
+            "page-faults", "context-switches", "cpu-migrations", "minor-faults", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            "major-faults", "alignment-faults", "emulation-faults" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private static final String KERNEL_DSO = "[kernel.kallsyms]"; //$NON-NLS-1$
+    private static final String UNKNOWN_DSO = "[unknown]"; //$NON-NLS-1$
+    private static final File KALLSYMS = new File("/proc/kallsyms"); //$NON-NLS-1$
+
+    // Size of the mapped windows of the file
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private ByteOrder order = ByteOrder.LITTLE_ENDIAN;
+    private ByteBuffer window;
+    private long windowStart;
+    private long dataOffset;
+    private long dataSize;
+
+    private final List<EventAttr> attrs = new ArrayList<>();
+    private final Map<Long, EventAttr> attrsById = new HashMap<>();
+    private long sampleType;
+    // Number of u64 words preceding the sample id, -1 if there is none
+    private int idPosition = -1;
+
+    // Maps of each process, by pid, and of the kernel
+    private final Map<Integer, TreeMap<Long, Mapping>> processMaps = new HashMap<>();
+    private final TreeMap<Long, Mapping> kernelMaps = new TreeMap<>(Long::compareUnsigned);
+    private final Map<Integer, String> comms = new HashMap<>();
+    private final Map<String, PerfSymbolTable> symbolTables = new HashMap<>();
+    private final PendingSamples pending = new PendingSamples();
+    private final File kallsyms;
+    private PerfSymbolTable kernelSymbols;
+    // Whether samples not resolved to a symbol are left out of the model
+    private final boolean hideUnresolved;
+
+    private static class EventAttr {
+        int type;
+        long config;
+        long samplePeriod;
+        long sampleType;
+        long flags;
+        String name;
+        long[] ids;
+        long totalPeriod;
+        long totalSamples;
+        // samples of each thread, by tid
+        Map<Integer, Map<SymbolKey, long[]>> threads = new HashMap<>();
+    }
+
+    private static class Mapping {
+        final long start;
+        final long end;
+        final long pgoff;
+        final String filename;
+        final String dsoName;
+
+        Mapping(long start, long len, long pgoff, String filename) {
+            this.start = start;
+            this.end = start + len;
+            this.pgoff = pgoff;
+            this.filename = filename;
+            this.dsoName = dsoName(filename);
+        }
+    }
+
+    /**
+     * Samples of the current round. perf only orders the samples of a round
+     * by time, and applies the other records of the round before them, so
+     * samples are attributed once the round is over.
+     */
+    private static class PendingSamples {
+        int size;
+        long[] ips = new long[1024];
+        long[] periods = new long[1024];
+        int[] pids = new int[1024];
+        int[] tids = new int[1024];
+        int[] misc = new int[1024];
+        EventAttr[] attrs = new EventAttr[1024];
+
+        void add(EventAttr attr, long ip, int pid, int tid, int mode, long period) {
+            if (size == ips.length) {
+                int capacity = size * 2;
+                ips = Arrays.copyOf(ips, capacity);
+                periods = Arrays.copyOf(periods, capacity);
+                pids = Arrays.copyOf(pids, capacity);
+                tids = Arrays.copyOf(tids, capacity);
+                misc = Arrays.copyOf(misc, capacity);
+                attrs = Arrays.copyOf(attrs, capacity);
+            }
+            attrs[size] = attr;
+            ips[size] = ip;
+            pids[size] = pid;
+            tids[size] = tid;
+            misc[size] = mode;
+            periods[size] = period;
+            size++;
+        }
+    }
+
+    private static class SymbolKey {
+        final String dso;
+        final String symbol;
+        final boolean kernel;
+        final boolean resolved;
+
+        SymbolKey(String dso, String symbol, boolean kernel, boolean resolved) {
+            this.dso = dso;
+            this.symbol = symbol;
+            this.kernel = kernel;
+            this.resolved = resolved;
+        }
+
+        @Override
+        public int hashCode() {
+            return dso.hashCode() * 31 + symbol.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SymbolKey)) {
+                return false;
+            }
+            SymbolKey other = (SymbolKey) obj;
+            return dso.equals(other.dso) && symbol.equals(other.symbol);
+        }
+    }
+
+    private PerfDataReader(FileChannel channel, boolean hideUnresolved, File kallsyms) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.hideUnresolved = hideUnresolved;
+        this.kallsyms = kallsyms;
+    }
+
+    /**
+     * Read a perf.data file and add its events to the given root, keeping
+     * the unresolved symbols and naming kernel symbols from /proc/kallsyms.
+     * @param perfData the perf.data file
+     * @param invisibleRoot root of the model
+     * @param monitor progress monitor, may be <code>null</code>
+     * @throws IOException if the file can not be read or is not a perf.data
+     * file understood by this reader.
+     */
+    public static void read(File perfData, TreeParent invisibleRoot, IProgressMonitor monitor) throws IOException {
+        read(perfData, invisibleRoot, monitor, false, KALLSYMS);
+    }
+
+    /**
+     * Read a perf.data file and add its events to the given root.
+     * @param perfData the perf.data file
+     * @param invisibleRoot root of the model
+     * @param monitor progress monitor, may be <code>null</code>
+     * @param hideUnresolved whether to leave out the samples not resolved to
+     * a symbol, like 'perf report -U'. They still count in the percentages.
+     * @param kallsyms kallsyms file naming the kernel symbols
+     * @throws IOException if the file can not be read or is not a perf.data
+     * file understood by this reader.
+     */
+    public static void read(File perfData, TreeParent invisibleRoot, IProgressMonitor monitor,
+            boolean hideUnresolved, File kallsyms) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(perfData, "r"); //$NON-NLS-1$
+                FileChannel channel = file.getChannel()) {
+            PerfDataReader reader = new PerfDataReader(channel, hideUnresolved, kallsyms);
+            try {
+                reader.readHeader();
+                if (reader.readData(monitor)) {
+                    reader.buildModel(invisibleRoot);
+                }
+            } finally {
+                reader.disposeSymbolTables();
+            }
+        }
+    }
+
+    private void disposeSymbolTables() {
+        for (PerfSymbolTable table : symbolTables.values()) {
+            table.dispose();
+        }
+        symbolTables.clear();
+    }
+
+    private ByteBuffer buffer(long pos, int len) throws IOException {
+        if (pos < 0 || pos + len > fileSize) {
+            throw new IOException(Messages.PerfDataReader_truncated);
+        }
+        if (window == null || pos < windowStart || pos + len > windowStart + window.limit()) {
+            windowStart = pos;
+            long size = Math.min(WINDOW_SIZE, fileSize - pos);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, pos, size).order(order);
+        }
+        window.position((int) (pos - windowStart));
+        return window;
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer buf = buffer(0, 104);
+        long magic = buf.getLong();
+        if (magic == MAGIC_V2) {
+            order = ByteOrder.LITTLE_ENDIAN;
+        } else if (magic == Long.reverseBytes(MAGIC_V2)) {
+            order = ByteOrder.BIG_ENDIAN;
+        } else if (magic == MAGIC_V1) {
+            // the legacy magic says nothing about the byte order
+            long size = buf.getLong();
+            order = (size > 0 && size <= 0xffff) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        } else {
+            throw new IOException(Messages.PerfDataReader_bad_magic);
+        }
+        // map again with the byte order of the file
+        window = null;
+        buf = buffer(8, 96);
+        buf.getLong(); // header size
+        long attrSize = buf.getLong();
+        long attrsOffset = buf.getLong();
+        long attrsSize = buf.getLong();
+        dataOffset = buf.getLong();
+        dataSize = buf.getLong();
+        buf.getLong(); // event types section, unused
+        buf.getLong();
+        long[] features = new long[4];
+        for (int i = 0; i < features.length; i++) {
+            features[i] = buf.getLong();
+        }
+
+        if (attrSize <= 16 || attrsSize % attrSize != 0) {
+            throw new IOException(Messages.PerfDataReader_bad_attrs);
+        }
+        for (long pos = attrsOffset; pos < attrsOffset + attrsSize; pos += attrSize) {
+            EventAttr attr = readAttr(pos);
+            buf = buffer(pos + attrSize - 16, 16);
+            long idsOffset = buf.getLong();
+            long idsSize = buf.getLong();
+            attr.ids = new long[(int) (idsSize / 8)];
+            if (attr.ids.length > 0) {
+                buf = buffer(idsOffset, (int) idsSize);
+                for (int i = 0; i < attr.ids.length; i++) {
+                    attr.ids[i] = buf.getLong();
+                    attrsById.put(attr.ids[i], attr);
+                }
+            }
+            attrs.add(attr);
+        }
+        if (attrs.isEmpty()) {
+            throw new IOException(Messages.PerfDataReader_bad_attrs);
+        }
+
+        readEventNames(features);
+        for (EventAttr attr : attrs) {
+            if (attr.name == null) {
+                attr.name = defaultEventName(attr.type, attr.config);
+            }
+        }
+
+        // All events share the layout of their samples
+        sampleType = attrs.get(0).sampleType;
+        if ((sampleType & SAMPLE_IDENTIFIER) != 0) {
+            idPosition = 0;
+        } else if ((sampleType & SAMPLE_ID) != 0) {
+            idPosition = Long.bitCount(sampleType & (SAMPLE_IP | SAMPLE_TID | SAMPLE_TIME | SAMPLE_ADDR));
+        }
+    }
+
+    private EventAttr readAttr(long pos) throws IOException {
+        ByteBuffer buf = buffer(pos, 48);
+        EventAttr attr = new EventAttr();
+        attr.type = buf.getInt();
+        buf.getInt(); // size
+        attr.config = buf.getLong();
+        attr.samplePeriod = buf.getLong();
+        attr.sampleType = buf.getLong();
+        buf.getLong(); // read format
+        attr.flags = buf.getLong();
+        return attr;
+    }
+
+    /**
+     * Name the events from the optional EVENT_DESC feature section.
+     */
+    private void readEventNames(long[] features) throws IOException {
+        if ((features[0] & (1L << FEATURE_EVENT_DESC)) == 0) {
+            return;
+        }
+        // Feature sections follow the data, one for each feature bit set
+        int index = 0;
+        for (int bit = 0; bit < FEATURE_EVENT_DESC; bit++) {
+            if ((features[bit / 64] & (1L << (bit % 64))) != 0) {
+                index++;
+            }
+        }
+        ByteBuffer buf = buffer(dataOffset + dataSize + index * 16L, 16);
+        long pos = buf.getLong();
+        long end = pos + buf.getLong();
+
+        buf = buffer(pos, 8);
+        int nr = buf.getInt();
+        int attrSize = buf.getInt();
+        pos += 8;
+        for (int i = 0; i < nr && i < attrs.size() && pos < end; i++) {
+            pos += attrSize;
+            buf = buffer(pos, 8);
+            int nrIds = buf.getInt();
+            int len = buf.getInt();
+            pos += 8;
+            attrs.get(i).name = readString(pos, len);
+            pos += len + nrIds * 8L;
+        }
+    }
+
+    private String readString(long pos, int len) throws IOException {
+        ByteBuffer buf = buffer(pos, len);
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        int strlen = 0;
+        while (strlen < len && bytes[strlen] != 0) {
+            strlen++;
+        }
+        return new String(bytes, 0, strlen, StandardCharsets.UTF_8);
+    }
+
+    private static String defaultEventName(int type, long config) {
+        if (type == ATTR_TYPE_HARDWARE && config >= 0 && config < HARDWARE_EVENTS.length) {
+            return HARDWARE_EVENTS[(int) config];
+        } else if (type == ATTR_TYPE_SOFTWARE && config >= 0 && config < SOFTWARE_EVENTS.length) {
+            return SOFTWARE_EVENTS[(int) config];
+        } else if (type == ATTR_TYPE_RAW) {
+            return "r" + Long.toHexString(config); //$NON-NLS-1$
+        }
+        return type + ":" + Long.toHexString(config); //$NON-NLS-1$
+    }
+
+    private static String dsoName(String filename) {
+        if (filename.startsWith(KERNEL_DSO)) {
+            return KERNEL_DSO;
+        } else if (filename.startsWith("[")) { //$NON-NLS-1$
+            return filename;
+        }
+        int slash = filename.lastIndexOf('/');
+        return slash == -1 ? filename : filename.substring(slash + 1);
+    }
+
+    /**
+     * Walk the records of the data section.
+     * @return <code>false</code> if the monitor was cancelled
+     */
+    private boolean readData(IProgressMonitor monitor) throws IOException {
+        long end = Math.min(dataOffset + dataSize, fileSize);
+        long pos = dataOffset;
+        int count = 0;
+        while (pos + RECORD_HEADER_SIZE <= end) {
+            if ((++count & 0xffff) == 0 && monitor != null && monitor.isCanceled()) {
+                return false;
+            }
+            ByteBuffer buf = buffer(pos, RECORD_HEADER_SIZE);
+            int type = buf.getInt();
+            int misc = buf.getShort() & 0xffff;
+            int size = buf.getShort() & 0xffff;
+            if (size < RECORD_HEADER_SIZE) {
+                throw new IOException(Messages.PerfDataReader_truncated);
+            }
+            if (pos + size > end) {
+                break;
+            }
+            buf = buffer(pos + RECORD_HEADER_SIZE, size - RECORD_HEADER_SIZE);
+            switch (type) {
+            case RECORD_FINISHED_ROUND:
+                flushSamples();
+                break;
+            case RECORD_SAMPLE:
+                readSample(buf, misc);
+                break;
+            case RECORD_MMAP:
+            case RECORD_MMAP2:
+                readMmap(buf, type, pos + size);
+                break;
+            case RECORD_COMM:
+                readComm(buf, pos + size);
+                break;
+            case RECORD_FORK:
+                readFork(buf);
+                break;
+            default:
+                break;
+            }
+            pos += size;
+        }
+        flushSamples();
+        return true;
+    }
+
+    private void readMmap(ByteBuffer buf, int type, long recordEnd) throws IOException {
+        int pid = buf.getInt();
+        buf.getInt(); // tid
+        long start = buf.getLong();
+        long len = buf.getLong();
+        long pgoff = buf.getLong();
+        if (type == RECORD_MMAP2) {
+            // maj, min, ino, ino generation, prot, flags
+            buf.position(buf.position() + 32);
+        }
+        long namePos = windowStart + buf.position();
+        String filename = readString(namePos, (int) (recordEnd - namePos));
+        Mapping map = new Mapping(start, len, pgoff, filename);
+        if (pid == -1) {
+            insertMap(kernelMaps, map);
+        } else {
+            insertMap(processMaps.computeIfAbsent(pid, k -> new TreeMap<>(Long::compareUnsigned)), map);
+        }
+    }
+
+    /**
+     * Insert a mapping, keeping the parts of the mappings it overlaps that
+     * are still visible.
+     */
+    private static void insertMap(TreeMap<Long, Mapping> maps, Mapping map) {
+        Entry<Long, Mapping> entry = maps.lowerEntry(map.end);
+        while (entry != null && Long.compareUnsigned(entry.getValue().end, map.start) > 0) {
+            Mapping old = entry.getValue();
+            maps.remove(entry.getKey());
+            if (Long.compareUnsigned(old.start, map.start) < 0) {
+                maps.put(old.start, new Mapping(old.start, map.start - old.start, old.pgoff, old.filename));
+            }
+            if (Long.compareUnsigned(old.end, map.end) > 0) {
+                maps.put(map.end, new Mapping(map.end, old.end - map.end,
+                        old.pgoff + (map.end - old.start), old.filename));
+            }
+            entry = maps.lowerEntry(entry.getKey());
+        }
+        maps.put(map.start, map);
+    }
+
+    private void readComm(ByteBuffer buf, long recordEnd) throws IOException {
+        buf.getInt(); // pid
+        int tid = buf.getInt();
+        long namePos = windowStart + buf.position();
+        comms.put(tid, readString(namePos, (int) (recordEnd - namePos)));
+    }
+
+    private void readFork(ByteBuffer buf) {
+        int pid = buf.getInt();
+        int ppid = buf.getInt();
+        int tid = buf.getInt();
+        int ptid = buf.getInt();
+        String comm = comms.get(ptid);
+        if (comm != null && !comms.containsKey(tid)) {
+            comms.put(tid, comm);
+        }
+        TreeMap<Long, Mapping> parentMaps = processMaps.get(ppid);
+        if (pid != ppid && parentMaps != null && !processMaps.containsKey(pid)) {
+            processMaps.put(pid, new TreeMap<>(parentMaps));
+        }
+    }
+
+    private void readSample(ByteBuffer buf, int misc) throws IOException {
+        int base = buf.position();
+        EventAttr attr = attrs.get(0);
+        if (idPosition >= 0) {
+            EventAttr idAttr = attrsById.get(buf.getLong(base + idPosition * 8));
+            if (idAttr != null) {
+                attr = idAttr;
+            }
+        }
+        if ((sampleType & SAMPLE_IDENTIFIER) != 0) {
+            buf.getLong();
+        }
+        long ip = (sampleType & SAMPLE_IP) != 0 ? buf.getLong() : 0;
+        int pid = -1;
+        int tid = -1;
+        if ((sampleType & SAMPLE_TID) != 0) {
+            pid = buf.getInt();
+            tid = buf.getInt();
+        }
+        if ((sampleType & SAMPLE_TIME) != 0) {
+            buf.getLong();
+        }
+        if ((sampleType & SAMPLE_ADDR) != 0) {
+            buf.getLong();
+        }
+        if ((sampleType & SAMPLE_ID) != 0) {
+            buf.getLong();
+        }
+        if ((sampleType & SAMPLE_STREAM_ID) != 0) {
+            buf.getLong();
+        }
+        if ((sampleType & SAMPLE_CPU) != 0) {
+            buf.getLong();
+        }
+        long period;
+        if ((sampleType & SAMPLE_PERIOD) != 0) {
+            period = buf.getLong();
+        } else if ((attr.flags & ATTR_FLAG_FREQ) == 0 && attr.samplePeriod > 0) {
+            period = attr.samplePeriod;
+        } else {
+            period = 1;
+        }
+
+        if ((sampleType & SAMPLE_TIME) != 0) {
+            pending.add(attr, ip, pid, tid, misc, period);
+        } else {
+            addSample(attr, ip, pid, tid, misc, period);
+        }
+    }
+
+    private void flushSamples() {
+        for (int i = 0; i < pending.size; i++) {
+            addSample(pending.attrs[i], pending.ips[i], pending.pids[i],
+                    pending.tids[i], pending.misc[i], pending.periods[i]);
+            pending.attrs[i] = null;
+        }
+        pending.size = 0;
+    }
+
+    private void addSample(EventAttr attr, long ip, int pid, int tid, int misc, long period) {
+        boolean kernel = (misc & MISC_CPUMODE_MASK) == MISC_KERNEL;
+        SymbolKey key = resolve(kernel ? kernelMaps : processMaps.get(pid), ip, kernel);
+        attr.totalSamples++;
+        attr.totalPeriod += period;
+        if (!key.resolved && hideUnresolved) {
+            return;
+        }
+        long[] counts = attr.threads.computeIfAbsent(tid, k -> new HashMap<>())
+                .computeIfAbsent(key, k -> new long[2]);
+        counts[0]++;
+        counts[1] += period;
+    }
+
+    private SymbolKey resolve(TreeMap<Long, Mapping> maps, long ip, boolean kernel) {
+        Mapping map = null;
+        if (maps != null) {
+            Entry<Long, Mapping> entry = maps.floorEntry(ip);
+            if (entry != null && Long.compareUnsigned(ip, entry.getValue().end) < 0) {
+                map = entry.getValue();
+            }
+        }
+        String dso = map != null ? map.dsoName : (kernel ? KERNEL_DSO : UNKNOWN_DSO);
+        String symbol = null;
+        if (kernel) {
+            if (kernelSymbols == null) {
+                kernelSymbols = PerfSymbolTable.loadKallsyms(kallsyms);
+            }
+            symbol = kernelSymbols.getKernelSymbol(ip);
+        } else if (map != null && map.filename.startsWith("/")) { //$NON-NLS-1$
+            PerfSymbolTable table = symbolTables.computeIfAbsent(map.filename, PerfSymbolTable::load);
+            symbol = table.getSymbol(ip, map.start, map.pgoff);
+        }
+        boolean resolved = symbol != null;
+        if (!resolved) {
+            symbol = String.format("0x%016x", ip); //$NON-NLS-1$
+        }
+        return new SymbolKey(dso, (kernel ? "[k] " : "[.] ") + symbol, kernel, resolved); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private void buildModel(TreeParent invisibleRoot) {
+        for (EventAttr attr : attrs) {
+            PMEvent event = new PMEvent(attr.name);
+            invisibleRoot.addChild(event);
+
+            // Merge the threads sharing a command name
+            Map<String, Map<SymbolKey, long[]>> commands = new TreeMap<>();
+            for (Entry<Integer, Map<SymbolKey, long[]>> thread : attr.threads.entrySet()) {
+                String comm = comms.get(thread.getKey());
+                if (comm == null) {
+                    comm = ":" + thread.getKey(); //$NON-NLS-1$
+                }
+                Map<SymbolKey, long[]> merged = commands.computeIfAbsent(comm, k -> new HashMap<>());
+                for (Entry<SymbolKey, long[]> sym : thread.getValue().entrySet()) {
+                    long[] counts = merged.computeIfAbsent(sym.getKey(), k -> new long[2]);
+                    counts[0] += sym.getValue()[0];
+                    counts[1] += sym.getValue()[1];
+                }
+            }
+
+            for (Entry<String, Map<SymbolKey, long[]>> comm : commands.entrySet()) {
+                PMCommand command = new PMCommand(comm.getKey());
+                event.addChild(command);
+
+                // Hottest symbols first, as in perf report
+                List<Entry<SymbolKey, long[]>> symbols = new ArrayList<>(comm.getValue().entrySet());
+                Collections.sort(symbols, (a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+                for (Entry<SymbolKey, long[]> sym : symbols) {
+                    SymbolKey key = sym.getKey();
+                    PMDso dso = (PMDso) command.getChild(key.dso);
+                    if (dso == null) {
+                        dso = new PMDso(key.dso, key.kernel);
+                        command.addChild(dso);
+                    }
+                    float percent = Math.round(sym.getValue()[1] * 10000.0 / attr.totalPeriod) / 100f;
+                    dso.getFile(PerfPlugin.STRINGS_UnfiledSymbols)
+                            .addChild(new PMSymbol(key.symbol, percent, sym.getValue()[0]));
+                }
+            }
+        }
+    }
+}
@@ -71,6 +71,8 @@ public class PerfPlugin extends AbstractUIPlugin {
     public static final boolean ATTR_Multiplex_default = false;
     public static final String ATTR_ModuleSymbols = "org.eclipse.linuxtools.internal.perf.attr.ModuleSymbols"; //$NON-NLS-1$
     public static final boolean ATTR_ModuleSymbols_default = false;
+    public static final String ATTR_ReadPerfData = "org.eclipse.linuxtools.internal.perf.attr.ReadPerfData"; //$NON-NLS-1$
+    public static final boolean ATTR_ReadPerfData_default = false;
     public static final String ATTR_HideUnresolvedSymbols = "org.eclipse.linuxtools.internal.perf.attr.HideUnresolvedSymbols"; //$NON-NLS-1$
     public static final boolean ATTR_HideUnresolvedSymbols_default = true;
     public static final String ATTR_ShowSourceDisassembly = "org.eclipse.linuxtools.internal.perf.attr.ShowSourceDisassembly"; //$NON-NLS-1$
@@ -98,6 +100,7 @@ public class PerfPlugin extends AbstractUIPlugin {
     public static final String STRINGS_Record_Verbose = "Record with verbose output"; //$NON-NLS-1$
     public static final String STRINGS_ModuleSymbols = "Load Module Symbols"; //$NON-NLS-1$
     public static final String STRINGS_HideUnresolvedSymbols = "Hide Unresolved Symbols"; //$NON-NLS-1$
+    public static final String STRINGS_ReadPerfData = "Read perf.data directly instead of parsing perf report output"; //$NON-NLS-1$
     public static final String STRINGS_SourceLineNumbers = "Obtain source line numbers from profile data"; //$NON-NLS-1$
     public static final String STRINGS_Kernel_SourceLineNumbers = "Obtain kernel source line numbers from profile data (Warning: May be very slow)"; //$NON-NLS-1$
     public static final String STRINGS_Multiplex = "Multiplex counter output in a single channel"; //$NON-NLS-1$
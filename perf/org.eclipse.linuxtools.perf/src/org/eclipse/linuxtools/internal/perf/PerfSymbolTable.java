@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.perf;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.utils.Addr64;
+import org.eclipse.cdt.utils.elf.Elf;
+
+/**
+ * Function symbols of an ELF object mapped by a profiled process, or of the
+ * kernel as listed by kallsyms, used by {@link PerfDataReader} to name
+ * sampled addresses.
+ */
+public class PerfSymbolTable {
+
+    private Elf elf;
+    private boolean relocatable;
+    private Elf.PHdr[] segments;
+
+    // Kernel text symbols, sorted by address
+    private long[] kernelAddresses;
+    private String[] kernelNames;
+
+    private PerfSymbolTable(Elf elf) throws IOException {
+        this.elf = elf;
+        try {
+            elf.loadSymbols();
+            relocatable = elf.getELFhdr().e_type != Elf.ELFhdr.ET_EXEC;
+            segments = elf.getPHdrs();
+        } catch (IOException e) {
+            elf.dispose();
+            throw e;
+        }
+    }
+
+    /**
+     * Load the symbols of the given file. A table without symbols is
+     * returned if the file can not be read.
+     * @param path path of the ELF object
+     * @return the symbol table
+     */
+    public static PerfSymbolTable load(String path) {
+        try {
+            return new PerfSymbolTable(new Elf(path));
+        } catch (IOException e) {
+            return new PerfSymbolTable();
+        }
+    }
+
+    private PerfSymbolTable() {
+    }
+
+    /**
+     * Close the ELF object of the table. No symbol is found afterwards.
+     */
+    public void dispose() {
+        if (elf != null) {
+            elf.dispose();
+            elf = null;
+        }
+    }
+
+    /**
+     * Load the kernel text symbols listed in a kallsyms file. A table without
+     * symbols is returned if the file can not be read, or if its addresses are
+     * hidden (all zero) from the current user.
+     * @param kallsyms the kallsyms file, usually /proc/kallsyms
+     * @return the symbol table
+     */
+    public static PerfSymbolTable loadKallsyms(File kallsyms) {
+        PerfSymbolTable table = new PerfSymbolTable();
+        List<long[]> entries = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(kallsyms.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // "ffffffff81000000 T _stext" or "ffffffffc0a01000 t fn [module]"
+                String[] fields = line.split("\\s+"); //$NON-NLS-1$
+                if (fields.length < 3 || fields[1].length() != 1
+                        || "tTwW".indexOf(fields[1].charAt(0)) < 0) { //$NON-NLS-1$
+                    continue;
+                }
+                long address;
+                try {
+                    address = Long.parseUnsignedLong(fields[0], 16);
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (address != 0) {
+                    entries.add(new long[] { address, names.size() });
+                    names.add(fields[2]);
+                }
+            }
+        } catch (IOException e) {
+            return table;
+        }
+        entries.sort((a, b) -> Long.compareUnsigned(a[0], b[0]));
+        table.kernelAddresses = new long[entries.size()];
+        table.kernelNames = new String[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            table.kernelAddresses[i] = entries.get(i)[0];
+            table.kernelNames[i] = names.get((int) entries.get(i)[1]);
+        }
+        return table;
+    }
+
+    /**
+     * Get the name of the kernel function containing a sampled address.
+     * @param ip sampled address
+     * @return the function name, or <code>null</code> if not found.
+     */
+    public String getKernelSymbol(long ip) {
+        if (kernelAddresses == null || kernelAddresses.length == 0) {
+            return null;
+        }
+        // last symbol starting at or before ip
+        int low = 0;
+        int high = kernelAddresses.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(kernelAddresses[mid], ip) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found < 0 ? null : kernelNames[found];
+    }
+
+    /**
+     * Get the name of the function containing a sampled address.
+     * @param ip sampled address
+     * @param mapStart address at which the object was mapped
+     * @param pgoff file offset of the mapping
+     * @return the function name, or <code>null</code> if not found.
+     */
+    public String getSymbol(long ip, long mapStart, long pgoff) {
+        if (elf == null) {
+            return null;
+        }
+        long vaddr = ip;
+        if (relocatable) {
+            // shared objects and position independent executables
+            long offset = ip - mapStart + pgoff;
+            vaddr = offset;
+            for (Elf.PHdr segment : segments) {
+                if (segment.p_type == Elf.PHdr.PT_LOAD && offset >= segment.p_offset
+                        && offset < segment.p_offset + segment.p_filesz) {
+                    vaddr = offset - segment.p_offset + segment.p_vaddr.getValue().longValue();
+                    break;
+                }
+            }
+        }
+        Elf.Symbol symbol = elf.getSymbol(new Addr64(new BigInteger(Long.toUnsignedString(vaddr))));
+        if (symbol == null) {
+            return null;
+        }
+        long start = symbol.st_value.getValue().longValue();
+        if (vaddr < start || (symbol.st_size > 0 && vaddr >= start + symbol.st_size)) {
+            return null;
+        }
+        return symbol.toString();
+    }
+}
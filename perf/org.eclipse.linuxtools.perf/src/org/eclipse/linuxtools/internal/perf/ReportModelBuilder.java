@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.perf;
+
+import org.eclipse.linuxtools.internal.perf.model.PMCommand;
+import org.eclipse.linuxtools.internal.perf.model.PMDso;
+import org.eclipse.linuxtools.internal.perf.model.PMEvent;
+import org.eclipse.linuxtools.internal.perf.model.PMSymbol;
+import org.eclipse.linuxtools.internal.perf.model.TreeParent;
+
+/**
+ * Adds the entries parsed from a perf report to the model, remembering the
+ * current event, command and dso between entries.
+ */
+public class ReportModelBuilder {
+
+    private TreeParent invisibleRoot;
+    private PMEvent currentEvent = null;
+    private PMCommand currentCommand = null;
+    private PMDso currentDso = null;
+
+    public ReportModelBuilder(TreeParent invisibleRoot) {
+        this.invisibleRoot = invisibleRoot;
+    }
+
+    /**
+     * Start a new event. Following symbols are added under it.
+     * @param event name of the event
+     */
+    public void addEvent(String event) {
+        currentEvent = new PMEvent(event);
+        invisibleRoot.addChild(currentEvent);
+        currentCommand = null;
+        currentDso = null;
+    }
+
+    /**
+     * Add an element warning that the report comes from an old perf version.
+     */
+    public void addOldVersionWarning() {
+        invisibleRoot.addChild(new PMEvent("WARNING: You are running an older version of Perf, the plugin may produce unpredictable results.")); //$NON-NLS-1$
+    }
+
+    /**
+     * Add a symbol to the current event.
+     * @param percent overhead of the symbol
+     * @param samples number of samples of the symbol
+     * @param comm command column
+     * @param dso shared object column
+     * @param symbol symbol column
+     */
+    public void addSymbol(float percent, double samples, String comm, String dso, String symbol) {
+        boolean kernelFlag = (""+symbol.charAt(1)).equals("k"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // initialize current command if it doesn't exist
+        if ((currentCommand == null) || (!currentCommand.getName().equals(comm))) {
+            currentCommand = (PMCommand) currentEvent.getChild(comm);
+            if(currentCommand == null) {
+                currentCommand = new PMCommand(comm);
+                currentEvent.addChild(currentCommand);
+            }
+        }
+
+        // initialize current dso if it doesn't exist
+        if ((currentDso == null) || (!currentDso.getName().equals(dso))) {
+            currentDso = (PMDso) currentCommand.getChild(dso);
+            if (currentDso == null) {
+                currentDso = new PMDso(dso,kernelFlag);
+                currentCommand.addChild(currentDso);
+            }
+        }
+
+        /*
+         *  Initialize the current file, and symbol
+         *
+         *  We won't know the name of the file containing the symbol
+         *  until we run 'perf annotate' to resolve it, so for now we
+         *  attach all symbols as children of 'Unfiled Symbols'.
+         */
+        currentDso.getFile(PerfPlugin.STRINGS_UnfiledSymbols).addChild(new PMSymbol(symbol, percent, samples));
+    }
+}
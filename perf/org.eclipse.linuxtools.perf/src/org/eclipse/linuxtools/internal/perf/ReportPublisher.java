@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.linuxtools.internal.perf.ui.PerfProfileView;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Publishes the entries of a perf report to the Perf Profile View while the
+ * report is still being parsed.
+ *
+ * Parsed entries are collected in batches on the parsing thread. Batches are
+ * added to the model, and the view refreshed, on the UI thread only, so that
+ * the viewer never sees the model being modified. When the UI thread falls
+ * behind, the pending batches are applied together with a single refresh.
+ */
+public class ReportPublisher {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long BATCH_DELAY = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final Display display;
+    private final ReportModelBuilder builder;
+    private final Queue<List<Consumer<ReportModelBuilder>>> batches = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private List<Consumer<ReportModelBuilder>> batch = new ArrayList<>();
+    private long lastPublish = System.nanoTime();
+
+    public ReportPublisher(Display display, ReportModelBuilder builder) {
+        this.display = display;
+        this.builder = builder;
+    }
+
+    /**
+     * Add an entry to the current batch, publishing the batch if it is large
+     * or old enough.
+     * @param entry entry to apply to the model on the UI thread
+     */
+    public void add(Consumer<ReportModelBuilder> entry) {
+        batch.add(entry);
+        if (batch.size() >= BATCH_SIZE
+                || ((batch.size() & 63) == 0 && System.nanoTime() - lastPublish >= BATCH_DELAY)) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        lastPublish = System.nanoTime();
+        if (batch.isEmpty()) {
+            return;
+        }
+        batches.add(batch);
+        batch = new ArrayList<>();
+        if (scheduled.compareAndSet(false, true)) {
+            display.asyncExec(this::applyAndRefresh);
+        }
+    }
+
+    /**
+     * Publish the remaining entries and wait until all of them were added to
+     * the model.
+     */
+    public void finish() {
+        publish();
+        display.syncExec(this::apply);
+    }
+
+    private void apply() {
+        List<Consumer<ReportModelBuilder>> next;
+        while ((next = batches.poll()) != null) {
+            for (Consumer<ReportModelBuilder> entry : next) {
+                entry.accept(builder);
+            }
+        }
+    }
+
+    private void applyAndRefresh() {
+        scheduled.set(false);
+        apply();
+        IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+        if (window == null || window.getActivePage() == null) {
+            return;
+        }
+        try {
+            PerfProfileView view = (PerfProfileView) window.getActivePage()
+                    .showView(PerfPlugin.VIEW_ID, null, IWorkbenchPage.VIEW_VISIBLE);
+            view.refreshModel();
+        } catch (PartInitException e) {
+            PerfCore.logException(e);
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class Messages extends NLS {
     public static String PerfLaunchConfigDelegate_perf_not_found;
     public static String PerfLaunchConfigDelegate_analyzing;
     public static String PerfLaunchConfigDelegate_stat_title;
+    public static String PerfOpenData_loading;
     public static String PerfOptionsTab_Browse;
     public static String PerfOptionsTab_File_DNE;
     public static String PerfOptionsTab_Kernel_Prompt;
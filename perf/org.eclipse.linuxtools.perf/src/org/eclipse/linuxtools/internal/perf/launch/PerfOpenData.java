@@ -22,6 +22,10 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationType;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
@@ -31,6 +35,7 @@ import org.eclipse.jface.viewers.ITreeSelection;
 import org.eclipse.linuxtools.internal.perf.PerfCore;
 import org.eclipse.linuxtools.internal.perf.PerfPlugin;
 import org.eclipse.linuxtools.profiling.launch.ProfileLaunchShortcut;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IEditorLauncher;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PlatformUI;
@@ -55,20 +60,41 @@ public class PerfOpenData extends ProfileLaunchShortcut implements
                                 projectName = project.getName();
                                 URI fileURI = ((IFile)element).getLocationURI();
                                 ILaunchConfiguration config = createDefaultConfiguration(projectName);
-                                PerfCore.report(config, null, null, fileURI.getPath(), null);
                                 String timestamp = DateFormat.getInstance().format(new Date(eFile.getLocalTimeStamp()));
-                                PerfCore.refreshView(fileURI.toString() + " (" + timestamp + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+                                scheduleReport(config, fileURI.getPath(), fileURI.toString() + " (" + timestamp + ")"); //$NON-NLS-1$ //$NON-NLS-2$
                         }
                 }
         } else {
                 projectName = location.getProject().getName();
                 ILaunchConfiguration config = createDefaultConfiguration(projectName);
-                PerfCore.report(config, null, null, file.toOSString(), null);
                 String timestamp = DateFormat.getInstance().format(new Date(location.getLocalTimeStamp()));
-                PerfCore.refreshView(file.toOSString() + " (" + timestamp + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+                scheduleReport(config, file.toOSString(), file.toOSString() + " (" + timestamp + ")"); //$NON-NLS-1$ //$NON-NLS-2$
         }
     }
 
+    /**
+     * Load the report of a perf data file in the background, so that the
+     * Perf Profile View can show it while it is being parsed.
+     * @param config launch configuration
+     * @param perfDataLoc location of the perf data file
+     * @param title title of the view
+     */
+    private void scheduleReport(final ILaunchConfiguration config, final String perfDataLoc, final String title) {
+        Job job = new Job(NLS.bind(Messages.PerfOpenData_loading, perfDataLoc)) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                PerfCore.report(config, null, monitor, perfDataLoc, null);
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                PerfCore.refreshView(title);
+                return Status.OK_STATUS;
+            }
+        };
+        job.setUser(true);
+        job.schedule();
+    }
+
     @Override
     protected ILaunchConfigurationType getLaunchConfigType() {
         return getLaunchManager().getLaunchConfigurationType(
@@ -50,6 +50,7 @@ public class PerfOptionsTab extends AbstractLaunchConfigurationTab {
     protected Spinner rtPriority;
     protected Button chkRecordVerbose;
     protected Button chkSourceLineNumbers;
+    protected Button chkReadPerfData;
     protected Button chkKernelSourceLineNumbers;
     protected Button chkMultiplexEvents;
     protected Button chkModuleSymbols;
@@ -131,6 +132,7 @@ public class PerfOptionsTab extends AbstractLaunchConfigurationTab {
         chkRecordVerbose = createCheckButtonHelper(chkBoxComp, PerfPlugin.STRINGS_Record_Verbose);
         chkModuleSymbols = createCheckButtonHelper(chkBoxComp, PerfPlugin.STRINGS_ModuleSymbols);
         chkHideUnresolvedSymbols = createCheckButtonHelper(chkBoxComp, PerfPlugin.STRINGS_HideUnresolvedSymbols);
+        chkReadPerfData = createCheckButtonHelper(chkBoxComp, PerfPlugin.STRINGS_ReadPerfData);
         chkSourceLineNumbers = createCheckButtonHelper(chkBoxComp, PerfPlugin.STRINGS_SourceLineNumbers);
         chkShowSourceDisassembly = createCheckButtonHelper(chkBoxComp, PerfPlugin.STRINGS_ShowSourceDisassembly);
 
@@ -271,6 +273,7 @@ public class PerfOptionsTab extends AbstractLaunchConfigurationTab {
         }
         chkModuleSymbols.setEnabled(enable);
         chkHideUnresolvedSymbols.setEnabled(enable);
+        chkReadPerfData.setEnabled(enable);
         chkShowSourceDisassembly.setEnabled(enable);
     }
 
@@ -310,6 +313,7 @@ public class PerfOptionsTab extends AbstractLaunchConfigurationTab {
 
             chkModuleSymbols.setSelection(config.getAttribute(PerfPlugin.ATTR_ModuleSymbols, PerfPlugin.ATTR_ModuleSymbols_default));
             chkHideUnresolvedSymbols.setSelection(config.getAttribute(PerfPlugin.ATTR_HideUnresolvedSymbols, PerfPlugin.ATTR_HideUnresolvedSymbols_default));
+            chkReadPerfData.setSelection(config.getAttribute(PerfPlugin.ATTR_ReadPerfData, PerfPlugin.ATTR_ReadPerfData_default));
             chkShowSourceDisassembly.setSelection(config.getAttribute(PerfPlugin.ATTR_ShowSourceDisassembly, PerfPlugin.ATTR_ShowSourceDisassembly_default));
             chkShowStat.setSelection(config.getAttribute(PerfPlugin.ATTR_ShowStat, PerfPlugin.ATTR_ShowStat_default));
             int runCount = config.getAttribute(PerfPlugin.ATTR_StatRunCount, PerfPlugin.ATTR_StatRunCount_default);
@@ -337,6 +341,7 @@ public class PerfOptionsTab extends AbstractLaunchConfigurationTab {
         wconfig.setAttribute(PerfPlugin.ATTR_Kernel_SourceLineNumbers, chkKernelSourceLineNumbers.getSelection());
         wconfig.setAttribute(PerfPlugin.ATTR_ModuleSymbols, chkModuleSymbols.getSelection());
         wconfig.setAttribute(PerfPlugin.ATTR_HideUnresolvedSymbols, chkHideUnresolvedSymbols.getSelection());
+        wconfig.setAttribute(PerfPlugin.ATTR_ReadPerfData, chkReadPerfData.getSelection());
         wconfig.setAttribute(PerfPlugin.ATTR_ShowSourceDisassembly, chkShowSourceDisassembly.getSelection());
         wconfig.setAttribute(PerfPlugin.ATTR_ShowStat, chkShowStat.getSelection());
         wconfig.setAttribute(PerfPlugin.ATTR_StatRunCount, statRunCount.getSelection());
@@ -353,6 +358,7 @@ public class PerfOptionsTab extends AbstractLaunchConfigurationTab {
         wconfig.setAttribute(PerfPlugin.ATTR_Multiplex, PerfPlugin.ATTR_Multiplex_default);
         wconfig.setAttribute(PerfPlugin.ATTR_ModuleSymbols, PerfPlugin.ATTR_ModuleSymbols_default);
         wconfig.setAttribute(PerfPlugin.ATTR_HideUnresolvedSymbols, PerfPlugin.ATTR_HideUnresolvedSymbols_default);
+        wconfig.setAttribute(PerfPlugin.ATTR_ReadPerfData, PerfPlugin.ATTR_ReadPerfData_default);
         wconfig.setAttribute(PerfPlugin.ATTR_ShowSourceDisassembly, PerfPlugin.ATTR_ShowSourceDisassembly_default);
         wconfig.setAttribute(PerfPlugin.ATTR_ShowStat, PerfPlugin.ATTR_ShowStat_default);
         wconfig.setAttribute(PerfPlugin.ATTR_StatRunCount, PerfPlugin.ATTR_StatRunCount_default);
@@ -12,25 +12,45 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.perf.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Node of the perf report model.
+ *
+ * Children are kept in insertion order and indexed by name so that lookups,
+ * additions and removals do not depend on the number of siblings. Percentages
+ * of {@link PMDso}/{@link PMFile} elements and accumulated sample counts are
+ * not recomputed on every modification; a modification only marks the path
+ * to the root as dirty and the values are aggregated bottom-up, once, the next
+ * time they are requested.
+ */
 public class TreeParent {
     private String name;
     private TreeParent parent;
-    private List<TreeParent> children;
+    private Set<TreeParent> children;
+    // First child of a given name, for lookups
+    private Map<String, TreeParent> childIndex;
+    // Whether two children ever shared a name
+    private boolean duplicateNames = false;
+    // Whether percentage and samples need to be aggregated again
+    private boolean dirty = true;
     private float percent = -1;
     private double samples = -1;
+    // Whether samples are computed rather than given by the report
+    private boolean derivedSamples = true;
 
     public TreeParent(String name, float percent) {
-        this.name = name;
+        this(name);
         this.percent = percent;
-        children = new ArrayList<>();
     }
 
     public TreeParent(String name, float percent, double samples) {
         this(name, percent);
         this.samples = samples;
+        this.derivedSamples = samples == -1;
     }
 
     public String getName() {
@@ -55,11 +75,13 @@ public class TreeParent {
     }
 
     public float getPercent() {
+        aggregate();
         return percent;
     }
 
     public void setPercent(float percent) {
         this.percent = percent;
+        invalidate();
     }
 
     /**
@@ -74,23 +96,11 @@ public class TreeParent {
      * @return the number of samples
      */
     private double getSamples () {
+        aggregate();
         // Child of PMSymbol, distribute samples by percentage
-        if (this instanceof PMLineRef) {
-            if (samples == -1) {
-                samples = (int) (getParent().getSamples() * (getPercent() / 100));
-            }
-        } else {
-            // Parent of PMSymbol, accumulate from children elements
-            if (samples == -1) {
-                int sampleSum = 0;
-
-                for (TreeParent child : getChildren()) {
-                    sampleSum += child.getSamples();
-                }
-                samples = sampleSum;
-            }
+        if (this instanceof PMLineRef && samples == -1) {
+            samples = (int) (getParent().getSamples() * (percent / 100));
         }
-
         return samples;
     }
 
@@ -103,28 +113,41 @@ public class TreeParent {
 
     public TreeParent(String name) {
         this.name = name;
-        children = new ArrayList<>();
+        children = new LinkedHashSet<>();
+        childIndex = new HashMap<>();
     }
 
     public void addChild(TreeParent child) {
         children.add(child);
+        if (childIndex.putIfAbsent(child.getName(), child) != null) {
+            duplicateNames = true;
+        }
         child.setParent(this);
-        recalculatePercentage();
+        invalidate();
     }
 
     public TreeParent getChild(String name) {
-        //check if it exists
-        for(TreeParent t : children) {
-            if (t.equals(name))
-                return t;
-        }
-        return null;
+        return childIndex.get(name);
     }
 
     public void removeChild(TreeParent child) {
-        children.remove(child);
+        if (children.remove(child)) {
+            String childName = child.getName();
+            if (childIndex.get(childName) == child) {
+                childIndex.remove(childName);
+                if (duplicateNames) {
+                    // another child may carry the same name
+                    for (TreeParent t : children) {
+                        if (t.equals(childName)) {
+                            childIndex.put(childName, t);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
         child.setParent(null);
-        recalculatePercentage();
+        invalidate();
     }
 
     public TreeParent [] getChildren() {
@@ -137,19 +160,52 @@ public class TreeParent {
 
     public void clear() {
         children.clear();
+        childIndex.clear();
+        duplicateNames = false;
+        invalidate();
     }
 
-    private void recalculatePercentage() {
-        if (getPercent() != -1 && (this instanceof PMDso || this instanceof PMFile)){
-            percent = 0;
-            // Re-sum its children percentages
-            for (TreeParent c : getChildren()) {
-                percent += c.getPercent();
-            }
-            // Tell its parent to re-sum too.
-            if (getParent().getPercent() != -1) {
-                getParent().recalculatePercentage();
+    /**
+     * Mark this element and its ancestors as needing aggregation. An element
+     * that is already dirty always has dirty ancestors, so the walk stops there.
+     */
+    private void invalidate() {
+        TreeParent node = this;
+        while (node != null && !node.dirty) {
+            node.dirty = true;
+            node = node.getParent();
+        }
+    }
+
+    /**
+     * Aggregate percentage and samples of this element from its children, if
+     * it was modified since the last aggregation.
+     */
+    private void aggregate() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        if (this instanceof PMLineRef) {
+            // recomputed from the parent on demand
+            if (derivedSamples) {
+                samples = -1;
             }
+            return;
+        }
+
+        float percentSum = 0;
+        double sampleSum = 0;
+        for (TreeParent c : children) {
+            percentSum += c.getPercent();
+            sampleSum += c.getSamples();
+        }
+        // Only files and dsos take their percentage from their children
+        if (percent != -1 && (this instanceof PMDso || this instanceof PMFile)) {
+            percent = percentSum;
+        }
+        if (derivedSamples) {
+            samples = sampleSum;
         }
     }
 
@@ -18,8 +18,6 @@ import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.viewers.TreeViewer;
-import org.eclipse.jface.viewers.Viewer;
-import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.linuxtools.internal.perf.PerfPlugin;
 import org.eclipse.linuxtools.internal.perf.model.TreeParent;
 import org.eclipse.swt.SWT;
@@ -40,29 +38,24 @@ public class PerfProfileView extends ViewPart {
     public static final String ID = "org.eclipse.linuxtools.internal.perf.views.ProfileView"; //$NON-NLS-1$
 
     private TreeViewer viewer;
+    private PerfViewLazyContentProvider contentProvider;
     private DrillDownAdapter drillDownAdapter;
     private Action doubleClickAction;
 
-    static class NameComparator extends ViewerComparator {
-        @Override
-        public int compare(Viewer viewer, Object e1, Object e2) {
-            return (((TreeParent) e1).getPercent()
-                    <= ((TreeParent) e2).getPercent()) ? 1 : -1;
-        }
-    }
-
     /**
      * This is a callback that will allow us
      * to create the viewer and initialize it.
      */
     @Override
     public void createPartControl(Composite parent) {
-        viewer = new TreeViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+        viewer = new TreeViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.VIRTUAL);
         drillDownAdapter = new DrillDownAdapter(viewer);
-        viewer.setContentProvider(new PerfViewContentProvider());
+        // children are sorted by the content provider
+        contentProvider = new PerfViewLazyContentProvider();
+        viewer.setContentProvider(contentProvider);
+        viewer.setUseHashlookup(true);
 
         viewer.setLabelProvider(new PerfViewLabelProvider());
-        viewer.setComparator(new NameComparator());
 
         // Create the help context id for the viewer's control
         PlatformUI.getWorkbench().getHelpSystem().setHelp(viewer.getControl(), "org.eclipse.linuxtools.internal.perf.viewer"); //$NON-NLS-1$
@@ -72,7 +65,11 @@ public class PerfProfileView extends ViewPart {
     }
 
     public void refreshModel() {
-        viewer.setInput(PerfPlugin.getDefault().getModelRoot());
+        contentProvider.clearCache();
+        TreeParent root = PerfPlugin.getDefault().getModelRoot();
+        if (viewer.getInput() != root) {
+            viewer.setInput(root);
+        }
         viewer.refresh();
     }
 
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.perf.ui;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.linuxtools.internal.perf.model.TreeParent;
+
+/**
+ * Content provider for the virtual tree of the Perf Profile View.
+ *
+ * Only the items the tree asks for are created, so that reports with a large
+ * number of symbols can be shown while they are still being loaded. Virtual
+ * trees can not be sorted by the viewer, so the children of each element are
+ * sorted here, hottest first, and cached until the next {@link #clearCache()}.
+ */
+public class PerfViewLazyContentProvider implements ILazyTreeContentProvider {
+
+    private final PerfViewContentProvider provider = new PerfViewContentProvider();
+    private final Map<Object, Object[]> sortedChildren = new HashMap<>();
+    private TreeViewer viewer;
+
+    @Override
+    public void inputChanged(Viewer v, Object oldInput, Object newInput) {
+        viewer = (TreeViewer) v;
+        clearCache();
+    }
+
+    @Override
+    public void dispose() {
+        clearCache();
+    }
+
+    /**
+     * Forget the sorted children of all elements. Must be called when the
+     * model changes.
+     */
+    public void clearCache() {
+        sortedChildren.clear();
+    }
+
+    private Object[] getSortedChildren(Object parent) {
+        return sortedChildren.computeIfAbsent(parent, p -> {
+            Object[] children = provider.getChildren(p);
+            Arrays.sort(children, (e1, e2) -> Float.compare(((TreeParent) e2).getPercent(),
+                    ((TreeParent) e1).getPercent()));
+            return children;
+        });
+    }
+
+    @Override
+    public void updateElement(Object parent, int index) {
+        Object[] children = getSortedChildren(parent);
+        if (index < children.length) {
+            Object child = children[index];
+            viewer.replace(parent, index, child);
+            viewer.setHasChildren(child, provider.hasChildren(child));
+        }
+    }
+
+    @Override
+    public void updateChildCount(Object element, int currentChildCount) {
+        int count = getSortedChildren(element).length;
+        if (count != currentChildCount) {
+            viewer.setChildCount(element, count);
+        }
+    }
+
+    @Override
+    public Object getParent(Object element) {
+        return provider.getParent(element);
+    }
+}
@@ -0,0 +1,11 @@
+#include "util.h"
+
+static int table[16];
+
+int main(int argc, char **argv)
+{
+	int i;
+	for (i = 0; i < 16; i++)
+		table[i] = square(i + argc);
+	return sum(table, 16) > 100 ? 0 : 1;
+}
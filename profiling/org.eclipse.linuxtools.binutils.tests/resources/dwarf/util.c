@@ -0,0 +1,10 @@
+#include "util.h"
+
+int sum(const int *values, int n)
+{
+	int total = 0;
+	int i;
+	for (i = 0; i < n; i++)
+		total += values[i];
+	return total;
+}
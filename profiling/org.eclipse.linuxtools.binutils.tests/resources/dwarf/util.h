@@ -0,0 +1,6 @@
+static inline int square(int x)
+{
+	return x * x;
+}
+
+int sum(const int *values, int n);
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.binutils.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class BinutilsBatchTest {
+
+    private static final int NB_REQUESTS = 20000;
+
+    private static String[] getRequests() {
+        String[] requests = new String[NB_REQUESTS];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = "request" + i; //$NON-NLS-1$
+        }
+        return requests;
+    }
+
+    @Test
+    public void testOrder() throws IOException {
+        // more requests than the pipes hold: the program blocks on its output while the requests are written
+        String[] requests = getRequests();
+        String[] lines = BinutilsBatch.run(new String[] { "sed", "p" }, requests, 2, null); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(2 * requests.length, lines.length);
+        for (int i = 0; i < requests.length; i++) {
+            assertEquals(requests[i], lines[2 * i]);
+            assertEquals(requests[i], lines[2 * i + 1]);
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testErrorOutput() throws IOException {
+        // more warnings than the pipe holds, before the first reply
+        String[] requests = getRequests();
+        String[] lines = BinutilsBatch.run(new String[] { "sh", "-c", "head -c 1000000 /dev/zero >&2; cat" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                requests, 1, null);
+        assertArrayEquals(requests, lines);
+    }
+
+    @Test(expected = IOException.class, timeout = 60000)
+    public void testTimeout() throws IOException {
+        BinutilsBatch.run(new String[] { "sleep", "600" }, getRequests(), 1, null, 200); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testSlowReplies() throws IOException {
+        // the timeout applies to each reply, not to the whole batch
+        String[] requests = new String[10];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = Integer.toString(i);
+        }
+        String[] lines = BinutilsBatch.run(new String[] { "sh", "-c", "while read l; do sleep 0.1; echo $l; done" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                requests, 1, null, 300);
+        assertArrayEquals(requests, lines);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingReplies() throws IOException {
+        BinutilsBatch.run(new String[] { "head", "-n", "2" }, getRequests(), 1, null); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.binutils.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+
+import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * The lookups of many addresses and symbols at once, through the caches of addr2line and c++filt. The binary has
+ * no DWARF line table, its debug information being in <code>lines-O0-dwarf4.debug</code>, so that its addresses
+ * are asked to addr2line:
+ *
+ * <pre>
+ * objcopy --only-keep-debug lines-O0-dwarf4 lines-O0-dwarf4.debug
+ * objcopy --strip-debug --add-gnu-debuglink=lines-O0-dwarf4.debug lines-O0-dwarf4 lines-O0-dwarf4-debuglink
+ * </pre>
+ */
+public class STSymbolManagerTest {
+
+    private static final String BINARY = "lines-O0-dwarf4-debuglink"; //$NON-NLS-1$
+    private static final String DEBUG_FILE = "lines-O0-dwarf4.debug"; //$NON-NLS-1$
+    private static final String MAIN_C = "/build/lines/main.c"; //$NON-NLS-1$
+    private static final String UTIL_C = "/build/lines/util.c"; //$NON-NLS-1$
+    private static final String UTIL_H = "/build/lines/util.h"; //$NON-NLS-1$
+
+    @Rule
+    public TemporaryFolder tmpfiles = new TemporaryFolder();
+
+    private final STSymbolManager manager = STSymbolManager.sharedInstance;
+    private long hits;
+    private long misses;
+
+    @Before
+    public void setUp() {
+        manager.reset();
+        hits = manager.getCacheHits();
+        misses = manager.getCacheMisses();
+    }
+
+    private File getFile(String name) throws IOException, URISyntaxException {
+        URL location = FileLocator.find(FrameworkUtil.getBundle(getClass()), new Path("resources/dwarf/" + name), //$NON-NLS-1$
+                null);
+        return new File(FileLocator.toFileURL(location).toURI());
+    }
+
+    private IBinaryObject getProgram(File file) {
+        IBinaryObject program = manager.getBinaryObject(file.getAbsolutePath());
+        assertNotNull(program);
+        return program;
+    }
+
+    /**
+     * Checks the lookups answered from the caches, and asked to the tools, since the last check.
+     */
+    private void checkCounters(long expectedHits, long expectedMisses) {
+        assertEquals(expectedHits, manager.getCacheHits() - hits);
+        assertEquals(expectedMisses, manager.getCacheMisses() - misses);
+        hits = manager.getCacheHits();
+        misses = manager.getCacheMisses();
+    }
+
+    @Test
+    public void testLocations() throws IOException, URISyntaxException {
+        IBinaryObject program = getProgram(getFile(BINARY));
+
+        assertArrayEquals(new int[] { 4, 6 }, manager.getLineNumbers(program, new long[] { 0x1136, 0x1143 }, null));
+        checkCounters(0, 2);
+
+        // the cached addresses are not asked again, the replies of addr2line are put back in the order asked
+        long[] addresses = { 0x1158, 0x1136, 0x11c7, 0x1143, 0x1186, 0x11ab };
+        assertArrayEquals(new int[] { 9, 4, 8, 6, 10, 5 }, manager.getLineNumbers(program, addresses, null));
+        checkCounters(2, 4);
+
+        // addr2line gave the file names with the line numbers
+        assertArrayEquals(new String[] { MAIN_C, UTIL_H, UTIL_C, MAIN_C, MAIN_C, UTIL_C },
+                manager.getFileNames(program, addresses, null));
+        checkCounters(addresses.length, 0);
+    }
+
+    @Test
+    public void testRebuiltBinary() throws IOException, URISyntaxException {
+        // addr2line finds the debug file next to the binary
+        File dir = tmpfiles.newFolder();
+        File file = new File(dir, BINARY);
+        Files.copy(getFile(BINARY).toPath(), file.toPath());
+        Files.copy(getFile(DEBUG_FILE).toPath(), new File(dir, DEBUG_FILE).toPath());
+        IBinaryObject program = getProgram(file);
+        long[] addresses = { 0x1143, 0x11ab };
+
+        assertArrayEquals(new int[] { 6, 5 }, manager.getLineNumbers(program, addresses, null));
+        checkCounters(0, 2);
+        assertArrayEquals(new int[] { 6, 5 }, manager.getLineNumbers(program, addresses, null));
+        checkCounters(2, 0);
+
+        // the results of the previous build are dropped
+        assertTrue(file.setLastModified(file.lastModified() - 60000));
+        assertArrayEquals(new int[] { 6, 5 }, manager.getLineNumbers(program, addresses, null));
+        checkCounters(0, 2);
+        assertArrayEquals(new int[] { 6, 5 }, manager.getLineNumbers(program, addresses, null));
+        checkCounters(2, 0);
+    }
+
+    @Test
+    public void testDemangle() throws IOException, URISyntaxException {
+        IBinaryObject program = getProgram(getFile(BINARY));
+
+        // the names which are not mangled are not looked up
+        assertArrayEquals(new String[] { "foo(int)", "main" }, //$NON-NLS-1$ //$NON-NLS-2$
+                manager.demangle(program, new String[] { "_Z3fooi", "main" }, null)); //$NON-NLS-1$ //$NON-NLS-2$
+        checkCounters(0, 1);
+
+        assertArrayEquals(new String[] { "A::bar()", "main", "foo(int)", "square" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                manager.demangle(program, new String[] { "_ZN1A3barEv", "main", "_Z3fooi", "square" }, null)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        checkCounters(1, 1);
+
+        assertEquals("A::bar()", manager.demangle(program, new String[] { "_ZN1A3barEv" }, null)[0]); //$NON-NLS-1$ //$NON-NLS-2$
+        checkCounters(1, 0);
+
+        // Rust v0 names are mangled too, C names with underscores are not
+        String[] names = manager.demangle(program,
+                new String[] { "_RNvCs15kBYyAo9fc_7mycrate4main", "my_func" }, null); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(names[0], names[0].startsWith("mycrate") && names[0].endsWith("::main")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("my_func", names[1]); //$NON-NLS-1$
+        checkCounters(0, 1);
+    }
+
+    private static String getDemangledName(int i) {
+        return String.format("f%05d()", i); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testLeastRecentlyUsed() throws IOException, URISyntaxException {
+        IBinaryObject program = getProgram(getFile(BINARY));
+        String[] symbolNames = new String[STSymbolManager.CACHE_SIZE + 1];
+        for (int i = 0; i < symbolNames.length; i++) {
+            symbolNames[i] = String.format("_Z6f%05dv", i); //$NON-NLS-1$
+        }
+
+        String[] demangledNames = manager.demangle(program, symbolNames, null);
+        for (int i = 0; i < symbolNames.length; i++) {
+            assertEquals(getDemangledName(i), demangledNames[i]);
+        }
+        checkCounters(0, symbolNames.length);
+
+        // the last name is cached, the first one was dropped to make room for it
+        assertEquals(getDemangledName(symbolNames.length - 1),
+                manager.demangle(program, new String[] { symbolNames[symbolNames.length - 1] }, null)[0]);
+        checkCounters(1, 0);
+
+        // a hit makes the second name the most recently used: the third one is dropped for the first one
+        assertEquals(getDemangledName(1), manager.demangle(program, new String[] { symbolNames[1] }, null)[0]);
+        checkCounters(1, 0);
+        assertEquals(getDemangledName(0), manager.demangle(program, new String[] { symbolNames[0] }, null)[0]);
+        checkCounters(0, 1);
+        assertArrayEquals(new String[] { getDemangledName(1), getDemangledName(2) },
+                manager.demangle(program, new String[] { symbolNames[1], symbolNames[2] }, null));
+        checkCounters(1, 1);
+    }
+}
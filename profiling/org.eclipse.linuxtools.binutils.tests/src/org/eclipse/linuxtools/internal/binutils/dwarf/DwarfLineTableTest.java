@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.binutils.dwarf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Compare the line tables with the output of addr2line 2.40 on every instruction of the <code>.text</code>
+ * section of binaries built by gcc 12 from <code>resources/dwarf</code>:
+ *
+ * <pre>
+ * gcc -O0|-O2 -g -gdwarf-4|-gdwarf-5 [-gz] -fdebug-prefix-map=$PWD=/build/lines -Wl,--build-id=none main.c util.c
+ * </pre>
+ *
+ * addr2line names the file of the addresses without DWARF line information, as the startup code, from the
+ * symbol table: the line tables do not know them. In <code>lines-O0-dwarf5.addr2line</code>, the rows of the
+ * <code>square</code> function are those of <code>readelf --debug-dump=decodedline</code>, in
+ * <code>util.h</code>, where addr2line 2.40 reports the file of the compilation unit.
+ */
+public class DwarfLineTableTest {
+
+    private static final String ADDR2LINE_EXTENSION = ".addr2line"; //$NON-NLS-1$
+    private static final String UNKNOWN_FILE = "??"; //$NON-NLS-1$
+
+    private File getFile(String name) throws IOException, URISyntaxException {
+        URL location = FileLocator.find(FrameworkUtil.getBundle(getClass()), new Path("resources/dwarf/" + name), //$NON-NLS-1$
+                null);
+        return new File(FileLocator.toFileURL(location).toURI());
+    }
+
+    private void checkAddr2line(String binary) throws IOException, URISyntaxException {
+        DwarfLineTable lineTable = DwarfLineTable.open(getFile(binary));
+        assertNotNull(lineTable);
+        List<String> rows = Files.readAllLines(getFile(binary + ADDR2LINE_EXTENSION).toPath());
+        for (String row : rows) {
+            // 0x0000000000001138 /build/lines/main.c:6 (discriminator 1)
+            String[] fields = row.split(" "); //$NON-NLS-1$
+            long address = Long.parseUnsignedLong(fields[0].substring(2), 16);
+            int colon = fields[1].lastIndexOf(':');
+            String fileName = fields[1].substring(0, colon);
+            String line = fields[1].substring(colon + 1);
+            if (line.equals("?") || line.equals("0")) { //$NON-NLS-1$ //$NON-NLS-2$
+                assertNull(row, lineTable.getFileName(address));
+                assertEquals(row, -1, lineTable.getLineNumber(address));
+            } else {
+                assertEquals(row, fileName.equals(UNKNOWN_FILE) ? null : fileName, lineTable.getFileName(address));
+                assertEquals(row, Integer.parseInt(line), lineTable.getLineNumber(address));
+            }
+        }
+    }
+
+    @Test
+    public void testDwarf4() throws IOException, URISyntaxException {
+        checkAddr2line("lines-O0-dwarf4"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testDwarf5() throws IOException, URISyntaxException {
+        checkAddr2line("lines-O0-dwarf5"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testOptimizedDwarf4() throws IOException, URISyntaxException {
+        checkAddr2line("lines-O2-dwarf4"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testOptimizedDwarf5() throws IOException, URISyntaxException {
+        checkAddr2line("lines-O2-dwarf5"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testCompressedSections() throws IOException, URISyntaxException {
+        checkAddr2line("lines-O2-dwarf5-gz"); //$NON-NLS-1$
+
+        // the sections are inflated as they were before the compression; .debug_info differs, by the offsets
+        // of the producer strings which name -gz
+        ElfDebugSections compressed = ElfDebugSections.read(getFile("lines-O2-dwarf5-gz")); //$NON-NLS-1$
+        ElfDebugSections uncompressed = ElfDebugSections.read(getFile("lines-O2-dwarf5")); //$NON-NLS-1$
+        for (String section : new String[] { ".debug_line", ".debug_line_str", ".debug_abbrev" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            ByteBuffer expected = uncompressed.get(section);
+            assertNotNull(section, expected);
+            assertEquals(section, expected, compressed.get(section));
+        }
+    }
+
+    @Test
+    public void testOutsideCompilationUnits() throws IOException, URISyntaxException {
+        DwarfLineTable lineTable = DwarfLineTable.open(getFile("lines-O2-dwarf5")); //$NON-NLS-1$
+        // before the text, the startup code without DWARF, past the end of the address space
+        for (long address : new long[] { 0, 0x10c0, 0x10f0, 0xffffffffL, -1 }) {
+            assertNull(lineTable.getFileName(address));
+            assertEquals(-1, lineTable.getLineNumber(address));
+        }
+        // a lookup missing every unit does not break the next ones
+        assertEquals("/build/lines/util.c", lineTable.getFileName(0x11b0)); //$NON-NLS-1$
+        assertEquals(7, lineTable.getLineNumber(0x11b0));
+    }
+
+    @Test
+    public void testNotElf() throws IOException, URISyntaxException {
+        assertNull(DwarfLineTable.open(getFile("main.c"))); //$NON-NLS-1$
+        assertNull(ElfDebugSections.read(getFile("main.c"))); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.binutils.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.linuxtools.tools.launch.core.factory.CdtSpawnerProcessFactory;
+
+/**
+ * Runs a binutils program on a batch of requests: the requests are all written to its standard input by a
+ * separate thread, while its output is read, instead of waiting for each reply before writing the next request.
+ * Its error output is read by another thread, so that it never blocks on a full pipe, and it is killed if it stops
+ * replying for {@link #TIMEOUT} ms.
+ */
+final class BinutilsBatch {
+
+    /**
+     * Time (in ms) the program may spend without printing a line before it is killed.
+     */
+    static final long TIMEOUT = 30000;
+
+    private BinutilsBatch() {
+    }
+
+    /**
+     * @param command the program and its arguments
+     * @param requests the requests, one line each
+     * @param linesPerRequest the number of lines printed by the program for each request
+     * @param project the project to get the path to use to run the program
+     * @return the lines printed by the program, <code>linesPerRequest</code> for each request
+     * @throws IOException if the program could not be run, or did not reply to every request
+     */
+    static String[] run(String[] command, String[] requests, int linesPerRequest, IProject project)
+            throws IOException {
+        return run(command, requests, linesPerRequest, project, TIMEOUT);
+    }
+
+    /**
+     * @param command the program and its arguments
+     * @param requests the requests, one line each
+     * @param linesPerRequest the number of lines printed by the program for each request
+     * @param project the project to get the path to use to run the program
+     * @param timeout the time (in ms) the program may spend without printing a line
+     * @return the lines printed by the program, <code>linesPerRequest</code> for each request
+     * @throws IOException if the program could not be run, did not reply to every request, or timed out
+     */
+    static String[] run(String[] command, String[] requests, int linesPerRequest, IProject project, long timeout)
+            throws IOException {
+        Process process = CdtSpawnerProcessFactory.getFactory().exec(command, project);
+        Thread errorReader = new Thread(() -> {
+            byte[] buffer = new byte[4096];
+            try (InputStream stderr = process.getErrorStream()) {
+                while (stderr.read(buffer) >= 0) {
+                    // discard the warnings
+                }
+            } catch (IOException e) {
+                // the program died: reported by the reader
+            }
+        }, command[0]);
+        errorReader.setDaemon(true);
+        errorReader.start();
+        AtomicInteger linesRead = new AtomicInteger();
+        Thread watchdog = new Thread(() -> {
+            int lastLinesRead = 0;
+            try {
+                while (!process.waitFor(timeout, TimeUnit.MILLISECONDS)) {
+                    int current = linesRead.get();
+                    if (current == lastLinesRead) {
+                        // no reply: the reader gets the end of the output
+                        process.destroy();
+                        return;
+                    }
+                    lastLinesRead = current;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, command[0]);
+        watchdog.setDaemon(true);
+        watchdog.start();
+        Thread writer = new Thread(() -> {
+            try (Writer stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()))) {
+                for (String request : requests) {
+                    stdin.write(request);
+                    stdin.write('\n');
+                }
+            } catch (IOException e) {
+                // the program died: reported by the reader
+            }
+        }, command[0]);
+        writer.start();
+        String[] lines = new String[requests.length * linesPerRequest];
+        try (BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = stdout.readLine();
+                if (lines[i] == null) {
+                    throw new IOException(command[0]);
+                }
+                linesRead.incrementAndGet();
+            }
+        } finally {
+            process.destroy();
+        }
+        return lines;
+    }
+}
@@ -49,6 +49,39 @@ public class DefaultBinutilsFactory implements ISTBinutilsFactory {
         return new CPPFilt(cppfilt, args);
     }
 
+    /**
+     * @return the default options of {@link Addr2line}, unless other options are set in the preferences
+     * @since 6.1
+     */
+    @Override
+    public String[] getAddr2lineBatchCommand(String path, IProject project) throws IOException {
+        IPreferenceStore prefsStore = Activator.getDefault().getPreferenceStore();
+        String addr2lineCmd = prefsStore.getString(BinutilsPreferencePage.PREFKEY_ADDR2LINE_CMD);
+        String addr2lineArgs = prefsStore.getString(BinutilsPreferencePage.PREFKEY_ADDR2LINE_ARGS);
+        if (CommandLineUtil.argumentsToArray(addr2lineArgs).length != 0) {
+            // the output format is unknown
+            return null;
+        }
+        String addr2line = RuntimeProcessFactory.getFactory().whichCommand(addr2lineCmd, project);
+        return new String[] { addr2line, "-C", "-f", "-e", path }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    /**
+     * @since 6.1
+     */
+    @Override
+    public String[] getCPPFiltBatchCommand(IProject project) throws IOException {
+        IPreferenceStore prefsStore = Activator.getDefault().getPreferenceStore();
+        String cppfiltCmd = prefsStore.getString(BinutilsPreferencePage.PREFKEY_CPPFILT_CMD);
+        String cppfiltArgs = prefsStore.getString(BinutilsPreferencePage.PREFKEY_CPPFILT_ARGS);
+        String[] args = CommandLineUtil.argumentsToArray(cppfiltArgs);
+        String cppfilt = RuntimeProcessFactory.getFactory().whichCommand(cppfiltCmd, project);
+        String[] command = new String[args.length + 1];
+        command[0] = cppfilt;
+        System.arraycopy(args, 0, command, 1, args.length);
+        return command;
+    }
+
     @Override
     public STNM getNM(String path, STNMSymbolsHandler handler, IProject project) throws IOException {
         IPreferenceStore prefsStore = Activator.getDefault().getPreferenceStore();
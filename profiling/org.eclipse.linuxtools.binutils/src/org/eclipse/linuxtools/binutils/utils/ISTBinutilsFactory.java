@@ -39,5 +39,29 @@ public interface ISTBinutilsFactory {
 	 */
     STStrings getSTRINGS(IProject project) throws IOException;
 
+    /**
+     * @param path
+     * @param project
+     * @return the command line of an addr2line reading addresses on its standard input, and printing for each of
+     *         them the function name then the "file:line" location, or null if addresses can only be asked one at a
+     *         time to {@link #getAddr2line(String, IProject)}
+     * @throws IOException
+     * @since 6.1
+     */
+    default String[] getAddr2lineBatchCommand(String path, IProject project) throws IOException {
+        return null;
+    }
+
+    /**
+     * @param project
+     * @return the command line of a c++filt reading symbols on its standard input, and printing one line for each of
+     *         them, or null if symbols can only be asked one at a time to {@link #getCPPFilt(IProject)}
+     * @throws IOException
+     * @since 6.1
+     */
+    default String[] getCPPFiltBatchCommand(IProject project) throws IOException {
+        return null;
+    }
+
     boolean testAvailability();
 }
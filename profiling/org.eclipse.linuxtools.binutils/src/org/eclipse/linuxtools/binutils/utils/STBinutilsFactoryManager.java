@@ -137,6 +137,34 @@ public class STBinutilsFactoryManager {
         return factory.getCPPFilt(project);
     }
 
+    /**
+     * @param cpuType
+     * @param programPath
+     * @param project
+     *            The project to get the path to run addr2line
+     * @return the command line of addr2line to resolve a batch of addresses, or null if not supported
+     * @throws IOException
+     * @since 6.1
+     */
+    public static String[] getAddr2lineBatchCommand(String cpuType, String programPath, IProject project)
+            throws IOException {
+        ISTBinutilsFactory factory = getBinutilsFactory(cpuType);
+        return factory.getAddr2lineBatchCommand(programPath, project);
+    }
+
+    /**
+     * @param cpuType
+     * @param project
+     *            The project to get the path to run cppfilt
+     * @return the command line of c++filt to demangle a batch of symbols, or null if not supported
+     * @throws IOException
+     * @since 6.1
+     */
+    public static String[] getCPPFiltBatchCommand(String cpuType, IProject project) throws IOException {
+        ISTBinutilsFactory factory = getBinutilsFactory(cpuType);
+        return factory.getCPPFiltBatchCommand(project);
+    }
+
     /**
      * @param cpuType
      * @param programPath
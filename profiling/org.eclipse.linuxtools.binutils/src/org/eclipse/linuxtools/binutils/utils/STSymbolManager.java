@@ -14,13 +14,16 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.binutils.utils;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.IAddress;
@@ -53,10 +56,15 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.linuxtools.internal.Activator;
+import org.eclipse.linuxtools.internal.binutils.dwarf.DwarfLineTable;
 
 /**
  * This class Is a utility on top of c++filt and addr2line. It allows an easy conversion between address and source
  * location, and between mangled and demangled symbols.
+ * <p>
+ * Source locations are read from the DWARF line tables of the binary when it has some, and asked to addr2line
+ * otherwise.
+ * </p>
  */
 public class STSymbolManager {
 
@@ -65,25 +73,132 @@ public class STSymbolManager {
      */
     private final static long AUTO_DISPOSE_TIMEOUT = 30000;
 
+    /**
+     * Maximum number of results cached for each binary by addr2line, and for each CPU by c++filt.
+     */
+    final static int CACHE_SIZE = 16384;
+
     /**
      * Singleton instance
      */
     public final static STSymbolManager sharedInstance = new STSymbolManager();
 
+    /**
+     * The least recently used results of a tool. Null results are not cached.
+     */
+    private final class LookupCache<K, V> {
+        private final LinkedHashMap<K, V> results = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Entry<K, V> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+        synchronized V get(K key) {
+            V value = results.get(key);
+            if (value == null) {
+                cacheMisses.increment();
+            } else {
+                cacheHits.increment();
+            }
+            return value;
+        }
+
+        synchronized void put(K key, V value) {
+            if (value != null) {
+                results.put(key, value);
+            }
+        }
+    }
+
+    /**
+     * An addr2line instance and its results. The instance is only used while holding the lock of this object.
+     */
     private final static class AutoDisposeAddr2line {
         private Addr2line addr2line;
-        private long startTime;
+        private volatile long startTime;
+        /** set once removed from the map: the instance must not be created again */
+        private boolean disposed;
+        /** modification time and length of the binary when the results were cached */
+        private final long modified;
+        private final long length;
+        private final LookupCache<Long, Integer> lineNumbers;
+        private final LookupCache<Long, String> fileNames;
+
+        private AutoDisposeAddr2line(File file, LookupCache<Long, Integer> lineNumbers,
+                LookupCache<Long, String> fileNames) {
+            this.modified = file.lastModified();
+            this.length = file.length();
+            this.lineNumbers = lineNumbers;
+            this.fileNames = fileNames;
+        }
+
+        private boolean isCurrent(File file) {
+            return modified == file.lastModified() && length == file.length();
+        }
+
+        private synchronized void dispose() {
+            if (addr2line != null) {
+                addr2line.dispose();
+                addr2line = null;
+            }
+            disposed = true;
+        }
     }
 
+    /**
+     * A c++filt instance and its results. The instance is only used while holding the lock of this object.
+     */
     private final static class AutoDisposeCPPFilt {
         private CPPFilt cppfilt;
-        private long startTime;
+        private volatile long startTime;
+        /** set once removed from the map: the instance must not be created again */
+        private boolean disposed;
+        private final LookupCache<String, String> demangledNames;
+
+        private AutoDisposeCPPFilt(LookupCache<String, String> demangledNames) {
+            this.demangledNames = demangledNames;
+        }
+
+        private synchronized void dispose() {
+            if (cppfilt != null) {
+                cppfilt.dispose();
+                cppfilt = null;
+            }
+            disposed = true;
+        }
+    }
+
+    private final static class AutoDisposeLineTable {
+        /** null if the binary has no DWARF line table */
+        private final DwarfLineTable lineTable;
+        private final long modified;
+        private final long length;
+        private volatile long startTime;
+
+        private AutoDisposeLineTable(DwarfLineTable lineTable, File file) {
+            this.lineTable = lineTable;
+            this.modified = file.lastModified();
+            this.length = file.length();
+        }
+
+        private boolean isCurrent(File file) {
+            return modified == file.lastModified() && length == file.length();
+        }
     }
 
     /** Map of all living instance of addr2line */
-    private final HashMap<IBinaryObject, AutoDisposeAddr2line> addr2lines = new HashMap<>();
+    private final ConcurrentHashMap<IBinaryObject, AutoDisposeAddr2line> addr2lines = new ConcurrentHashMap<>();
     /** Map of all living instance of cppfilt */
-    private final HashMap<String, AutoDisposeCPPFilt> cppfilts = new HashMap<>();
+    private final ConcurrentHashMap<String, AutoDisposeCPPFilt> cppfilts = new ConcurrentHashMap<>();
+    /** Map of the DWARF line tables read, by binary path */
+    private final ConcurrentHashMap<String, AutoDisposeLineTable> lineTables = new ConcurrentHashMap<>();
+    /** Number of addr2line and c++filt lookups answered from the caches */
+    private final LongAdder cacheHits = new LongAdder();
+    /** Number of addr2line and c++filt lookups asked to the tools */
+    private final LongAdder cacheMisses = new LongAdder();
 
     /**
      * Constructor
@@ -113,57 +228,63 @@ public class STSymbolManager {
     /**
      * @since 4.1
      */
-    public synchronized void reset() {
-        Iterator<Entry<IBinaryObject, AutoDisposeAddr2line>> iter = addr2lines.entrySet().iterator();
+    public void reset() {
+        Iterator<AutoDisposeAddr2line> iter = addr2lines.values().iterator();
         while (iter.hasNext()) {
-            Entry<IBinaryObject, AutoDisposeAddr2line> entry = iter.next();
-            AutoDisposeAddr2line ada2l = entry.getValue();
-            ada2l.addr2line.dispose();
-            ada2l.addr2line = null;
+            AutoDisposeAddr2line ada2l = iter.next();
             iter.remove();
+            ada2l.dispose();
         }
 
-        Iterator<Entry<String, AutoDisposeCPPFilt>> iter2 = cppfilts.entrySet().iterator();
+        Iterator<AutoDisposeCPPFilt> iter2 = cppfilts.values().iterator();
         while (iter2.hasNext()) {
-            Entry<String, AutoDisposeCPPFilt> entry = iter2.next();
-            AutoDisposeCPPFilt adcppf = entry.getValue();
-            adcppf.cppfilt.dispose();
-            adcppf.cppfilt = null;
+            AutoDisposeCPPFilt adcppf = iter2.next();
+            iter2.remove();
+            adcppf.dispose();
         }
+
+        lineTables.clear();
     }
 
     /**
-     * each {@link #AUTO_DISPOSE_TIMEOUT} ms, the unused addr2line and c++filt programs are disposed.
+     * each {@link #AUTO_DISPOSE_TIMEOUT} ms, the unused addr2line and c++filt programs are disposed, with their cached
+     * results.
      */
-    private synchronized void cleanup() {
+    private void cleanup() {
         long currentTime = System.currentTimeMillis();
-        Iterator<Entry<IBinaryObject, AutoDisposeAddr2line>> iter = addr2lines.entrySet().iterator();
-        while (iter.hasNext()) {
-            Entry<IBinaryObject, AutoDisposeAddr2line> entry = iter.next();
+        for (Entry<IBinaryObject, AutoDisposeAddr2line> entry : addr2lines.entrySet()) {
             AutoDisposeAddr2line ada2l = entry.getValue();
             long diff = currentTime - ada2l.startTime;
-            if (diff > AUTO_DISPOSE_TIMEOUT) {
-                if (ada2l.addr2line != null) {
-                    ada2l.addr2line.dispose();
-                    ada2l.addr2line = null;
-                }
-                iter.remove();
+            if (diff > AUTO_DISPOSE_TIMEOUT && addr2lines.remove(entry.getKey(), ada2l)) {
+                ada2l.dispose();
             }
         }
 
-        Iterator<Entry<String, AutoDisposeCPPFilt>> iter2 = cppfilts.entrySet().iterator();
-        while (iter2.hasNext()) {
-            Entry<String, AutoDisposeCPPFilt> entry = iter2.next();
+        for (Entry<String, AutoDisposeCPPFilt> entry : cppfilts.entrySet()) {
             AutoDisposeCPPFilt adcppf = entry.getValue();
             long diff = currentTime - adcppf.startTime;
-            if (diff > AUTO_DISPOSE_TIMEOUT) {
-                if (adcppf.cppfilt != null) {
-                    adcppf.cppfilt.dispose();
-                    adcppf.cppfilt = null;
-                }
-                iter2.remove();
+            if (diff > AUTO_DISPOSE_TIMEOUT && cppfilts.remove(entry.getKey(), adcppf)) {
+                adcppf.dispose();
             }
         }
+
+        lineTables.values().removeIf(adLineTable -> currentTime - adLineTable.startTime > AUTO_DISPOSE_TIMEOUT);
+    }
+
+    /**
+     * @return the number of addr2line and c++filt lookups answered from the cache, since startup
+     * @since 6.1
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * @return the number of addr2line and c++filt lookups which were not in the cache, since startup
+     * @since 6.1
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
     }
 
     /**
@@ -172,7 +293,7 @@ public class STSymbolManager {
      * @param project The project to be
      * @return The demangled symbol.
      */
-    public synchronized String demangle(ISymbol symbol, IProject project) {
+    public String demangle(ISymbol symbol, IProject project) {
         String cpu = symbol.getBinaryObject().getCPU();
         String symbolName = symbol.getName();
         return demangleImpl(symbolName, cpu, project);
@@ -185,11 +306,28 @@ public class STSymbolManager {
      * @param project
      * @return The demangled symbol.
      */
-    public synchronized String demangle(IBinaryObject program, String symbolName, IProject project) {
+    public String demangle(IBinaryObject program, String symbolName, IProject project) {
         String cpu = program.getCPU();
         return demangleImpl(symbolName, cpu, project);
     }
 
+    /**
+     * Whether a symbol may be demangled by c++filt: the names mangled for C++ (<code>_Z</code>, or <code>__Z</code>
+     * on targets adding an underscore), Rust (<code>_R</code>, or <code>_ZN</code> before v0) and D
+     * (<code>_D</code>), and the GNU global constructors (<code>_GLOBAL_</code>). The other names are returned
+     * as they are, without asking c++filt.
+     * @param symbolName
+     * @return <code>true</code> if the name may be mangled
+     */
+    private static boolean isMangled(String symbolName) {
+        int i = symbolName.startsWith("__") ? 2 : 1; //$NON-NLS-1$
+        if (symbolName.length() <= i || symbolName.charAt(0) != '_') {
+            return false;
+        }
+        char c = symbolName.charAt(i);
+        return c == 'Z' || c == 'R' || c == 'D' || c == 'G';
+    }
+
     /**
      * Demangle the given symbol
      * @param symbolName
@@ -198,16 +336,37 @@ public class STSymbolManager {
      * @param symbol
      * @return
      */
-    private synchronized String demangleImpl(String symbolName, String cpu, IProject project) {
-        CPPFilt cppfilt = getCppFilt(cpu, project);
-        if (cppfilt != null && (symbolName.startsWith("_Z") || symbolName.startsWith("_G"))) { //$NON-NLS-1$ //$NON-NLS-2$
-            try {
-                symbolName = cppfilt.getFunction(symbolName);
-            } catch (IOException e) {
-                // TODO: log the error ?
+    private String demangleImpl(String symbolName, String cpu, IProject project) {
+        if (!isMangled(symbolName)) {
+            return symbolName;
+        }
+        while (true) {
+            AutoDisposeCPPFilt adCppfilt = cppfilts.computeIfAbsent(cpu,
+                    c -> new AutoDisposeCPPFilt(new LookupCache<>()));
+            adCppfilt.startTime = System.currentTimeMillis();
+            String demangled = adCppfilt.demangledNames.get(symbolName);
+            if (demangled != null) {
+                return demangled;
+            }
+            synchronized (adCppfilt) {
+                if (adCppfilt.disposed) {
+                    // disposed meanwhile: use the new instance
+                    continue;
+                }
+                CPPFilt cppfilt = getCppFilt(adCppfilt, cpu, project);
+                if (cppfilt == null) {
+                    return symbolName;
+                }
+                try {
+                    demangled = cppfilt.getFunction(symbolName);
+                } catch (IOException e) {
+                    // TODO: log the error ?
+                    return symbolName;
+                }
+                adCppfilt.demangledNames.put(symbolName, demangled);
+                return demangled;
             }
         }
-        return symbolName;
     }
 
     /**
@@ -216,18 +375,38 @@ public class STSymbolManager {
      * @param project
      * @return the line number of the given address
      */
-    public synchronized int getLineNumber(IBinaryObject program, IAddress address, IProject project) {
-        Addr2line addr2line = getAddr2line(program, project);
-        if (addr2line == null) {
-            return -1;
+    public int getLineNumber(IBinaryObject program, IAddress address, IProject project) {
+        DwarfLineTable lineTable = getLineTable(program);
+        if (lineTable != null) {
+            return lineTable.getLineNumber(address.getValue().longValue());
         }
-        try {
-            return addr2line.getLineNumber(address);
-        } catch (IOException e) {
-            // TODO: log the error ?;
-            // Perhaps log the error only once, because
-            // this method is called many many times...
-            return -1;
+        Long key = address.getValue().longValue();
+        while (true) {
+            AutoDisposeAddr2line ada2l = getAutoDisposeAddr2line(program);
+            Integer lineNumber = ada2l.lineNumbers.get(key);
+            if (lineNumber != null) {
+                return lineNumber;
+            }
+            synchronized (ada2l) {
+                if (ada2l.disposed) {
+                    // disposed meanwhile: use the new instance
+                    continue;
+                }
+                Addr2line addr2line = getAddr2line(ada2l, program, project);
+                if (addr2line == null) {
+                    return -1;
+                }
+                try {
+                    lineNumber = addr2line.getLineNumber(address);
+                } catch (IOException e) {
+                    // TODO: log the error ?;
+                    // Perhaps log the error only once, because
+                    // this method is called many many times...
+                    return -1;
+                }
+                ada2l.lineNumbers.put(key, lineNumber);
+                return lineNumber;
+            }
         }
     }
 
@@ -248,18 +427,38 @@ public class STSymbolManager {
      * @param project
      * @return the file name of the given address
      */
-    public synchronized String getFileName(IBinaryObject program, IAddress address, IProject project) {
-        Addr2line addr2line = getAddr2line(program, project);
-        if (addr2line == null) {
-            return null;
+    public String getFileName(IBinaryObject program, IAddress address, IProject project) {
+        DwarfLineTable lineTable = getLineTable(program);
+        if (lineTable != null) {
+            return lineTable.getFileName(address.getValue().longValue());
         }
-        try {
-            return addr2line.getFileName(address);
-        } catch (IOException e) {
-            // TODO: log the error ?;
-            // Perhaps log the error only once, because
-            // this method is called many many times...
-            return null;
+        Long key = address.getValue().longValue();
+        while (true) {
+            AutoDisposeAddr2line ada2l = getAutoDisposeAddr2line(program);
+            String fileName = ada2l.fileNames.get(key);
+            if (fileName != null) {
+                return fileName;
+            }
+            synchronized (ada2l) {
+                if (ada2l.disposed) {
+                    // disposed meanwhile: use the new instance
+                    continue;
+                }
+                Addr2line addr2line = getAddr2line(ada2l, program, project);
+                if (addr2line == null) {
+                    return null;
+                }
+                try {
+                    fileName = addr2line.getFileName(address);
+                } catch (IOException e) {
+                    // TODO: log the error ?;
+                    // Perhaps log the error only once, because
+                    // this method is called many many times...
+                    return null;
+                }
+                ada2l.fileNames.put(key, fileName);
+                return fileName;
+            }
         }
     }
 
@@ -275,19 +474,198 @@ public class STSymbolManager {
     }
 
     /**
-     * Gets the c++filt support for the given program Note that the instance if kept in a local hashmap, and discarded
-     * after 30 seconds of inactivity.
-     * @param cpu
+     * Gets the line numbers of many addresses at once. The addresses which have to be asked to addr2line are sent to
+     * it in a single batch.
+     * @param program
+     * @param addresses
      * @param project
+     * @return the line number of each address, -1 if unknown
+     * @since 6.1
+     */
+    public int[] getLineNumbers(IBinaryObject program, long[] addresses, IProject project) {
+        int[] lineNumbers = new int[addresses.length];
+        getLocations(program, addresses, project, lineNumbers, null);
+        return lineNumbers;
+    }
+
+    /**
+     * Gets the file names of many addresses at once. The addresses which have to be asked to addr2line are sent to
+     * it in a single batch.
      * @param program
-     * @return an instance of CPPFilt suitable for the given program
+     * @param addresses
+     * @param project
+     * @return the file name of each address, null if unknown
+     * @since 6.1
+     */
+    public String[] getFileNames(IBinaryObject program, long[] addresses, IProject project) {
+        String[] fileNames = new String[addresses.length];
+        getLocations(program, addresses, project, null, fileNames);
+        return fileNames;
+    }
+
+    /**
+     * Fills the line numbers, or the file names, of the given addresses.
      */
-    private synchronized CPPFilt getCppFilt(String cpu, IProject project) {
-        AutoDisposeCPPFilt adCppfilt = cppfilts.get(cpu);
-        if (adCppfilt == null) {
-            adCppfilt = new AutoDisposeCPPFilt();
-            cppfilts.put(cpu, adCppfilt);
+    private void getLocations(IBinaryObject program, long[] addresses, IProject project, int[] lineNumbers,
+            String[] fileNames) {
+        DwarfLineTable lineTable = getLineTable(program);
+        if (lineTable != null) {
+            for (int i = 0; i < addresses.length; i++) {
+                if (lineNumbers != null) {
+                    lineNumbers[i] = lineTable.getLineNumber(addresses[i]);
+                } else {
+                    fileNames[i] = lineTable.getFileName(addresses[i]);
+                }
+            }
+            return;
         }
+
+        // look for the addresses in the cache first
+        AutoDisposeAddr2line ada2l = getAutoDisposeAddr2line(program);
+        int[] misses = new int[addresses.length];
+        int nbMisses = 0;
+        for (int i = 0; i < addresses.length; i++) {
+            if (lineNumbers != null) {
+                Integer lineNumber = ada2l.lineNumbers.get(addresses[i]);
+                if (lineNumber != null) {
+                    lineNumbers[i] = lineNumber;
+                    continue;
+                }
+            } else {
+                String fileName = ada2l.fileNames.get(addresses[i]);
+                if (fileName != null) {
+                    fileNames[i] = fileName;
+                    continue;
+                }
+            }
+            misses[nbMisses++] = i;
+        }
+        if (nbMisses == 0) {
+            return;
+        }
+
+        String[] output = null;
+        try {
+            String[] command = STBinutilsFactoryManager.getAddr2lineBatchCommand(program.getCPU(), program.getPath()
+                    .toOSString(), project);
+            if (command != null) {
+                String[] requests = new String[nbMisses];
+                for (int k = 0; k < nbMisses; k++) {
+                    requests[k] = Long.toHexString(addresses[misses[k]]);
+                }
+                output = BinutilsBatch.run(command, requests, 2, project);
+            }
+        } catch (IOException e) {
+            // ask the addresses one at a time
+        }
+        for (int k = 0; k < nbMisses; k++) {
+            int i = misses[k];
+            Long key = addresses[i];
+            // function name, then file:line
+            String location = output == null ? null : output[2 * k + 1];
+            int colon = location == null ? -1 : location.lastIndexOf(':');
+            int lineNumber = colon < 0 ? 0 : parseLineNumber(location, colon + 1);
+            if (lineNumber > 0) {
+                String fileName = location.substring(0, colon);
+                ada2l.lineNumbers.put(key, lineNumber);
+                ada2l.fileNames.put(key, fileName);
+                if (lineNumbers != null) {
+                    lineNumbers[i] = lineNumber;
+                } else {
+                    fileNames[i] = fileName;
+                }
+            } else {
+                // not in the batch, or no line: Addr2line looks for the nearest address having one
+                IAddress address = program.getAddressFactory().createAddress(Long.toString(addresses[i]));
+                if (lineNumbers != null) {
+                    lineNumbers[i] = getLineNumber(program, address, project);
+                } else {
+                    fileNames[i] = getFileName(program, address, project);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number at the given index of an addr2line location, 0 if there is none
+     */
+    private static int parseLineNumber(String location, int index) {
+        int lineNumber = 0;
+        for (int i = index; i < location.length() && lineNumber < Integer.MAX_VALUE / 10; i++) {
+            char c = location.charAt(i);
+            if (c < '0' || c > '9') {
+                // " (discriminator n)"
+                break;
+            }
+            lineNumber = lineNumber * 10 + c - '0';
+        }
+        return lineNumber;
+    }
+
+    /**
+     * Demangle many symbols at once. The symbols which have to be asked to c++filt are sent to it in a single batch.
+     * @param program
+     * @param symbolNames
+     * @param project
+     * @return The demangled symbols.
+     * @since 6.1
+     */
+    public String[] demangle(IBinaryObject program, String[] symbolNames, IProject project) {
+        String cpu = program.getCPU();
+        String[] demangledNames = new String[symbolNames.length];
+        AutoDisposeCPPFilt adCppfilt = cppfilts.computeIfAbsent(cpu, c -> new AutoDisposeCPPFilt(new LookupCache<>()));
+        adCppfilt.startTime = System.currentTimeMillis();
+        int[] misses = new int[symbolNames.length];
+        int nbMisses = 0;
+        for (int i = 0; i < symbolNames.length; i++) {
+            String symbolName = symbolNames[i];
+            if (!isMangled(symbolName)) {
+                demangledNames[i] = symbolName;
+            } else {
+                demangledNames[i] = adCppfilt.demangledNames.get(symbolName);
+                if (demangledNames[i] == null) {
+                    misses[nbMisses++] = i;
+                }
+            }
+        }
+        if (nbMisses == 0) {
+            return demangledNames;
+        }
+
+        String[] output = null;
+        try {
+            String[] command = STBinutilsFactoryManager.getCPPFiltBatchCommand(cpu, project);
+            if (command != null) {
+                String[] requests = new String[nbMisses];
+                for (int k = 0; k < nbMisses; k++) {
+                    requests[k] = symbolNames[misses[k]];
+                }
+                output = BinutilsBatch.run(command, requests, 1, project);
+            }
+        } catch (IOException e) {
+            // ask the symbols one at a time
+        }
+        for (int k = 0; k < nbMisses; k++) {
+            int i = misses[k];
+            if (output != null) {
+                demangledNames[i] = output[k];
+                adCppfilt.demangledNames.put(symbolNames[i], output[k]);
+            } else {
+                demangledNames[i] = demangleImpl(symbolNames[i], cpu, project);
+            }
+        }
+        return demangledNames;
+    }
+
+    /**
+     * Gets the c++filt support for the given CPU. Note that the instance if kept in a local hashmap, and discarded
+     * after 30 seconds of inactivity. The caller must hold the lock of the given {@link AutoDisposeCPPFilt}.
+     * @param adCppfilt
+     * @param cpu
+     * @param project
+     * @return an instance of CPPFilt suitable for the given program
+     */
+    private CPPFilt getCppFilt(AutoDisposeCPPFilt adCppfilt, String cpu, IProject project) {
         if (adCppfilt.cppfilt == null) {
             try {
                 adCppfilt.cppfilt = STBinutilsFactoryManager.getCPPFilt(cpu, project);
@@ -298,23 +676,41 @@ public class STSymbolManager {
                 return null;
             }
         }
-        adCppfilt.startTime = System.currentTimeMillis();
         return adCppfilt.cppfilt;
     }
 
+    /**
+     * Gets the addr2line entry of the given program, with empty results if the program was rebuilt.
+     * @param program
+     * @return the entry of the program in the local hashmap
+     */
+    private AutoDisposeAddr2line getAutoDisposeAddr2line(IBinaryObject program) {
+        File file = program.getPath().toFile();
+        AutoDisposeAddr2line adAddr2line = addr2lines.get(program);
+        if (adAddr2line == null || !adAddr2line.isCurrent(file)) {
+            adAddr2line = addr2lines.compute(program, (p, previous) -> {
+                if (previous != null) {
+                    if (previous.isCurrent(file)) {
+                        return previous;
+                    }
+                    previous.dispose();
+                }
+                return new AutoDisposeAddr2line(file, new LookupCache<>(), new LookupCache<>());
+            });
+        }
+        adAddr2line.startTime = System.currentTimeMillis();
+        return adAddr2line;
+    }
+
     /**
      * Gets the addr2line support for the given program Note that the instance if kept in a local hashmap, and discarded
-     * after 30 seconds of inactivity.
+     * after 30 seconds of inactivity. The caller must hold the lock of the given {@link AutoDisposeAddr2line}.
+     * @param adAddr2line
      * @param program
      * @param project
      * @return an instance of Addr2line suitable for the given program
      */
-    private synchronized Addr2line getAddr2line(IBinaryObject program, IProject project) {
-        AutoDisposeAddr2line adAddr2line = addr2lines.get(program);
-        if (adAddr2line == null) {
-            adAddr2line = new AutoDisposeAddr2line();
-            addr2lines.put(program, adAddr2line);
-        }
+    private Addr2line getAddr2line(AutoDisposeAddr2line adAddr2line, IBinaryObject program, IProject project) {
         if (adAddr2line.addr2line == null) {
             try {
                 adAddr2line.addr2line = STBinutilsFactoryManager.getAddr2line(program.getCPU(), program.getPath()
@@ -326,10 +722,37 @@ public class STSymbolManager {
                 return null;
             }
         }
-        adAddr2line.startTime = System.currentTimeMillis();
         return adAddr2line.addr2line;
     }
 
+    /**
+     * Gets the DWARF line tables of the given program. Note that they are kept in a local map, and discarded after 30
+     * seconds of inactivity, or as soon as the program is rebuilt.
+     * @param program
+     * @return the line tables of the program, or null if it has none
+     */
+    private DwarfLineTable getLineTable(IBinaryObject program) {
+        File file = program.getPath().toFile();
+        String key = file.getAbsolutePath();
+        AutoDisposeLineTable adLineTable = lineTables.get(key);
+        if (adLineTable == null || !adLineTable.isCurrent(file)) {
+            adLineTable = lineTables.compute(key, (path, previous) -> {
+                if (previous != null && previous.isCurrent(file)) {
+                    return previous;
+                }
+                DwarfLineTable lineTable = null;
+                try {
+                    lineTable = DwarfLineTable.open(file);
+                } catch (IOException e) {
+                    // unreadable line tables: fall back to addr2line
+                }
+                return new AutoDisposeLineTable(lineTable, file);
+            });
+        }
+        adLineTable.startTime = System.currentTimeMillis();
+        return adLineTable.lineTable;
+    }
+
     /**
      * Gets the strings support for the given program.
      * @param program
@@ -0,0 +1,908 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.binutils.dwarf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Address to source line resolver reading the DWARF line tables of an ELF binary, as <code>addr2line</code> does.
+ * <p>
+ * The compilation units covering an address are found with <code>.debug_aranges</code>, and the line program of a
+ * unit is only decoded when an address of this unit is looked up. If some units have no address ranges, all of
+ * them are decoded on the first lookup that misses.
+ * </p>
+ * Lookups are thread-safe.
+ */
+public final class DwarfLineTable {
+
+    private static final int DW_UT_COMPILE = 1;
+    private static final int DW_UT_PARTIAL = 3;
+    private static final int DW_UT_SKELETON = 4;
+    private static final int DW_UT_SPLIT_COMPILE = 5;
+
+    private static final int DW_AT_STMT_LIST = 0x10;
+    private static final int DW_AT_COMP_DIR = 0x1b;
+    private static final int DW_AT_STR_OFFSETS_BASE = 0x72;
+
+    private static final int DW_FORM_ADDR = 0x01;
+    private static final int DW_FORM_BLOCK2 = 0x03;
+    private static final int DW_FORM_BLOCK4 = 0x04;
+    private static final int DW_FORM_DATA2 = 0x05;
+    private static final int DW_FORM_DATA4 = 0x06;
+    private static final int DW_FORM_DATA8 = 0x07;
+    private static final int DW_FORM_STRING = 0x08;
+    private static final int DW_FORM_BLOCK = 0x09;
+    private static final int DW_FORM_BLOCK1 = 0x0a;
+    private static final int DW_FORM_DATA1 = 0x0b;
+    private static final int DW_FORM_FLAG = 0x0c;
+    private static final int DW_FORM_SDATA = 0x0d;
+    private static final int DW_FORM_STRP = 0x0e;
+    private static final int DW_FORM_UDATA = 0x0f;
+    private static final int DW_FORM_REF_ADDR = 0x10;
+    private static final int DW_FORM_REF1 = 0x11;
+    private static final int DW_FORM_REF2 = 0x12;
+    private static final int DW_FORM_REF4 = 0x13;
+    private static final int DW_FORM_REF8 = 0x14;
+    private static final int DW_FORM_REF_UDATA = 0x15;
+    private static final int DW_FORM_INDIRECT = 0x16;
+    private static final int DW_FORM_SEC_OFFSET = 0x17;
+    private static final int DW_FORM_EXPRLOC = 0x18;
+    private static final int DW_FORM_FLAG_PRESENT = 0x19;
+    private static final int DW_FORM_STRX = 0x1a;
+    private static final int DW_FORM_ADDRX = 0x1b;
+    private static final int DW_FORM_REF_SUP4 = 0x1c;
+    private static final int DW_FORM_STRP_SUP = 0x1d;
+    private static final int DW_FORM_DATA16 = 0x1e;
+    private static final int DW_FORM_LINE_STRP = 0x1f;
+    private static final int DW_FORM_REF_SIG8 = 0x20;
+    private static final int DW_FORM_IMPLICIT_CONST = 0x21;
+    private static final int DW_FORM_LOCLISTX = 0x22;
+    private static final int DW_FORM_RNGLISTX = 0x23;
+    private static final int DW_FORM_REF_SUP8 = 0x24;
+    private static final int DW_FORM_STRX1 = 0x25;
+    private static final int DW_FORM_STRX2 = 0x26;
+    private static final int DW_FORM_STRX3 = 0x27;
+    private static final int DW_FORM_STRX4 = 0x28;
+    private static final int DW_FORM_ADDRX1 = 0x29;
+    private static final int DW_FORM_ADDRX2 = 0x2a;
+    private static final int DW_FORM_ADDRX3 = 0x2b;
+    private static final int DW_FORM_ADDRX4 = 0x2c;
+    private static final int DW_FORM_GNU_ADDR_INDEX = 0x1f01;
+    private static final int DW_FORM_GNU_STR_INDEX = 0x1f02;
+    private static final int DW_FORM_GNU_REF_ALT = 0x1f20;
+    private static final int DW_FORM_GNU_STRP_ALT = 0x1f21;
+
+    private static final int DW_LNCT_PATH = 1;
+    private static final int DW_LNCT_DIRECTORY_INDEX = 2;
+
+    private static final int DW_LNS_COPY = 1;
+    private static final int DW_LNS_ADVANCE_PC = 2;
+    private static final int DW_LNS_ADVANCE_LINE = 3;
+    private static final int DW_LNS_SET_FILE = 4;
+    private static final int DW_LNS_CONST_ADD_PC = 8;
+    private static final int DW_LNS_FIXED_ADVANCE_PC = 9;
+    private static final int DW_LNE_END_SEQUENCE = 1;
+    private static final int DW_LNE_SET_ADDRESS = 2;
+    private static final int DW_LNE_DEFINE_FILE = 3;
+
+    /** line of the row ending a sequence */
+    private static final int END_SEQUENCE = -1;
+
+    private final ElfDebugSections sections;
+
+    /** compilation units, by offset in .debug_info */
+    private final Map<Long, Unit> units = new HashMap<>();
+    /** address ranges of the units, sorted by start address */
+    private final Ranges ranges;
+    /** whether every unit has address ranges in .debug_aranges */
+    private final boolean rangesComplete;
+    /** address ranges of the line sequences of all units, built on the first lookup missing {@link #ranges} */
+    private volatile Ranges allRanges;
+
+    private static final class Unit {
+        private final long infoOffset;
+        private long lineOffset = -1;
+        private String compDir;
+        /* rows sorted by address: a row is valid until the address of the next one */
+        private long[] addresses;
+        private int[] files;
+        private int[] lines;
+        private String[] fileNames;
+
+        Unit(long infoOffset) {
+            this.infoOffset = infoOffset;
+        }
+    }
+
+    private static final class Ranges {
+        private final long[] starts;
+        private final long[] ends;
+        /* greatest end of the ranges up to an index, to find overlapping ranges */
+        private final long[] maxEnds;
+        private final Unit[] rangeUnits;
+
+        Ranges(List<long[]> list, List<Unit> listUnits) {
+            Integer[] order = new Integer[list.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compareUnsigned(list.get(a)[0], list.get(b)[0]));
+            starts = new long[order.length];
+            ends = new long[order.length];
+            maxEnds = new long[order.length];
+            rangeUnits = new Unit[order.length];
+            for (int i = 0; i < order.length; i++) {
+                starts[i] = list.get(order[i])[0];
+                ends[i] = list.get(order[i])[1];
+                maxEnds[i] = i == 0 || Long.compareUnsigned(ends[i], maxEnds[i - 1]) > 0 ? ends[i] : maxEnds[i - 1];
+                rangeUnits[i] = listUnits.get(order[i]);
+            }
+        }
+
+        Unit find(long address) {
+            int i = upperBound(starts, starts.length, address) - 1;
+            for (; i >= 0 && Long.compareUnsigned(maxEnds[i], address) > 0; i--) {
+                if (Long.compareUnsigned(address, ends[i]) < 0) {
+                    return rangeUnits[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    private DwarfLineTable(ElfDebugSections sections) {
+        this.sections = sections;
+
+        List<long[]> list = new ArrayList<>();
+        List<Unit> listUnits = new ArrayList<>();
+        ByteBuffer aranges = sections.get(".debug_aranges"); //$NON-NLS-1$
+        if (aranges != null) {
+            readAranges(aranges, list, listUnits);
+        }
+        this.ranges = new Ranges(list, listUnits);
+        this.rangesComplete = aranges != null && units.keySet().containsAll(readUnitOffsets());
+    }
+
+    /**
+     * Open the line tables of a binary.
+     * @param file an ELF binary
+     * @return the line tables, or <code>null</code> if the binary is not an ELF file or has no DWARF line table
+     * @throws IOException
+     */
+    public static DwarfLineTable open(File file) throws IOException {
+        ElfDebugSections sections = ElfDebugSections.read(file);
+        if (sections == null || sections.get(".debug_line") == null || sections.get(".debug_info") == null //$NON-NLS-1$ //$NON-NLS-2$
+                || sections.get(".debug_abbrev") == null) { //$NON-NLS-1$
+            return null;
+        }
+        try {
+            return new DwarfLineTable(sections);
+        } catch (RuntimeException e) {
+            // malformed DWARF
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @param address an address in the binary
+     * @return the path of the source file of the address, or <code>null</code> if unknown
+     */
+    public String getFileName(long address) {
+        Unit unit = findUnit(address);
+        if (unit == null) {
+            return null;
+        }
+        int row = findRow(unit, address);
+        if (row < 0) {
+            return null;
+        }
+        int f = unit.files[row];
+        return f >= 0 && f < unit.fileNames.length ? unit.fileNames[f] : null;
+    }
+
+    /**
+     * @param address an address in the binary
+     * @return the line of the address, or -1 if unknown
+     */
+    public int getLineNumber(long address) {
+        Unit unit = findUnit(address);
+        if (unit == null) {
+            return -1;
+        }
+        int row = findRow(unit, address);
+        return row < 0 ? -1 : unit.lines[row];
+    }
+
+    private Unit findUnit(long address) {
+        Unit unit = ranges.find(address);
+        if (unit == null && !rangesComplete) {
+            Ranges all = allRanges;
+            if (all == null) {
+                synchronized (this) {
+                    all = allRanges;
+                    if (all == null) {
+                        all = readAllRanges();
+                        allRanges = all;
+                    }
+                }
+            }
+            unit = all.find(address);
+        }
+        if (unit != null) {
+            synchronized (unit) {
+                if (unit.addresses == null) {
+                    decode(unit);
+                }
+            }
+        }
+        return unit;
+    }
+
+    private static int findRow(Unit unit, long address) {
+        int row = upperBound(unit.addresses, unit.addresses.length, address) - 1;
+        if (row < 0 || unit.lines[row] == END_SEQUENCE) {
+            return -1;
+        }
+        return row;
+    }
+
+    /**
+     * @return the index of the first value greater than the key, in unsigned order
+     */
+    private static int upperBound(long[] values, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(values[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private synchronized Unit getUnit(long infoOffset) {
+        return units.computeIfAbsent(infoOffset, Unit::new);
+    }
+
+    private void readAranges(ByteBuffer aranges, List<long[]> list, List<Unit> listUnits) {
+        while (aranges.remaining() > 4) {
+            int start = aranges.position();
+            long unitLength = aranges.getInt() & 0xFFFFFFFFL;
+            boolean dwarf64 = unitLength == 0xFFFFFFFFL;
+            if (dwarf64) {
+                unitLength = aranges.getLong();
+            }
+            int end = aranges.position() + (int) unitLength;
+            aranges.getShort(); // version
+            long infoOffset = dwarf64 ? aranges.getLong() : aranges.getInt() & 0xFFFFFFFFL;
+            int addressSize = aranges.get();
+            int segmentSize = aranges.get();
+            // tuples are aligned on twice the address size
+            int tupleSize = 2 * addressSize;
+            int header = aranges.position() - start;
+            if (tupleSize > 0 && header % tupleSize != 0) {
+                aranges.position(aranges.position() + tupleSize - header % tupleSize);
+            }
+            Unit unit = getUnit(infoOffset);
+            while (aranges.position() + segmentSize + tupleSize <= end) {
+                aranges.position(aranges.position() + segmentSize);
+                long address = readAddress(aranges, addressSize);
+                long size = readAddress(aranges, addressSize);
+                if (address == 0 && size == 0) {
+                    break;
+                }
+                if (size != 0) {
+                    list.add(new long[] { address, address + size });
+                    listUnits.add(unit);
+                }
+            }
+            aranges.position(end);
+        }
+    }
+
+    private List<Long> readUnitOffsets() {
+        List<Long> offsets = new ArrayList<>();
+        ByteBuffer info = sections.get(".debug_info"); //$NON-NLS-1$
+        while (info.remaining() > 4) {
+            int start = info.position();
+            long unitLength = info.getInt() & 0xFFFFFFFFL;
+            if (unitLength == 0xFFFFFFFFL) {
+                unitLength = info.getLong();
+            }
+            long end = info.position() + unitLength;
+            int version = info.getShort();
+            if (version < 5 || isCompileUnit(info.get())) {
+                offsets.add((long) start);
+            }
+            if (end > info.limit()) {
+                break;
+            }
+            info.position((int) end);
+        }
+        return offsets;
+    }
+
+    private static boolean isCompileUnit(int unitType) {
+        return unitType == DW_UT_COMPILE || unitType == DW_UT_PARTIAL || unitType == DW_UT_SKELETON
+                || unitType == DW_UT_SPLIT_COMPILE;
+    }
+
+    private Ranges readAllRanges() {
+        List<long[]> list = new ArrayList<>();
+        List<Unit> listUnits = new ArrayList<>();
+        for (long offset : readUnitOffsets()) {
+            Unit unit = getUnit(offset);
+            synchronized (unit) {
+                if (unit.addresses == null) {
+                    decode(unit);
+                }
+            }
+            // one range per sequence
+            int first = 0;
+            for (int row = 0; row < unit.addresses.length; row++) {
+                if (unit.lines[row] == END_SEQUENCE) {
+                    list.add(new long[] { unit.addresses[first], unit.addresses[row] });
+                    listUnits.add(unit);
+                    first = row + 1;
+                }
+            }
+        }
+        return new Ranges(list, listUnits);
+    }
+
+    private void decode(Unit unit) {
+        unit.addresses = new long[0];
+        unit.files = new int[0];
+        unit.lines = new int[0];
+        unit.fileNames = new String[0];
+        try {
+            readUnitDie(unit);
+            if (unit.lineOffset >= 0) {
+                readLineProgram(unit);
+            }
+        } catch (RuntimeException e) {
+            // malformed unit: no line information
+        }
+    }
+
+    /**
+     * Read the attributes of the first entry of a compilation unit which locate its line program.
+     */
+    private void readUnitDie(Unit unit) {
+        ByteBuffer info = sections.get(".debug_info"); //$NON-NLS-1$
+        info.position((int) unit.infoOffset);
+        long unitLength = info.getInt() & 0xFFFFFFFFL;
+        boolean dwarf64 = unitLength == 0xFFFFFFFFL;
+        if (dwarf64) {
+            unitLength = info.getLong();
+        }
+        int version = info.getShort();
+        long abbrevOffset;
+        int addressSize;
+        if (version >= 5) {
+            int unitType = info.get();
+            if (!isCompileUnit(unitType)) {
+                return;
+            }
+            addressSize = info.get();
+            abbrevOffset = readOffset(info, dwarf64);
+            if (unitType == DW_UT_SKELETON || unitType == DW_UT_SPLIT_COMPILE) {
+                info.getLong(); // dwo id
+            }
+        } else {
+            abbrevOffset = readOffset(info, dwarf64);
+            addressSize = info.get();
+        }
+        long code = readULEB128(info);
+        if (code == 0) {
+            return;
+        }
+
+        // find the abbreviation of the entry
+        ByteBuffer abbrev = sections.get(".debug_abbrev"); //$NON-NLS-1$
+        abbrev.position((int) abbrevOffset);
+        while (true) {
+            long c = readULEB128(abbrev);
+            if (c == 0) {
+                return;
+            }
+            readULEB128(abbrev); // tag
+            abbrev.get(); // children
+            if (c == code) {
+                break;
+            }
+            while (readULEB128(abbrev) != 0 | skipAbbrevForm(abbrev) != 0) {
+                // skip the attribute specifications of another abbreviation
+            }
+        }
+
+        long compDirStrx = -1;
+        long strOffsetsBase = 8;
+        while (true) {
+            int attribute = (int) readULEB128(abbrev);
+            int form = (int) readULEB128(abbrev);
+            if (attribute == 0 && form == 0) {
+                break;
+            }
+            if (form == DW_FORM_IMPLICIT_CONST) {
+                long value = readSLEB128(abbrev);
+                if (attribute == DW_AT_STMT_LIST) {
+                    unit.lineOffset = value;
+                }
+                continue;
+            }
+            if (form == DW_FORM_INDIRECT) {
+                form = (int) readULEB128(info);
+            }
+            if (attribute == DW_AT_STMT_LIST) {
+                unit.lineOffset = readUnsigned(info, form, dwarf64, addressSize, version);
+            } else if (attribute == DW_AT_STR_OFFSETS_BASE) {
+                strOffsetsBase = readUnsigned(info, form, dwarf64, addressSize, version);
+            } else if (attribute == DW_AT_COMP_DIR) {
+                if (isStrx(form)) {
+                    compDirStrx = readUnsigned(info, form, dwarf64, addressSize, version);
+                } else {
+                    unit.compDir = readString(info, form, dwarf64);
+                }
+            } else {
+                skipForm(info, form, dwarf64, addressSize, version);
+            }
+        }
+        if (compDirStrx >= 0) {
+            ByteBuffer strOffsets = sections.get(".debug_str_offsets"); //$NON-NLS-1$
+            if (strOffsets != null) {
+                int entry = (int) (strOffsetsBase + compDirStrx * (dwarf64 ? 8 : 4));
+                long offset = dwarf64 ? strOffsets.getLong(entry) : strOffsets.getInt(entry) & 0xFFFFFFFFL;
+                unit.compDir = stringAt(".debug_str", offset); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * @return the form of the attribute specification, after its implicit constant
+     */
+    private static long skipAbbrevForm(ByteBuffer abbrev) {
+        long form = readULEB128(abbrev);
+        if (form == DW_FORM_IMPLICIT_CONST) {
+            readSLEB128(abbrev);
+        }
+        return form;
+    }
+
+    private static boolean isStrx(int form) {
+        return form == DW_FORM_STRX || form == DW_FORM_STRX1 || form == DW_FORM_STRX2 || form == DW_FORM_STRX3
+                || form == DW_FORM_STRX4 || form == DW_FORM_GNU_STR_INDEX;
+    }
+
+    private String readString(ByteBuffer buffer, int form, boolean dwarf64) {
+        switch (form) {
+        case DW_FORM_STRING:
+            return readCString(buffer);
+        case DW_FORM_STRP:
+            return stringAt(".debug_str", readOffset(buffer, dwarf64)); //$NON-NLS-1$
+        case DW_FORM_LINE_STRP:
+            return stringAt(".debug_line_str", readOffset(buffer, dwarf64)); //$NON-NLS-1$
+        default:
+            skipForm(buffer, form, dwarf64, 0, 5);
+            return null;
+        }
+    }
+
+    private String stringAt(String section, long offset) {
+        ByteBuffer buffer = sections.get(section);
+        return buffer == null ? null : ElfDebugSections.readString(buffer, offset);
+    }
+
+    private static long readUnsigned(ByteBuffer buffer, int form, boolean dwarf64, int addressSize, int version) {
+        switch (form) {
+        case DW_FORM_DATA1:
+        case DW_FORM_STRX1:
+        case DW_FORM_ADDRX1:
+        case DW_FORM_REF1:
+        case DW_FORM_FLAG:
+            return buffer.get() & 0xFFL;
+        case DW_FORM_DATA2:
+        case DW_FORM_STRX2:
+        case DW_FORM_ADDRX2:
+        case DW_FORM_REF2:
+            return buffer.getShort() & 0xFFFFL;
+        case DW_FORM_STRX3:
+        case DW_FORM_ADDRX3:
+            return readUnsigned24(buffer);
+        case DW_FORM_DATA4:
+        case DW_FORM_STRX4:
+        case DW_FORM_ADDRX4:
+        case DW_FORM_REF4:
+        case DW_FORM_REF_SUP4:
+            return buffer.getInt() & 0xFFFFFFFFL;
+        case DW_FORM_DATA8:
+        case DW_FORM_REF8:
+        case DW_FORM_REF_SIG8:
+        case DW_FORM_REF_SUP8:
+            return buffer.getLong();
+        case DW_FORM_UDATA:
+        case DW_FORM_STRX:
+        case DW_FORM_ADDRX:
+        case DW_FORM_REF_UDATA:
+        case DW_FORM_LOCLISTX:
+        case DW_FORM_RNGLISTX:
+        case DW_FORM_GNU_ADDR_INDEX:
+        case DW_FORM_GNU_STR_INDEX:
+            return readULEB128(buffer);
+        case DW_FORM_SDATA:
+            return readSLEB128(buffer);
+        case DW_FORM_SEC_OFFSET:
+        case DW_FORM_STRP:
+        case DW_FORM_LINE_STRP:
+        case DW_FORM_STRP_SUP:
+        case DW_FORM_GNU_REF_ALT:
+        case DW_FORM_GNU_STRP_ALT:
+            return readOffset(buffer, dwarf64);
+        case DW_FORM_ADDR:
+            return readAddress(buffer, addressSize);
+        case DW_FORM_REF_ADDR:
+            return version <= 2 ? readAddress(buffer, addressSize) : readOffset(buffer, dwarf64);
+        default:
+            skipForm(buffer, form, dwarf64, addressSize, version);
+            return -1;
+        }
+    }
+
+    private static void skipForm(ByteBuffer buffer, int form, boolean dwarf64, int addressSize, int version) {
+        switch (form) {
+        case DW_FORM_STRING:
+            readCString(buffer);
+            break;
+        case DW_FORM_BLOCK1:
+            skip(buffer, buffer.get() & 0xFF);
+            break;
+        case DW_FORM_BLOCK2:
+            skip(buffer, buffer.getShort() & 0xFFFF);
+            break;
+        case DW_FORM_BLOCK4:
+            skip(buffer, buffer.getInt());
+            break;
+        case DW_FORM_BLOCK:
+        case DW_FORM_EXPRLOC:
+            skip(buffer, (int) readULEB128(buffer));
+            break;
+        case DW_FORM_DATA16:
+            skip(buffer, 16);
+            break;
+        case DW_FORM_FLAG_PRESENT:
+        case DW_FORM_IMPLICIT_CONST:
+            break;
+        case DW_FORM_INDIRECT:
+            skipForm(buffer, (int) readULEB128(buffer), dwarf64, addressSize, version);
+            break;
+        default:
+            if (readUnsigned(buffer, form, dwarf64, addressSize, version) == -1 && !isKnownForm(form)) {
+                throw new IllegalArgumentException("DW_FORM " + form); //$NON-NLS-1$
+            }
+            break;
+        }
+    }
+
+    private static boolean isKnownForm(int form) {
+        return (form >= DW_FORM_ADDR && form <= DW_FORM_ADDRX4 && form != 0x02) || form == DW_FORM_GNU_ADDR_INDEX
+                || form == DW_FORM_GNU_STR_INDEX || form == DW_FORM_GNU_REF_ALT || form == DW_FORM_GNU_STRP_ALT;
+    }
+
+    private void readLineProgram(Unit unit) {
+        ByteBuffer line = sections.get(".debug_line"); //$NON-NLS-1$
+        line.position((int) unit.lineOffset);
+        long unitLength = line.getInt() & 0xFFFFFFFFL;
+        boolean dwarf64 = unitLength == 0xFFFFFFFFL;
+        if (dwarf64) {
+            unitLength = line.getLong();
+        }
+        int end = line.position() + (int) unitLength;
+        int version = line.getShort();
+        int addressSize = 8;
+        if (version >= 5) {
+            addressSize = line.get();
+            line.get(); // segment selector size
+        }
+        long headerLength = readOffset(line, dwarf64);
+        int programStart = line.position() + (int) headerLength;
+        int minInstLength = line.get() & 0xFF;
+        if (version >= 4) {
+            line.get(); // maximum operations per instruction
+        }
+        line.get(); // default is_stmt
+        int lineBase = line.get();
+        int lineRange = line.get() & 0xFF;
+        int opcodeBase = line.get() & 0xFF;
+        int[] opcodeLengths = new int[opcodeBase];
+        for (int i = 1; i < opcodeBase; i++) {
+            opcodeLengths[i] = line.get() & 0xFF;
+        }
+
+        List<String> dirs = new ArrayList<>();
+        List<String> fileNames = new ArrayList<>();
+        if (version >= 5) {
+            for (String[] entry : readEntries(line, dwarf64)) {
+                dirs.add(entry[0]);
+            }
+            for (String[] entry : readEntries(line, dwarf64)) {
+                fileNames.add(concat(unit, dirs, entry[0], entry[1] == null ? 0 : Integer.parseInt(entry[1]), true));
+            }
+        } else {
+            // file and directory 0 are the compilation unit ones
+            dirs.add(unit.compDir);
+            for (String dir = readCString(line); !dir.isEmpty(); dir = readCString(line)) {
+                dirs.add(dir);
+            }
+            fileNames.add(null);
+            for (String name = readCString(line); !name.isEmpty(); name = readCString(line)) {
+                fileNames.add(concat(unit, dirs, name, (int) readULEB128(line), false));
+                readULEB128(line); // modification time
+                readULEB128(line); // length
+            }
+        }
+        line.position(programStart);
+
+        List<long[]> sequences = new ArrayList<>();
+        SequenceBuilder seq = new SequenceBuilder();
+        long address = 0;
+        int file = 1;
+        int lineNo = 1;
+        while (line.position() < end) {
+            int opcode = line.get() & 0xFF;
+            if (opcode >= opcodeBase) {
+                int adjusted = opcode - opcodeBase;
+                address += (adjusted / lineRange) * (long) minInstLength;
+                lineNo += lineBase + adjusted % lineRange;
+                seq.add(address, file, lineNo);
+            } else if (opcode == 0) {
+                int length = (int) readULEB128(line);
+                int next = line.position() + length;
+                int sub = length > 0 ? line.get() & 0xFF : 0;
+                if (sub == DW_LNE_END_SEQUENCE) {
+                    seq.add(address, file, END_SEQUENCE);
+                    seq.finish(sequences);
+                    address = 0;
+                    file = 1;
+                    lineNo = 1;
+                } else if (sub == DW_LNE_SET_ADDRESS) {
+                    address = readAddress(line, length - 1);
+                } else if (sub == DW_LNE_DEFINE_FILE) {
+                    String name = readCString(line);
+                    fileNames.add(concat(unit, dirs, name, (int) readULEB128(line), version >= 5));
+                }
+                line.position(next);
+            } else if (opcode == DW_LNS_COPY) {
+                seq.add(address, file, lineNo);
+            } else if (opcode == DW_LNS_ADVANCE_PC) {
+                address += readULEB128(line) * minInstLength;
+            } else if (opcode == DW_LNS_ADVANCE_LINE) {
+                lineNo += (int) readSLEB128(line);
+            } else if (opcode == DW_LNS_SET_FILE) {
+                file = (int) readULEB128(line);
+            } else if (opcode == DW_LNS_CONST_ADD_PC) {
+                address += ((255 - opcodeBase) / lineRange) * (long) minInstLength;
+            } else if (opcode == DW_LNS_FIXED_ADVANCE_PC) {
+                address += line.getShort() & 0xFFFF;
+            } else {
+                // set_column, negate_stmt, set_basic_block, prologue_end, epilogue_begin, set_isa, or unknown
+                for (int i = 0; i < opcodeLengths[opcode]; i++) {
+                    readULEB128(line);
+                }
+            }
+        }
+
+        // sort the sequences by start address, the end of a sequence before the start of the next one
+        sequences.sort((a, b) -> Long.compareUnsigned(a[0], b[0]));
+        int size = 0;
+        for (long[] s : sequences) {
+            size += (s.length - 1) / 3;
+        }
+        long[] addresses = new long[size];
+        int[] files = new int[size];
+        int[] lines = new int[size];
+        int row = 0;
+        for (long[] s : sequences) {
+            for (int i = 1; i < s.length; i += 3) {
+                addresses[row] = s[i];
+                files[row] = (int) s[i + 1];
+                lines[row] = (int) s[i + 2];
+                row++;
+            }
+        }
+        unit.fileNames = fileNames.toArray(new String[0]);
+        unit.files = files;
+        unit.lines = lines;
+        unit.addresses = addresses;
+    }
+
+    /**
+     * Rows of the line sequence being decoded. Of several rows at the same address, only the last one is kept.
+     */
+    private static final class SequenceBuilder {
+        private long[] rows = new long[1 + 3 * 64];
+        private int size = 1;
+
+        void add(long address, int file, int line) {
+            if (size > 1 && rows[size - 3] == address && rows[size - 1] != END_SEQUENCE) {
+                size -= 3;
+            }
+            if (size + 3 > rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[size++] = address;
+            rows[size++] = file;
+            rows[size++] = line;
+        }
+
+        /**
+         * Add the sequence to a list, as its start address followed by (address, file, line) rows.
+         */
+        void finish(List<long[]> sequences) {
+            if (size > 4) {
+                long[] sequence = Arrays.copyOf(rows, size);
+                sequence[0] = rows[1];
+                sequences.add(sequence);
+            }
+            size = 1;
+        }
+    }
+
+    /**
+     * Read the directory or file entries of a DWARF 5 line program header.
+     * @return the path and directory index of each entry
+     */
+    private List<String[]> readEntries(ByteBuffer line, boolean dwarf64) {
+        int formatCount = line.get() & 0xFF;
+        int[] contentTypes = new int[formatCount];
+        int[] forms = new int[formatCount];
+        for (int i = 0; i < formatCount; i++) {
+            contentTypes[i] = (int) readULEB128(line);
+            forms[i] = (int) readULEB128(line);
+        }
+        int count = (int) readULEB128(line);
+        List<String[]> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] entry = new String[2];
+            for (int j = 0; j < formatCount; j++) {
+                if (contentTypes[j] == DW_LNCT_PATH) {
+                    entry[0] = readString(line, forms[j], dwarf64);
+                } else if (contentTypes[j] == DW_LNCT_DIRECTORY_INDEX) {
+                    entry[1] = Long.toString(readUnsigned(line, forms[j], dwarf64, 0, 5));
+                } else {
+                    skipForm(line, forms[j], dwarf64, 0, 5);
+                }
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Build the path of a file as addr2line does: relative names are resolved against their directory, and relative
+     * directories against the compilation directory.
+     */
+    private static String concat(Unit unit, List<String> dirs, String name, int dir, boolean dwarf5) {
+        if (name == null || isAbsolute(name)) {
+            return name;
+        }
+        String subdir = null;
+        if ((dwarf5 || dir > 0) && dir < dirs.size()) {
+            subdir = dirs.get(dir);
+        }
+        String dirName = null;
+        if (subdir == null || !isAbsolute(subdir)) {
+            dirName = unit.compDir;
+        }
+        if (dirName == null) {
+            dirName = subdir;
+            subdir = null;
+        }
+        if (dirName == null) {
+            return name;
+        }
+        if (subdir != null && !subdir.isEmpty()) {
+            return dirName + '/' + subdir + '/' + name;
+        }
+        return dirName + '/' + name;
+    }
+
+    private static boolean isAbsolute(String path) {
+        return path.startsWith("/") || (path.length() > 2 && path.charAt(1) == ':'); //$NON-NLS-1$
+    }
+
+    private static long readOffset(ByteBuffer buffer, boolean dwarf64) {
+        return dwarf64 ? buffer.getLong() : buffer.getInt() & 0xFFFFFFFFL;
+    }
+
+    private static long readAddress(ByteBuffer buffer, int size) {
+        switch (size) {
+        case 1:
+            return buffer.get() & 0xFFL;
+        case 2:
+            return buffer.getShort() & 0xFFFFL;
+        case 4:
+            return buffer.getInt() & 0xFFFFFFFFL;
+        case 8:
+            return buffer.getLong();
+        default:
+            skip(buffer, size);
+            return 0;
+        }
+    }
+
+    private static long readUnsigned24(ByteBuffer buffer) {
+        int b0 = buffer.get() & 0xFF;
+        int b1 = buffer.get() & 0xFF;
+        int b2 = buffer.get() & 0xFF;
+        if (buffer.order() == ByteOrder.LITTLE_ENDIAN) {
+            return b0 | (b1 << 8) | (b2 << 16);
+        }
+        return (b0 << 16) | (b1 << 8) | b2;
+    }
+
+    private static void skip(ByteBuffer buffer, int n) {
+        buffer.position(buffer.position() + n);
+    }
+
+    private static String readCString(ByteBuffer buffer) {
+        String s = ElfDebugSections.readString(buffer, buffer.position());
+        int end = buffer.position();
+        while (buffer.get(end) != 0) {
+            end++;
+        }
+        buffer.position(end + 1);
+        return s;
+    }
+
+    private static long readULEB128(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            if (shift < 64) {
+                result |= (long) (b & 0x7F) << shift;
+            }
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    private static long readSLEB128(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            if (shift < 64) {
+                result |= (long) (b & 0x7F) << shift;
+            }
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (shift < 64 && (b & 0x40) != 0) {
+            result |= -1L << shift;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.binutils.dwarf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The DWARF sections of an ELF file, memory-mapped. Sections compressed with zlib are inflated in memory.
+ */
+final class ElfDebugSections {
+
+    private static final int SHT_NOBITS = 8;
+    private static final long SHF_COMPRESSED = 0x800;
+    private static final int ELFCOMPRESS_ZLIB = 1;
+
+    private final ByteOrder order;
+    private final Map<String, ByteBuffer> sections = new HashMap<>();
+
+    private ElfDebugSections(ByteOrder order) {
+        this.order = order;
+    }
+
+    /**
+     * Map the sections whose name starts with <code>.debug_</code>.
+     * @param file an ELF file
+     * @return the sections, or <code>null</code> if the file is not an ELF file
+     * @throws IOException
+     */
+    static ElfDebugSections read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer ident = read(channel, 0, 16, ByteOrder.BIG_ENDIAN);
+            if (ident == null || ident.getInt(0) != 0x7F454C46) {
+                return null;
+            }
+            boolean elf64 = ident.get(4) == 2;
+            ByteOrder order = ident.get(5) == 2 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+            ByteBuffer header = read(channel, 0, elf64 ? 64 : 52, order);
+            if (header == null) {
+                return null;
+            }
+            long shoff = elf64 ? header.getLong(0x28) : header.getInt(0x20) & 0xFFFFFFFFL;
+            int shentsize = header.getShort(elf64 ? 0x3A : 0x2E) & 0xFFFF;
+            int shnum = header.getShort(elf64 ? 0x3C : 0x30) & 0xFFFF;
+            int shstrndx = header.getShort(elf64 ? 0x3E : 0x32) & 0xFFFF;
+            if (shoff == 0 || shentsize < (elf64 ? 64 : 40)) {
+                return null;
+            }
+            if (shnum == 0 || shstrndx == 0xFFFF) {
+                // extended numbering: the real values are in the first section header
+                ByteBuffer first = read(channel, shoff, shentsize, order);
+                if (first == null) {
+                    return null;
+                }
+                if (shnum == 0) {
+                    shnum = (int) (elf64 ? first.getLong(32) : first.getInt(20) & 0xFFFFFFFFL);
+                }
+                if (shstrndx == 0xFFFF) {
+                    shstrndx = first.getInt(elf64 ? 40 : 24);
+                }
+            }
+            ByteBuffer headers = read(channel, shoff, (long) shnum * shentsize, order);
+            if (headers == null || shstrndx >= shnum) {
+                return null;
+            }
+            int strBase = shstrndx * shentsize;
+            ByteBuffer names = read(channel, offset(headers, strBase, elf64), size(headers, strBase, elf64),
+                    order);
+            if (names == null) {
+                return null;
+            }
+
+            ElfDebugSections debug = new ElfDebugSections(order);
+            for (int i = 0; i < shnum; i++) {
+                int base = i * shentsize;
+                String name = readString(names, headers.getInt(base));
+                if (!name.startsWith(".debug_") || headers.getInt(base + 4) == SHT_NOBITS) { //$NON-NLS-1$
+                    continue;
+                }
+                long flags = elf64 ? headers.getLong(base + 8) : headers.getInt(base + 8) & 0xFFFFFFFFL;
+                long offset = offset(headers, base, elf64);
+                long size = size(headers, base, elf64);
+                if (offset + size > channel.size() || size > Integer.MAX_VALUE) {
+                    continue;
+                }
+                ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, offset, size).order(order);
+                if ((flags & SHF_COMPRESSED) != 0) {
+                    data = inflate(data, elf64, order);
+                    if (data == null) {
+                        continue;
+                    }
+                }
+                debug.sections.put(name, data);
+            }
+            return debug;
+        }
+    }
+
+    private static long offset(ByteBuffer headers, int base, boolean elf64) {
+        return elf64 ? headers.getLong(base + 24) : headers.getInt(base + 16) & 0xFFFFFFFFL;
+    }
+
+    private static long size(ByteBuffer headers, int base, boolean elf64) {
+        return elf64 ? headers.getLong(base + 32) : headers.getInt(base + 20) & 0xFFFFFFFFL;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, long length, ByteOrder order)
+            throws IOException {
+        if (position < 0 || length < 0 || length > Integer.MAX_VALUE || position + length > channel.size()) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length).order(order);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuffer inflate(ByteBuffer data, boolean elf64, ByteOrder order) throws IOException {
+        int headerSize = elf64 ? 24 : 12;
+        if (data.limit() < headerSize || data.getInt(0) != ELFCOMPRESS_ZLIB) {
+            return null;
+        }
+        long size = elf64 ? data.getLong(8) : data.getInt(4) & 0xFFFFFFFFL;
+        if (size > Integer.MAX_VALUE) {
+            return null;
+        }
+        byte[] out = new byte[(int) size];
+        Inflater inflater = new Inflater();
+        try {
+            data.position(headerSize);
+            inflater.setInput(data);
+            int n = 0;
+            while (n < out.length && !inflater.finished()) {
+                int inflated = inflater.inflate(out, n, out.length - n);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += inflated;
+            }
+            if (n != out.length) {
+                throw new IOException();
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(out).order(order);
+    }
+
+    /**
+     * Read a NUL-terminated UTF-8 string.
+     * @param buffer a section
+     * @param offset offset of the string in the section
+     * @return the string, empty if the offset is out of the section
+     */
+    static String readString(ByteBuffer buffer, long offset) {
+        if (offset < 0 || offset >= buffer.limit()) {
+            return ""; //$NON-NLS-1$
+        }
+        int start = (int) offset;
+        int end = start;
+        while (end < buffer.limit() && buffer.get(end) != 0) {
+            end++;
+        }
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param name name of a section, like <code>.debug_line</code>
+     * @return a new buffer on the section, positioned at its start, or <code>null</code> if there is no such
+     *         section
+     */
+    ByteBuffer get(String name) {
+        ByteBuffer section = sections.get(name);
+        return section == null ? null : section.duplicate().order(order);
+    }
+}
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataEntry;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataSet;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.row.RowDataSet;
@@ -168,6 +169,34 @@ public class RowDataSetTest  {
         assertEquals(entry0, data.getEntry(0));
     }
 
+    @Test
+    public void testCapacity() {
+        RowDataSet ring = new RowDataSet(new String[] {"a", "b"}, 3);
+        for (int i = 0; i < 5; i++) {
+            RowEntry entry = new RowEntry();
+            entry.putRow(0, new String[] {Integer.toString(i), i == 3 ? "x" : "1" + i});
+            ring.append(entry);
+        }
+        assertEquals(3, ring.getEntryCount());
+        assertEquals("2", ring.getRow(0)[0]);
+        assertEquals("x", ring.getRow(1)[1]);
+        assertEquals("14", ring.getRow(2)[1]);
+
+        Object[] col = ring.getHistoricalData(null, IDataSet.COL_ROW_NUM);
+        assertEquals("3", col[0].toString());
+        assertEquals("5", col[2].toString());
+
+        IDataColumn view = ring.getColumnView(null, 0);
+        assertEquals(3, view.size());
+        assertEquals(2.0, view.getDouble(0), 0);
+        assertEquals("4", view.get(2));
+        assertTrue(Double.isNaN(ring.getColumnView(null, 1).getDouble(1)));
+
+        assertTrue(ring.remove(ring.getEntry(1)));
+        assertEquals(2, ring.getEntryCount());
+        assertEquals("4", ring.getRow(1)[0]);
+    }
+
     private RowDataSet data;
     private RowEntry entry0;
 }
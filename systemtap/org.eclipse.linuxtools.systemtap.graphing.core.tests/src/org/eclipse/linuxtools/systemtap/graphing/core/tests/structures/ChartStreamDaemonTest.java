@@ -13,10 +13,14 @@
 
 package org.eclipse.linuxtools.systemtap.graphing.core.tests.structures;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.row.LineParser;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.row.RowDataSet;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.row.RowParser;
 import org.eclipse.linuxtools.systemtap.graphing.core.structures.ChartStreamDaemon;
@@ -39,6 +43,22 @@ public class ChartStreamDaemonTest {
         csd1.handleDataEvent("a a a");
     }
     @Test
+    public void testMultipleDataSets() {
+        RowDataSet reads = new RowDataSet(new String[] {"pid", "bytes"});
+        RowDataSet writes = new RowDataSet(new String[] {"pid", "bytes"});
+        ChartStreamDaemon daemon = ChartStreamDaemon.forDataSets(Arrays.asList(reads, writes),
+                Arrays.asList(new LineParser("^read (\\d+) (\\d+)$"), new LineParser("^write\\((\\d+)\\) (\\d+)$")));
+        daemon.handleDataEvent(Arrays.asList("read 1 10\n", "write(2) 20\n", "other\n", "read 3 30\n"));
+        daemon.handleDataEvent("write(4) 40\r\n");
+
+        assertEquals(2, reads.getRowCount());
+        assertEquals("1", reads.getRow(0)[0]);
+        assertEquals("30", reads.getRow(1)[1]);
+        assertEquals(2, writes.getRowCount());
+        assertEquals("2", writes.getRow(0)[0]);
+        assertEquals("40", writes.getRow(1)[1]);
+    }
+    @Test
     public void testIsDisposed() {
         assertFalse(csd1.isDisposed());
     }
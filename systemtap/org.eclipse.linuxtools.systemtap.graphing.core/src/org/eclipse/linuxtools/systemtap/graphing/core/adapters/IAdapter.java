@@ -13,6 +13,9 @@
 
 package org.eclipse.linuxtools.systemtap.graphing.core.adapters;
 
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataSet;
+
 public interface IAdapter {
     Number getYSeriesMax(int series, int start, int end);
     Number getSeriesMax(int series, int start, int end);
@@ -22,4 +25,26 @@ public interface IAdapter {
     int getSeriesCount();
     Object[][] getData();
     Object[][] getData(int start, int end);
+
+    /**
+     * Returns views of the series, for reading them without copying them into rows.
+     * @return The views of the x series followed by the y series, or <code>null</code>
+     * if the data is only available as rows from {@link #getData()}.
+     * @since 2.2
+     */
+    default IDataColumn[] getColumns() {
+        return null;
+    }
+
+    /**
+     * Returns the number of changes made to the data set other than appending rows, so that
+     * readers of the columns from {@link #getColumns()} only read the rows appended while it
+     * stays the same.
+     * @return The number of changes, or -1 if the changes are not counted.
+     * @since 2.2
+     * @see IDataSet#getChangeCount()
+     */
+    default long getChangeCount() {
+        return -1;
+    }
 }
@@ -16,6 +16,7 @@ package org.eclipse.linuxtools.systemtap.graphing.core.adapters;
 import java.util.Arrays;
 
 import org.eclipse.linuxtools.internal.systemtap.graphing.core.Localization;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataSet;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IHistoricalDataSet;
 
@@ -99,6 +100,26 @@ public class ScrollAdapter implements IAdapter {
         return o;
     }
 
+    @Override
+    public IDataColumn[] getColumns() {
+        IDataColumn[] columns = new IDataColumn[ySeries.length + 1];
+        columns[0] = data.getColumnView(key, xSeries);
+        for(int i=0; i<ySeries.length; i++) {
+            columns[i+1] = data.getColumnView(key, ySeries[i]);
+        }
+        for(IDataColumn column : columns) {
+            if(null == column) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    @Override
+    public long getChangeCount() {
+        return data.getChangeCount();
+    }
+
     private IHistoricalDataSet data;
     private int xSeries;
     private int[] ySeries;
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.graphing.core.datasets;
+
+/**
+ * A read-only view of a column of a data set, which reads the values where the data set stores them instead of
+ * copying them.
+ *
+ * @since 2.2
+ */
+public interface IDataColumn {
+    /**
+     * @return the number of values in the view.
+     */
+    int size();
+
+    /**
+     * Returns the sequence number of the first value of the view: the number of entries appended to the data set
+     * before its entry, counting those dropped since. A sequence number designates the same entry in all the views
+     * of a data set as long as its {@link IDataSet#getChangeCount()} does not change.
+     * @return The sequence number of the value at index 0.
+     */
+    default long getFirstSequence() {
+        return 0;
+    }
+
+    /**
+     * @param row The index of a value in the view.
+     * @return The value, or <code>null</code> if it is missing.
+     */
+    Object get(int row);
+
+    /**
+     * @param row The index of a value in the view.
+     * @return The value as a number, or {@link Double#NaN} if it is missing or is not a number.
+     */
+    default double getDouble(int row) {
+        Object value = get(row);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.toString());
+            } catch (NumberFormatException e) {
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -32,5 +32,17 @@ public interface IDataSet {
     void setData(IDataEntry entry);
     boolean remove(IDataEntry entry);
 
+    /**
+     * Returns the number of changes made to the entries of the data set, other than appending entries and
+     * dropping the oldest ones. While it stays the same, readers which have read the entries up to a sequence
+     * number of {@link IDataColumn#getFirstSequence()} only need to read the entries appended after it.
+     * @return The number of changes, or -1 if the data set does not count them, in which case readers must read
+     * all the entries each time.
+     * @since 2.2
+     */
+    default long getChangeCount() {
+        return -1;
+    }
+
     int COL_ROW_NUM = -1;
 }
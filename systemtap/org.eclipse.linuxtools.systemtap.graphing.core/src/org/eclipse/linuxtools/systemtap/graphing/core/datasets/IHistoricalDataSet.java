@@ -20,4 +20,29 @@ public interface IHistoricalDataSet extends IDataSet {
     int getEntryCount();
     IDataEntry getEntry(int entry);
     boolean remove(int entry);
+
+    /**
+     * Returns a view of a column of the data set, for reading it without copying it.
+     * @param key The key of the entries to read, as for {@link #getHistoricalData(String, int)}.
+     * @param col The column, or {@link IDataSet#COL_ROW_NUM} for the row numbers.
+     * @return A view of the column, or <code>null</code> if the column does not exist.
+     * @since 2.2
+     */
+    default IDataColumn getColumnView(String key, int col) {
+        Object[] values = getHistoricalData(key, col);
+        if (values == null) {
+            return null;
+        }
+        return new IDataColumn() {
+            @Override
+            public int size() {
+                return values.length;
+            }
+
+            @Override
+            public Object get(int row) {
+                return values[row];
+            }
+        };
+    }
 }
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.linuxtools.internal.systemtap.graphing.core.GraphingCorePlugin;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataEntry;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IFilteredDataSet;
 import org.eclipse.linuxtools.systemtap.graphing.core.filters.IDataSetFilter;
@@ -29,8 +30,7 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
         filters = new ArrayList<>();
 
         filtersChanged = false;
-        topData = null;
-        dataCount = data.getRowCount();
+        originalModifications = data.modifications;
     }
 
     public FilteredRowDataSet(String[] titles) {
@@ -73,6 +73,24 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
         return super.getHistoricalData(key, col, start, end);
     }
 
+    @Override
+    public IDataColumn getColumnView(String key, int col) {
+        if(filters.isEmpty()) {
+            return original.getColumnView(key, col);
+        }
+        rebuildDataSet();
+        return super.getColumnView(key, col);
+    }
+
+    @Override
+    public long getChangeCount() {
+        // the filters may change any row, so only the rows of the original data set are appended to
+        if(filters.isEmpty()) {
+            return original.getChangeCount() + filterChanges;
+        }
+        return -1;
+    }
+
     @Override
     public int getEntryCount() {
         rebuildDataSet();
@@ -91,11 +109,15 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
     public void addFilter(IDataSetFilter filter) {
         filters.add(filter);
         filtersChanged = true;
+        filterChanges++;
     }
 
     @Override
     public boolean removeFilter(IDataSetFilter filter) {
         filtersChanged = filters.remove(filter);
+        if(filtersChanged) {
+            filterChanges++;
+        }
         return filtersChanged;
     }
 
@@ -103,6 +125,7 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
     public void clearFilters() {
         filters.clear();
         filtersChanged = true;
+        filterChanges++;
     }
 
     @Override
@@ -114,11 +137,9 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
     //End IFilteredDataSet Methods
 
     private void rebuildDataSet() {
-        IDataEntry top = original.getEntry(original.getEntryCount()-1);
-
-        if(filtersChanged || dataCount != original.getRowCount() || topData != top) {
-            dataCount = original.getRowCount();
-            topData = top;
+        if(filtersChanged || originalModifications != original.modifications) {
+            filtersChanged = false;
+            originalModifications = original.modifications;
 
             List<Object>[] filterData = getFilterData();
             for(int i=0; i<filters.size(); i++) {
@@ -165,6 +186,6 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
     private List<IDataSetFilter> filters;
 
     private boolean filtersChanged;
-    private int dataCount;
-    private Object topData;
+    private int originalModifications;
+    private long filterChanges;
 }
@@ -28,8 +28,13 @@ import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataSetParser;
  *
  */
 public class LineParser implements IDataSetParser {
+    private static final String METACHARACTERS = "\\[](){}.*+?^$|"; //$NON-NLS-1$
+    private static final String QUANTIFIERS = "?*+{"; //$NON-NLS-1$
+
     public LineParser(String regEx) {
         wholePattern = Pattern.compile(regEx, Pattern.MULTILINE);
+        lineMatcher = wholePattern.matcher(""); //$NON-NLS-1$
+        prefix = literalPrefix(regEx);
     }
 
     @Override
@@ -42,19 +47,107 @@ public class LineParser implements IDataSetParser {
         Matcher wholeMatcher = wholePattern.matcher(s);
 
         if(wholeMatcher.find()) {
-            e = new RowEntry();
-            int groupCount = wholeMatcher.groupCount();
-            Object[] data = new Object[groupCount];
+            e = createEntry(wholeMatcher);
+            s.delete(0, s.length());
+        }
+
+        return e;
+    }
 
-            for(int i = 0; i < groupCount; i++) {
-                data[i] = wholeMatcher.group(i+1);
+    /**
+     * Parse a single line, without keeping it when it does not match.
+     * Lines not starting with the literal text the regex starts with
+     * are rejected without running the regex.
+     * @param line The line, with or without its line terminator.
+     * @return The entry of the line, or <code>null</code> if it does not match.
+     * @since 2.2
+     */
+    public IDataEntry parseLine(CharSequence line) {
+        if (null == line || line.length() < prefix.length()) {
+            return null;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (line.charAt(i) != prefix.charAt(i)) {
+                return null;
             }
-            e.putRow(0, data);
-            s.delete(0, s.length());
         }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            end--;
+        }
+        lineMatcher.reset(line).region(0, end);
+        return lineMatcher.find() ? createEntry(lineMatcher) : null;
+    }
 
+    private static RowEntry createEntry(Matcher matcher) {
+        RowEntry e = new RowEntry();
+        int groupCount = matcher.groupCount();
+        Object[] data = new Object[groupCount];
+
+        for(int i = 0; i < groupCount; i++) {
+            data[i] = matcher.group(i+1);
+        }
+        e.putRow(0, data);
         return e;
     }
 
+    /**
+     * @return The literal text every match of a line starts with, empty if there is none.
+     */
+    private static String literalPrefix(String regEx) {
+        if (!regEx.startsWith("^") || hasTopLevelAlternation(regEx)) { //$NON-NLS-1$
+            return ""; //$NON-NLS-1$
+        }
+        StringBuilder prefix = new StringBuilder();
+        int i = 1;
+        while (i < regEx.length()) {
+            char c = regEx.charAt(i);
+            int next = i + 1;
+            if (c == '\\') {
+                // Only escaped punctuation stands for itself.
+                if (next >= regEx.length() || Character.isLetterOrDigit(regEx.charAt(next))) {
+                    break;
+                }
+                c = regEx.charAt(next);
+                next++;
+            } else if (METACHARACTERS.indexOf(c) >= 0) {
+                break;
+            }
+            if (next < regEx.length() && QUANTIFIERS.indexOf(regEx.charAt(next)) >= 0) {
+                break;
+            }
+            prefix.append(c);
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(String regEx) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < regEx.length(); i++) {
+            char c = regEx.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Pattern wholePattern;
+    private Matcher lineMatcher;
+    private String prefix;
 }
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.linuxtools.internal.systemtap.graphing.core.Localization;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataEntry;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IHistoricalDataSet;
 
@@ -32,10 +33,25 @@ import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IHistoricalDataSe
 public class RowDataSet implements IHistoricalDataSet {
     //IDataSet Methods
     public RowDataSet(String[] titles) {
+        this(titles, 0);
+    }
+
+    /**
+     * Creates a data set keeping only its most recent rows. Their values are stored by column, without boxing
+     * the numbers, so the entries returned by {@link #getEntry(int)} are copies of the rows.
+     * @param titles The titles of the columns.
+     * @param capacity The maximum number of rows kept, or 0 to keep all of them.
+     * @since 2.2
+     */
+    public RowDataSet(String[] titles, int capacity) {
         if (titles != null){
             this.titles = Arrays.copyOf(titles, titles.length);
         }
-        data = new ArrayList<>();
+        if (capacity > 0 && titles != null) {
+            data = new RowRingBuffer(titles.length, capacity);
+        } else {
+            data = new ArrayList<>();
+        }
     }
 
     @Override
@@ -50,6 +66,7 @@ public class RowDataSet implements IHistoricalDataSet {
             throw new ArrayIndexOutOfBoundsException(Localization.getString("RowDataSet.ArraySizeMismatch") + dataBlock.getRow(null).length + " != " + this.getColCount()); //$NON-NLS-1$ //$NON-NLS-2$
 
         data.add(entry);
+        modifications++;
     }
 
     @Override
@@ -161,6 +178,15 @@ public class RowDataSet implements IHistoricalDataSet {
         }
 
         if(COL_ROW_NUM == col) {
+            if(data instanceof RowRingBuffer) {
+                // count the rows dropped, so that the numbers of the rows kept do not change
+                long first = ((RowRingBuffer) data).getDropped() + start;
+                Long[] rows = new Long[Math.min(end-start, data.size())];
+                for(int i=0;i<rows.length; i++) {
+                    rows[i] = Long.valueOf(first+i+1);
+                }
+                return rows;
+            }
             Integer[] rows = new Integer[Math.min(end-start, data.size())];
             for(int i=0;i<rows.length; i++) {
                 rows[i] = Integer.valueOf(start+i+1);
@@ -170,12 +196,46 @@ public class RowDataSet implements IHistoricalDataSet {
 
         Object[] d = new Object[Math.min(end-start, data.size())];
 
+        if(data instanceof RowRingBuffer) {
+            RowRingBuffer rows = (RowRingBuffer) data;
+            for(int i=0; i<d.length; i++) {
+                d[i] = rows.getValue(start+i, col);
+            }
+            return d;
+        }
         for(int i=0; i<d.length; i++) {
             d[i] = data.get(start+i).getColumn(col)[0];
         }
         return d;
     }
 
+    @Override
+    public IDataColumn getColumnView(String key, int col) {
+        if(col < COL_ROW_NUM || col >= this.getColCount()) {
+            return null;
+        }
+        if(data instanceof RowRingBuffer) {
+            return ((RowRingBuffer) data).getColumnView(col);
+        }
+
+        List<IDataEntry> rows = data;
+        int size = rows.size();
+        return new IDataColumn() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Object get(int row) {
+                if(COL_ROW_NUM == col) {
+                    return Integer.valueOf(row+1);
+                }
+                return rows.get(row).get(null, col);
+            }
+        };
+    }
+
     @Override
     public int getEntryCount() {
         return data.size();
@@ -183,7 +243,12 @@ public class RowDataSet implements IHistoricalDataSet {
 
     @Override
     public boolean remove(IDataEntry entry) {
-        return data.remove(entry);
+        if(!data.remove(entry)) {
+            return false;
+        }
+        modifications++;
+        changes++;
+        return true;
     }
 
     @Override
@@ -191,6 +256,8 @@ public class RowDataSet implements IHistoricalDataSet {
         if(entry < 0 || entry >= data.size()) {
             return false;
         }
+        modifications++;
+        changes++;
         return (null != data.remove(entry));
     }
 
@@ -204,7 +271,16 @@ public class RowDataSet implements IHistoricalDataSet {
     }
     //End IHistoricalDataSet Methods
 
+    @Override
+    public long getChangeCount() {
+        return changes;
+    }
+
     protected List<IDataEntry> data;
+    // changes to the rows, which the rows kept by a ring buffer cannot tell
+    int modifications;
+    // changes to the rows other than appending
+    long changes;
     private String[] titles;
     public static final String ID = "org.eclipse.linuxtools.systemtap.graphing.core.datasets.rowdataset"; //$NON-NLS-1$
 }
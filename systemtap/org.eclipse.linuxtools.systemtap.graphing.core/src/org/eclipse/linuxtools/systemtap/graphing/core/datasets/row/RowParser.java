@@ -34,6 +34,22 @@ public class RowParser implements IDataSetParser {
             wholeRegExpr.append('(' + regEx[i] + ')');
         }
         wholePattern = Pattern.compile(wholeRegExpr.toString());
+
+        // The group of each value, counting the groups of the expressions before it.
+        groups = new int[regEx.length>>1];
+        int group=0;
+        for(int i=0; i<regEx.length; i++) {
+            group++;
+            for(int j=0; j<regEx[i].length(); j++) {
+                if(regEx[i].charAt(j) == ')') {
+                    group++;
+                }
+            }
+
+            if(0 == (i&1) && (i>>1) < groups.length) {
+                groups[i>>1] = group;
+            }
+        }
     }
 
     @Override
@@ -47,21 +63,10 @@ public class RowParser implements IDataSetParser {
 
         if(wholeMatcher.find()) {
             e = new RowEntry();
-            Object[] data = new Object[regEx.length>>1];
-
-            int group=0, j;
+            Object[] data = new Object[groups.length];
 
-            for(int i=0; i<regEx.length; i++) {
-                group++;
-                for(j=0; j<regEx[i].length(); j++) {
-                    if(regEx[i].charAt(j) == ')') {
-                        group++;
-                    }
-                }
-
-                if(0 == (i&1)) {
-                    data[i>>1] = wholeMatcher.group(group);
-                }
+            for(int i=0; i<groups.length; i++) {
+                data[i] = wholeMatcher.group(groups[i]);
             }
             e.putRow(0, data);
             s.delete(0, wholeMatcher.end());
@@ -72,4 +77,5 @@ public class RowParser implements IDataSetParser {
 
     private String[] regEx;
     private Pattern wholePattern;
+    private int[] groups;
 }
@@ -0,0 +1,616 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.graphing.core.datasets.row;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataSet;
+
+/**
+ * The rows of a {@link RowDataSet} which keeps only its most recent rows: appending a row to a full buffer drops
+ * the oldest one. The values are stored by column, in an array of the type of the column: the numbers without
+ * boxing them, and the strings as codes in a dictionary of the distinct strings of the column. A column holding
+ * values of different types falls back to storing strings, or objects.
+ */
+class RowRingBuffer extends AbstractList<IDataEntry> implements RandomAccess {
+    private static final int INITIAL_LENGTH = 16;
+
+    private static final int EMPTY = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int STRING = 3;
+    private static final int OBJECT = 4;
+
+    private final int capacity;
+    private final Column[] columns;
+    // number of slots allocated in the columns, grown up to the capacity
+    private int length;
+    // slot of the oldest row
+    private int head;
+    private int size;
+    // number of rows dropped to make room for newer ones
+    private long dropped;
+    // number read by the last successful parseLong or parseDouble
+    private long parsedLong;
+    private double parsedDouble;
+
+    private final class Column {
+        private int type = EMPTY;
+        // whether the numbers were appended as strings, and are read as such
+        private boolean text;
+        private long[] longs;
+        private double[] doubles;
+        private boolean[] missing;
+        private int[] codes;
+        private Object[] objects;
+        // dictionary of the strings, with the number of slots using each one
+        private String[] strings;
+        private double[] stringValues;
+        private int[] references;
+        private int stringCount;
+        private int[] freeCodes;
+        private int freeCount;
+        private Map<String, Integer> stringCodes;
+
+        void set(int slot, Object value) {
+            if (value == null) {
+                release(slot);
+                return;
+            }
+            if (type == EMPTY) {
+                allocate(typeOf(value));
+            } else if (!fits(value)) {
+                convert(text && value instanceof String ? STRING : OBJECT);
+            }
+            switch (type) {
+            case LONG:
+                longs[slot] = text ? parsedLong : ((Long) value).longValue();
+                missing[slot] = false;
+                break;
+            case DOUBLE:
+                doubles[slot] = text ? parsedDouble : ((Double) value).doubleValue();
+                missing[slot] = false;
+                break;
+            case STRING:
+                int code = code((String) value);
+                release(slot);
+                codes[slot] = code;
+                break;
+            default:
+                objects[slot] = value;
+                break;
+            }
+        }
+
+        Object get(int slot) {
+            switch (type) {
+            case LONG:
+                if (missing[slot]) {
+                    return null;
+                }
+                return text ? Long.toString(longs[slot]) : Long.valueOf(longs[slot]);
+            case DOUBLE:
+                if (missing[slot]) {
+                    return null;
+                }
+                return text ? Double.toString(doubles[slot]) : Double.valueOf(doubles[slot]);
+            case STRING:
+                return codes[slot] < 0 ? null : strings[codes[slot]];
+            case OBJECT:
+                return objects[slot];
+            default:
+                return null;
+            }
+        }
+
+        double getDouble(int slot) {
+            switch (type) {
+            case LONG:
+                return missing[slot] ? Double.NaN : longs[slot];
+            case DOUBLE:
+                return missing[slot] ? Double.NaN : doubles[slot];
+            case STRING:
+                return codes[slot] < 0 ? Double.NaN : stringValues[codes[slot]];
+            case OBJECT:
+                return toDouble(objects[slot]);
+            default:
+                return Double.NaN;
+            }
+        }
+
+        /**
+         * Clear a slot, releasing its string.
+         */
+        void release(int slot) {
+            switch (type) {
+            case LONG:
+            case DOUBLE:
+                missing[slot] = true;
+                break;
+            case STRING:
+                int code = codes[slot];
+                if (code >= 0) {
+                    codes[slot] = -1;
+                    if (--references[code] == 0) {
+                        stringCodes.remove(strings[code]);
+                        strings[code] = null;
+                        if (freeCount == freeCodes.length) {
+                            freeCodes = Arrays.copyOf(freeCodes, 2 * freeCodes.length);
+                        }
+                        freeCodes[freeCount++] = code;
+                    }
+                }
+                break;
+            case OBJECT:
+                objects[slot] = null;
+                break;
+            default:
+                break;
+            }
+        }
+
+        /**
+         * Move the value of a slot to another one, which was released.
+         */
+        void move(int from, int to) {
+            switch (type) {
+            case LONG:
+                longs[to] = longs[from];
+                missing[to] = missing[from];
+                missing[from] = true;
+                break;
+            case DOUBLE:
+                doubles[to] = doubles[from];
+                missing[to] = missing[from];
+                missing[from] = true;
+                break;
+            case STRING:
+                codes[to] = codes[from];
+                codes[from] = -1;
+                break;
+            case OBJECT:
+                objects[to] = objects[from];
+                objects[from] = null;
+                break;
+            default:
+                break;
+            }
+        }
+
+        void grow(int newLength) {
+            if (longs != null) {
+                longs = Arrays.copyOf(longs, newLength);
+            }
+            if (doubles != null) {
+                doubles = Arrays.copyOf(doubles, newLength);
+            }
+            if (missing != null) {
+                int oldLength = missing.length;
+                missing = Arrays.copyOf(missing, newLength);
+                Arrays.fill(missing, oldLength, newLength, true);
+            }
+            if (codes != null) {
+                int oldLength = codes.length;
+                codes = Arrays.copyOf(codes, newLength);
+                Arrays.fill(codes, oldLength, newLength, -1);
+            }
+            if (objects != null) {
+                objects = Arrays.copyOf(objects, newLength);
+            }
+        }
+
+        private int typeOf(Object value) {
+            if (value instanceof String) {
+                String s = (String) value;
+                text = true;
+                if (parseLong(s)) {
+                    return LONG;
+                }
+                return parseDouble(s) ? DOUBLE : STRING;
+            }
+            text = false;
+            if (value instanceof Long) {
+                return LONG;
+            }
+            return value instanceof Double ? DOUBLE : OBJECT;
+        }
+
+        private boolean fits(Object value) {
+            switch (type) {
+            case LONG:
+                return text ? value instanceof String && parseLong((String) value) : value instanceof Long;
+            case DOUBLE:
+                return text ? value instanceof String && parseDouble((String) value) : value instanceof Double;
+            case STRING:
+                return value instanceof String;
+            default:
+                return true;
+            }
+        }
+
+        private void allocate(int newType) {
+            type = newType;
+            switch (type) {
+            case LONG:
+                longs = new long[length];
+                missing = new boolean[length];
+                Arrays.fill(missing, true);
+                break;
+            case DOUBLE:
+                doubles = new double[length];
+                missing = new boolean[length];
+                Arrays.fill(missing, true);
+                break;
+            case STRING:
+                codes = new int[length];
+                Arrays.fill(codes, -1);
+                strings = new String[INITIAL_LENGTH];
+                stringValues = new double[INITIAL_LENGTH];
+                references = new int[INITIAL_LENGTH];
+                freeCodes = new int[INITIAL_LENGTH];
+                stringCodes = new HashMap<>();
+                break;
+            default:
+                objects = new Object[length];
+                break;
+            }
+        }
+
+        /**
+         * Store the values of the rows as strings or objects, once a value does not fit the current type.
+         */
+        private void convert(int newType) {
+            Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = get(slot(i));
+            }
+            longs = null;
+            doubles = null;
+            missing = null;
+            codes = null;
+            objects = null;
+            strings = null;
+            stringValues = null;
+            references = null;
+            stringCount = 0;
+            freeCodes = null;
+            freeCount = 0;
+            stringCodes = null;
+            allocate(newType);
+            for (int i = 0; i < size; i++) {
+                if (values[i] != null) {
+                    set(slot(i), values[i]);
+                }
+            }
+        }
+
+        private int code(String s) {
+            Integer code = stringCodes.get(s);
+            if (code == null) {
+                if (freeCount > 0) {
+                    code = freeCodes[--freeCount];
+                } else {
+                    if (stringCount == strings.length) {
+                        strings = Arrays.copyOf(strings, 2 * stringCount);
+                        stringValues = Arrays.copyOf(stringValues, 2 * stringCount);
+                        references = Arrays.copyOf(references, 2 * stringCount);
+                    }
+                    code = stringCount++;
+                }
+                strings[code] = s;
+                stringValues[code] = toDouble(s);
+                stringCodes.put(s, code);
+            }
+            references[code]++;
+            return code;
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param columnCount The number of columns of the rows.
+     * @param capacity The maximum number of rows kept.
+     */
+    RowRingBuffer(int columnCount, int capacity) {
+        this.capacity = capacity;
+        this.length = Math.min(capacity, INITIAL_LENGTH);
+        columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = new Column();
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of rows dropped to make room for newer ones.
+     */
+    synchronized long getDropped() {
+        return dropped;
+    }
+
+    @Override
+    public synchronized IDataEntry get(int index) {
+        Objects.checkIndex(index, size);
+        RowEntry entry = new RowEntry();
+        entry.putRow(0, getRow(index));
+        return entry;
+    }
+
+    /**
+     * @param index The index of a row.
+     * @return The values of the row.
+     */
+    synchronized Object[] getRow(int index) {
+        Objects.checkIndex(index, size);
+        int slot = slot(index);
+        Object[] row = new Object[columns.length];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = columns[i].get(slot);
+        }
+        return row;
+    }
+
+    /**
+     * @param index The index of a row.
+     * @param col The column.
+     * @return The value of the row in the column.
+     */
+    synchronized Object getValue(int index, int col) {
+        Objects.checkIndex(index, size);
+        return columns[col].get(slot(index));
+    }
+
+    @Override
+    public synchronized boolean add(IDataEntry entry) {
+        Object[] row = entry.getRow(null);
+        int slot;
+        if (size == capacity) {
+            slot = head;
+        } else {
+            slot = slot(size);
+            if (slot == length) {
+                length = Math.min(capacity, 2 * length);
+                for (Column column : columns) {
+                    column.grow(length);
+                }
+            }
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(slot, row[i]);
+        }
+        if (size == capacity) {
+            head = slot(1);
+            dropped++;
+        } else {
+            size++;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public synchronized IDataEntry remove(int index) {
+        IDataEntry entry = get(index);
+        for (Column column : columns) {
+            column.release(slot(index));
+            for (int i = index + 1; i < size; i++) {
+                column.move(slot(i), slot(i - 1));
+            }
+        }
+        size--;
+        modCount++;
+        return entry;
+    }
+
+    @Override
+    public synchronized boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Finds the row holding the same values as an entry, as the rows are not kept as entries.
+     */
+    @Override
+    public synchronized int indexOf(Object o) {
+        if (!(o instanceof IDataEntry)) {
+            return -1;
+        }
+        Object[] row = ((IDataEntry) o).getRow(null);
+        if (row == null || row.length != columns.length) {
+            return -1;
+        }
+        for (int index = 0; index < size; index++) {
+            int slot = slot(index);
+            int i = 0;
+            while (i < row.length && Objects.equals(Objects.toString(row[i], null),
+                    Objects.toString(columns[i].get(slot), null))) {
+                i++;
+            }
+            if (i == row.length) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (Column column : columns) {
+            for (int i = 0; i < size; i++) {
+                column.release(slot(i));
+            }
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns a view of a column reading the rows present when it was created. The view reads the rows dropped
+     * since as missing values.
+     *
+     * @param col The column, or {@link IDataSet#COL_ROW_NUM} for the row numbers, which count the dropped rows.
+     * @return The view.
+     */
+    synchronized IDataColumn getColumnView(int col) {
+        long first = dropped;
+        int count = size;
+        if (IDataSet.COL_ROW_NUM == col) {
+            return new IDataColumn() {
+                @Override
+                public int size() {
+                    return count;
+                }
+
+                @Override
+                public long getFirstSequence() {
+                    return first;
+                }
+
+                @Override
+                public Object get(int row) {
+                    return Long.valueOf(first + row + 1);
+                }
+
+                @Override
+                public double getDouble(int row) {
+                    return first + row + 1;
+                }
+            };
+        }
+        Column column = columns[col];
+        return new IDataColumn() {
+            @Override
+            public int size() {
+                return count;
+            }
+
+            @Override
+            public long getFirstSequence() {
+                return first;
+            }
+
+            @Override
+            public Object get(int row) {
+                synchronized (RowRingBuffer.this) {
+                    int slot = slotOf(first + row);
+                    return slot < 0 ? null : column.get(slot);
+                }
+            }
+
+            @Override
+            public double getDouble(int row) {
+                synchronized (RowRingBuffer.this) {
+                    int slot = slotOf(first + row);
+                    return slot < 0 ? Double.NaN : column.getDouble(slot);
+                }
+            }
+        };
+    }
+
+    private int slot(int index) {
+        int slot = head + index;
+        return slot < capacity ? slot : slot - capacity;
+    }
+
+    /**
+     * @return the slot of a row counted from the first row ever appended, -1 if it is not kept.
+     */
+    private int slotOf(long row) {
+        long index = row - dropped;
+        return index < 0 || index >= size ? -1 : slot((int) index);
+    }
+
+    /**
+     * Parses a long written as {@link Long#toString(long)} writes it, so that it is read back unchanged.
+     */
+    private boolean parseLong(String s) {
+        int n = s.length();
+        boolean negative = n > 0 && s.charAt(0) == '-';
+        int i = negative ? 1 : 0;
+        if (i == n || n > 20 || s.charAt(i) == '0' && (negative || n > 1)) {
+            return false;
+        }
+        // accumulate negatively to read Long.MIN_VALUE
+        long value = 0;
+        for (; i < n; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                return false;
+            }
+            value = 10 * value - digit;
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                return false;
+            }
+            value = -value;
+        }
+        parsedLong = value;
+        return true;
+    }
+
+    /**
+     * Parses a double written as {@link Double#toString(double)} writes it, so that it is read back unchanged.
+     */
+    private boolean parseDouble(String s) {
+        if (s.isEmpty() || s.length() > 32 || s.indexOf('.') < 0) {
+            return false;
+        }
+        char c = s.charAt(0);
+        if (c != '-' && (c < '0' || c > '9')) {
+            return false;
+        }
+        try {
+            double value = Double.parseDouble(s);
+            if (!Double.toString(value).equals(s)) {
+                return false;
+            }
+            parsedDouble = value;
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.toString());
+            } catch (NumberFormatException e) {
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -31,12 +31,26 @@ import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IHistoricalDataSe
 
 public class TableDataSet implements IHistoricalDataSet, IBlockDataSet {
     public TableDataSet(String[] labels) {
+        this(labels, 0);
+    }
+
+    /**
+     * Creates a data set keeping only its most recent tables.
+     * @param labels The titles of the columns.
+     * @param capacity The maximum number of tables kept, or 0 to keep all of them.
+     * @since 2.2
+     */
+    public TableDataSet(String[] labels, int capacity) {
         if(null == labels){
             this.titles = new String[0];
         } else {
             this.titles = Arrays.copyOf(labels, labels.length);
         }
-        data = new ArrayList<>();
+        if(capacity > 0) {
+            data = new TableRingBuffer(capacity);
+        } else {
+            data = new ArrayList<>();
+        }
     }
 
     //IDataSet Methods
@@ -33,6 +33,22 @@ public class TableParser implements IDataSetParser {
             wholeRegExpr.append('(' + regEx[i] + ')');
         }
         wholePattern = Pattern.compile(wholeRegExpr.toString());
+
+        // The group of each value, counting the groups of the expressions before it.
+        groups = new int[regEx.length>>1];
+        int group=0;
+        for(int i=0; i<regEx.length; i++) {
+            group++;
+            for(int j=0; j<regEx[i].length(); j++) {
+                if(regEx[i].charAt(j) == ')') {
+                    group++;
+                }
+            }
+
+            if(0 == (i&1) && (i>>1) < groups.length) {
+                groups[i>>1] = group;
+            }
+        }
         delimPattern = Pattern.compile(delimiter);
     }
 
@@ -53,21 +69,10 @@ public class TableParser implements IDataSetParser {
             e = new TableEntry();
             end = delimMatcher.start();
 
-            int group, j;
             while(wholeMatcher.find() && wholeMatcher.end() < end) {
-                group = 0;
-                data = new Object[regEx.length>>1];
-                for(int i=0; i<regEx.length; i++) {
-                    group++;
-                    for(j=0; j<regEx[i].length(); j++) {
-                        if(regEx[i].charAt(j) == ')') {
-                            group++;
-                        }
-                    }
-
-                    if(0 == (i&1)) {
-                        data[i>>1] = wholeMatcher.group(group);
-                    }
+                data = new Object[groups.length];
+                for(int i=0; i<groups.length; i++) {
+                    data[i] = wholeMatcher.group(groups[i]);
                 }
                 e.add(data);
             }
@@ -82,4 +87,5 @@ public class TableParser implements IDataSetParser {
 
     private Pattern wholePattern;
     private Pattern delimPattern;
+    private int[] groups;
 }
\ No newline at end of file
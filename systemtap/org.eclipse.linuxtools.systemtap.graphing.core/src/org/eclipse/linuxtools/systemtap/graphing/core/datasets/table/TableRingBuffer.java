@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.graphing.core.datasets.table;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The tables of a {@link TableDataSet} which keeps only its most recent tables: appending a table to a full buffer
+ * drops the oldest one.
+ */
+class TableRingBuffer extends AbstractList<TableEntry> implements RandomAccess {
+    private static final int INITIAL_LENGTH = 16;
+
+    private final int capacity;
+    private TableEntry[] entries;
+    // index of the oldest table
+    private int head;
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param capacity The maximum number of tables kept.
+     */
+    TableRingBuffer(int capacity) {
+        this.capacity = capacity;
+        entries = new TableEntry[Math.min(capacity, INITIAL_LENGTH)];
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized TableEntry get(int index) {
+        Objects.checkIndex(index, size);
+        return entries[slot(index)];
+    }
+
+    @Override
+    public synchronized boolean add(TableEntry entry) {
+        if (size == capacity) {
+            entries[head] = entry;
+            head = slot(1);
+        } else {
+            int slot = slot(size);
+            if (slot == entries.length) {
+                entries = Arrays.copyOf(entries, Math.min(capacity, 2 * entries.length));
+            }
+            entries[slot] = entry;
+            size++;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public synchronized TableEntry remove(int index) {
+        TableEntry entry = get(index);
+        for (int i = index + 1; i < size; i++) {
+            entries[slot(i - 1)] = entries[slot(i)];
+        }
+        entries[slot(size - 1)] = null;
+        size--;
+        modCount++;
+        return entry;
+    }
+
+    @Override
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    private int slot(int index) {
+        int slot = head + index;
+        return slot < capacity ? slot : slot - capacity;
+    }
+}
@@ -13,37 +13,72 @@
 
 package org.eclipse.linuxtools.systemtap.graphing.core.structures;
 
+import java.util.List;
+
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataEntry;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataSet;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataSetParser;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.row.LineParser;
 import org.eclipse.linuxtools.systemtap.structures.listeners.IGobblerListener;
 
 
 
 public class ChartStreamDaemon implements IGobblerListener {
     public ChartStreamDaemon(IDataSet d, IDataSetParser p) {
+        this(new IDataSet[] {d}, new IDataSetParser[] {p});
+    }
+
+    private ChartStreamDaemon(IDataSet[] d, IDataSetParser[] p) {
         data = d;
-        outputData = new StringBuilder(""); //$NON-NLS-1$
-        parser = p;
+        parsers = p;
+        outputData = new StringBuilder[p.length];
+        for (int i = 0; i < p.length; i++) {
+            if (!(p[i] instanceof LineParser)) {
+                outputData[i] = new StringBuilder();
+            }
+        }
         disposed = false;
     }
 
     /**
-     * Takes one line from the output data and appends it to data object.
+     * Creates a daemon feeding several data sets from the same output, each line
+     * being parsed once by the parser of every data set.
+     * @param d The data sets.
+     * @param p The parsers of the data sets, in the same order. Lines are matched
+     * one at a time by the {@link LineParser}s, and accumulated for the others.
+     * @return The daemon to listen to the output.
+     * @since 2.2
      */
-    private void pushData() {
-        if(null == data || null == parser)
-            return;
+    public static ChartStreamDaemon forDataSets(List<? extends IDataSet> d, List<? extends IDataSetParser> p) {
+        int n = Math.min(d.size(), p.size());
+        return new ChartStreamDaemon(d.subList(0, n).toArray(new IDataSet[n]),
+                p.subList(0, n).toArray(new IDataSetParser[n]));
+    }
 
-        IDataEntry e = parser.parse(outputData);
-        if(null != e)
-            data.setData(e);
+    /**
+     * Takes one line from the output data and appends it to each data object.
+     */
+    private void pushData(String line) {
+        for (int i = 0; i < parsers.length; i++) {
+            if(null == data[i] || null == parsers[i])
+                continue;
+
+            IDataEntry e;
+            if (null == outputData[i]) {
+                e = ((LineParser) parsers[i]).parseLine(line);
+            } else {
+                outputData[i].append(line);
+                e = parsers[i].parse(outputData[i]);
+            }
+            if(null != e)
+                data[i].setData(e);
+        }
     }
 
     @Override
     public void handleDataEvent(String line) {
-        outputData.append(line);
-        this.pushData();
+        if(!disposed)
+            this.pushData(line);
     }
 
     public boolean isDisposed() {
@@ -54,15 +89,13 @@ public class ChartStreamDaemon implements IGobblerListener {
         if(!disposed) {
             disposed = true;
             data = null;
-            if(null != outputData)
-                outputData.delete(0, outputData.length());
             outputData = null;
-            parser = null;
+            parsers = null;
         }
     }
 
-    private IDataSet data;
-    private StringBuilder outputData;
-    private IDataSetParser parser;
+    private IDataSet[] data;
+    private StringBuilder[] outputData;
+    private IDataSetParser[] parsers;
     private boolean disposed;
 }
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.linuxtools.systemtap.graphing.core.adapters.IAdapter;
+import org.eclipse.linuxtools.systemtap.graphing.core.adapters.ScrollAdapter;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.row.RowDataSet;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.row.RowEntry;
+import org.junit.Test;
+
+public class ChartPointsTest {
+
+    private static final String[] TITLES = { "x", "y", "z" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private RowDataSet data;
+    private IAdapter adapter;
+    private ChartPoints points = new ChartPoints();
+
+    private void createDataSet(int capacity) {
+        data = new RowDataSet(TITLES, capacity);
+        adapter = new ScrollAdapter(data, 0, new int[] { 1, 2 }, null);
+    }
+
+    private void append(Object x, Object y, Object z) {
+        RowEntry entry = new RowEntry();
+        entry.putRow(0, new Object[] { x, y, z });
+        data.append(entry);
+    }
+
+    private boolean update(int maxItems) {
+        return points.update(ChartPoints.alignColumns(adapter.getColumns()), adapter.getChangeCount(), maxItems);
+    }
+
+    private static double toDouble(Object value) {
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Checks the points against a full read of the last rows of the data set.
+     */
+    private void checkPoints(int maxItems) {
+        int rows = data.getRowCount();
+        int start = Math.max(0, rows - maxItems);
+        for (int series = 0; series < 2; series++) {
+            double[] x = new double[rows - start];
+            double[] y = new double[rows - start];
+            int size = 0;
+            for (int i = start; i < rows; i++) {
+                Object[] row = data.getRow(i);
+                double valx = toDouble(row[0]);
+                double valy = toDouble(row[series + 1]);
+                if (!Double.isNaN(valx) && !Double.isNaN(valy)) {
+                    x[size] = valx;
+                    y[size] = valy;
+                    size++;
+                }
+            }
+            SeriesPoints seriesPoints = points.getSeriesPoints(series);
+            assertArrayEquals(Arrays.copyOf(x, size), seriesPoints.getXSeries(), 0);
+            assertArrayEquals(Arrays.copyOf(y, size), seriesPoints.getYSeries(), 0);
+        }
+    }
+
+    private void checkRandomUpdates(int capacity) {
+        createDataSet(capacity);
+        Random random = new Random(capacity);
+        int maxItems = 100;
+        long sequence = 0;
+        for (int step = 0; step < 2000; step++) {
+            for (int n = random.nextInt(30); n > 0; n--) {
+                // some rows miss their y value, or all of their values
+                String x = random.nextInt(100) == 0 ? "" : Long.toString(sequence); //$NON-NLS-1$
+                String y = random.nextInt(50) == 0 ? "" : Integer.toString(random.nextInt(1000)); //$NON-NLS-1$
+                append(x, y, Integer.toString(random.nextInt(1000) - 500));
+                sequence++;
+            }
+            if (random.nextInt(100) == 0 && data.getRowCount() > 0) {
+                data.remove(random.nextInt(data.getRowCount()));
+            }
+            if (random.nextInt(200) == 0) {
+                maxItems = 50 + random.nextInt(100);
+            }
+            if (data.getRowCount() > 0) {
+                update(maxItems);
+                checkPoints(maxItems);
+            }
+        }
+    }
+
+    @Test
+    public void testRandomUpdates() {
+        checkRandomUpdates(0);
+    }
+
+    @Test
+    public void testRandomUpdatesRingBuffer() {
+        // fewer rows kept than shown at times, and rows dropped from the front between the updates
+        checkRandomUpdates(120);
+    }
+
+    @Test
+    public void testAppend() {
+        createDataSet(1000);
+        for (int i = 0; i < 10; i++) {
+            append(i, i * 10, -i);
+        }
+        assertTrue(update(5));
+        checkPoints(5);
+        SeriesPoints xPoints = points.getXPoints();
+
+        // no row appended
+        assertFalse(update(5));
+        assertSame(xPoints, points.getXPoints());
+
+        // the appended rows are added, the oldest ones dropped
+        append(10, 100, -10);
+        assertTrue(update(5));
+        assertSame(xPoints, points.getXPoints());
+        assertArrayEquals(new double[] { 6, 7, 8, 9, 10 }, xPoints.getXSeries(), 0);
+        checkPoints(5);
+    }
+
+    @Test
+    public void testChangeCount() {
+        createDataSet(1000);
+        for (int i = 0; i < 10; i++) {
+            append(i, i * 10, -i);
+        }
+        update(5);
+        SeriesPoints xPoints = points.getXPoints();
+
+        // a removal is not an append: the points are read again
+        data.remove(7);
+        assertTrue(update(5));
+        assertArrayEquals(new double[] { 4, 5, 6, 8, 9 }, points.getXPoints().getXSeries(), 0);
+        checkPoints(5);
+        assertNotSame(xPoints, points.getXPoints());
+        assertFalse(update(5));
+
+        // a data set which cannot count its changes is read again each time
+        IDataColumn[] columns = ChartPoints.alignColumns(adapter.getColumns());
+        assertTrue(points.update(columns, -1, 5));
+        assertTrue(points.update(columns, -1, 5));
+    }
+
+    @Test
+    public void testMaxItems() {
+        createDataSet(1000);
+        for (int i = 0; i < 20; i++) {
+            append(i, i * 10, -i);
+        }
+        update(10);
+        checkPoints(10);
+
+        // fewer rows shown
+        assertTrue(update(4));
+        assertArrayEquals(new double[] { 16, 17, 18, 19 }, points.getXPoints().getXSeries(), 0);
+        checkPoints(4);
+
+        // more rows shown: the rows dropped are read again
+        assertTrue(update(8));
+        assertArrayEquals(new double[] { 12, 13, 14, 15, 16, 17, 18, 19 }, points.getXPoints().getXSeries(), 0);
+        checkPoints(8);
+    }
+
+    @Test
+    public void testMissingValues() {
+        createDataSet(1000);
+        append(0, 0, 0);
+        append("", 10, -1); //$NON-NLS-1$
+        append(2, "", -2); //$NON-NLS-1$
+        append(3, 30, "a"); //$NON-NLS-1$
+        append(4, 40, -4);
+        update(10);
+
+        // a row without x value is left out of all the series, a row without y value out of its series only
+        assertArrayEquals(new double[] { 0, 2, 3, 4 }, points.getXPoints().getXSeries(), 0);
+        assertArrayEquals(new double[] { 0, 3, 4 }, points.getSeriesPoints(0).getXSeries(), 0);
+        assertArrayEquals(new double[] { 0, 30, 40 }, points.getSeriesPoints(0).getYSeries(), 0);
+        assertArrayEquals(new double[] { 0, 2, 4 }, points.getSeriesPoints(1).getXSeries(), 0);
+        assertArrayEquals(new double[] { 0, -2, -4 }, points.getSeriesPoints(1).getYSeries(), 0);
+
+        // the rows are dropped by sequence number, whatever their values
+        append(5, 50, -5);
+        update(3);
+        assertArrayEquals(new double[] { 3, 4, 5 }, points.getXPoints().getXSeries(), 0);
+        assertArrayEquals(new double[] { 3, 4, 5 }, points.getSeriesPoints(0).getXSeries(), 0);
+        assertArrayEquals(new double[] { 4, 5 }, points.getSeriesPoints(1).getXSeries(), 0);
+    }
+
+    @Test
+    public void testDropBefore() {
+        SeriesPoints seriesPoints = new SeriesPoints();
+        for (int row = 0; row < 100; row++) {
+            seriesPoints.add(row, row, -row);
+        }
+        assertFalse(seriesPoints.dropBefore(0));
+        assertTrue(seriesPoints.dropBefore(60));
+        assertFalse(seriesPoints.dropBefore(60));
+        assertEquals(40, seriesPoints.size());
+        assertEquals(60, seriesPoints.getX(0), 0);
+        assertEquals(-99, seriesPoints.getY(39), 0);
+
+        // the room of the points dropped is reused
+        for (int row = 100; row < 1000; row++) {
+            seriesPoints.add(row, row, -row);
+            seriesPoints.dropBefore(row - 50);
+        }
+        assertEquals(51, seriesPoints.size());
+        assertEquals(949, seriesPoints.getX(0), 0);
+        assertEquals(-999, seriesPoints.getY(50), 0);
+
+        // rows left out are skipped
+        assertTrue(seriesPoints.dropBefore(2000));
+        assertEquals(0, seriesPoints.size());
+        assertEquals(0, seriesPoints.getXSeries().length);
+    }
+
+    private static class Column implements IDataColumn {
+        private final long first;
+        private final int size;
+
+        Column(long first, int size) {
+            this.first = first;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public long getFirstSequence() {
+            return first;
+        }
+
+        @Override
+        public Object get(int row) {
+            return Long.valueOf(first + row);
+        }
+    }
+
+    @Test
+    public void testAlignColumns() {
+        // rows dropped before the second column was read, rows appended before the third one was
+        IDataColumn[] columns = ChartPoints.alignColumns(
+                new IDataColumn[] { new Column(10, 20), new Column(12, 18), new Column(12, 22) });
+        for (IDataColumn column : columns) {
+            assertEquals(12, column.getFirstSequence());
+            assertEquals(18, column.size());
+            assertEquals(12, column.getDouble(0), 0);
+            assertEquals(29, column.getDouble(17), 0);
+        }
+
+        // a point is made of the values of the same row
+        points.update(columns, 0, 5);
+        assertArrayEquals(new double[] { 25, 26, 27, 28, 29 }, points.getSeriesPoints(1).getYSeries(), 0);
+        assertArrayEquals(points.getSeriesPoints(1).getXSeries(), points.getSeriesPoints(1).getYSeries(), 0);
+
+        assertNull(ChartPoints.alignColumns(new IDataColumn[] { new Column(0, 10), new Column(10, 10) }));
+    }
+}
@@ -18,6 +18,7 @@ import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts.listeners.ChartWithAxisMouseMoveListener;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.preferences.GraphingPreferenceConstants;
 import org.eclipse.linuxtools.systemtap.graphing.core.adapters.IAdapter;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
 import org.eclipse.linuxtools.systemtap.graphing.ui.charts.AbstractChartBuilder;
 import org.eclipse.swt.events.PaintListener;
 import org.eclipse.swt.graphics.Font;
@@ -69,6 +70,9 @@ public abstract class AbstractChartWithAxisBuilder extends AbstractChartBuilder
     }
 
     protected boolean xLineGrid, yLineGrid;
+
+    // the points plotted, kept to add only the rows appended to the data set at the next update
+    private final ChartPoints points = new ChartPoints();
     /**
      * @since 3.0
      */
@@ -223,75 +227,47 @@ public abstract class AbstractChartWithAxisBuilder extends AbstractChartBuilder
      */
     @Override
     protected void buildXSeries() {
-        Object data[][] = adapter.getData();
-        if (data == null || data.length == 0) {
+        IDataColumn[] columns = getSeriesColumns();
+        if (columns == null) {
             return;
         }
+        // Only read the rows appended since the last update, unless the data set changed otherwise.
+        // In the case of an empty (NaN) value in either axis, ignore both x & y axis data for that point.
+        boolean modified = points.update(columns, adapter.getChangeCount(), this.maxItems);
+        SeriesPoints xPoints = points.getXPoints();
+        int leny = points.getSeriesCount();
 
-        int start = 0, len = Math.min(this.maxItems, data.length), leny = data[0].length-1;
-        if (this.maxItems < data.length) {
-            start = data.length - this.maxItems;
-        }
-
-        Double[] all_valx = new Double[len];
-        Double[][] all_valy = new Double[leny][len];
         // Will want to centre view around points, so be as accurate with max/min as possible.
         double maxX = Double.NEGATIVE_INFINITY;
         double maxY = maxX;
         double minX = Double.POSITIVE_INFINITY;
         double minY = minX;
-
-        // Read in from the data array all x/y points to plot.
-        // In the case of an empty (null) value in either axis, ignore both x & y axis data for that point.
-        for (int i = 0; i < len; i++) {
-            for (int j = 0; j < leny + 1; j++) {
-                Double val = getDoubleOrNullValue(data[start + i][j]);
-                if (j == 0) {
-                    if (val != null) {
-                        all_valx[i] = val;
-                        maxX = Math.max(val, maxX);
-                        minX = Math.min(val, minX);
-                    } else {
-                        break;
-                    }
-                } else if (val != null) {
-                    all_valy[j-1][i] = val;
-                    maxY = Math.max(val, maxY);
-                    minY = Math.min(val, minY);
-                }
+        for (int i = 0; i < xPoints.size(); i++) {
+            maxX = Math.max(xPoints.getX(i), maxX);
+            minX = Math.min(xPoints.getX(i), minX);
+        }
+        for (int j = 0; j < leny; j++) {
+            SeriesPoints yPoints = points.getSeriesPoints(j);
+            for (int i = 0; i < yPoints.size(); i++) {
+                maxY = Math.max(yPoints.getY(i), maxY);
+                minY = Math.min(yPoints.getY(i), minY);
             }
         }
 
-        // Now create dense arrays of x/y values that exclude null values,
-        // and plot those values to the chart.
-
+        // Plot the points kept, which exclude empty values.
         ISeries allSeries[] = chart.getSeriesSet().getSeries();
         ISeries series = null;
         for (int i = 0; i < leny; i++) {
             if (i >= allSeries.length) {
                 series = createChartISeries(i);
+                modified = true;
             } else {
                 series = chart.getSeriesSet().getSeries()[i];
             }
-
-            double[] valx = new double[len];
-            double[] valy = new double[len];
-            int len_trim = 0;
-            for (int j = 0; j < len; j++) {
-                if (all_valx[j] != null && all_valy[i][j] != null) {
-                    valx[len_trim] = all_valx[j].doubleValue();
-                    valy[len_trim] = all_valy[i][j].doubleValue();
-                    len_trim++;
-                }
-            }
-            double[] valx_trim = new double[len_trim];
-            double[] valy_trim = new double[len_trim];
-            for (int j = 0; j < len_trim; j++) {
-                valx_trim[j] = valx[j];
-                valy_trim[j] = valy[j];
+            if (modified) {
+                series.setXSeries(points.getSeriesPoints(i).getXSeries());
+                series.setYSeries(points.getSeriesPoints(i).getYSeries());
             }
-            series.setXSeries(valx_trim);
-            series.setYSeries(valy_trim);
         }
 
         if (series != null && series.getXSeries().length > 0) {
@@ -16,6 +16,7 @@ package org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts;
 
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts.listeners.BarChartMouseMoveListener;
 import org.eclipse.linuxtools.systemtap.graphing.core.adapters.IAdapter;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swtchart.IBarSeries;
 import org.eclipse.swtchart.ISeries;
@@ -55,14 +56,15 @@ public class BarChartBuilder extends AbstractChartWithAxisBuilder {
 
     @Override
     protected void buildXSeries() {
-        Object data[][] = adapter.getData();
-        if (data == null || data.length == 0) {
+        IDataColumn[] columns = getSeriesColumns();
+        if (columns == null) {
             return;
         }
+        int size = columns[0].size();
 
-        int start = 0, len = Math.min(this.maxItems, data.length), leny = data[0].length-1;
-        if (this.maxItems < data.length) {
-            start = data.length - this.maxItems;
+        int start = 0, len = Math.min(this.maxItems, size), leny = columns.length-1;
+        if (this.maxItems < size) {
+            start = size - this.maxItems;
         }
 
         String[] allValx = new String[len];
@@ -71,16 +73,16 @@ public class BarChartBuilder extends AbstractChartWithAxisBuilder {
         double maxY = 0;
         double minY = 0;
 
-        // Read in from the data array all x/y points to plot.
-        // If a y-axis value is empty (null), set it to 0.
+        // Read in from the columns all x/y points to plot.
+        // If a y-axis value is empty (NaN), set it to 0.
         // If an x-axis category is empty, ignore the entire category.
         for (int i = 0; i < len; i++) {
-            Object label = data[start + i][0];
+            Object label = columns[0].get(start + i);
             if (label != null) {
                 allValx[i] = label.toString();
                 for (int j = 1; j < leny + 1; j++) {
-                    Double val = getDoubleOrNullValue(data[start + i][j]);
-                    if (val == null) {
+                    double val = columns[j].getDouble(start + i);
+                    if (Double.isNaN(val)) {
                         val = 0.0;
                     }
                     allValy[j-1][i] = val;
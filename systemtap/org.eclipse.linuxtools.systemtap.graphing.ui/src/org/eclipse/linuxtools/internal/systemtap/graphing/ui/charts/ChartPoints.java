@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts;
+
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
+
+/**
+ * The points plotted by a chart with axes for the last rows of its data. An update only reads the rows appended
+ * since the previous one, unless the data set changed otherwise.
+ */
+public final class ChartPoints {
+    private SeriesPoints xPoints;
+    private SeriesPoints[] seriesPoints;
+    // sequence number of the next row to read
+    private long nextSequence;
+    private long changeCount = -1;
+    private int maxItems;
+
+    /**
+     * Restricts columns read one after the other, which may start and end at different rows, to the rows present
+     * in all of them.
+     * @param columns The columns to align.
+     * @return The columns, all starting at the same sequence number and of the same size, or <code>null</code>
+     * if no row is present in all of them.
+     */
+    public static IDataColumn[] alignColumns(IDataColumn[] columns) {
+        long first = columns[0].getFirstSequence();
+        long end = first + columns[0].size();
+        for (IDataColumn column : columns) {
+            first = Math.max(first, column.getFirstSequence());
+            end = Math.min(end, column.getFirstSequence() + column.size());
+        }
+        if (end <= first) {
+            return null;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].getFirstSequence() != first || columns[i].size() != end - first) {
+                columns[i] = new AlignedColumn(columns[i], first, (int) (end - first));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Reads the rows of the columns which are not plotted yet, and drops the points of the rows no longer shown.
+     * The rows having no x value are left out, as are the points of the rows having no value for a series.
+     * @param columns The x column followed by the y columns, aligned.
+     * @param changes The change count of the data set, negative if it cannot tell.
+     * @param maxItems The number of rows to show.
+     * @return <code>true</code> if points were added or dropped.
+     */
+    boolean update(IDataColumn[] columns, long changes, int maxItems) {
+        int leny = columns.length - 1;
+        long first = columns[0].getFirstSequence();
+        long end = first + columns[0].size();
+
+        boolean modified = false;
+        if (changes < 0 || changes != changeCount || seriesPoints == null || seriesPoints.length != leny
+                || maxItems != this.maxItems || end < nextSequence) {
+            changeCount = changes;
+            this.maxItems = maxItems;
+            nextSequence = 0;
+            xPoints = new SeriesPoints();
+            seriesPoints = new SeriesPoints[leny];
+            for (int i = 0; i < leny; i++) {
+                seriesPoints[i] = new SeriesPoints();
+            }
+            modified = true;
+        }
+        // the rows dropped by the data set are not shown either
+        long oldest = Math.max(first, end - maxItems);
+
+        for (long row = Math.max(nextSequence, oldest); row < end; row++) {
+            int i = (int) (row - first);
+            double valx = columns[0].getDouble(i);
+            if (Double.isNaN(valx)) {
+                continue;
+            }
+            xPoints.add(row, valx, valx);
+            for (int j = 0; j < leny; j++) {
+                double valy = columns[j + 1].getDouble(i);
+                if (!Double.isNaN(valy)) {
+                    seriesPoints[j].add(row, valx, valy);
+                }
+            }
+            modified = true;
+        }
+        nextSequence = end;
+        modified |= xPoints.dropBefore(oldest);
+        for (SeriesPoints points : seriesPoints) {
+            modified |= points.dropBefore(oldest);
+        }
+        return modified;
+    }
+
+    /**
+     * @return The x values of the rows shown, in both coordinates.
+     */
+    SeriesPoints getXPoints() {
+        return xPoints;
+    }
+
+    int getSeriesCount() {
+        return seriesPoints == null ? 0 : seriesPoints.length;
+    }
+
+    SeriesPoints getSeriesPoints(int i) {
+        return seriesPoints[i];
+    }
+
+    private static class AlignedColumn implements IDataColumn {
+        private final IDataColumn column;
+        private final long first;
+        private final int offset;
+        private final int size;
+
+        AlignedColumn(IDataColumn column, long first, int size) {
+            this.column = column;
+            this.first = first;
+            this.offset = (int) (first - column.getFirstSequence());
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public long getFirstSequence() {
+            return first;
+        }
+
+        @Override
+        public Object get(int row) {
+            return column.get(offset + row);
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return column.getDouble(offset + row);
+        }
+    }
+}
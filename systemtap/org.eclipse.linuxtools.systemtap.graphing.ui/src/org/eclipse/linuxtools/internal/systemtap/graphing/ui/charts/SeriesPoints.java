@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts;
+
+import java.util.Arrays;
+
+/**
+ * The points plotted for a series of a chart, each with the sequence number of its row in the data set, so that
+ * an update of the chart only adds the rows appended since the last one and drops the rows no longer shown.
+ */
+class SeriesPoints {
+    private static final int INITIAL_LENGTH = 16;
+
+    private double[] x = new double[INITIAL_LENGTH];
+    private double[] y = new double[INITIAL_LENGTH];
+    private long[] rows = new long[INITIAL_LENGTH];
+    // points kept are between start and end
+    private int start;
+    private int end;
+
+    /**
+     * Adds a point after the others.
+     * @param row The sequence number of the row of the point.
+     * @param valx The x value of the point.
+     * @param valy The y value of the point.
+     */
+    void add(long row, double valx, double valy) {
+        if (end == x.length) {
+            if (2 * start >= x.length) {
+                // reuse the room of the points dropped
+                int size = end - start;
+                System.arraycopy(x, start, x, 0, size);
+                System.arraycopy(y, start, y, 0, size);
+                System.arraycopy(rows, start, rows, 0, size);
+                start = 0;
+                end = size;
+            } else {
+                x = Arrays.copyOf(x, 2 * x.length);
+                y = Arrays.copyOf(y, 2 * y.length);
+                rows = Arrays.copyOf(rows, 2 * rows.length);
+            }
+        }
+        x[end] = valx;
+        y[end] = valy;
+        rows[end] = row;
+        end++;
+    }
+
+    /**
+     * Drops the points of the rows older than a row.
+     * @param row The sequence number of the oldest row kept.
+     * @return <code>true</code> if points were dropped.
+     */
+    boolean dropBefore(long row) {
+        int oldStart = start;
+        while (start < end && rows[start] < row) {
+            start++;
+        }
+        return start != oldStart;
+    }
+
+    int size() {
+        return end - start;
+    }
+
+    double getX(int i) {
+        return x[start + i];
+    }
+
+    double getY(int i) {
+        return y[start + i];
+    }
+
+    /**
+     * @return The x values of the points, in a new array.
+     */
+    double[] getXSeries() {
+        return Arrays.copyOfRange(x, start, end);
+    }
+
+    /**
+     * @return The y values of the points, in a new array.
+     */
+    double[] getYSeries() {
+        return Arrays.copyOfRange(y, start, end);
+    }
+}
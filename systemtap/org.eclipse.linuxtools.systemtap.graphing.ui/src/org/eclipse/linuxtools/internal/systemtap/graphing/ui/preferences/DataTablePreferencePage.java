@@ -47,6 +47,12 @@ public class DataTablePreferencePage extends FieldEditorPreferencePage implement
                 GraphingPreferenceConstants.P_MAX_DATA_ITEMS,
                 Localization.getString("DataTablePreferencePage.MaxDataItems"), //$NON-NLS-1$
                 getFieldEditorParent()));
+
+        addField(
+                new IntegerFieldEditor(
+                GraphingPreferenceConstants.P_RETAINED_DATA_ITEMS,
+                Localization.getString("DataTablePreferencePage.RetainedDataItems"), //$NON-NLS-1$
+                getFieldEditorParent()));
     }
 
     @Override
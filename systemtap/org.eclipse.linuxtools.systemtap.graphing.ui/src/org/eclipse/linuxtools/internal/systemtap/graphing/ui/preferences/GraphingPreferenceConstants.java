@@ -21,6 +21,7 @@ public class GraphingPreferenceConstants {
     public static final String P_JUMP_NEW_TABLE_ENTRY = "JumpNewTableEntry"; //$NON-NLS-1$
     public static final String P_AUTO_RESIZE = "AutoResizeColumns"; //$NON-NLS-1$
     public static final String P_MAX_DATA_ITEMS = "MaxDataItems"; //$NON-NLS-1$
+    public static final String P_RETAINED_DATA_ITEMS = "RetainedDataItems"; //$NON-NLS-1$
 
     //graphing.graph
     public static final String P_SHOW_X_GRID_LINES = "ShowXGridLines"; //$NON-NLS-1$
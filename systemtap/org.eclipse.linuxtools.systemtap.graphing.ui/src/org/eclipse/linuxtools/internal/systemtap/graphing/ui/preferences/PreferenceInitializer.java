@@ -31,6 +31,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
         store.setDefault(GraphingPreferenceConstants.P_AUTO_RESIZE, true);
         store.setDefault(GraphingPreferenceConstants.P_JUMP_NEW_TABLE_ENTRY, false);
         store.setDefault(GraphingPreferenceConstants.P_MAX_DATA_ITEMS, 250);
+        store.setDefault(GraphingPreferenceConstants.P_RETAINED_DATA_ITEMS, 100000);
 
         //graph
         store.setDefault(GraphingPreferenceConstants.P_SHOW_X_GRID_LINES, true);
@@ -18,13 +18,16 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.GraphingUIPlugin;
+import org.eclipse.linuxtools.internal.systemtap.graphing.ui.charts.ChartPoints;
 import org.eclipse.linuxtools.internal.systemtap.graphing.ui.preferences.GraphingPreferenceConstants;
 import org.eclipse.linuxtools.systemtap.graphing.core.adapters.IAdapter;
+import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataColumn;
 import org.eclipse.linuxtools.systemtap.graphing.ui.charts.listeners.AbstractChartMouseMoveListener;
 import org.eclipse.linuxtools.systemtap.structures.listeners.IUpdateListener;
 import org.eclipse.swt.SWT;
@@ -93,6 +96,7 @@ public abstract class AbstractChartBuilder extends Composite implements IUpdateL
     protected String title = null;
 
     private List<IUpdateListener> listeners = new ArrayList<>();
+    private final AtomicBoolean repaintPending = new AtomicBoolean();
 
     /**
      * The mouse listener that watches for MouseMove events over a specified region.
@@ -352,6 +356,51 @@ public abstract class AbstractChartBuilder extends Composite implements IUpdateL
         }
     }
 
+    /**
+     * Returns the series of the chart's data. They are read from where the data set stores them when
+     * the adapter provides them as columns, and from the rows of {@link IAdapter#getData()} otherwise.
+     * @return The x series followed by the y series, all starting at the same sequence number and of the
+     * same size, or <code>null</code> if there is no data.
+     * @since 4.3
+     */
+    protected IDataColumn[] getSeriesColumns() {
+        IDataColumn[] columns = adapter.getColumns();
+        if (columns == null) {
+            Object[][] data = adapter.getData();
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            columns = new IDataColumn[data[0].length];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = new RowsColumn(data, i);
+            }
+            return columns;
+        }
+
+        // The columns are read one after the other, so they may start and end at different rows.
+        return ChartPoints.alignColumns(columns);
+    }
+
+    private static class RowsColumn implements IDataColumn {
+        private final Object[][] rows;
+        private final int col;
+
+        RowsColumn(Object[][] rows, int col) {
+            this.rows = rows;
+            this.col = col;
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+
+        @Override
+        public Object get(int row) {
+            return rows[row][col];
+        }
+    }
+
     @Override
     public void handleUpdateEvent() {
         if (chart != null && !chart.isDisposed()) {
@@ -379,7 +428,12 @@ public abstract class AbstractChartBuilder extends Composite implements IUpdateL
     }
 
     private void repaint() {
+        // When the UI thread is behind, a single pending repaint reads all the data appended meanwhile.
+        if (!repaintPending.compareAndSet(false, true)) {
+            return;
+        }
         getDisplay().asyncExec(() -> {
+		    repaintPending.set(false);
 		    if (!chart.isDisposed()) {
 		        updateDataSet();
 		        for (IUpdateListener l : listeners) {
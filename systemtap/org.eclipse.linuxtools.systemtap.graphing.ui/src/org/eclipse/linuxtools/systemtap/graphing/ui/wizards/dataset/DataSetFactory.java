@@ -13,6 +13,8 @@
 
 package org.eclipse.linuxtools.systemtap.graphing.ui.wizards.dataset;
 
+import org.eclipse.linuxtools.internal.systemtap.graphing.ui.GraphingUIPlugin;
+import org.eclipse.linuxtools.internal.systemtap.graphing.ui.preferences.GraphingPreferenceConstants;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IDataSet;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.IFilteredDataSet;
 import org.eclipse.linuxtools.systemtap.graphing.core.datasets.row.FilteredRowDataSet;
@@ -25,20 +27,26 @@ import org.eclipse.swt.widgets.Composite;
 public final class DataSetFactory {
     public static IDataSet createDataSet(String id, String[] labels) {
         if(id.equals(RowDataSet.ID)) {
-            return new RowDataSet(labels);
+            return new RowDataSet(labels, getRetainedItems());
         } else if(id.equals(TableDataSet.ID)) {
-            return new TableDataSet(labels);
+            return new TableDataSet(labels, getRetainedItems());
         }
         return null;
     }
 
     public static IFilteredDataSet createFilteredDataSet(String id, String[] labels) {
-        if(id.equals(RowDataSet.ID)) {
-            return new FilteredRowDataSet(labels);
-        } else if(id.equals(TableDataSet.ID)) {
-            return new FilteredTableDataSet(labels);
+        if(id.equals(TableDataSet.ID)) {
+            return new FilteredTableDataSet(new TableDataSet(labels, getRetainedItems()));
         }
-        return new FilteredRowDataSet(labels);
+        return new FilteredRowDataSet(new RowDataSet(labels, getRetainedItems()));
+    }
+
+    /**
+     * @return The number of most recent entries kept by the data sets created, 0 to keep all of them.
+     */
+    private static int getRetainedItems() {
+        return GraphingUIPlugin.getDefault().getPreferenceStore()
+                .getInt(GraphingPreferenceConstants.P_RETAINED_DATA_ITEMS);
     }
 
     /**
@@ -13,12 +13,18 @@
 
 package org.eclipse.linuxtools.systemtap.structures.tests.runnable;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.eclipse.linuxtools.systemtap.structures.listeners.IGobblerListener;
 import org.eclipse.linuxtools.systemtap.structures.runnable.StreamGobbler;
 import org.junit.Before;
 import org.junit.Test;
@@ -67,6 +73,28 @@ public class StreamGobblerTest{
         assertFalse("StreamGobbler stopped", sg.isRunning());
     }
 
+    @Test
+    public void testLines() {
+        // one byte per read, so that characters are split between reads
+        InputStream is = new ByteArrayInputStream("a\u00e9\n\u20ac\n\nend".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+        List<String> lines = new ArrayList<>();
+        sg = new StreamGobbler(is);
+        sg.addDataListener(new IGobblerListener() {
+            @Override
+            public void handleDataEvent(String line) {
+                lines.add(line);
+            }
+        });
+        sg.start();
+        sg.stop();
+        assertEquals(List.of("a\u00e9\n", "\u20ac\n", "\n", "end"), lines);
+    }
+
     @Test
     public void testDispose() {
         sg.dispose();
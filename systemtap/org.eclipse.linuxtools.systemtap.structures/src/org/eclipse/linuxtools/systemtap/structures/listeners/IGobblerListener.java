@@ -13,6 +13,8 @@
 
 package org.eclipse.linuxtools.systemtap.structures.listeners;
 
+import java.util.List;
+
 public interface IGobblerListener {
 
     /**
@@ -21,4 +23,16 @@ public interface IGobblerListener {
      *
      */
     void handleDataEvent(String line);
+
+    /**
+     * called by streamgobbler with the lines read at once. Processes each line
+     * with {@link #handleDataEvent(String)} unless overridden.
+     * @param lines The textual lines to process, in order.
+     * @since 4.3
+     */
+    default void handleDataEvent(List<String> lines) {
+        for (String line : lines) {
+            handleDataEvent(line);
+        }
+    }
 }
@@ -15,6 +15,11 @@ package org.eclipse.linuxtools.systemtap.structures.runnable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,10 +29,14 @@ import org.eclipse.linuxtools.systemtap.structures.listeners.IGobblerListener;
  * A separate thread to listen to an InputStream and pull all the data
  * out of it. When data is found a new event is fired share the data with
  * any <code>IDataListener</code> that is listening.
+ * The stream is read in blocks and decoded as UTF-8; the lines completed
+ * by each block are sent in one event.
  * @author Ryan Morse
  */
 public class StreamGobbler implements Runnable {
 
+    private static final int BUFFER_SIZE = 16 * 1024;
+
     public StreamGobbler(InputStream is) {
         if(null != is) {
             this.is = is;
@@ -67,19 +76,63 @@ public class StreamGobbler implements Runnable {
         if (reader != Thread.currentThread())
             return;
 
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        List<String> lines = new ArrayList<>();
         try {
-            int val = is.read();
-            while(val != -1) {
-                line.append((char)val);
-
-                if ('\n' == val)
-                    this.fireNewDataEvent();
-
-                val = is.read();
+            int count;
+            // blocks until some data is available, so lines are not delayed
+            while ((count = is.read(bytes.array(), bytes.position(), bytes.remaining())) != -1) {
+                bytes.position(bytes.position() + count);
+                bytes.flip();
+                decoder.decode(bytes, chars, false);
+                // keep the bytes of an incomplete character for the next read
+                bytes.compact();
+                chars.flip();
+                splitLines(chars, lines);
+                chars.clear();
+                if (!lines.isEmpty()) {
+                    this.fireNewDataEvent(lines);
+                    lines = new ArrayList<>();
+                }
+            }
+            bytes.flip();
+            decoder.decode(bytes, chars, true);
+            decoder.flush(chars);
+            chars.flip();
+            splitLines(chars, lines);
+            if (!lines.isEmpty()) {
+                this.fireNewDataEvent(lines);
             }
         } catch (IOException ioe) {}    // If stream closed before thread shuts down
     }
 
+    /**
+     * Appends decoded characters to the current line, and moves each completed
+     * line, with its terminator, to a list.
+     */
+    private void splitLines(CharBuffer chars, List<String> lines) {
+        char[] array = chars.array();
+        int start = 0;
+        int limit = chars.limit();
+        for (int i = 0; i < limit; i++) {
+            if ('\n' == array[i]) {
+                if (line.length() == 0) {
+                    lines.add(new String(array, start, i + 1 - start));
+                } else {
+                    line.append(array, start, i + 1 - start);
+                    lines.add(line.toString());
+                    line.setLength(0);
+                }
+                start = i + 1;
+            }
+        }
+        line.append(array, start, limit - start);
+    }
+
     /**
      * Stops the gobbler from monitoring the stream, and fires one last data event
      * to make sure that listeners have the entire contents of what was read in
@@ -128,6 +181,19 @@ public class StreamGobbler implements Runnable {
         }
     }
 
+    /**
+     * Sends lines read from the stream to all the listeners, in one event.
+     * @param lines The lines, each with its terminator.
+     * @since 4.3
+     */
+    public void fireNewDataEvent(List<String> lines) {
+        synchronized (listeners) {
+            for(int i = 0; i < listeners.size(); i++){
+                listeners.get(i).handleDataEvent(lines);
+            }
+        }
+    }
+
     /**
      * Registers the provided listener to get data events.
      * @param l A listener that needs to monitor the stream.
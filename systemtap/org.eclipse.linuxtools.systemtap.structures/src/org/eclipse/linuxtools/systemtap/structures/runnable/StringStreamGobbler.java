@@ -14,6 +14,7 @@
 package org.eclipse.linuxtools.systemtap.structures.runnable;
 
 import java.io.InputStream;
+import java.util.List;
 
 /**
  * A {@link StreamGobbler} that reads the stream into a {@link StringBuilder}
@@ -33,6 +34,16 @@ public class StringStreamGobbler extends StreamGobbler {
         output.append(line);
     }
 
+    /**
+     * @since 4.3
+     */
+    @Override
+    public void fireNewDataEvent(List<String> lines) {
+        for (String line : lines) {
+            output.append(line);
+        }
+    }
+
     public StringBuilder getOutput() {
         return output;
     }
@@ -14,6 +14,8 @@
 
 package org.eclipse.linuxtools.internal.systemtap.ui.consolelog.structures;
 
+import java.util.List;
+
 import org.eclipse.linuxtools.systemtap.ui.consolelog.internal.Localization;
 import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ConsoleStreamDaemon;
 import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ScriptConsole;
@@ -29,6 +31,16 @@ public class ErrorStreamDaemon extends ConsoleStreamDaemon {
         outputData = new StringBuilder();
     }
 
+    /**
+     * Pushes the lines one at a time, each may start with a password prompt.
+     */
+    @Override
+    public void handleDataEvent(List<String> lines) {
+        for (String line : lines) {
+            handleDataEvent(line);
+        }
+    }
+
     /**
      * Prints out the new output data to the console and parses it and sends it to the
      * ErrorView.
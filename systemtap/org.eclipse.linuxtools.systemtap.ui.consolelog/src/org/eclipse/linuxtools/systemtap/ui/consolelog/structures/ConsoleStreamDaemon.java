@@ -15,6 +15,7 @@ package org.eclipse.linuxtools.systemtap.ui.consolelog.structures;
 
 
 import java.io.IOException;
+import java.util.List;
 
 import org.eclipse.linuxtools.internal.systemtap.ui.consolelog.structures.Messages;
 import org.eclipse.linuxtools.systemtap.graphing.ui.widgets.ExceptionErrorDialog;
@@ -55,6 +56,18 @@ public class ConsoleStreamDaemon implements IGobblerListener {
         this.pushData();
     }
 
+    /**
+     * Captures the lines read at once and pushes them to the console in one write
+     */
+    @Override
+    public void handleDataEvent(List<String> lines) {
+        if (lines.size() == 1) {
+            handleDataEvent(lines.get(0));
+        } else {
+            handleDataEvent(String.join("", lines)); //$NON-NLS-1$
+        }
+    }
+
     /**
      * Checks to see if the class has been disposed already
      * @return boolean representing whether or not the class has been disposed
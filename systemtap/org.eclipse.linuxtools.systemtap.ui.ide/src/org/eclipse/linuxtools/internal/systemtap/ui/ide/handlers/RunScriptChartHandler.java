@@ -52,9 +52,7 @@ public class RunScriptChartHandler extends RunScriptHandler {
     @Override
     protected void scriptConsoleInitialized(ScriptConsole console){
         int n = parsers.size();
-        for (int i = 0; i < n; i++) {
-            console.getCommand().addInputStreamListener(new ChartStreamDaemon(dataSets.get(i), parsers.get(i)));
-        }
+        console.getCommand().addInputStreamListener(ChartStreamDaemon.forDataSets(dataSets, parsers));
         try {
             String name = console.getName();
             String title = name.substring(name.lastIndexOf('/') + 1);
@@ -16,7 +16,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ BasicCachegrindTest.class, CModelLabelsTest.class,
+@Suite.SuiteClasses({ BasicCachegrindTest.class, CachegrindParserTest.class, CModelLabelsTest.class,
         DoubleClickTest.class, LaunchConfigTabTest.class,
         MultiProcessTest.class, ExpandCollapseTest.class, ShortcutTest.class })
 public class AllTests {
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.cachegrind.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.CachegrindParser;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFile;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFunction;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindLine;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindOutput;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachegrindParserTest {
+    private static final String HEADER = "desc: I1 cache:         32768 B, 64 B, 8-way associative\n" //$NON-NLS-1$
+            + "cmd: ./test\n" //$NON-NLS-1$
+            + "events: Ir Dr Dw\n" //$NON-NLS-1$
+            + "fl=???\n" //$NON-NLS-1$
+            + "fn=main\n"; //$NON-NLS-1$
+
+    @Rule
+    public TemporaryFolder tmpfiles = new TemporaryFolder();
+
+    private CachegrindOutput parse(String lines) throws IOException {
+        File file = tmpfiles.newFile("cachegrind_1234.txt"); //$NON-NLS-1$
+        Files.write(file.toPath(), (HEADER + lines).getBytes(StandardCharsets.UTF_8));
+        CachegrindOutput output = new CachegrindOutput();
+        CachegrindParser.getParser().parse(output, file);
+        return output;
+    }
+
+    @Test
+    public void testMissingTrailingCounts() throws IOException {
+        CachegrindOutput output = parse("3 1 2 3\n" //$NON-NLS-1$
+                + "4 5\n" //$NON-NLS-1$
+                + "5 7 8\n" //$NON-NLS-1$
+                + "summary: 13 10\n"); //$NON-NLS-1$
+        assertEquals(Integer.valueOf(1234), output.getPid());
+        CachegrindFile file = output.getFiles()[0];
+        CachegrindFunction function = file.getFunctions()[0];
+
+        // the counts of the previous line are not kept
+        CachegrindLine[] lines = function.getLines();
+        assertEquals(3, lines.length);
+        assertEquals(4, lines[1].getLine());
+        assertArrayEquals(new long[] { 5, 0, 0 }, lines[1].getValues());
+        assertArrayEquals(new long[] { 7, 8, 0 }, lines[2].getValues());
+        for (int event = 0; event < 3; event++) {
+            assertEquals(lines[0].getValues()[event], lines[0].getValue(event));
+            assertEquals(lines[2].getValues()[event], lines[2].getValue(event));
+        }
+
+        assertArrayEquals(new long[] { 13, 10, 3 }, function.getTotals());
+        assertArrayEquals(new long[] { 13, 10, 3 }, file.getTotals());
+        assertArrayEquals(new long[] { 13, 10, 0 }, output.getSummary());
+    }
+
+    @Test(expected = IOException.class)
+    public void testTooManyCounts() throws IOException {
+        parse("3 1 2 3 4\n"); //$NON-NLS-1$
+    }
+
+    @Test(expected = IOException.class)
+    public void testSummaryTooManyCounts() throws IOException {
+        parse("3 1 2 3\n" //$NON-NLS-1$
+                + "summary: 1 2 3 4\n"); //$NON-NLS-1$
+    }
+}
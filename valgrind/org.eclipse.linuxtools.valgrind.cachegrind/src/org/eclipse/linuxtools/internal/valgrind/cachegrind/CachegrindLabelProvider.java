@@ -76,10 +76,15 @@ public class CachegrindLabelProvider extends CellLabelProvider {
                 cell.setText(NLS.bind(Messages.getString("CachegrindViewPart.Total_PID"), ((CachegrindOutput) element).getPid())); //$NON-NLS-1$
                 cell.setImage(DebugUITools.getImage(IDebugUIConstants.IMG_OBJS_REGISTER));
             }
+        } else if (element instanceof CachegrindFile) {
+            long[] totals = ((CachegrindFile) element).getTotals();
+            if (totals != null) {
+                cell.setText(df.format(totals[index - 1]));
+            }
         } else if (element instanceof CachegrindFunction) {
             cell.setText(df.format(((CachegrindFunction) element).getTotals()[index - 1]));
         } else if (element instanceof CachegrindLine) {
-            cell.setText(df.format(((CachegrindLine) element).getValues()[index - 1]));
+            cell.setText(df.format(((CachegrindLine) element).getValue(index - 1)));
         } else if (element instanceof CachegrindOutput) {
             cell.setText(df.format(((CachegrindOutput) element).getSummary()[index - 1]));
         }
@@ -16,11 +16,11 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDescription;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFile;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFunction;
-import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindLine;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindOutput;
 import org.eclipse.linuxtools.valgrind.core.ValgrindParserUtils;
 
@@ -57,9 +57,27 @@ public final class CachegrindParser {
             String line;
             CachegrindFile curFl = null;
             CachegrindFunction curFn = null;
+            // counts of the line being parsed
+            long[] data = null;
             while ((line = br.readLine()) != null) {
-                if (line.startsWith(EVENTS + COLON)) {
+                if (line.isEmpty()) {
+                    ValgrindParserUtils.fail(line);
+                }
+                char first = line.charAt(0);
+                if (first >= '0' && first <= '9') { // line data, the most frequent
+                    if (curFn == null || data == null) {
+                        ValgrindParserUtils.fail(line);
+                    }
+                    int end = tokenEnd(line, 0);
+                    long lineNo = parseNumber(line, 0, end);
+                    if (lineNo > Integer.MAX_VALUE) {
+                        ValgrindParserUtils.fail(line);
+                    }
+                    parseData(line, end, data);
+                    curFn.addLine((int) lineNo, data);
+                } else if (line.startsWith(EVENTS + COLON)) {
                     output.setEvents(ValgrindParserUtils.parseStrValue(line, COLON + SPACE).split(SPACE));
+                    data = new long[output.getEvents().length];
                 } else if (line.startsWith(CMD + COLON)) {
                     //continue
                 } else if (line.startsWith(DESC + COLON)) {
@@ -76,35 +94,63 @@ public final class CachegrindParser {
                         ValgrindParserUtils.fail(line);
                     }
                 } else if (line.startsWith(SUMMARY + COLON)) {
-                    long[] summary = parseData(line, ValgrindParserUtils.parseStrValue(line, COLON + SPACE).split(SPACE));
-                    output.setSummary(summary);
-                }
-                else { // line data
-                    String[] tokens = line.split(SPACE, 2);
-                    if (ValgrindParserUtils.isNumber(tokens[0])) {
-                        int lineNo = Integer.parseInt(tokens[0]);
-
-                        long[] data = parseData(line, tokens[1].split(SPACE));
-                        if (curFn != null) {
-                            curFn.addLine(new CachegrindLine(curFn, lineNo, data));
-                        } else {
-                            ValgrindParserUtils.fail(line);
-                        }
-                    } else {
+                    if (data == null) {
                         ValgrindParserUtils.fail(line);
                     }
+                    parseData(line, SUMMARY.length() + COLON.length(), data);
+                    output.setSummary(data.clone());
+                } else {
+                    ValgrindParserUtils.fail(line);
                 }
             }
         }
     }
 
-    private long[] parseData(String line, String[] data) throws IOException {
-        long[] result = new long[data.length];
-        for (int i = 0; i < data.length; i++) {
-            if (!ValgrindParserUtils.isNumber(data[i])) {
+    /**
+     * Parse the counts of the events, separated by spaces. The missing counts at the end are zero.
+     *
+     * @param line
+     *            - the line
+     * @param start
+     *            - index of the space before the first count
+     * @param data
+     *            - the counts read
+     */
+    private static void parseData(String line, int start, long[] data) throws IOException {
+        int i = start;
+        int n = 0;
+        int length = line.length();
+        while (true) {
+            while (i < length && line.charAt(i) == ' ') {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            if (i == start || n == data.length) {
+                // no separator, or more counts than events
+                ValgrindParserUtils.fail(line);
+            }
+            int end = tokenEnd(line, i);
+            data[n++] = parseNumber(line, i, end);
+            i = end;
+        }
+        Arrays.fill(data, n, data.length, 0);
+    }
+
+    private static int tokenEnd(String line, int start) {
+        int end = line.indexOf(' ', start);
+        return end < 0 ? line.length() : end;
+    }
+
+    private static long parseNumber(String line, int start, int end) throws IOException {
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9' || result > (Long.MAX_VALUE - 9) / 10) {
                 ValgrindParserUtils.fail(line);
             }
-            result[i] = Long.parseLong(data[i]);
+            result = 10 * result + (c - '0');
         }
         return result;
     }
@@ -233,12 +233,15 @@ public class CachegrindViewPart extends ViewPart implements IValgrindToolView {
 					} else {
 						long[] v1 = null;
 						long[] v2 = null;
-						if (o1 instanceof CachegrindFunction && o2 instanceof CachegrindFunction) {
+						if (o1 instanceof CachegrindFile && o2 instanceof CachegrindFile) {
+							v1 = ((CachegrindFile) o1).getTotals();
+							v2 = ((CachegrindFile) o2).getTotals();
+						} else if (o1 instanceof CachegrindFunction && o2 instanceof CachegrindFunction) {
 							v1 = ((CachegrindFunction) o1).getTotals();
 							v2 = ((CachegrindFunction) o2).getTotals();
 						} else if (o1 instanceof CachegrindLine && o2 instanceof CachegrindLine) {
-							v1 = ((CachegrindLine) o1).getValues();
-							v2 = ((CachegrindLine) o2).getValues();
+							result = ((CachegrindLine) o1).getValue(sortIndex - 1)
+									- ((CachegrindLine) o2).getValue(sortIndex - 1);
 						} else if (o1 instanceof CachegrindOutput && o2 instanceof CachegrindOutput) {
 							v1 = ((CachegrindOutput) o1).getSummary();
 							v2 = ((CachegrindOutput) o2).getSummary();
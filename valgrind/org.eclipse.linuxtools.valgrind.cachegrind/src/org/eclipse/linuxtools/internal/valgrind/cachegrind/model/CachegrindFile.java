@@ -28,6 +28,7 @@ public class CachegrindFile implements ICachegrindElement {
     private CachegrindOutput parent;
     private String path;
     private List<CachegrindFunction> functions;
+    private long[] totals;
 
     private IAdaptable model;
 
@@ -52,6 +53,22 @@ public class CachegrindFile implements ICachegrindElement {
         functions.add(func);
     }
 
+    void addTotals(long[] values) {
+        if (totals == null) {
+            totals = new long[values.length];
+        }
+        for (int i = 0; i < values.length; i++) {
+            totals[i] += values[i];
+        }
+    }
+
+    /**
+     * @return the count of each event in the functions of the file, null if it has none
+     */
+    public long[] getTotals() {
+        return totals;
+    }
+
     public CachegrindFunction[] getFunctions() {
         return functions.toArray(new CachegrindFunction[functions.size()]);
     }
@@ -12,7 +12,7 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.cachegrind.model;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.cdt.core.model.CModelException;
@@ -28,8 +28,13 @@ import org.eclipse.core.runtime.IAdaptable;
 public class CachegrindFunction implements ICachegrindElement {
     private CachegrindFile parent;
     private String name;
-    private List<CachegrindLine> lines;
+    // the lines of the function in columns: line numbers, and the counts of each event
+    private int[] lineNumbers;
+    private long[][] counts;
+    private int size;
     private long[] totals;
+    // elements of the lines, created when first asked for
+    private CachegrindLine[] lines;
 
     private IAdaptable model;
 
@@ -38,7 +43,7 @@ public class CachegrindFunction implements ICachegrindElement {
     public CachegrindFunction(CachegrindFile parent, String name) {
         this.parent = parent;
         this.name = name;
-        lines = new ArrayList<>();
+        lineNumbers = new int[4];
 
         IAdaptable pModel = parent.getModel();
         if (pModel instanceof ICElement) {
@@ -91,15 +96,67 @@ public class CachegrindFunction implements ICachegrindElement {
         return element;
     }
 
-    public void addLine(CachegrindLine line) {
-        long[] values = line.getValues();
+    /**
+     * Add the counts of a line to the function, and to the totals of the function and of its file.
+     *
+     * @param line
+     *            - the line number, 0 if the counts are for the whole function
+     * @param values
+     *            - the count of each event, copied
+     */
+    public void addLine(int line, long[] values) {
         if (totals == null) {
             totals = new long[values.length];
+            counts = new long[values.length][lineNumbers.length];
         }
+        if (size == lineNumbers.length) {
+            int capacity = 2 * size;
+            lineNumbers = Arrays.copyOf(lineNumbers, capacity);
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = Arrays.copyOf(counts[i], capacity);
+            }
+        }
+        lineNumbers[size] = line;
         for (int i = 0; i < values.length; i++) {
+            counts[i][size] = values[i];
             totals[i] += values[i];
         }
-        lines.add(line);
+        size++;
+        lines = null;
+        parent.addTotals(values);
+    }
+
+    /**
+     * @param index
+     *            - index of a line of the function
+     * @return the line number
+     */
+    int getLineNumber(int index) {
+        return lineNumbers[index];
+    }
+
+    /**
+     * @param index
+     *            - index of a line of the function
+     * @return the count of each event on the line
+     */
+    long[] getValues(int index) {
+        long[] values = new long[counts.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = counts[i][index];
+        }
+        return values;
+    }
+
+    /**
+     * @param index
+     *            - index of a line of the function
+     * @param event
+     *            - index of an event
+     * @return the count of the event on the line
+     */
+    long getValue(int index, int event) {
+        return counts[event][index];
     }
 
     public String getName() {
@@ -116,14 +173,20 @@ public class CachegrindFunction implements ICachegrindElement {
     }
 
     public CachegrindLine[] getLines() {
-        return lines.toArray(new CachegrindLine[lines.size()]);
+        if (lines == null) {
+            lines = new CachegrindLine[size];
+            for (int i = 0; i < size; i++) {
+                lines[i] = new CachegrindLine(this, i);
+            }
+        }
+        return lines.clone();
     }
 
     @Override
     public ICachegrindElement[] getChildren() {
         ICachegrindElement[] children = null;
         // if there is only a summary don't return any children
-        if (lines.get(0).getLine() > 0) {
+        if (lineNumbers[0] > 0) {
             children = getLines();
         }
         return children;
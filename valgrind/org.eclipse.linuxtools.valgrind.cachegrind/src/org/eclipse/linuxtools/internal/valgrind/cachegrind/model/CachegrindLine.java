@@ -17,13 +17,19 @@ import org.eclipse.core.runtime.IAdaptable;
 
 public class CachegrindLine implements ICachegrindElement {
     private CachegrindFunction parent;
-    private int line;
-    private long[] values;
+    private int index;
 
-    public CachegrindLine(CachegrindFunction parent, int line, long[] values) {
+    /**
+     * Constructor
+     *
+     * @param parent
+     *            - the function
+     * @param index
+     *            - index of the line in the function, whose counts it keeps
+     */
+    public CachegrindLine(CachegrindFunction parent, int index) {
         this.parent = parent;
-        this.line = line;
-        this.values = values;
+        this.index = index;
     }
 
     @Override
@@ -32,11 +38,20 @@ public class CachegrindLine implements ICachegrindElement {
     }
 
     public int getLine() {
-        return line;
+        return parent.getLineNumber(index);
     }
 
     public long[] getValues() {
-        return values;
+        return parent.getValues(index);
+    }
+
+    /**
+     * @param event
+     *            - index of an event
+     * @return the count of the event on the line, read without copying the others
+     */
+    public long getValue(int event) {
+        return parent.getValue(index, event);
     }
 
     @Override
@@ -48,7 +63,7 @@ public class CachegrindLine implements ICachegrindElement {
     public int compareTo(ICachegrindElement o) {
         int result = 0;
         if (o instanceof CachegrindLine) {
-            result = line - ((CachegrindLine) o).getLine();
+            result = getLine() - ((CachegrindLine) o).getLine();
         }
         return result;
     }
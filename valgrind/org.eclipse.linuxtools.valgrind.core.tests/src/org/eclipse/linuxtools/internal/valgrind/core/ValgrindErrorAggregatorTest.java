@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+import org.eclipse.linuxtools.valgrind.core.ValgrindParserUtils;
+import org.eclipse.linuxtools.valgrind.core.tests.AbstractInlineDataTest;
+import org.junit.Test;
+
+public class ValgrindErrorAggregatorTest extends AbstractInlineDataTest {
+	// a memcheck log with errors repeated in a loop, and leaks of the same stacks
+	private static final String MEMCHECK_LOG = "valgrind_6161.txt";
+
+	private final ValgrindErrorAggregator aggregator = new ValgrindErrorAggregator();
+
+	private IValgrindMessage[] aggregate(String name) throws IOException {
+		File file = tmpfiles.newFile(name);
+		try (InputStream in = FileLocator.openStream(getBundle(), new Path("valgrindFiles/" + name), false)) {
+			Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		for (IValgrindMessage message : new ValgrindCoreParser(file, null).getMessages()) {
+			aggregator.add(message);
+		}
+		return aggregator.getMessages();
+	}
+
+	private static ValgrindError error(String text, String... frames) {
+		ValgrindError error = new ValgrindError(null, text, null, 1);
+		for (String frame : frames) {
+			Object[] parsed = ValgrindParserUtils.parseFilename(frame);
+			new ValgrindStackFrame(error, frame, null, null, (String) parsed[0], (Integer) parsed[1]);
+		}
+		return error;
+	}
+
+	@Test
+	public void testRepeatedErrors() throws IOException {
+		IValgrindMessage[] messages = aggregate(MEMCHECK_LOG);
+		assertEquals(14, messages.length);
+
+		// the reads of the loop differ by their addresses only
+		ValgrindError read = (ValgrindError) messages[4];
+		assertEquals("Invalid read of size 4 [PID: 6161] [3 occurrences]", read.getText());
+		assertEquals(-1, read.getTotalLeakedBytes());
+		ValgrindError write = (ValgrindError) messages[5];
+		assertEquals(1, write.getOccurrences());
+		assertEquals("Invalid write of size 4 [PID: 6161]", write.getText());
+
+		// the sizes of the errors which are not leaks are kept
+		assertEquals("Invalid read of size 8 [PID: 6161]", messages[6].getText());
+		assertEquals("ERROR SUMMARY: 8 errors from 5 contexts (suppressed: 0 from 0) [PID: 6161]",
+				messages[13].getText());
+	}
+
+	@Test
+	public void testLeaks() throws IOException {
+		IValgrindMessage[] messages = aggregate(MEMCHECK_LOG);
+
+		ValgrindError lost = (ValgrindError) messages[8];
+		assertEquals(160, lost.getLeakedBytes());
+		assertEquals(4, lost.getLeakedBlocks());
+		assertEquals(1, lost.getOccurrences());
+
+		// the leaks of the same stack are collapsed whatever their sizes, separators and loss records
+		ValgrindError list = (ValgrindError) messages[9];
+		assertEquals(1024, list.getLeakedBytes());
+		assertEquals(8, list.getLeakedBlocks());
+		assertEquals(2, list.getOccurrences());
+		assertEquals(3072, list.getTotalLeakedBytes());
+		assertTrue(list.getText().contains(" [2 occurrences, "));
+
+		// a reachable block is not a lost one
+		ValgrindError reachable = (ValgrindError) messages[10];
+		assertEquals(40, reachable.getLeakedBytes());
+		assertEquals(1, reachable.getOccurrences());
+
+		// the summaries are not leaks
+		assertEquals(-1, ((ValgrindError) messages[7]).getLeakedBytes());
+		assertEquals(-1, ((ValgrindError) messages[11]).getLeakedBytes());
+	}
+
+	@Test
+	public void testNormalizedText() {
+		// hexadecimal numbers of any case and length are ignored
+		assertTrue(aggregator.add(error("Address 0x4A9C068 is on thread 1's stack",
+				"at 0x109196: read_past (loop.c:8)")));
+		assertFalse(aggregator.add(error("Address 0xbeef is on thread 1's stack",
+				"at 0x10919a: read_past (loop.c:8)")));
+		// but not the decimal numbers of the errors which are not leaks
+		assertTrue(aggregator.add(error("Address 0x4a9c068 is on thread 2's stack",
+				"at 0x109196: read_past (loop.c:8)")));
+		// nor the location of a frame
+		assertTrue(aggregator.add(error("Address 0x4a9c068 is on thread 1's stack",
+				"at 0x109196: read_past (loop.c:9)")));
+
+		// a leak keeps its words, not its numbers
+		ValgrindError leak = error("1,000,000 bytes in 1 blocks are possibly lost in loss record 1 of 2",
+				"at 0x48407B4: malloc (vg_replace_malloc.c:381)");
+		assertTrue(aggregator.add(leak));
+		assertEquals(1000000, leak.getLeakedBytes());
+		assertFalse(aggregator.add(error("12 bytes in 3 blocks are possibly lost in loss record 2 of 2",
+				"at 0x48407B4: malloc (vg_replace_malloc.c:381)")));
+		assertEquals(1000012, leak.getTotalLeakedBytes());
+		assertTrue(aggregator.add(error("12 (6 direct, 6 indirect) bytes in 3 blocks are possibly lost in loss record 2 of 2",
+				"at 0x48407B4: malloc (vg_replace_malloc.c:381)")));
+		assertEquals(5, aggregator.getMessages().length);
+	}
+
+	@Test
+	public void testSharedFrameStrings() throws IOException {
+		IValgrindMessage[] messages = aggregate(MEMCHECK_LOG);
+
+		// "by 0x1091CF: main (loop.c:18)" in the allocation stacks of the read and write errors
+		ValgrindStackFrame readAlloc = (ValgrindStackFrame) messages[4].getChildren()[2].getChildren()[1];
+		ValgrindStackFrame writeAlloc = (ValgrindStackFrame) messages[5].getChildren()[2].getChildren()[1];
+		assertEquals("by 0x1091CF: main (loop.c:18)", readAlloc.getText());
+		assertSame(readAlloc.getText(), writeAlloc.getText());
+		assertSame(readAlloc.getFile(), writeAlloc.getFile());
+
+		// and in the stack of a leak
+		ValgrindStackFrame leakAlloc = (ValgrindStackFrame) messages[8].getChildren()[1];
+		assertSame(readAlloc.getText(), leakAlloc.getText());
+		assertSame(readAlloc.getFile(), ((ValgrindStackFrame) messages[4].getChildren()[1]).getFile());
+	}
+}
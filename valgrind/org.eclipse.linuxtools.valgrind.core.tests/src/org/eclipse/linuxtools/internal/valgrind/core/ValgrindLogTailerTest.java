@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+import org.eclipse.linuxtools.valgrind.core.tests.AbstractInlineDataTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ValgrindLogTailerTest extends AbstractInlineDataTest {
+	private static final String INVALID_READ = "==4242== Invalid read of size 1\n"
+			+ "==4242==    at 0x4004E2: main (test.c:16)\n"
+			+ "==4242==  Address 0x51f1040 is 0 bytes after a block of size 0 alloc'd\n";
+	// the same error, at other addresses
+	private static final String INVALID_READ_AGAIN = "==4242== Invalid read of size 1\n"
+			+ "==4242==    at 0x4004F8: main (test.c:16)\n"
+			+ "==4242==  Address 0x51f10a0 is 0 bytes after a block of size 0 alloc'd\n";
+	private static final String INVALID_WRITE = "==4242== Invalid write of size 4\n"
+			+ "==4242==    at 0x400512: main (test.c:20)\n";
+
+	private File dir;
+	private File log;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = tmpfiles.newFolder();
+		log = new File(dir, "valgrind_4242.txt");
+		log.createNewFile();
+	}
+
+	private static void append(File file, String text) throws IOException {
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+	}
+
+	private ValgrindLogTailer newTailer() {
+		return new ValgrindLogTailer(dir, f -> f.getName().startsWith("valgrind_"), null);
+	}
+
+	@Test
+	public void testPartialLines() throws IOException {
+		try (ValgrindLogTailer tailer = newTailer()) {
+			assertEquals(0, tailer.poll().length);
+
+			// a line is parsed once its terminator is written
+			append(log, INVALID_READ.substring(0, 20));
+			assertEquals(0, tailer.poll().length);
+			append(log, INVALID_READ.substring(20));
+
+			// an error is complete once the next one starts
+			assertEquals(0, tailer.poll().length);
+			append(log, INVALID_WRITE.substring(0, 40));
+			IValgrindMessage[] messages = tailer.poll();
+			assertEquals(1, messages.length);
+			assertEquals("Invalid read of size 1 [PID: 4242]", messages[0].getText());
+			IValgrindMessage[] children = messages[0].getChildren();
+			assertEquals(2, children.length);
+			assertEquals("at 0x4004E2: main (test.c:16)", children[0].getText());
+			assertEquals(16, ((ValgrindStackFrame) children[0]).getLine());
+
+			// the last error and the last line, without terminator, are read at the end
+			append(log, INVALID_WRITE.substring(40, INVALID_WRITE.length() - 1));
+			assertEquals(0, tailer.poll().length);
+			List<IValgrindMessage[]> logs = tailer.finish();
+			assertEquals(1, logs.size());
+			assertEquals(2, logs.get(0).length);
+			assertSame(messages[0], logs.get(0)[0]);
+			assertEquals("Invalid write of size 4 [PID: 4242]", logs.get(0)[1].getText());
+			assertEquals("at 0x400512: main (test.c:20)", logs.get(0)[1].getChildren()[0].getText());
+		}
+	}
+
+	@Test
+	public void testCrLf() throws IOException {
+		try (ValgrindLogTailer tailer = newTailer()) {
+			append(log, (INVALID_READ + INVALID_WRITE).replace("\n", "\r\n"));
+			IValgrindMessage[] messages = tailer.poll();
+			assertEquals(1, messages.length);
+			assertEquals("Invalid read of size 1 [PID: 4242]", messages[0].getText());
+			ValgrindStackFrame frame = (ValgrindStackFrame) messages[0].getChildren()[0];
+			assertEquals("test.c", frame.getFile());
+			assertEquals(16, frame.getLine());
+
+			IValgrindMessage[] last = tailer.finish().get(0);
+			assertEquals("at 0x400512: main (test.c:20)", last[1].getChildren()[0].getText());
+		}
+	}
+
+	@Test
+	public void testRepeatedErrors() throws IOException {
+		try (ValgrindLogTailer tailer = newTailer()) {
+			append(log, INVALID_READ + INVALID_READ_AGAIN + INVALID_WRITE);
+			IValgrindMessage[] messages = tailer.poll();
+			assertEquals(1, messages.length);
+			ValgrindError error = (ValgrindError) messages[0];
+
+			// the occurrences of an error returned are only counted when asked
+			assertTrue(tailer.hasOccurrences());
+			assertEquals(1, error.getOccurrences());
+			assertArrayEquals(new ValgrindError[] { error }, tailer.countOccurrences());
+			assertEquals(2, error.getOccurrences());
+			assertFalse(tailer.hasOccurrences());
+			assertEquals(0, tailer.countOccurrences().length);
+
+			append(log, INVALID_READ_AGAIN);
+			IValgrindMessage[] logs = tailer.finish().get(0);
+			assertEquals(2, logs.length);
+			assertSame(error, logs[0]);
+			assertEquals(2, error.getOccurrences());
+			tailer.countOccurrences();
+			assertEquals(3, error.getOccurrences());
+		}
+	}
+
+	@Test
+	public void testProcesses() throws IOException {
+		try (ValgrindLogTailer tailer = newTailer()) {
+			append(log, INVALID_READ);
+			assertEquals(0, tailer.poll().length);
+
+			// a log created while valgrind runs is followed too, identical errors of other processes are kept
+			File child = new File(dir, "valgrind_4343.txt");
+			child.createNewFile();
+			append(child, INVALID_READ.replace("4242", "4343") + INVALID_WRITE.replace("4242", "4343"));
+			IValgrindMessage[] messages = tailer.poll();
+			assertEquals(1, messages.length);
+			assertEquals("Invalid read of size 1 [PID: 4343]", messages[0].getText());
+
+			List<IValgrindMessage[]> logs = tailer.finish();
+			assertEquals(2, logs.size());
+			assertFalse(tailer.hasOccurrences());
+			int first = logs.get(0)[0].getText().endsWith("[PID: 4242]") ? 0 : 1;
+			assertEquals(1, logs.get(first).length);
+			assertEquals(2, logs.get(1 - first).length);
+		}
+	}
+}
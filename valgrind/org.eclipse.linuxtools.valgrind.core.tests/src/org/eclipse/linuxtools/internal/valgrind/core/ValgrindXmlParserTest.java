@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+import org.eclipse.linuxtools.valgrind.core.tests.AbstractInlineDataTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ValgrindXmlParserTest extends AbstractInlineDataTest {
+	private static final String MEMCHECK_XML = "valgrind_4242.xml";
+	private static final String TRUNCATED_XML = "valgrind_4343.xml";
+	private static final String HELGRIND_XML = "valgrind_5151.xml";
+	private static final long POLL_TIMEOUT = 10000;
+	private IValgrindMessage[] messages;
+	private ILaunch launchMock;
+
+	@Before
+	public void setUp() {
+		launchMock = Mockito.mock(ILaunch.class);
+	}
+
+	/**
+	 * Copy a recorded XML output of valgrind to the temp dir.
+	 */
+	private File getFile(String name) throws IOException {
+		File file = tmpfiles.newFile(name);
+		try (InputStream in = FileLocator.openStream(getBundle(), new Path("valgrindFiles/" + name), false)) {
+			Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		return file;
+	}
+
+	private void parse(String name) throws IOException {
+		messages = new ValgrindXmlParser(getFile(name), launchMock).getMessages();
+	}
+
+	private static void checkFrame(IValgrindMessage message, String text, String file, int line) {
+		assertTrue(message instanceof ValgrindStackFrame);
+		assertEquals(text, message.getText());
+		assertEquals(file, ((ValgrindStackFrame) message).getFile());
+		assertEquals(line, ((ValgrindStackFrame) message).getLine());
+	}
+
+	@Test
+	public void testErrorWithAuxiliaryStack() throws IOException {
+		parse(MEMCHECK_XML);
+		assertEquals(3, messages.length);
+
+		ValgrindError error = (ValgrindError) messages[0];
+		assertEquals("Invalid read of size 1 [PID: 4242]", error.getText());
+		assertEquals("InvalidRead", error.getKind());
+		assertEquals(1, error.getThreadId());
+		assertEquals(-1, error.getLeakedBytes());
+
+		// the stack of the error, then the auxiliary description owning the stack after it
+		IValgrindMessage[] children = error.getChildren();
+		assertEquals(2, children.length);
+		checkFrame(children[0], "at 0x401146: main (/home/user/basicTest/test.c:16)",
+				"/home/user/basicTest/test.c", 16);
+		assertEquals("Address 0x4a5404a is 0 bytes after a block of size 10 alloc'd [PID: 4242]",
+				children[1].getText());
+		assertEquals(error, children[1].getParent());
+		IValgrindMessage[] auxFrames = children[1].getChildren();
+		assertEquals(2, auxFrames.length);
+		checkFrame(auxFrames[0],
+				"at 0x483A809: malloc (/build/valgrind/coregrind/m_replacemalloc/vg_replace_malloc.c:307)",
+				"/build/valgrind/coregrind/m_replacemalloc/vg_replace_malloc.c", 307);
+		checkFrame(auxFrames[1], "by 0x401136: main (/home/user/basicTest/test.c:15)",
+				"/home/user/basicTest/test.c", 15);
+
+		assertEquals("Invalid write of size 1 [PID: 4242]", messages[1].getText());
+		assertEquals("InvalidWrite", ((ValgrindError) messages[1]).getKind());
+	}
+
+	@Test
+	public void testLeak() throws IOException {
+		parse(MEMCHECK_XML);
+		ValgrindError leak = (ValgrindError) messages[2];
+		assertEquals("10 bytes in 1 blocks are definitely lost in loss record 1 of 1 [PID: 4242]", leak.getText());
+		assertEquals("Leak_DefinitelyLost", leak.getKind());
+		assertEquals(10, leak.getLeakedBytes());
+		assertEquals(1, leak.getLeakedBlocks());
+		assertEquals(10, leak.getTotalLeakedBytes());
+		assertEquals("Memcheck:Leak", leak.getSuppressionKind());
+		// the suppression is not a part of the stack
+		assertEquals(2, leak.getChildren().length);
+	}
+
+	@Test
+	public void testHelgrindThreads() throws IOException {
+		parse(HELGRIND_XML);
+		assertEquals(3, messages.length);
+
+		ValgrindError root = (ValgrindError) messages[0];
+		assertEquals("Thread #1 is the program's root thread [PID: 5151]", root.getText());
+		assertEquals(1, root.getThreadId());
+		assertEquals(0, root.getChildren().length);
+
+		ValgrindError created = (ValgrindError) messages[1];
+		assertEquals("Thread #2 was created [PID: 5151]", created.getText());
+		assertEquals(2, created.getThreadId());
+		IValgrindMessage[] frames = created.getChildren();
+		assertEquals(4, frames.length);
+		checkFrame(frames[1], "by 0x4B2F2EB: create_thread (in /usr/lib/x86_64-linux-gnu/libpthread-2.31.so)", null,
+				0);
+		checkFrame(frames[3], "by 0x4011C9: main (/home/user/helgrindTest/race.c:14)",
+				"/home/user/helgrindTest/race.c", 14);
+
+		ValgrindError race = (ValgrindError) messages[2];
+		assertEquals("Possible data race during read of size 4 at 0x404030 by thread #1 [PID: 5151]",
+				race.getText());
+		assertEquals("Race", race.getKind());
+		IValgrindMessage[] children = race.getChildren();
+		assertEquals(4, children.length);
+		assertEquals("This conflicts with a previous write of size 4 by thread #2 [PID: 5151]",
+				children[1].getText());
+		assertEquals(2, children[1].getChildren().length);
+		assertEquals("Location 0x404030 is 0 bytes inside global var \"counter\" [PID: 5151]", children[2].getText());
+		assertEquals("declared at race.c:4 [PID: 5151]", children[3].getText());
+	}
+
+	@Test
+	public void testTruncated() throws IOException {
+		parse(TRUNCATED_XML);
+		// the error being written when valgrind was killed is dropped
+		assertEquals(1, messages.length);
+		assertEquals("Invalid read of size 1 [PID: 4343]", messages[0].getText());
+		assertEquals(2, messages[0].getChildren().length);
+	}
+
+	@Test
+	public void testTailer() throws IOException, InterruptedException {
+		byte[] content = Files.readAllBytes(getFile(MEMCHECK_XML).toPath());
+		File dir = tmpfiles.newFolder();
+		// with --xml=yes and -q, the text log is empty
+		new File(dir, "valgrind_4242.txt").createNewFile();
+		File xml = new File(dir, MEMCHECK_XML);
+		int firstError = new String(content, StandardCharsets.UTF_8).indexOf("</error>") + "</error>".length();
+
+		try (ValgrindLogTailer tailer = new ValgrindLogTailer(dir, f -> f.getName().startsWith("valgrind_"), null);
+				OutputStream out = new FileOutputStream(xml)) {
+			out.write(content, 0, firstError);
+			out.flush();
+
+			// the first error is parsed while valgrind is still writing
+			List<IValgrindMessage> polled = new ArrayList<>();
+			long deadline = System.currentTimeMillis() + POLL_TIMEOUT;
+			while (polled.isEmpty() && System.currentTimeMillis() < deadline) {
+				polled.addAll(Arrays.asList(tailer.poll()));
+				Thread.sleep(50);
+			}
+			assertEquals(1, polled.size());
+			assertEquals("Invalid read of size 1 [PID: 4242]", polled.get(0).getText());
+
+			out.write(content, firstError, content.length - firstError);
+			out.flush();
+
+			// the text log and the XML output are merged into the messages of the process
+			List<IValgrindMessage[]> logs = tailer.finish();
+			assertEquals(1, logs.size());
+			assertEquals(3, logs.get(0).length);
+			assertEquals(polled.get(0), logs.get(0)[0]);
+			assertEquals(10, ((ValgrindError) logs.get(0)[2]).getLeakedBytes());
+		}
+	}
+}
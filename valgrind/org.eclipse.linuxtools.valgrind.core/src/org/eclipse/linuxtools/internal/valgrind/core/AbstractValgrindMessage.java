@@ -72,4 +72,12 @@ public class AbstractValgrindMessage implements IValgrindMessage {
     public String getText() {
         return text;
     }
+
+    /**
+     * Replace the text by an equal string, shared with other messages.
+     * @param text - the same text
+     */
+    void setText(String text) {
+        this.text = text;
+    }
 }
\ No newline at end of file
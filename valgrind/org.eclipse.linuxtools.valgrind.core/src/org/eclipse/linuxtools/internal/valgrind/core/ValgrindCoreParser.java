@@ -40,10 +40,13 @@ public class ValgrindCoreParser {
     private static final String AT = "at"; //$NON-NLS-1$
     private static final String BY = "by"; //$NON-NLS-1$
 
-    private List<IValgrindMessage> messages;
+    private final List<IValgrindMessage> messages = new ArrayList<>();
     private int pid;
     private ILaunch launch;
     private ISourceLocator locator;
+    // keep track of nested messages and their corresponding indents
+    private final Stack<IValgrindMessage> messageStack = new Stack<>();
+    private final Stack<Integer> indentStack = new Stack<>();
 
     /**
      * When using this method make sure locator passed to this method can
@@ -61,69 +64,146 @@ public class ValgrindCoreParser {
     public ValgrindCoreParser(File inputFile, ILaunch launch, ISourceLocator locator) throws IOException {
         this.launch = launch;
         this.locator = locator;
-        // keep track of nested messages and their corresponding indents
-        Stack<IValgrindMessage> messageStack = new Stack<>();
-        Stack<Integer> indentStack = new Stack<>();
-        messages = new ArrayList<>();
-
         try (BufferedReader br = new BufferedReader(new FileReader(inputFile))) {
             pid = ValgrindParserUtils.parsePID(inputFile.getName(), CommandLineConstants.LOG_PREFIX);
             String line;
             while ((line = br.readLine()) != null) {
-                // remove PID string
-                // might encounter warnings also #325130
-                // fixed #423371 - handle timestamp (e.g. ==00:00:00:01.175 52756728==)
-                line = line.replaceFirst("==([\\d:\\.]+\\s)?\\d+==|\\*\\*\\d+\\*\\*", ""); //$NON-NLS-1$ //$NON-NLS-2$
-
-                int indent;
-                for (indent = 0; indent < line.length()
-                && line.charAt(indent) == ' '; indent++){}
-
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    /*
-                     * indent == 1 -> top level message
-                     * indent > 1 -> child message
-                     * indent == 0 -> should not occur
-                     */
-                    if (indent == 1) {
-                        // top-level message, clear stacks
-                        IValgrindMessage message = getMessage(null, line);
-                        messages.add(message);
-                        messageStack.clear();
-                        messageStack.push(message);
-                        indentStack.clear();
-                        indentStack.push(indent);
-                    } else if (indent > 1) {
-                        /**
-                         * We assume that an indented child message has a
-                         * parent, but this may not be the case.
-                         * See BZ #360225
-                         */
-                        if (indentStack.isEmpty()) {
-                            // pretend this is a top level message
-                            IValgrindMessage message = getMessage(null, line);
-                            messages.add(message);
-                            messageStack.clear();
-                            messageStack.push(message);
-                            indentStack.clear();
-                            indentStack.push(1);
-                        } else {
-                            // find this message's parent
-                            while (indent <= indentStack.peek()) {
-                                messageStack.pop();
-                                indentStack.pop();
-                            }
-
-                            messageStack.push(getMessage(messageStack.peek(), line));
-                            indentStack.push(indent);
-                        }
+                parseLine(line);
+            }
+        }
+    }
+
+    /**
+     * Constructor of a parser fed line by line, with {@link #parseLine(String)}, while the log file is written.
+     *
+     * @param fileName
+     *            - name of the log file, giving the PID of the process
+     * @param launch
+     *            - launch object, can be null
+     * @param locator
+     *            - source locator
+     * @throws IOException if the PID cannot be parsed from the file name
+     */
+    public ValgrindCoreParser(String fileName, ILaunch launch, ISourceLocator locator) throws IOException {
+        this.launch = launch;
+        this.locator = locator;
+        pid = ValgrindParserUtils.parsePID(fileName, CommandLineConstants.LOG_PREFIX);
+    }
+
+    /**
+     * Parse a line of the log.
+     *
+     * @param line
+     *            - a line, without its terminator
+     */
+    public void parseLine(String line) {
+        // skip PID string
+        // might encounter warnings also #325130
+        // fixed #423371 - handle timestamp (e.g. ==00:00:00:01.175 52756728==)
+        int start = prefixLength(line);
+
+        int indent;
+        for (indent = 0; start + indent < line.length()
+        && line.charAt(start + indent) == ' '; indent++){}
+
+        line = line.substring(start).trim();
+        if (!line.isEmpty()) {
+            /*
+             * indent == 1 -> top level message
+             * indent > 1 -> child message
+             * indent == 0 -> should not occur
+             */
+            if (indent == 1) {
+                // top-level message, clear stacks
+                IValgrindMessage message = getMessage(null, line);
+                messages.add(message);
+                messageStack.clear();
+                messageStack.push(message);
+                indentStack.clear();
+                indentStack.push(indent);
+            } else if (indent > 1) {
+                /**
+                 * We assume that an indented child message has a
+                 * parent, but this may not be the case.
+                 * See BZ #360225
+                 */
+                if (indentStack.isEmpty()) {
+                    // pretend this is a top level message
+                    IValgrindMessage message = getMessage(null, line);
+                    messages.add(message);
+                    messageStack.clear();
+                    messageStack.push(message);
+                    indentStack.clear();
+                    indentStack.push(1);
+                } else {
+                    // find this message's parent
+                    while (indent <= indentStack.peek()) {
+                        messageStack.pop();
+                        indentStack.pop();
                     }
+
+                    messageStack.push(getMessage(messageStack.peek(), line));
+                    indentStack.push(indent);
                 }
             }
         }
     }
 
+    /**
+     * Length of the prefix of a line matching <code>==([\d:\.]+\s)?\d+==</code> or
+     * <code>\*\*\d+\*\*</code>, scanned without a regular expression.
+     *
+     * @param line
+     *            - a line of the log
+     * @return the length of the prefix, 0 if there is none
+     */
+    static int prefixLength(String line) {
+        int length = line.length();
+        if (length < 5) {
+            return 0;
+        }
+        char c = line.charAt(0);
+        if (c == '*') {
+            if (line.charAt(1) != '*') {
+                return 0;
+            }
+            int i = skipDigits(line, 2);
+            return i > 2 && line.startsWith("**", i) ? i + 2 : 0; //$NON-NLS-1$
+        } else if (c == '=') {
+            if (line.charAt(1) != '=') {
+                return 0;
+            }
+            int i = 2;
+            while (i < length && (isDigit(line.charAt(i)) || line.charAt(i) == ':' || line.charAt(i) == '.')) {
+                i++;
+            }
+            if (i > 2 && i < length && isWhitespace(line.charAt(i))) {
+                // timestamp
+                int pidStart = i + 1;
+                i = skipDigits(line, pidStart);
+                return i > pidStart && line.startsWith("==", i) ? i + 2 : 0; //$NON-NLS-1$
+            }
+            i = skipDigits(line, 2);
+            return i > 2 && line.startsWith("==", i) ? i + 2 : 0; //$NON-NLS-1$
+        }
+        return 0;
+    }
+
+    private static int skipDigits(String line, int i) {
+        while (i < line.length() && isDigit(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
     private IValgrindMessage getMessage(IValgrindMessage message, String line) {
         if (line.startsWith(AT) || line.startsWith(BY)) {
             Object[] parsed = ValgrindParserUtils.parseFilename(line);
@@ -136,13 +216,30 @@ public class ValgrindCoreParser {
 
     /**
      * Return messages from paring
-     * @return all parsed messages
+     * @return all parsed messages, but those returned by {@link #takeCompleteMessages(boolean)}
      *
      */
     public IValgrindMessage[] getMessages() {
         return messages.toArray(new IValgrindMessage[messages.size()]);
     }
 
+    /**
+     * Return the top-level messages parsed since the last call which are complete: the last message may still
+     * get children from the next lines, unless the log is complete. The parser does not keep the returned
+     * messages.
+     *
+     * @param endOfLog
+     *            - whether all the lines of the log were parsed
+     * @return the new complete messages
+     */
+    public IValgrindMessage[] takeCompleteMessages(boolean endOfLog) {
+        int end = endOfLog ? messages.size() : Math.max(0, messages.size() - 1);
+        List<IValgrindMessage> complete = messages.subList(0, end);
+        IValgrindMessage[] result = complete.toArray(new IValgrindMessage[complete.size()]);
+        complete.clear();
+        return result;
+    }
+
     /**
      * Constructor
      * @param inputFile - file to parse
@@ -15,12 +15,20 @@ package org.eclipse.linuxtools.internal.valgrind.core;
 
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+import org.eclipse.osgi.util.NLS;
 
 /**
  * Valgrind Error message object
  */
 public class ValgrindError extends AbstractValgrindMessage {
     protected int pid;
+    protected String kind;
+    protected int threadId = -1;
+    protected long leakedBytes = -1;
+    protected long leakedBlocks = -1;
+    protected String suppressionKind;
+    protected int occurrences = 1;
+    protected long totalLeakedBytes = -1;
 
     /**
      * Constructor
@@ -34,8 +42,99 @@ public class ValgrindError extends AbstractValgrindMessage {
         this.pid = pid;
     }
 
+    /**
+     * Kind of the error, e.g. <code>InvalidRead</code>
+     * @return the kind, or null if the error was not read from the XML output of valgrind
+     */
+    public String getKind() {
+        return kind;
+    }
+
+    void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * Valgrind identifier of the thread of the error
+     * @return the thread identifier, -1 if not known
+     */
+    public int getThreadId() {
+        return threadId;
+    }
+
+    void setThreadId(int threadId) {
+        this.threadId = threadId;
+    }
+
+    /**
+     * Number of bytes lost by a leak
+     * @return the number of bytes, -1 if the error is not a leak or if not known
+     */
+    public long getLeakedBytes() {
+        return leakedBytes;
+    }
+
+    /**
+     * Number of blocks lost by a leak
+     * @return the number of blocks, -1 if the error is not a leak or if not known
+     */
+    public long getLeakedBlocks() {
+        return leakedBlocks;
+    }
+
+    void setLeak(long bytes, long blocks) {
+        this.leakedBytes = bytes;
+        this.leakedBlocks = blocks;
+        this.totalLeakedBytes = bytes;
+    }
+
+    /**
+     * Number of identical errors collapsed into this one
+     * @return the number of occurrences of the error
+     */
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    /**
+     * Number of bytes lost by all the occurrences of a leak
+     * @return the number of bytes, -1 if the error is not a leak or if not known
+     */
+    public long getTotalLeakedBytes() {
+        return totalLeakedBytes;
+    }
+
+    /**
+     * Collapse an identical error into this one.
+     * @param other - an error with the same description and stacks
+     */
+    void addOccurrence(ValgrindError other) {
+        occurrences++;
+        if (other.leakedBytes >= 0) {
+            totalLeakedBytes = Math.max(totalLeakedBytes, 0) + other.leakedBytes;
+        }
+    }
+
+    /**
+     * Kind of the suppression matching the error, e.g. <code>Memcheck:Leak</code>
+     * @return the suppression kind, or null if suppressions were not generated
+     */
+    public String getSuppressionKind() {
+        return suppressionKind;
+    }
+
+    void setSuppressionKind(String suppressionKind) {
+        this.suppressionKind = suppressionKind;
+    }
+
     @Override
     public String getText() {
-        return super.getText() + " [PID: " + pid + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+        String text = super.getText() + " [PID: " + pid + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+        if (occurrences > 1) {
+            text += totalLeakedBytes >= 0
+                    ? NLS.bind(Messages.getString("ValgrindError.Occurrences_leaked"), occurrences, totalLeakedBytes) //$NON-NLS-1$
+                    : NLS.bind(Messages.getString("ValgrindError.Occurrences"), occurrences); //$NON-NLS-1$
+        }
+        return text;
     }
 }
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+
+/**
+ * Collapses the identical errors of a process into one error counting their occurrences. Two errors are identical
+ * when their descriptions and stacks are the same once the addresses are ignored, and for leaks the sizes too.
+ * The texts and file names of the stack frames kept are shared between frames.
+ */
+public class ValgrindErrorAggregator {
+    private static final String BYTES_IN = " bytes in "; //$NON-NLS-1$
+    private static final String BLOCKS = " blocks"; //$NON-NLS-1$
+
+    private final Map<String, ValgrindError> errors = new HashMap<>();
+    private final List<IValgrindMessage> messages = new ArrayList<>();
+    // texts and file names of the stack frames kept
+    private final Map<String, String> frameStrings = new HashMap<>();
+    private final BiConsumer<ValgrindError, ValgrindError> occurrences;
+
+    /**
+     * Constructor, counting the occurrences of an error as they are added.
+     */
+    public ValgrindErrorAggregator() {
+        this(ValgrindError::addOccurrence);
+    }
+
+    /**
+     * @param occurrences
+     *            - receives each error kept with an identical error added, to count its occurrence
+     */
+    ValgrindErrorAggregator(BiConsumer<ValgrindError, ValgrindError> occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    /**
+     * Add a top-level message.
+     *
+     * @param message
+     *            - a message of the process
+     * @return whether the message was kept, false if it was collapsed into an identical error
+     */
+    public boolean add(IValgrindMessage message) {
+        if (!(message instanceof ValgrindError)) {
+            messages.add(message);
+            return true;
+        }
+        ValgrindError error = (ValgrindError) message;
+        if (error.leakedBytes < 0) {
+            parseLeak(error);
+        }
+        StringBuilder key = new StringBuilder();
+        appendKey(error, error.leakedBytes >= 0, key);
+        ValgrindError first = errors.putIfAbsent(key.toString(), error);
+        if (first != null) {
+            occurrences.accept(first, error);
+            return false;
+        }
+        shareFrameStrings(error);
+        messages.add(error);
+        return true;
+    }
+
+    /**
+     * @return the messages kept, in the order they were added
+     */
+    public IValgrindMessage[] getMessages() {
+        return messages.toArray(new IValgrindMessage[messages.size()]);
+    }
+
+    private static void appendKey(IValgrindMessage message, boolean leak, StringBuilder key) {
+        String text = message.getText();
+        if (message instanceof ValgrindStackFrame) {
+            // "at 0x4004E2: main (test.c:16)": the function and its location
+            int colon = text.indexOf(": "); //$NON-NLS-1$
+            key.append(colon < 0 ? text : text.substring(colon + 2));
+        } else {
+            appendNormalized(text, leak, key);
+        }
+        IValgrindMessage[] children = message.getChildren();
+        if (children.length > 0) {
+            key.append('{');
+            for (IValgrindMessage child : children) {
+                appendKey(child, leak, key);
+                key.append('\n');
+            }
+            key.append('}');
+        }
+        key.append('\n');
+    }
+
+    /**
+     * Append a text without the digits of its hexadecimal numbers, and of all its numbers for a leak.
+     */
+    private static void appendNormalized(String text, boolean leak, StringBuilder key) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '0' && i + 1 < length && (text.charAt(i + 1) == 'x' || text.charAt(i + 1) == 'X')) {
+                key.append("0x"); //$NON-NLS-1$
+                i += 2;
+                while (i < length && Character.digit(text.charAt(i), 16) >= 0) {
+                    i++;
+                }
+            } else if (leak && (isDigit(c) || c == ',' && i > 0 && isDigit(text.charAt(i - 1)))) {
+                if (i == 0 || !isDigit(text.charAt(i - 1)) && text.charAt(i - 1) != ',') {
+                    key.append('#');
+                }
+                i++;
+            } else {
+                key.append(c);
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Read the size of a leak from its description in the text output, e.g.
+     * <code>1,024 (512 direct, 512 indirect) bytes in 3 blocks are definitely lost</code>.
+     */
+    private static void parseLeak(ValgrindError error) {
+        String text = error.getText();
+        int bytesIn = text.indexOf(BYTES_IN);
+        if (bytesIn < 0 || !isDigit(text.charAt(0))) {
+            return;
+        }
+        int blocks = text.indexOf(BLOCKS, bytesIn);
+        if (blocks < 0) {
+            return;
+        }
+        long bytes = parseNumber(text, 0);
+        long blockCount = parseNumber(text, bytesIn + BYTES_IN.length());
+        if (bytes >= 0 && blockCount >= 0) {
+            error.setLeak(bytes, blockCount);
+        }
+    }
+
+    /**
+     * @return the number with thousands separators starting at an index, -1 if there is none
+     */
+    private static long parseNumber(String text, int start) {
+        long value = 0;
+        int i = start;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                value = 10 * value + c - '0';
+            } else if (c != ',') {
+                break;
+            }
+        }
+        return i > start ? value : -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private void shareFrameStrings(IValgrindMessage message) {
+        for (IValgrindMessage child : message.getChildren()) {
+            if (child instanceof ValgrindStackFrame) {
+                ValgrindStackFrame frame = (ValgrindStackFrame) child;
+                frame.setText(share(frame.getText()));
+                if (frame.file != null) {
+                    frame.file = share(frame.file);
+                }
+            } else {
+                shareFrameStrings(child);
+            }
+        }
+    }
+
+    private String share(String string) {
+        String shared = frameStrings.putIfAbsent(string, string);
+        return shared != null ? shared : string;
+    }
+}
@@ -0,0 +1,382 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.core;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.model.ISourceLocator;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+
+/**
+ * Follows the valgrind log files of a directory while they are written, and parses their new lines as they
+ * appear. The XML outputs, named like the logs with the <code>.xml</code> extension, are parsed each by a
+ * thread which waits for the data still to be written.
+ */
+public class ValgrindLogTailer implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String XML_EXTENSION = ".xml"; //$NON-NLS-1$
+    private static final long XML_POLL_INTERVAL = 100;
+
+    private final File directory;
+    private final FileFilter filter;
+    private final ILaunch launch;
+    private final ISourceLocator locator;
+    private final Map<File, LogFile> logs = new LinkedHashMap<>();
+    private final Map<File, XmlFile> xmlFiles = new LinkedHashMap<>();
+    // identical errors of each process, by name of its files without the extension
+    private final Map<String, ValgrindErrorAggregator> aggregators = new LinkedHashMap<>();
+    // errors identical to an error already kept, with that error, not counted yet
+    private final Queue<ValgrindError[]> occurrences = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    // whether valgrind has exited, so the end of a file is the end of its content
+    private volatile boolean finished;
+
+    private class LogFile {
+        private final FileChannel channel;
+        private final ValgrindCoreParser parser;
+        private final ValgrindErrorAggregator aggregator;
+        // bytes of the line being read
+        private byte[] line = new byte[256];
+        private int length;
+
+        LogFile(File file) throws IOException {
+            parser = new ValgrindCoreParser(file.getName(), launch, locator);
+            aggregator = aggregator(file);
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        }
+
+        /**
+         * Parse the lines appended to the file since the last call.
+         */
+        void read() throws IOException {
+            buffer.clear();
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                byte[] bytes = buffer.array();
+                int start = 0;
+                int limit = buffer.limit();
+                for (int i = 0; i < limit; i++) {
+                    if (bytes[i] == '\n') {
+                        append(bytes, start, i - start);
+                        parseLine();
+                        start = i + 1;
+                    }
+                }
+                append(bytes, start, limit - start);
+                buffer.clear();
+            }
+        }
+
+        private void append(byte[] bytes, int start, int count) {
+            if (length + count > line.length) {
+                line = Arrays.copyOf(line, Math.max(2 * line.length, length + count));
+            }
+            System.arraycopy(bytes, start, line, length, count);
+            length += count;
+        }
+
+        private void parseLine() {
+            int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+            parser.parseLine(new String(line, 0, end, Charset.defaultCharset()));
+            length = 0;
+        }
+
+        /**
+         * Add the messages completed by the parser to the errors of the process.
+         *
+         * @param endOfLog
+         *            - whether the file is complete
+         * @param kept
+         *            - list receiving the messages which are not occurrences of an error already kept
+         */
+        void takeMessages(boolean endOfLog, List<IValgrindMessage> kept) {
+            for (IValgrindMessage message : parser.takeCompleteMessages(endOfLog)) {
+                if (aggregator.add(message)) {
+                    kept.add(message);
+                }
+            }
+        }
+
+        /**
+         * Parse the last line of a complete file, if it has no terminator.
+         */
+        void finish() {
+            if (length > 0) {
+                parseLine();
+            }
+        }
+    }
+
+    private class XmlFile implements Runnable {
+        private final FileChannel channel;
+        private final ValgrindXmlParser parser;
+        private final ValgrindErrorAggregator aggregator;
+        // top-level messages completed by the parser
+        private final Queue<IValgrindMessage> messages = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+        private IOException error;
+
+        XmlFile(File file) throws IOException {
+            parser = new ValgrindXmlParser(file.getName(), launch, locator);
+            aggregator = aggregator(file);
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            thread = new Thread(this, file.getName());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            try (InputStream in = new BufferedInputStream(new TailInputStream(channel), BUFFER_SIZE)) {
+                parser.parse(in, messages::add);
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+
+        /**
+         * Add the messages completed by the parser to the errors of the process.
+         *
+         * @param kept
+         *            - list receiving the messages which are not occurrences of an error already kept
+         */
+        void takeMessages(List<IValgrindMessage> kept) {
+            IValgrindMessage message;
+            while ((message = messages.poll()) != null) {
+                if (aggregator.add(message)) {
+                    kept.add(message);
+                }
+            }
+        }
+
+        /**
+         * Wait for the parsing of a complete file.
+         */
+        void finish() throws IOException {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * Stream of a file being written: at the end of the data, waits for more until valgrind has exited.
+     */
+    private class TailInputStream extends InputStream {
+        private final FileChannel channel;
+
+        TailInputStream(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                // read the flag first: what was written before valgrind exited is read below
+                boolean complete = finished;
+                int n = channel.read(ByteBuffer.wrap(b, off, len));
+                if (n > 0) {
+                    return n;
+                }
+                if (complete) {
+                    return -1;
+                }
+                try {
+                    Thread.sleep(XML_POLL_INTERVAL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param directory
+     *            - directory where the log files are written
+     * @param filter
+     *            - filter of the log files in the directory
+     * @param launch
+     *            - launch object, can be null
+     */
+    public ValgrindLogTailer(File directory, FileFilter filter, ILaunch launch) {
+        this.directory = directory;
+        this.filter = filter;
+        this.launch = launch;
+        this.locator = ValgrindCoreParser.copyLaunchSourceLocator(launch);
+    }
+
+    /**
+     * Parse the lines written since the last call, in the log files found so far or created since.
+     *
+     * @return the top-level messages completed since the last call, but the errors identical to a message already
+     *         returned, which count as one more of its occurrences once {@link #countOccurrences()} is called
+     * @throws IOException if a log file cannot be read
+     */
+    public IValgrindMessage[] poll() throws IOException {
+        List<IValgrindMessage> messages = new ArrayList<>();
+        for (LogFile log : update()) {
+            log.read();
+            log.takeMessages(false, messages);
+        }
+        for (XmlFile xml : xmlFiles.values()) {
+            xml.takeMessages(messages);
+        }
+        return messages.toArray(new IValgrindMessage[messages.size()]);
+    }
+
+    /**
+     * Parse the end of the log files, once valgrind has exited.
+     *
+     * @return the messages of each process, from its log file followed by its XML output, in the order the files
+     *         were found, with the identical errors collapsed; their occurrences are counted by
+     *         {@link #countOccurrences()}
+     * @throws IOException if a log file cannot be read
+     */
+    public List<IValgrindMessage[]> finish() throws IOException {
+        update();
+        finished = true;
+        List<IValgrindMessage> kept = new ArrayList<>();
+        for (LogFile log : logs.values()) {
+            log.read();
+            log.finish();
+            log.takeMessages(true, kept);
+        }
+        for (XmlFile xml : xmlFiles.values()) {
+            xml.finish();
+            xml.takeMessages(kept);
+        }
+        List<IValgrindMessage[]> messages = new ArrayList<>(aggregators.size());
+        for (ValgrindErrorAggregator aggregator : aggregators.values()) {
+            messages.add(aggregator.getMessages());
+        }
+        return messages;
+    }
+
+    /**
+     * Count the occurrences of the errors found identical to an error already returned, since the last call. The
+     * errors returned are only modified by this method, which can be called from the thread showing them while
+     * the logs are parsed.
+     *
+     * @return the errors whose number of occurrences changed
+     */
+    public ValgrindError[] countOccurrences() {
+        Set<ValgrindError> counted = new LinkedHashSet<>();
+        ValgrindError[] occurrence;
+        while ((occurrence = occurrences.poll()) != null) {
+            occurrence[0].addOccurrence(occurrence[1]);
+            counted.add(occurrence[0]);
+        }
+        return counted.toArray(new ValgrindError[counted.size()]);
+    }
+
+    /**
+     * @return whether occurrences of errors already returned are not counted yet
+     */
+    public boolean hasOccurrences() {
+        return !occurrences.isEmpty();
+    }
+
+    private ValgrindErrorAggregator aggregator(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return aggregators.computeIfAbsent(dot < 0 ? name : name.substring(0, dot),
+                baseName -> new ValgrindErrorAggregator(
+                        (first, error) -> occurrences.add(new ValgrindError[] { first, error })));
+    }
+
+    private Iterable<LogFile> update() throws IOException {
+        File[] files = directory.listFiles(filter);
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().endsWith(XML_EXTENSION)) {
+                    if (!xmlFiles.containsKey(file)) {
+                        xmlFiles.put(file, new XmlFile(file));
+                    }
+                } else if (!logs.containsKey(file)) {
+                    logs.put(file, new LogFile(file));
+                }
+            }
+        }
+        return logs.values();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        IOException error = null;
+        for (LogFile log : logs.values()) {
+            try {
+                log.channel.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        for (XmlFile xml : xmlFiles.values()) {
+            // the parser thread stops at the end of the file
+            try {
+                xml.finish();
+            } catch (IOException e) {
+                // reported by finish
+            }
+            try {
+                xml.channel.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        logs.clear();
+        xmlFiles.clear();
+        aggregators.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+}
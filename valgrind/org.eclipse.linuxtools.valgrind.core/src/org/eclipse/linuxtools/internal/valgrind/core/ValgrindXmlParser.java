@@ -0,0 +1,426 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.core;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.model.ISourceLocator;
+import org.eclipse.linuxtools.valgrind.core.CommandLineConstants;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+import org.eclipse.linuxtools.valgrind.core.ValgrindParserUtils;
+
+/**
+ * Parser of the XML output of valgrind (<code>--xml=yes</code>) into the same hierarchical messages as
+ * {@link ValgrindCoreParser}. The document is streamed: only the error being read is kept apart from the messages.
+ */
+public class ValgrindXmlParser {
+    private static final String PID = "pid"; //$NON-NLS-1$
+    private static final String ERROR = "error"; //$NON-NLS-1$
+    private static final String ANNOUNCE_THREAD = "announcethread"; //$NON-NLS-1$
+    private static final String TID = "tid"; //$NON-NLS-1$
+    private static final String HTHREAD_ID = "hthreadid"; //$NON-NLS-1$
+    private static final String IS_ROOT_THREAD = "isrootthread"; //$NON-NLS-1$
+    private static final String KIND = "kind"; //$NON-NLS-1$
+    private static final String WHAT = "what"; //$NON-NLS-1$
+    private static final String XWHAT = "xwhat"; //$NON-NLS-1$
+    private static final String AUXWHAT = "auxwhat"; //$NON-NLS-1$
+    private static final String XAUXWHAT = "xauxwhat"; //$NON-NLS-1$
+    private static final String TEXT = "text"; //$NON-NLS-1$
+    private static final String LEAKED_BYTES = "leakedbytes"; //$NON-NLS-1$
+    private static final String LEAKED_BLOCKS = "leakedblocks"; //$NON-NLS-1$
+    private static final String STACK = "stack"; //$NON-NLS-1$
+    private static final String FRAME = "frame"; //$NON-NLS-1$
+    private static final String IP = "ip"; //$NON-NLS-1$
+    private static final String OBJ = "obj"; //$NON-NLS-1$
+    private static final String FN = "fn"; //$NON-NLS-1$
+    private static final String DIR = "dir"; //$NON-NLS-1$
+    private static final String FILE = "file"; //$NON-NLS-1$
+    private static final String LINE = "line"; //$NON-NLS-1$
+    private static final String SUPPRESSION = "suppression"; //$NON-NLS-1$
+    private static final String SKIND = "skind"; //$NON-NLS-1$
+
+    private final List<IValgrindMessage> messages = new ArrayList<>();
+    private int pid;
+    private ILaunch launch;
+    private ISourceLocator locator;
+
+    /**
+     * When using this method make sure locator passed to this method can
+     * outlive disposal of launch object if it was derived from it, use
+     * {@link ValgrindCoreParser#copyLaunchSourceLocator(ILaunch)} if needed
+     *
+     * @param inputFile
+     *            - file to parse
+     * @param launch
+     *            - launch object, can be null
+     * @param locator
+     *            - source locator
+     * @throws IOException if file is not found or error reading it
+     */
+    public ValgrindXmlParser(File inputFile, ILaunch launch, ISourceLocator locator) throws IOException {
+        this(inputFile.getName(), launch, locator);
+        try (InputStream in = new BufferedInputStream(new FileInputStream(inputFile))) {
+            parse(in, null);
+        }
+    }
+
+    /**
+     * Constructor
+     * @param inputFile - file to parse
+     * @param launch - launch object can be null
+     * @throws IOException if cannot open file
+     */
+    public ValgrindXmlParser(File inputFile, ILaunch launch) throws IOException {
+        this(inputFile, launch, ValgrindCoreParser.copyLaunchSourceLocator(launch));
+    }
+
+    /**
+     * Constructor of a parser reading a stream with {@link #parse(InputStream, Consumer)}.
+     *
+     * @param fileName
+     *            - name of the XML file, giving the PID of the process until it is read from the file
+     * @param launch
+     *            - launch object, can be null
+     * @param locator
+     *            - source locator
+     * @throws IOException if the PID cannot be parsed from the file name
+     */
+    public ValgrindXmlParser(String fileName, ILaunch launch, ISourceLocator locator) throws IOException {
+        this.launch = launch;
+        this.locator = locator;
+        pid = ValgrindParserUtils.parsePID(fileName, CommandLineConstants.LOG_PREFIX);
+    }
+
+    /**
+     * Parse the errors of an XML output. The parsing stops at the end of the stream, even if the document is not
+     * complete because valgrind was killed: the errors read so far are kept.
+     *
+     * @param in
+     *            - the XML output of valgrind
+     * @param listener
+     *            - notified of each top-level message once it is complete, instead of keeping it in the
+     *            messages of the parser, can be null
+     * @throws IOException if the stream cannot be read
+     */
+    public void parse(InputStream in, Consumer<IValgrindMessage> listener) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        XMLStreamReader reader = null;
+        try {
+            reader = factory.createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                IValgrindMessage message = null;
+                switch (reader.getLocalName()) {
+                case PID:
+                    pid = parseInt(reader.getElementText(), pid);
+                    break;
+                case ERROR:
+                    message = readError(reader);
+                    break;
+                case ANNOUNCE_THREAD:
+                    message = readThreadAnnouncement(reader);
+                    break;
+                default:
+                    break;
+                }
+                if (message == null) {
+                    continue;
+                }
+                if (listener != null) {
+                    listener.accept(message);
+                } else {
+                    messages.add(message);
+                }
+            }
+        } catch (XMLStreamException e) {
+            if (e.getNestedException() instanceof IOException) {
+                throw (IOException) e.getNestedException();
+            }
+            // truncated document: keep the complete errors
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // nothing to release
+                }
+            }
+        }
+    }
+
+    /**
+     * Return messages from paring
+     * @return all parsed messages
+     */
+    public IValgrindMessage[] getMessages() {
+        return messages.toArray(new IValgrindMessage[messages.size()]);
+    }
+
+    /**
+     * Read an <code>error</code> element: its description, followed by stacks and auxiliary descriptions which
+     * each own the stack after them.
+     */
+    private ValgrindError readError(XMLStreamReader reader) throws XMLStreamException {
+        ValgrindError error = null;
+        IValgrindMessage stackOwner = null;
+        String kind = null;
+        int threadId = -1;
+        String suppressionKind = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+            case KIND:
+                kind = reader.getElementText().trim();
+                break;
+            case TID:
+                threadId = parseInt(reader.getElementText(), threadId);
+                break;
+            case WHAT:
+                error = new ValgrindError(null, reader.getElementText().trim(), launch, pid);
+                stackOwner = error;
+                break;
+            case XWHAT:
+                error = readXWhat(reader);
+                stackOwner = error;
+                break;
+            case AUXWHAT:
+                stackOwner = createAuxiliary(error, reader.getElementText().trim());
+                break;
+            case XAUXWHAT:
+                stackOwner = createAuxiliary(error, readText(reader));
+                break;
+            case STACK:
+                readStack(reader, stackOwner);
+                break;
+            case SUPPRESSION:
+                suppressionKind = readSuppressionKind(reader);
+                break;
+            default:
+                skipElement(reader);
+                break;
+            }
+        }
+        if (error != null) {
+            error.setKind(kind);
+            error.setThreadId(threadId);
+            error.setSuppressionKind(suppressionKind);
+        }
+        return error;
+    }
+
+    /**
+     * @return the auxiliary description of an error, or null if the error was not described yet
+     */
+    private ValgrindError createAuxiliary(ValgrindError error, String text) {
+        return error == null ? null : new ValgrindError(error, text, launch, pid);
+    }
+
+    /**
+     * Read an <code>xwhat</code> element: the description of an error with its leak sizes.
+     */
+    private ValgrindError readXWhat(XMLStreamReader reader) throws XMLStreamException {
+        String text = ""; //$NON-NLS-1$
+        long leakedBytes = -1;
+        long leakedBlocks = -1;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+            case TEXT:
+                text = reader.getElementText().trim();
+                break;
+            case LEAKED_BYTES:
+                leakedBytes = parseLong(reader.getElementText(), leakedBytes);
+                break;
+            case LEAKED_BLOCKS:
+                leakedBlocks = parseLong(reader.getElementText(), leakedBlocks);
+                break;
+            default:
+                skipElement(reader);
+                break;
+            }
+        }
+        ValgrindError error = new ValgrindError(null, text, launch, pid);
+        error.setLeak(leakedBytes, leakedBlocks);
+        return error;
+    }
+
+    /**
+     * Read the <code>text</code> child of an element, skipping its other children.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        String text = ""; //$NON-NLS-1$
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (TEXT.equals(reader.getLocalName())) {
+                text = reader.getElementText().trim();
+            } else {
+                skipElement(reader);
+            }
+        }
+        return text;
+    }
+
+    private static String readSuppressionKind(XMLStreamReader reader) throws XMLStreamException {
+        String kind = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (SKIND.equals(reader.getLocalName())) {
+                kind = reader.getElementText().trim();
+            } else {
+                skipElement(reader);
+            }
+        }
+        return kind;
+    }
+
+    /**
+     * Read an <code>announcethread</code> element of helgrind.
+     */
+    private ValgrindError readThreadAnnouncement(XMLStreamReader reader) throws XMLStreamException {
+        ValgrindError announcement = null;
+        int threadId = -1;
+        boolean root = false;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+            case HTHREAD_ID:
+                threadId = parseInt(reader.getElementText(), threadId);
+                break;
+            case IS_ROOT_THREAD:
+                root = true;
+                skipElement(reader);
+                break;
+            case STACK:
+                announcement = createThreadAnnouncement(threadId, root);
+                readStack(reader, announcement);
+                break;
+            default:
+                skipElement(reader);
+                break;
+            }
+        }
+        return announcement == null ? createThreadAnnouncement(threadId, root) : announcement;
+    }
+
+    private ValgrindError createThreadAnnouncement(int threadId, boolean root) {
+        String text = root ? "Thread #" + threadId + " is the program's root thread" //$NON-NLS-1$ //$NON-NLS-2$
+                : "Thread #" + threadId + " was created"; //$NON-NLS-1$ //$NON-NLS-2$
+        ValgrindError announcement = new ValgrindError(null, text, launch, pid);
+        announcement.setThreadId(threadId);
+        return announcement;
+    }
+
+    /**
+     * Read a <code>stack</code> element into stack frames, written as valgrind writes them in its text output.
+     *
+     * @param parent
+     *            - the message owning the stack, the stack is skipped if null
+     */
+    private void readStack(XMLStreamReader reader, IValgrindMessage parent) throws XMLStreamException {
+        if (parent == null) {
+            skipElement(reader);
+            return;
+        }
+        boolean first = true;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (!FRAME.equals(reader.getLocalName())) {
+                skipElement(reader);
+                continue;
+            }
+            String ip = null;
+            String obj = null;
+            String fn = null;
+            String dir = null;
+            String file = null;
+            int line = 0;
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                case IP:
+                    ip = reader.getElementText().trim();
+                    break;
+                case OBJ:
+                    obj = reader.getElementText().trim();
+                    break;
+                case FN:
+                    fn = reader.getElementText().trim();
+                    break;
+                case DIR:
+                    dir = reader.getElementText().trim();
+                    break;
+                case FILE:
+                    file = reader.getElementText().trim();
+                    break;
+                case LINE:
+                    line = parseInt(reader.getElementText(), 0);
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+                }
+            }
+            String path = file != null && dir != null ? dir + '/' + file : file;
+            StringBuilder text = new StringBuilder(first ? "at " : "by "); //$NON-NLS-1$ //$NON-NLS-2$
+            text.append(ip).append(": ").append(fn != null ? fn : "???"); //$NON-NLS-1$ //$NON-NLS-2$
+            if (path != null) {
+                text.append(" (").append(path).append(':').append(line).append(')'); //$NON-NLS-1$
+            } else if (obj != null) {
+                text.append(" (in ").append(obj).append(')'); //$NON-NLS-1$
+            }
+            new ValgrindStackFrame(parent, text.toString(), launch, locator, path, line);
+            first = false;
+        }
+    }
+
+    /**
+     * Skip the current element and its content.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static int parseInt(String text, int defaultValue) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static long parseLong(String text, long defaultValue) {
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
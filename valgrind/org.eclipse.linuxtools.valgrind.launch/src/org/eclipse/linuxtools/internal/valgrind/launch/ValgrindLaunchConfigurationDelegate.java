@@ -51,9 +51,9 @@ import org.eclipse.debug.ui.DebugUITools;
 import org.eclipse.debug.ui.sourcelookup.ISourceLookupResult;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindCommand;
-import org.eclipse.linuxtools.internal.valgrind.core.ValgrindCoreParser;
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindError;
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindInfo;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindLogTailer;
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindStackFrame;
 import org.eclipse.linuxtools.internal.valgrind.ui.ValgrindUIPlugin;
 import org.eclipse.linuxtools.internal.valgrind.ui.ValgrindViewPart;
@@ -71,6 +71,10 @@ public class ValgrindLaunchConfigurationDelegate extends AbstractCLaunchDelegate
     private static final String EQUALS = "="; //$NON-NLS-1$
 
     private static final String LOG_FILE = CommandLineConstants.LOG_PREFIX + "%p.txt"; //$NON-NLS-1$
+    private static final String XML_FILE = CommandLineConstants.LOG_PREFIX + "%p.xml"; //$NON-NLS-1$
+    private static final String OPT_XMLFILE = "--xml-file"; //$NON-NLS-1$
+    // tools whose errors are read from their XML output
+    private static final List<String> XML_TOOLS = Arrays.asList("memcheck", "helgrind"); //$NON-NLS-1$ //$NON-NLS-2$
     private static final Pattern CORE_PATTERN = Pattern.compile("^.*\\.txt\\.core\\.[0-9]+$");  //$NON-NLS-1$
     private static final FileFilter LOG_FILTER = pathname -> pathname.getName().startsWith(CommandLineConstants.LOG_PREFIX) && !CORE_PATTERN.matcher(pathname.getName()).matches();
 
@@ -165,16 +169,24 @@ public class ValgrindLaunchConfigurationDelegate extends AbstractCLaunchDelegate
             process = createNewProcess(launch, command.getProcess(), commandArray[0]);
             // set the command line used
             process.setAttribute(IProcess.ATTR_CMDLINE, command.getCommandLine());
-            while (!process.isTerminated()) {
-                Thread.sleep(100);
-            }
+            IValgrindMessage[] messages;
+            try (ValgrindLogTailer tailer = new ValgrindLogTailer(outputPath.toFile(), LOG_FILTER, launch)) {
+                // parse Valgrind logs while they are written
+                ValgrindMessagePublisher publisher = new ValgrindMessagePublisher(tailer, createLaunchStr());
+                while (!process.isTerminated()) {
+                    Thread.sleep(100);
+                    publisher.publish(tailer.poll());
+                }
 
-            // store these for use by other classes
-            getPlugin().setCurrentLaunchConfiguration(config);
-            getPlugin().setCurrentLaunch(launch);
+                // store these for use by other classes
+                getPlugin().setCurrentLaunchConfiguration(config);
+                getPlugin().setCurrentLaunch(launch);
 
-            // parse Valgrind logs
-            IValgrindMessage[] messages = parseLogs(outputPath);
+                // parse the end of Valgrind logs
+                List<IValgrindMessage[]> logs = tailer.finish();
+                publisher.finish();
+                messages = parseLogs(logs);
+            }
 
             // create launch summary string to distinguish this launch
             launchStr = createLaunchStr();
@@ -214,11 +226,23 @@ public class ValgrindLaunchConfigurationDelegate extends AbstractCLaunchDelegate
     }
 
     protected IValgrindMessage[] parseLogs(IPath outputPath) throws IOException, CoreException {
+        try (ValgrindLogTailer logs = new ValgrindLogTailer(outputPath.toFile(), LOG_FILTER, launch)) {
+            List<IValgrindMessage[]> messages = logs.finish();
+            logs.countOccurrences();
+            return parseLogs(messages);
+        }
+    }
+
+    /**
+     * @param logs the messages parsed from each log file
+     * @return the messages of all log files, with a message for the files without any
+     * @throws CoreException if a marker cannot be created
+     */
+    private IValgrindMessage[] parseLogs(List<IValgrindMessage[]> logs) throws CoreException {
         List<IValgrindMessage> messages = new ArrayList<>();
 
-        for (File log : outputPath.toFile().listFiles(LOG_FILTER)) {
-            ValgrindCoreParser parser = new ValgrindCoreParser(log, launch);
-            IValgrindMessage[] results = parser.getMessages();
+        for (IValgrindMessage[] log : logs) {
+            IValgrindMessage[] results = log;
 
             if (results.length == 0){
                 results = new IValgrindMessage[1];
@@ -357,6 +381,13 @@ public class ValgrindLaunchConfigurationDelegate extends AbstractCLaunchDelegate
             }
         }
 
+        // 3.5.0 specific
+        if ((valgrindVersion == null || valgrindVersion.compareTo(ValgrindLaunchPlugin.VER_3_5_0) >= 0)
+                && XML_TOOLS.contains(getPlugin().getToolName(toolID))) {
+            opts.add(CommandLineConstants.OPT_XML + EQUALS + YES);
+            opts.add(OPT_XMLFILE + EQUALS + outputPath.append(XML_FILE).toPortableString());
+        }
+
         // 3.6.0 specific
         if (valgrindVersion == null || valgrindVersion.compareTo(ValgrindLaunchPlugin.VER_3_6_0) >= 0) {
             if (config.getAttribute(LaunchConfigurationConstants.ATTR_FULLPATH_AFTER, LaunchConfigurationConstants.DEFAULT_FULLPATH_AFTER) == LaunchConfigurationConstants.DEFAULT_FULLPATH_AFTER)
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.launch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindError;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindLogTailer;
+import org.eclipse.linuxtools.internal.valgrind.ui.ValgrindUIPlugin;
+import org.eclipse.linuxtools.internal.valgrind.ui.ValgrindViewPart;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Shows the messages parsed while valgrind is running in the core page of the view, before the tool specific page
+ * is created. The view is updated on the UI thread, with the messages of all the polls made since its last update,
+ * and the occurrences of the errors shown are counted there.
+ */
+class ValgrindMessagePublisher {
+    private final ValgrindLogTailer tailer;
+    private final String description;
+    private final Queue<IValgrindMessage> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private boolean viewCreated;
+    // only read and written on the UI thread
+    private boolean finished;
+
+    /**
+     * @param tailer - the tailer parsing the logs
+     * @param description - the content description of the view
+     */
+    ValgrindMessagePublisher(ValgrindLogTailer tailer, String description) {
+        this.tailer = tailer;
+        this.description = description;
+    }
+
+    /**
+     * Show the messages returned by a poll of the tailer, and the occurrences counted since the last poll.
+     *
+     * @param messages - the messages of the poll
+     */
+    void publish(IValgrindMessage[] messages) {
+        if (messages.length == 0 && !tailer.hasOccurrences()) {
+            return;
+        }
+        if (!viewCreated) {
+            ValgrindUIPlugin.getDefault().createView(description, null);
+            viewCreated = true;
+        }
+        pending.addAll(Arrays.asList(messages));
+        if (scheduled.compareAndSet(false, true)) {
+            Display.getDefault().asyncExec(this::show);
+        }
+    }
+
+    /**
+     * Stop showing the messages, once the logs are parsed to the end, and count the last occurrences.
+     */
+    void finish() {
+        Display.getDefault().syncExec(() -> {
+            finished = true;
+            pending.clear();
+            tailer.countOccurrences();
+        });
+    }
+
+    private void show() {
+        scheduled.set(false);
+        if (finished) {
+            return;
+        }
+        List<IValgrindMessage> messages = new ArrayList<>();
+        IValgrindMessage message;
+        while ((message = pending.poll()) != null) {
+            messages.add(message);
+        }
+        ValgrindError[] counted = tailer.countOccurrences();
+        ValgrindViewPart view = ValgrindUIPlugin.getDefault().getView();
+        if (view != null) {
+            view.addMessages(messages.toArray(new IValgrindMessage[messages.size()]), counted);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.massif;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifParser.LineReader;
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot.SnapshotType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MassifParserTest {
+    private static final String HEADER = "desc: (none)\n" //$NON-NLS-1$
+            + "cmd: ./test\n" //$NON-NLS-1$
+            + "time_unit: i\n"; //$NON-NLS-1$
+    private static final String TREE = "n2: 400 (heap allocation functions) malloc/new/new[], --alloc-fns, etc.\n" //$NON-NLS-1$
+            + " n1: 300 0x400544: f (test.c:5)\n" //$NON-NLS-1$
+            + "  n0: 300 0x400560: main (test.c:10)\n" //$NON-NLS-1$
+            + " n0: 100 0x400570: main (test.c:11)\n"; //$NON-NLS-1$
+
+    @Rule
+    public TemporaryFolder tmpfiles = new TemporaryFolder();
+
+    private static String snapshot(int n, long heap, String type, String tree) {
+        return "#-----------\n" //$NON-NLS-1$
+                + "snapshot=" + n + "\n" //$NON-NLS-1$ //$NON-NLS-2$
+                + "#-----------\n" //$NON-NLS-1$
+                + "time=" + (100 * n) + "\n" //$NON-NLS-1$ //$NON-NLS-2$
+                + "mem_heap_B=" + heap + "\n" //$NON-NLS-1$ //$NON-NLS-2$
+                + "mem_heap_extra_B=0\n" //$NON-NLS-1$
+                + "mem_stacks_B=0\n" //$NON-NLS-1$
+                + "heap_tree=" + type + "\n" //$NON-NLS-1$ //$NON-NLS-2$
+                + tree;
+    }
+
+    private File write(String text) throws IOException {
+        File file = tmpfiles.newFile("massif_1234.txt"); //$NON-NLS-1$
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testLineReader() throws IOException {
+        StringBuilder longLine = new StringBuilder();
+        while (longLine.length() < 100000) {
+            longLine.append("0123456789"); //$NON-NLS-1$
+        }
+        File file = write("a\r\nbc\n\n" + longLine + "\nlast"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        try (LineReader br = new LineReader(new FileInputStream(file), 0)) {
+            assertEquals(0, br.getOffset());
+            assertEquals("a", br.readLine()); //$NON-NLS-1$
+            assertEquals(3, br.getOffset());
+            assertEquals("bc", br.readLine()); //$NON-NLS-1$
+            assertEquals(6, br.getOffset());
+            assertEquals("", br.readLine()); //$NON-NLS-1$
+            assertEquals(7, br.getOffset());
+            // a line longer than the buffer
+            assertEquals(longLine.toString(), br.readLine());
+            assertEquals(8 + longLine.length(), br.getOffset());
+            // the last line has no terminator
+            assertEquals("last", br.readLine()); //$NON-NLS-1$
+            assertEquals(file.length(), br.getOffset());
+            assertNull(br.readLine());
+        }
+
+        try (LineReader br = new LineReader(new FileInputStream(file), 3)) {
+            assertEquals("bc", br.readLine()); //$NON-NLS-1$
+            assertEquals(6, br.getOffset());
+        }
+    }
+
+    @Test
+    public void testSkipTrees() throws IOException {
+        File file = write(TREE + "after\n"); //$NON-NLS-1$
+
+        try (LineReader br = new LineReader(new FileInputStream(file), 0)) {
+            MassifParser.skipTrees(br, 1);
+            assertEquals("after", br.readLine()); //$NON-NLS-1$
+        }
+
+        // the children of the root, each with its own subtree
+        try (LineReader br = new LineReader(new FileInputStream(file), 0)) {
+            br.readLine();
+            MassifParser.skipTrees(br, 2);
+            assertEquals("after", br.readLine()); //$NON-NLS-1$
+        }
+
+        // a tree cut short
+        try (LineReader br = new LineReader(new FileInputStream(file), 0)) {
+            MassifParser.skipTrees(br, 2);
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private void checkLazyChildren(String text) throws IOException {
+        File file = write(text);
+        MassifParser parser = new MassifParser(file);
+        MassifSnapshot[] snapshots = parser.getSnapshots();
+        assertEquals(3, snapshots.length);
+        assertEquals(SnapshotType.EMPTY, snapshots[0].getType());
+
+        // the tree is skipped to parse the next snapshot
+        assertEquals(SnapshotType.PEAK, snapshots[2].getType());
+        assertEquals(200, snapshots[2].getHeapBytes());
+        assertFalse(snapshots[2].getRoot().hasChildren());
+        assertEquals(0, snapshots[2].getRoot().getChildren().length);
+
+        MassifHeapTreeNode root = snapshots[1].getRoot();
+        assertEquals(400, root.getBytes());
+        assertEquals(2, root.getChildCount());
+        MassifHeapTreeNode[] children = root.getChildren();
+        assertEquals(2, children.length);
+        // the children are read once
+        assertSame(children[0], root.getChildren()[0]);
+
+        assertSame(root, children[0].getParent());
+        assertEquals("f", children[0].getFunction()); //$NON-NLS-1$
+        assertEquals(5, children[0].getLine());
+        assertEquals(75, children[0].getPercent(), 0);
+        assertEquals(1, children[0].getChildCount());
+        assertEquals(11, children[1].getLine());
+        assertFalse(children[1].hasChildren());
+
+        MassifHeapTreeNode[] grandchildren = children[0].getChildren();
+        assertEquals(1, grandchildren.length);
+        assertEquals("main", grandchildren[0].getFunction()); //$NON-NLS-1$
+        assertEquals(10, grandchildren[0].getLine());
+        assertEquals(300, grandchildren[0].getBytes());
+    }
+
+    @Test
+    public void testLazyChildren() throws IOException {
+        checkLazyChildren(HEADER + snapshot(0, 0, "empty", "") //$NON-NLS-1$ //$NON-NLS-2$
+                + snapshot(1, 400, "detailed", TREE) //$NON-NLS-1$
+                + snapshot(2, 200, "peak", "n0: 200 (heap allocation functions) malloc/new/new[], --alloc-fns, etc.\n")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testLazyChildrenCrLf() throws IOException {
+        checkLazyChildren((HEADER + snapshot(0, 0, "empty", "") //$NON-NLS-1$ //$NON-NLS-2$
+                + snapshot(1, 400, "detailed", TREE) //$NON-NLS-1$
+                + snapshot(2, 200, "peak", "n0: 200 (heap allocation functions) malloc/new/new[], --alloc-fns, etc.\n")) //$NON-NLS-1$ //$NON-NLS-2$
+                .replace("\n", "\r\n")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testDeepTree() throws IOException {
+        int depth = 100000;
+        StringBuilder tree = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            tree.append(i < depth - 1 ? "n1: 64 0x4005" : "n0: 64 0x4005") //$NON-NLS-1$ //$NON-NLS-2$
+                    .append(Integer.toHexString(i)).append(": f").append(i).append(" (deep.c:").append(i + 1) //$NON-NLS-1$ //$NON-NLS-2$
+                    .append(")\n"); //$NON-NLS-1$
+        }
+        File file = write(HEADER + snapshot(0, 64, "detailed", tree.toString()) //$NON-NLS-1$
+                + snapshot(1, 0, "empty", "")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // the subtrees are skipped without recursion
+        MassifSnapshot[] snapshots = new MassifParser(file).getSnapshots();
+        assertEquals(2, snapshots.length);
+        assertEquals(SnapshotType.EMPTY, snapshots[1].getType());
+
+        MassifHeapTreeNode node = snapshots[0].getRoot();
+        for (int i = 1; i < 4; i++) {
+            assertEquals(1, node.getChildCount());
+            node = node.getChildren()[0];
+            assertEquals("f" + i, node.getFunction()); //$NON-NLS-1$
+            assertEquals(i + 1, node.getLine());
+        }
+    }
+
+    @Test
+    public void testChangedFile() throws IOException {
+        File file = write(HEADER + snapshot(0, 400, "detailed", TREE)); //$NON-NLS-1$
+        MassifHeapTreeNode root = new MassifParser(file).getSnapshots()[0].getRoot();
+        MassifHeapTreeNode child = root.getChildren()[0];
+        assertTrue(child.hasChildren());
+
+        // the children not read yet are not read from another file
+        Files.write(file.toPath(), "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND); //$NON-NLS-1$
+        assertEquals(0, child.getChildren().length);
+        assertFalse(child.hasChildren());
+        // those already read are kept
+        assertEquals(2, root.getChildren().length);
+    }
+}
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.massif.tests;
 
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifParserTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -19,6 +20,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({ DoubleClickTest.class, ChartTests.class, TreeTest.class,
         BasicMassifTest.class, LaunchConfigTabTest.class,
         ExportWizardTest.class, MultiProcessTest.class,
-        ExpandCollapseTest.class, SortTest.class, ChartExportTest.class, ShortcutTest.class })
+        ExpandCollapseTest.class, SortTest.class, ChartExportTest.class, ShortcutTest.class,
+        MassifParserTest.class })
 public class AllTests {
 }
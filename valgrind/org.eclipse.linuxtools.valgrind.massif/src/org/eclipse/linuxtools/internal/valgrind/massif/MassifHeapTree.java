@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.massif;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifParser.LineReader;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * The heap tree of a detailed snapshot, left in the massif output file. Its nodes are read when their parent is
+ * expanded.
+ */
+class MassifHeapTree {
+    private final File file;
+    private final long number;
+    private final long total;
+    // the file as it was parsed
+    private final long length;
+    private final long lastModified;
+
+    /**
+     * Constructor
+     *
+     * @param file
+     *            - the massif output file
+     * @param snapshot
+     *            - the snapshot of the tree
+     */
+    MassifHeapTree(File file, MassifSnapshot snapshot) {
+        this.file = file;
+        this.number = snapshot.getNumber();
+        this.total = snapshot.getTotal();
+        this.length = file.length();
+        this.lastModified = file.lastModified();
+    }
+
+    /**
+     * @return the memory used at the snapshot, in bytes
+     */
+    long getTotal() {
+        return total;
+    }
+
+    /**
+     * Read the children of a node.
+     *
+     * @param parent
+     *            - the node
+     * @param offset
+     *            - offset of the first child in the file
+     * @param count
+     *            - number of children
+     * @return the children, whose own children are read later; none if the file cannot be read any more
+     */
+    List<MassifHeapTreeNode> readChildren(MassifHeapTreeNode parent, long offset, int count) {
+        List<MassifHeapTreeNode> children = new ArrayList<>(count);
+        try {
+            if (file.length() != length || file.lastModified() != lastModified) {
+                throw new IOException(file.getAbsolutePath());
+            }
+            try (LineReader br = new LineReader(new FileInputStream(file), offset)) {
+                for (int i = 0; i < count; i++) {
+                    MassifHeapTreeNode child = MassifParser.parseNode(this, parent, br);
+                    MassifParser.skipTrees(br, child.getChildCount());
+                    children.add(child);
+                }
+            }
+        } catch (IOException e) {
+            children.clear();
+            MassifPlugin plugin = MassifPlugin.getDefault();
+            if (plugin != null) {
+                plugin.getLog().log(new Status(IStatus.ERROR, MassifPlugin.PLUGIN_ID,
+                        NLS.bind(Messages.getString("MassifHeapTree.Cannot_read_tree"), number), e)); //$NON-NLS-1$
+            }
+        }
+        return children;
+    }
+}
@@ -26,6 +26,10 @@ public class MassifHeapTreeNode {
     protected String filename;
     protected int line;
     protected List<MassifHeapTreeNode> children;
+    // number of children in the output file, read when first needed
+    protected int childCount;
+    private MassifHeapTree tree;
+    private long childrenOffset;
 
     public MassifHeapTreeNode(MassifHeapTreeNode parent, double percent, long bytes, String address, String function, String filename, int line) {
         this.parent = parent;
@@ -78,7 +82,44 @@ public class MassifHeapTreeNode {
     }
 
     public void addChild(MassifHeapTreeNode child) {
-        children.add(child);
+        getChildList().add(child);
+        childCount = children.size();
+    }
+
+    /**
+     * Set the children of the node to be read from the output file when first needed.
+     *
+     * @param tree
+     *            - the heap tree of the node
+     * @param offset
+     *            - offset of the first child in the file
+     * @param count
+     *            - number of children
+     */
+    void setChildren(MassifHeapTree tree, long offset, int count) {
+        this.tree = tree;
+        this.childrenOffset = offset;
+        this.childCount = count;
+        children = count > 0 ? null : new ArrayList<>();
+    }
+
+    private List<MassifHeapTreeNode> getChildList() {
+        if (children == null) {
+            children = tree.readChildren(this, childrenOffset, childCount);
+            childCount = children.size();
+        }
+        return children;
+    }
+
+    /**
+     * @return the number of children, without reading them
+     */
+    public int getChildCount() {
+        return childCount;
+    }
+
+    public boolean hasChildren() {
+        return childCount > 0;
     }
 
     public MassifHeapTreeNode getParent() {
@@ -86,7 +127,8 @@ public class MassifHeapTreeNode {
     }
 
     public MassifHeapTreeNode[] getChildren() {
-        return children.toArray(new MassifHeapTreeNode[children.size()]);
+        List<MassifHeapTreeNode> list = getChildList();
+        return list.toArray(new MassifHeapTreeNode[list.size()]);
     }
 
     public String getText() {
@@ -12,17 +12,23 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.massif;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot.SnapshotType;
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot.TimeUnit;
 import org.eclipse.linuxtools.valgrind.core.ValgrindParserUtils;
 import org.eclipse.osgi.util.NLS;
 
+/**
+ * Parser of a massif output file. The heap trees of the detailed snapshots are not read: their roots record where
+ * their children start in the file, and the children are read when they are first asked for.
+ */
 public class MassifParser {
     private static final String COLON = ":"; //$NON-NLS-1$
     private static final String SPACE = " "; //$NON-NLS-1$
@@ -47,9 +53,77 @@ public class MassifParser {
     private Integer pid;
     private MassifSnapshot[] snapshots;
 
+    /**
+     * Reader of the lines of a file, counting the bytes read.
+     */
+    static class LineReader implements AutoCloseable {
+        private final InputStream in;
+        private final byte[] buffer = new byte[64 * 1024];
+        private int position;
+        private int limit;
+        // bytes of the line being read
+        private byte[] line = new byte[256];
+        private long offset;
+
+        LineReader(FileInputStream in, long offset) throws IOException {
+            in.getChannel().position(offset);
+            this.in = in;
+            this.offset = offset;
+        }
+
+        /**
+         * @return the next line, without its terminator, or null at the end of the file
+         */
+        String readLine() throws IOException {
+            int length = 0;
+            boolean terminated = false;
+            while (!terminated) {
+                if (position == limit) {
+                    limit = Math.max(in.read(buffer), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        if (length == 0) {
+                            return null;
+                        }
+                        break;
+                    }
+                }
+                int end = position;
+                while (end < limit && buffer[end] != '\n') {
+                    end++;
+                }
+                int count = end - position;
+                if (length + count > line.length) {
+                    line = Arrays.copyOf(line, Math.max(2 * line.length, length + count));
+                }
+                System.arraycopy(buffer, position, line, length, count);
+                length += count;
+                terminated = end < limit;
+                position = terminated ? end + 1 : end;
+                offset += position - end + count;
+            }
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            return new String(line, 0, length, Charset.defaultCharset());
+        }
+
+        /**
+         * @return the offset of the next line in the file
+         */
+        long getOffset() {
+            return offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
     public MassifParser(File inputFile) throws IOException {
         ArrayList<MassifSnapshot> list = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(inputFile))){
+        try (LineReader br = new LineReader(new FileInputStream(inputFile), 0)) {
             String line;
             MassifSnapshot snapshot = null;
             String cmd = null;
@@ -89,8 +163,10 @@ public class MassifParser {
                     switch (type) {
                     case DETAILED:
                     case PEAK:
-                        MassifHeapTreeNode node = parseTree(snapshot, null, br);
+                        MassifHeapTree tree = new MassifHeapTree(inputFile, snapshot);
+                        MassifHeapTreeNode node = parseNode(tree, null, br);
                         node.setText(NLS.bind(Messages.getString("MassifParser.Snapshot_n"), n, node.getText())); // prepend snapshot number //$NON-NLS-1$
+                        skipTrees(br, node.getChildCount());
                         snapshot.setRoot(node);
                     }
                 }
@@ -103,7 +179,18 @@ public class MassifParser {
         }
     }
 
-    private MassifHeapTreeNode parseTree(MassifSnapshot snapshot, MassifHeapTreeNode parent, BufferedReader br) throws IOException {
+    /**
+     * Read a node of a heap tree, and record where its children start.
+     *
+     * @param tree
+     *            - the heap tree
+     * @param parent
+     *            - the parent of the node, null for the root
+     * @param br
+     *            - reader positioned on the line of the node
+     * @return the node, without its children
+     */
+    static MassifHeapTreeNode parseNode(MassifHeapTree tree, MassifHeapTreeNode parent, LineReader br) throws IOException {
         String line = br.readLine();
         if (line == null) {
             throw new IOException(Messages.getString("MassifParser.Unexpected_EOF")); //$NON-NLS-1$
@@ -129,7 +216,7 @@ public class MassifParser {
         if (numBytes.intValue() == 0) {
             percentage = 0;
         } else {
-            percentage = numBytes.doubleValue() / snapshot.getTotal() * 100;
+            percentage = numBytes.doubleValue() / tree.getTotal() * 100;
         }
 
         MassifHeapTreeNode node;
@@ -164,14 +251,36 @@ public class MassifParser {
             node = new MassifHeapTreeNode(parent, percentage, numBytes, text.toString().trim());
         }
 
+        node.setChildren(tree, br.getOffset(), numChildren.intValue());
+        return node;
+    }
 
-        for (int i = 0; i < numChildren.intValue(); i++) {
-            node.addChild(parseTree(snapshot, node, br));
+    /**
+     * Skip the lines of subtrees, without recursion: each line replaces one pending subtree with its children.
+     *
+     * @param br
+     *            - reader positioned on the line of the first subtree
+     * @param count
+     *            - number of subtrees to skip
+     */
+    static void skipTrees(LineReader br, int count) throws IOException {
+        long pending = count;
+        while (pending > 0) {
+            String line = br.readLine();
+            if (line == null) {
+                throw new IOException(Messages.getString("MassifParser.Unexpected_EOF")); //$NON-NLS-1$
+            }
+            line = line.trim();
+            int space = line.indexOf(' ');
+            Integer numChildren = parseNumChildren(space < 0 ? line : line.substring(0, space));
+            if (numChildren == null) {
+                ValgrindParserUtils.fail(line);
+            }
+            pending += numChildren.intValue() - 1;
         }
-        return node;
     }
 
-    private String parseFunction(String start, String line) throws IOException {
+    private static String parseFunction(String start, String line) throws IOException {
         String function = null;
         int ix = line.lastIndexOf('(');
         if (ix >= 0) {
@@ -190,7 +299,7 @@ public class MassifParser {
         return function;
     }
 
-    private Long parseNumBytes(String string) {
+    private static Long parseNumBytes(String string) {
         Long result = null;
         if (ValgrindParserUtils.isNumber(string)) {
             result = Long.parseLong(string);
@@ -201,7 +310,7 @@ public class MassifParser {
     /*
      * format is "n[0-9]+:"
      */
-    private Integer parseNumChildren(String string) {
+    private static Integer parseNumChildren(String string) {
         Integer result = null;
         if (string.length() >= 3) {
             String number = string.substring(1, string.length() - 1);
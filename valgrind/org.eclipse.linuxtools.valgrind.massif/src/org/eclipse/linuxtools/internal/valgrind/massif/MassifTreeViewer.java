@@ -51,8 +51,8 @@ public class MassifTreeViewer {
 
             @Override
             public boolean hasChildren(Object element) {
-                MassifHeapTreeNode[] children = ((MassifHeapTreeNode) element).getChildren();
-                return children != null && children.length > 0;
+                // the children are read when the node is expanded
+                return ((MassifHeapTreeNode) element).hasChildren();
             }
 
             @Override
@@ -21,6 +21,6 @@ import org.junit.runners.Suite;
         LaunchConfigTabTest.class, MarkerTest.class,
         LinkedResourceDoubleClickTest.class, LinkedResourceMarkerTest.class,
         MultiProcessTest.class, ExpandCollapseTest.class, ShortcutTest.class,
-        SignalTest.class, MinVersionTest.class })
+        SignalTest.class, MinVersionTest.class, XmlOutputTest.class })
 public class AllTests {
 }
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation.
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.memcheck.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindError;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindStackFrame;
+import org.eclipse.linuxtools.internal.valgrind.launch.ValgrindLaunchPlugin;
+import org.eclipse.linuxtools.internal.valgrind.tests.ValgrindStubCommand;
+import org.eclipse.linuxtools.internal.valgrind.ui.ValgrindUIPlugin;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class XmlOutputTest extends AbstractMemcheckTest {
+
+    static class ValgrindXmlVersion extends ValgrindStubCommand {
+        @Override
+        public String whichVersion(IProject project) {
+            return "valgrind-3.16.1"; //$NON-NLS-1$
+        }
+    }
+
+    @Before
+    public void prep() throws Exception {
+        proj = createProjectAndBuild("basicTest"); //$NON-NLS-1$
+
+        // errors are read from the XML output since valgrind 3.5.0
+        ValgrindLaunchPlugin.getDefault().setValgrindCommand(new ValgrindXmlVersion());
+    }
+
+    @Override
+    @After
+    public void tearDown() throws CoreException {
+        deleteProject(proj);
+        super.tearDown();
+    }
+
+    @Test
+    public void testXmlOutput() throws Exception {
+        ILaunchConfiguration config = createConfiguration(proj.getProject());
+        ILaunch launch = doLaunch(config, "testXmlOutput"); //$NON-NLS-1$
+
+        IProcess[] p = launch.getProcesses();
+        assertTrue("process array should not be empty", p.length > 0);
+        String cmd = p[0].getAttribute(IProcess.ATTR_CMDLINE);
+        assertTrue(cmd.contains("--tool=memcheck")); //$NON-NLS-1$
+        assertTrue(cmd.contains("--xml=yes")); //$NON-NLS-1$
+        assertTrue(cmd.contains("--xml-file=")); //$NON-NLS-1$
+        assertTrue(cmd.contains("/testXmlOutput/valgrind_%p.xml")); //$NON-NLS-1$
+        assertTrue(cmd.contains("--log-file=")); //$NON-NLS-1$
+
+        IValgrindMessage[] messages = ValgrindUIPlugin.getDefault().getView()
+                .getMessages();
+        assertEquals(3, messages.length);
+        assertEquals("InvalidRead", ((ValgrindError) messages[0]).getKind()); //$NON-NLS-1$
+        assertEquals("InvalidWrite", ((ValgrindError) messages[1]).getKind()); //$NON-NLS-1$
+        ValgrindError leak = (ValgrindError) messages[2];
+        assertTrue(leak.getText().contains("10 bytes in 1 blocks are definitely lost in loss record 1 of 1")); //$NON-NLS-1$
+        assertEquals(10, leak.getLeakedBytes());
+
+        // the source files of the frames are given with their directory
+        ValgrindStackFrame frame = (ValgrindStackFrame) messages[0].getChildren()[0];
+        assertTrue(frame.getFile().endsWith("/basicTest/test.c")); //$NON-NLS-1$
+        assertEquals(16, frame.getLine());
+        IValgrindMessage auxiliary = messages[0].getChildren()[1];
+        assertTrue(auxiliary.getText().startsWith("Address 0x4a5404a is 0 bytes after a block of size 10 alloc'd")); //$NON-NLS-1$
+        assertEquals(2, auxiliary.getChildren().length);
+    }
+}
@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.ui;
 
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.debug.core.model.ISourceLocator;
 import org.eclipse.debug.ui.DebugUITools;
@@ -91,6 +93,9 @@ public class CoreMessagesViewer {
                 if (parentElement instanceof Object[]) {
                     return (Object[]) parentElement;
                 }
+                if (parentElement instanceof List) {
+                    return ((List<?>) parentElement).toArray();
+                }
                 return ((IValgrindMessage) parentElement).getChildren();
             }
 
@@ -118,6 +123,8 @@ public class CoreMessagesViewer {
 
         };
         viewer.setContentProvider(contentProvider);
+        // messages are only equal to themselves
+        viewer.setUseHashlookup(true);
 
         viewer.setLabelProvider(new LabelProvider() {
             @Override
@@ -12,6 +12,10 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.ui;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -21,6 +25,7 @@ import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.jface.action.ToolBarManager;
+import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindInfo;
 import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
 import org.eclipse.linuxtools.valgrind.ui.IValgrindToolView;
@@ -43,6 +48,8 @@ public class ValgrindViewPart extends ViewPart {
     private IValgrindToolView dynamicView;
     private ActionContributionItem[] dynamicActions;
     private IValgrindMessage[] messages;
+    // messages appended while valgrind is running
+    private List<IValgrindMessage> addedMessages;
     private CoreMessagesViewer messagesViewer;
     private Action showCoreAction;
     private Action showToolAction;
@@ -109,9 +116,10 @@ public class ValgrindViewPart extends ViewPart {
         }
 
         // remove old messages
-        if (messages != null){
+        if (messages != null || addedMessages != null) {
             messagesViewer.getTreeViewer().setInput(null);
             messages = null;
+            addedMessages = null;
         }
 
         for (Control child : dynamicViewHolder.getChildren()) {
@@ -165,6 +173,31 @@ public class ValgrindViewPart extends ViewPart {
         this.messages = messages;
     }
 
+    /**
+     * Append messages to the ones shown while valgrind is running, and update the messages already shown whose
+     * text changed. Only these messages are read by the viewer.
+     *
+     * @param newMessages  the messages to append
+     * @param changedMessages  the messages already shown to update
+     */
+    public void addMessages(IValgrindMessage[] newMessages, IValgrindMessage[] changedMessages) {
+        TreeViewer viewer = messagesViewer.getTreeViewer();
+        if (changedMessages.length > 0) {
+            viewer.update(changedMessages, null);
+        }
+        if (newMessages.length == 0) {
+            return;
+        }
+        if (addedMessages == null) {
+            addedMessages = new ArrayList<>();
+            viewer.setInput(addedMessages);
+            showCoreAction.setEnabled(true);
+            showCorePage();
+        }
+        addedMessages.addAll(Arrays.asList(newMessages));
+        viewer.add(addedMessages, newMessages);
+    }
+
     /**
      * Returns the messages displayed in the view.
      *